@@ -0,0 +1,100 @@
+package hu.porkolab.chaosSymphony.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the committed baseline and exits non-zero on a regression.
+ * Time is compared with a loose threshold because it depends on the machine; allocation per
+ * operation ({@code gc.alloc.rate.norm}) does not, and is held to a tight one.
+ * <p>
+ * {@code BaselineComparison <baseline.json> <result.json> [timeThreshold=0.25] [allocThreshold=0.10]}
+ */
+public final class BaselineComparison {
+
+    static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    // absolute slack so benchmarks allocating ~0 B/op do not flap on a few bytes of noise
+    static final double ALLOC_SLACK_BYTES = 16;
+
+    record Measurement(double score, String unit, double allocBytesPerOp) {}
+
+    record Regression(String benchmark, String metric, double baseline, double current, String unit) {
+        @Override
+        public String toString() {
+            return String.format("%-90s %-5s %12.2f -> %12.2f %s (%+.0f%%)",
+                    benchmark, metric, baseline, current, unit, (current / baseline - 1) * 100);
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <result.json> [timeThreshold] [allocThreshold]");
+            System.exit(2);
+        }
+        double timeThreshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+        double allocThreshold = args.length > 3 ? Double.parseDouble(args[3]) : 0.10;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Measurement> baseline = read(mapper.readTree(Path.of(args[0]).toFile()));
+        Map<String, Measurement> current = read(mapper.readTree(Path.of(args[1]).toFile()));
+
+        List<Regression> regressions = compare(baseline, current, timeThreshold, allocThreshold, System.out);
+        if (!regressions.isEmpty()) {
+            System.out.println();
+            System.out.println(regressions.size() + " regression(s) against " + args[0] + ":");
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    /** Keys results by benchmark name plus parameters, e.g. {@code ...EnvelopeHelperBenchmark.parse[payloadBytes=1024]}. */
+    static Map<String, Measurement> read(JsonNode results) {
+        Map<String, Measurement> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asText()));
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            JsonNode primary = result.path("primaryMetric");
+            JsonNode alloc = result.path("secondaryMetrics").path(ALLOC_NORM);
+            byKey.put(key, new Measurement(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    alloc.isMissingNode() ? Double.NaN : alloc.path("score").asDouble()));
+        }
+        return byKey;
+    }
+
+    static List<Regression> compare(Map<String, Measurement> baseline, Map<String, Measurement> current,
+                                    double timeThreshold, double allocThreshold, PrintStream out) {
+        List<Regression> regressions = new ArrayList<>();
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement was = baseline.get(entry.getKey());
+            Measurement now = entry.getValue();
+            if (was == null) {
+                out.println("new      " + entry.getKey());
+                continue;
+            }
+            if (now.score() > was.score() * (1 + timeThreshold)) {
+                regressions.add(new Regression(entry.getKey(), "time", was.score(), now.score(), now.unit()));
+            }
+            if (!Double.isNaN(was.allocBytesPerOp()) && !Double.isNaN(now.allocBytesPerOp())
+                    && now.allocBytesPerOp() > was.allocBytesPerOp() * (1 + allocThreshold) + ALLOC_SLACK_BYTES) {
+                regressions.add(new Regression(entry.getKey(), "alloc", was.allocBytesPerOp(),
+                        now.allocBytesPerOp(), "B/op"));
+            }
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> out.println("not run  " + key));
+        return regressions;
+    }
+}
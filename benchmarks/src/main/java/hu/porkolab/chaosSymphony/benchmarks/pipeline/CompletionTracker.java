@@ -0,0 +1,100 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matches dispatched orders with their first terminal {@code order.status.update}. Latency of
+ * completed sagas runs from the arrival the order was scheduled for, not from when
+ * {@code createOrder} actually ran, so a stalled dispatcher shows up as latency instead of
+ * silently lowering the offered rate.
+ * <p>
+ * The status can be consumed before the dispatching thread registers the order id it got back,
+ * so both sides go through {@link Map#compute} and whichever comes second records the result.
+ */
+final class CompletionTracker {
+
+    static final String COMPLETED = "COMPLETED";
+
+    private sealed interface Entry permits Dispatched, Finished {}
+
+    private record Dispatched(long scheduledNanos, boolean measured) implements Entry {}
+
+    private record Finished(String status, long atNanos) implements Entry {}
+
+    private final Map<String, Entry> orders = new ConcurrentHashMap<>();
+    private final Histogram latencyMicros = new SynchronizedHistogram(TimeUnit.HOURS.toMicros(1), 3);
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastMeasuredNanos = new AtomicLong();
+
+    void dispatched(String orderId, long scheduledNanos, boolean measured) {
+        orders.compute(orderId, (id, entry) -> {
+            if (entry instanceof Finished finished) {
+                record(new Dispatched(scheduledNanos, measured), finished.status(), finished.atNanos());
+                return finished;
+            }
+            return new Dispatched(scheduledNanos, measured);
+        });
+    }
+
+    /** Terminal statuses are {@code COMPLETED}, {@code <STEP>_FAILED} and {@code CANCELLED}; the first one wins. */
+    void onStatus(String orderId, String status, long nowNanos) {
+        if (!isTerminal(status)) {
+            return;
+        }
+        orders.compute(orderId, (id, entry) -> {
+            if (entry instanceof Dispatched dispatched) {
+                record(dispatched, status, nowNanos);
+                return new Finished(status, nowNanos);
+            }
+            return entry == null ? new Finished(status, nowNanos) : entry;
+        });
+    }
+
+    /** Measured orders dispatched but not finished yet. */
+    long inFlight() {
+        return orders.values().stream()
+                .filter(e -> e instanceof Dispatched d && d.measured())
+                .count();
+    }
+
+    long completed() {
+        return completed.get();
+    }
+
+    long failed() {
+        return failed.get();
+    }
+
+    long lastMeasuredNanos() {
+        return lastMeasuredNanos.get();
+    }
+
+    Histogram latencyMicros() {
+        return latencyMicros;
+    }
+
+    static boolean isTerminal(String status) {
+        return COMPLETED.equals(status) || "CANCELLED".equals(status) || status.endsWith("_FAILED");
+    }
+
+    private void record(Dispatched dispatched, String status, long atNanos) {
+        if (!dispatched.measured()) {
+            return;
+        }
+        if (COMPLETED.equals(status)) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(atNanos - dispatched.scheduledNanos());
+            latencyMicros.recordValue(Math.clamp(micros, 0, latencyMicros.getHighestTrackableValue()));
+            completed.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+        lastMeasuredNanos.accumulateAndGet(atNanos, Math::max);
+    }
+}
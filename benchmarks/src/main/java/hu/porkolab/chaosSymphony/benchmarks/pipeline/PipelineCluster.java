@@ -0,0 +1,184 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.inventory.InventorySvcApplication;
+import hu.porkolab.chaosSymphony.orchestrator.OrchestratorApplication;
+import hu.porkolab.chaosSymphony.orderapi.OrderApiApplication;
+import hu.porkolab.chaosSymphony.payment.PaymentSvcApplication;
+import hu.porkolab.chaosSymphony.shipping.ShippingSvcApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.UrlResource;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The five saga services booted side by side in this JVM against one embedded KRaft broker.
+ * <p>
+ * Every service jar carries its own {@code application.yml} and {@code schema.sql} at the same
+ * classpath location, so normal config lookup would hand all of them whichever jar comes first.
+ * Each service instead gets the default (profile-less) documents of its own {@code application.yml},
+ * read from the jar that holds its main class, under the harness overrides.
+ */
+final class PipelineCluster implements AutoCloseable {
+
+    static final List<String> TOPICS = List.of(
+            "order.created", "payment.requested", "payment.requested.canary", "payment.result",
+            "inventory.requested", "inventory.result", "shipping.requested", "shipping.result",
+            "order.status.update", "order.cancel", "payment.refund", "inventory.release");
+
+    private static final Duration ASSIGNMENT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final EmbeddedKafkaKraftBroker broker;
+    private final Map<String, ConfigurableApplicationContext> services = new LinkedHashMap<>();
+
+    private PipelineCluster(EmbeddedKafkaKraftBroker broker) {
+        this.broker = broker;
+    }
+
+    static PipelineCluster start(PipelineOptions options) throws Exception {
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, options.partitions(),
+                TOPICS.toArray(String[]::new));
+        // retry topics are left to broker auto-creation, with the same partition count
+        broker.brokerProperties(Map.of(
+                "auto.create.topics.enable", "true",
+                "group.initial.rebalance.delay.ms", "0"));
+        broker.afterPropertiesSet();
+        // no chaos rules unless asked for; ChaosRefreshConfig reads this system property
+        System.setProperty("chaos.url", System.getProperty("chaos.url", "http://127.0.0.1:9"));
+
+        PipelineCluster cluster = new PipelineCluster(broker);
+        try {
+            // inventory-svc and shipping-svc only define their kafka.topic/kafka.group keys in the docker profile
+            cluster.boot("shipping-svc", ShippingSvcApplication.class, Map.of(
+                    "kafka.topic.shipping.requested", "shipping.requested",
+                    "kafka.topic.shipping.dlt", "shipping.requested.dlt",
+                    "kafka.group.id.shipping", "shipping-requested",
+                    "shipping.processing.success-rate", "1.0"), options);
+            cluster.boot("inventory-svc", InventorySvcApplication.class, Map.of(
+                    "kafka.topic.inventory.requested", "inventory.requested",
+                    "kafka.topic.inventory.dlt", "inventory.requested.dlt",
+                    "kafka.group.id.inventory", "inventory-requested",
+                    "inventory.processing.success-rate", "1.0"), options);
+            cluster.boot("payment-svc", PaymentSvcApplication.class, Map.of(
+                    "payment.processing.success-rate", "1.0"), options);
+            cluster.boot("orchestrator", OrchestratorApplication.class, Map.of(), options);
+            cluster.boot("order-api", OrderApiApplication.class, Map.of(
+                    "spring.datasource.url", "jdbc:h2:mem:pipeline-orders;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.driver-class-name", "org.h2.Driver",
+                    "spring.datasource.username", "sa",
+                    "spring.datasource.password", "",
+                    "spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect",
+                    "spring.jpa.hibernate.ddl-auto", "create",
+                    // order-api has no schema.sql of its own; the idempotency table comes from common-messaging
+                    "spring.sql.init.schema-locations", resource(EnvelopeHelper.class, "schema.sql").toString(),
+                    "outbox.relay.enabled", "true"), options);
+            cluster.awaitAssignments();
+        } catch (Exception | Error e) {
+            cluster.close();
+            throw e;
+        }
+        return cluster;
+    }
+
+    String bootstrapServers() {
+        return broker.getBrokersAsString();
+    }
+
+    <T> T bean(String service, Class<T> type) {
+        return services.get(service).getBean(type);
+    }
+
+    @Override
+    public void close() {
+        List<String> names = new ArrayList<>(services.keySet());
+        for (int i = names.size() - 1; i >= 0; i--) {
+            services.get(names.get(i)).close();
+        }
+        services.clear();
+        broker.destroy();
+    }
+
+    private void boot(String name, Class<?> application, Map<String, String> serviceDefaults,
+                      PipelineOptions options) throws IOException {
+        Map<String, Object> overrides = new HashMap<>();
+        // keep Spring Boot away from the application.yml files on the shared classpath
+        overrides.put("spring.config.name", name + "-pipeline");
+        overrides.put("spring.kafka.bootstrap-servers", broker.getBrokersAsString());
+        overrides.put("spring.sql.init.schema-locations", resource(application, "schema.sql").toString());
+        overrides.put("logging.level.root", "WARN");
+        overrides.put("logging.level.hu.porkolab.chaosSymphony", "WARN");
+        overrides.put("logging.level.org.springframework.kafka", "WARN");
+        overrides.putAll(serviceDefaults);
+        overrides.putAll(options.propertiesFor(name));
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("pipeline-overrides", overrides));
+        for (PropertySource<?> source : defaultDocuments(name, application)) {
+            environment.getPropertySources().addLast(source);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .environment(environment)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run();
+        services.put(name, context);
+    }
+
+    private static List<PropertySource<?>> defaultDocuments(String name, Class<?> application) throws IOException {
+        URL yaml = resource(application, "application.yml");
+        return new YamlPropertySourceLoader().load(name + " application.yml", new UrlResource(yaml)).stream()
+                .filter(source -> !source.containsProperty("spring.config.activate.on-profile"))
+                .toList();
+    }
+
+    /** {@code name} from the jar or classes directory that {@code anchor} was loaded from. */
+    static URL resource(Class<?> anchor, String name) throws IOException {
+        URI location = URI.create(anchor.getProtectionDomain().getCodeSource().getLocation().toString());
+        String path = location.toString();
+        return path.endsWith(".jar")
+                ? URI.create("jar:" + path + "!/" + name).toURL()
+                : location.resolve(name).toURL();
+    }
+
+    /** Orders sent before every consumer group has its partitions would only add rebalance time. */
+    private void awaitAssignments() throws InterruptedException {
+        long deadline = System.nanoTime() + ASSIGNMENT_TIMEOUT.toNanos();
+        for (Map.Entry<String, ConfigurableApplicationContext> service : services.entrySet()) {
+            KafkaListenerEndpointRegistry registry = service.getValue().getBean(KafkaListenerEndpointRegistry.class);
+            for (MessageListenerContainer container : registry.getAllListenerContainers()) {
+                while (container.isRunning() && isEmpty(container)) {
+                    if (System.nanoTime() > deadline) {
+                        throw new IllegalStateException(service.getKey() + " listener " + container.getListenerId()
+                                + " got no partitions within " + ASSIGNMENT_TIMEOUT);
+                    }
+                    Thread.sleep(50);
+                }
+            }
+        }
+    }
+
+    private static boolean isEmpty(MessageListenerContainer container) {
+        var assigned = container.getAssignedPartitions();
+        return assigned == null || assigned.isEmpty();
+    }
+}
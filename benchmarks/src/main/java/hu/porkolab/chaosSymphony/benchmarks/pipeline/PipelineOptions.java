@@ -0,0 +1,100 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link SagaPipelineBenchmark}. Every option is {@code --name=value};
+ * {@code --property} may be repeated and takes {@code key=value} for every service or
+ * {@code service:key=value} for one of them.
+ */
+record PipelineOptions(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Duration drain,
+        int partitions,
+        int producers,
+        Path result,
+        Map<String, Map<String, String>> properties) {
+
+    static final String ALL_SERVICES = "*";
+    static final List<String> SERVICES =
+            List.of("order-api", "orchestrator", "payment-svc", "inventory-svc", "shipping-svc");
+
+    static final String USAGE = """
+            usage: SagaPipelineBenchmark [options]
+              --rate=<orders/s>            offered arrival rate (default 50)
+              --warmup=<seconds>           arrivals excluded from the result (default 10)
+              --duration=<seconds>         measured arrivals (default 30)
+              --drain=<seconds>            wait for in-flight sagas after the last arrival (default 30)
+              --partitions=<n>             partitions per saga topic (default 3)
+              --producers=<n>              threads calling OrderService.createOrder (default 8)
+              --result=<file>              JSON result (default pipeline-result.json)
+              --property=[service:]k=v     Spring property for every service, or one of
+                                           order-api, orchestrator, payment-svc, inventory-svc, shipping-svc
+            """;
+
+    static PipelineOptions parse(String... args) {
+        double rate = 50;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        Duration drain = Duration.ofSeconds(30);
+        int partitions = 3;
+        int producers = 8;
+        Path result = Path.of("pipeline-result.json");
+        Map<String, Map<String, String>> properties = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "drain" -> drain = Duration.ofSeconds(Long.parseLong(value));
+                case "partitions" -> partitions = Integer.parseInt(value);
+                case "producers" -> producers = Integer.parseInt(value);
+                case "result" -> result = Path.of(value);
+                case "property" -> addProperty(properties, value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (rate <= 0 || duration.isZero() || partitions < 1 || producers < 1) {
+            throw new IllegalArgumentException("rate, duration, partitions and producers must be positive");
+        }
+        return new PipelineOptions(rate, warmup, duration, drain, partitions, producers, result, properties);
+    }
+
+    /** Overrides for one service: those given for every service, then its own. */
+    Map<String, String> propertiesFor(String service) {
+        Map<String, String> merged = new LinkedHashMap<>(properties.getOrDefault(ALL_SERVICES, Map.of()));
+        merged.putAll(properties.getOrDefault(service, Map.of()));
+        return merged;
+    }
+
+    private static void addProperty(Map<String, Map<String, String>> properties, String value) {
+        int eq = value.indexOf('=');
+        int colon = value.indexOf(':');
+        if (eq < 1) {
+            throw new IllegalArgumentException("Expected [service:]key=value but got: " + value);
+        }
+        String service = ALL_SERVICES;
+        String key = value.substring(0, eq);
+        if (colon > 0 && colon < eq) {
+            service = value.substring(0, colon);
+            key = value.substring(colon + 1, eq);
+            if (!SERVICES.contains(service)) {
+                throw new IllegalArgumentException("Unknown service '" + service + "', expected one of " + SERVICES);
+            }
+        }
+        properties.computeIfAbsent(service, s -> new LinkedHashMap<>()).put(key, value.substring(eq + 1));
+    }
+}
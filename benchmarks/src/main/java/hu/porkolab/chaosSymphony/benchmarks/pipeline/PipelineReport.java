@@ -0,0 +1,70 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of one {@link SagaPipelineBenchmark} run. Counts cover measured arrivals only;
+ * latencies are in milliseconds and only include sagas that completed.
+ */
+record PipelineReport(
+        double offeredRate,
+        long warmupSeconds,
+        long durationSeconds,
+        int partitions,
+        long arrivals,
+        long heldByFraudCheck,
+        long errors,
+        long completed,
+        long failed,
+        long incomplete,
+        double throughput,
+        Map<String, Double> latencyMs,
+        Map<String, Map<String, String>> properties,
+        String jvm,
+        int availableProcessors) {
+
+    static PipelineReport of(PipelineOptions options, long arrivals, long heldByFraudCheck, long errors,
+                             CompletionTracker tracker, long measureStartNanos) {
+        Histogram histogram = tracker.latencyMicros().copy();
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+
+        double elapsedSeconds = (tracker.lastMeasuredNanos() - measureStartNanos) / 1e9;
+        double throughput = elapsedSeconds > 0 ? tracker.completed() / elapsedSeconds : 0;
+        return new PipelineReport(options.rate(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                options.partitions(), arrivals, heldByFraudCheck, errors, tracker.completed(), tracker.failed(),
+                tracker.inFlight(), throughput, latency, options.properties(),
+                System.getProperty("java.vm.name") + " " + Runtime.version(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    void print(PrintStream out) {
+        out.printf("offered   %10.1f orders/s for %ds after %ds warmup, %d partitions%n",
+                offeredRate, durationSeconds, warmupSeconds, partitions);
+        out.printf("achieved  %10.1f orders/s completed%n", throughput);
+        out.printf("orders    %10d arrived, %d completed, %d failed, %d incomplete, %d held by fraud check, %d errors%n",
+                arrivals, completed, failed, incomplete, heldByFraudCheck, errors);
+        out.printf("latency   p50 %.1f ms  p90 %.1f ms  p99 %.1f ms  p99.9 %.1f ms  max %.1f ms%n",
+                latencyMs.get("p50"), latencyMs.get("p90"), latencyMs.get("p99"), latencyMs.get("p999"),
+                latencyMs.get("max"));
+    }
+
+    void write(Path file) throws IOException {
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,164 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderService;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end saga throughput harness: order-api, orchestrator, payment-svc, inventory-svc and
+ * shipping-svc in one JVM against an embedded broker and H2, driven at a fixed arrival rate.
+ * <p>
+ * Arrivals follow an open model: order {@code i} is due at {@code start + i / rate} whether or not
+ * earlier ones have finished, and is handed to {@link OrderService#createOrder} by a pool of
+ * {@code --producers} threads. Each order counts as done at its first terminal
+ * {@code order.status.update}. Simulated payment, inventory and shipping failures are off so runs
+ * compare; turn them back on with {@code --property=payment-svc:payment.processing.success-rate=0.9}.
+ */
+public final class SagaPipelineBenchmark {
+
+    private static final String STATUS_TOPIC = "order.status.update";
+
+    private final PipelineOptions options;
+    private final PipelineCluster cluster;
+    private final CompletionTracker tracker = new CompletionTracker();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong heldByFraudCheck = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean consuming = true;
+
+    SagaPipelineBenchmark(PipelineOptions options, PipelineCluster cluster) {
+        this.options = options;
+        this.cluster = cluster;
+    }
+
+    public static void main(String[] args) throws Exception {
+        PipelineOptions options;
+        try {
+            options = PipelineOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(PipelineOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        PipelineReport report;
+        try (PipelineCluster cluster = PipelineCluster.start(options)) {
+            report = new SagaPipelineBenchmark(options, cluster).run();
+        }
+        report.print(System.out);
+        report.write(options.result());
+        System.out.println("result    " + options.result().toAbsolutePath());
+        // listener and scheduler threads of the closed contexts may still be winding down
+        System.exit(0);
+    }
+
+    PipelineReport run() throws InterruptedException {
+        CountDownLatch assigned = new CountDownLatch(1);
+        Thread statusConsumer = Thread.ofPlatform().name("pipeline-status").start(() -> consumeStatuses(assigned));
+        assigned.await();
+
+        OrderService orderService = cluster.bean("order-api", OrderService.class);
+        long warmupArrivals = Math.round(options.rate() * options.warmup().toSeconds());
+        long measuredArrivals = Math.round(options.rate() * options.duration().toSeconds());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+        ExecutorService producers = Executors.newFixedThreadPool(options.producers());
+        long start = System.nanoTime();
+        long measureStart = start + (long) (warmupArrivals * intervalNanos);
+        for (long i = 0; i < warmupArrivals + measuredArrivals; i++) {
+            long due = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long seq = i;
+            boolean measured = i >= warmupArrivals;
+            producers.execute(() -> dispatch(orderService, seq, due, measured));
+        }
+        producers.shutdown();
+
+        long drainDeadline = System.nanoTime() + options.drain().toNanos();
+        producers.awaitTermination(options.drain().toNanos(), TimeUnit.NANOSECONDS);
+        while (tracker.inFlight() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+        consuming = false;
+        statusConsumer.join();
+        producers.shutdownNow();
+
+        return PipelineReport.of(options, measuredArrivals, heldByFraudCheck.get(), errors.get(), tracker,
+                measureStart);
+    }
+
+    private void dispatch(OrderService orderService, long seq, long due, boolean measured) {
+        try {
+            OrderCreationResult result = orderService.createOrder(order(seq));
+            if (result.status() == OrderStatus.NEW) {
+                tracker.dispatched(result.orderId().toString(), due, measured);
+            } else if (measured) {
+                heldByFraudCheck.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            if (measured) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    /** A distinct customer per order keeps the velocity rule quiet; totals stay in the lowest fraud tier. */
+    static CreateOrder order(long seq) {
+        return new CreateOrder("pipeline-" + seq, BigDecimal.valueOf(1999 + seq % 1000, 2), "EUR",
+                "1 Benchmark Street");
+    }
+
+    private void consumeStatuses(CountDownLatch assigned) {
+        Map<String, Object> config = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.bootstrapServers(),
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(STATUS_TOPIC).stream()
+                    .map(p -> new TopicPartition(p.topic(), p.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToEnd(partitions);
+            partitions.forEach(consumer::position);
+            assigned.countDown();
+
+            while (consuming) {
+                for (ConsumerRecord<String, String> rec : consumer.poll(Duration.ofMillis(50))) {
+                    long now = System.nanoTime();
+                    try {
+                        JsonNode update = objectMapper.readTree(rec.value());
+                        tracker.onStatus(update.path("orderId").asText(rec.key()), update.path("status").asText(), now);
+                    } catch (Exception e) {
+                        // not a status update; nothing to match
+                    }
+                }
+            }
+        } finally {
+            assigned.countDown();
+        }
+    }
+}
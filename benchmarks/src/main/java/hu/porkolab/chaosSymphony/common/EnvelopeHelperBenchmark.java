@@ -0,0 +1,80 @@
+package hu.porkolab.chaosSymphony.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envelope build and parse at several payload sizes. {@code parse} reads the legacy
+ * string-encoded payload, {@code parseNested} the nested object the outbox writes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvelopeHelperBenchmark {
+
+    private static final String ORDER_ID = "3f1c2a7e-9b0d-4c6e-8a51-2d7f0e4b9c13";
+    private static final String EVENT_ID = "b8e4d6f2-1a3c-4e5b-9d7f-0c2e4a6b8d10";
+
+    @Param({"128", "1024", "16384"})
+    public int payloadBytes;
+
+    private String payload;
+    private String envelope;
+    private String nestedEnvelope;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        payload = payloadOf(payloadBytes);
+        envelope = EnvelopeHelper.envelope(ORDER_ID, EVENT_ID, "OrderCreated", payload);
+        nestedEnvelope = new EnvelopeWriter(mapper).write(ORDER_ID, EVENT_ID, "OrderCreated", mapper.readTree(payload));
+    }
+
+    @Benchmark
+    public String envelope() {
+        return EnvelopeHelper.envelope(ORDER_ID, EVENT_ID, "OrderCreated", payload);
+    }
+
+    @Benchmark
+    public EventEnvelope parse() {
+        return EnvelopeHelper.parse(envelope);
+    }
+
+    @Benchmark
+    public EventEnvelope parseNested() {
+        return EnvelopeHelper.parse(nestedEnvelope);
+    }
+
+    /** An order-shaped JSON object padded with line items to at least {@code bytes} characters. */
+    static String payloadOf(int bytes) {
+        StringBuilder json = new StringBuilder(bytes + 64)
+                .append("{\"orderId\":\"").append(ORDER_ID)
+                .append("\",\"currency\":\"USD\",\"total\":149.90,\"items\":[");
+        int item = 0;
+        do {
+            if (item > 0) {
+                json.append(',');
+            }
+            json.append("{\"sku\":\"SKU-").append(String.format("%05d", item))
+                    .append("\",\"qty\":").append(1 + item % 3)
+                    .append(",\"price\":").append(9.99 + item).append('}');
+            item++;
+        } while (json.length() < bytes - 2);
+        return json.append("]}").toString();
+    }
+}
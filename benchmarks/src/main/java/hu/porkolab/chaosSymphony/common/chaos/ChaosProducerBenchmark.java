@@ -0,0 +1,81 @@
+package hu.porkolab.chaosSymphony.common.chaos;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead {@link ChaosProducer#send} adds in front of the template. The template is a stub
+ * returning a completed future; a Mockito mock would record every call and mostly measure itself.
+ * With chaos on, drops, duplicates and corruption fire at a few percent and no delay is injected.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChaosProducerBenchmark {
+
+    private static final String TOPIC = "payment.requested";
+
+    @Param({"off", "on"})
+    public String chaos;
+
+    private ChaosProducer producer;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        ChaosRules rules = "on".equals(chaos)
+                ? new ChaosRules(Map.of("topic:" + TOPIC, new ChaosRules.Rule(0.01, 0.05, 0, 0.05)))
+                : new ChaosRules(Map.of());
+        producer = new ChaosProducer(new StubKafkaTemplate(), () -> rules);
+        message = "{\"orderId\":\"order-1\",\"eventId\":\"event-1\",\"type\":\"PaymentRequested\","
+                + "\"payload\":\"{\\\"orderId\\\":\\\"order-1\\\",\\\"amount\\\":149.90,\\\"currency\\\":\\\"USD\\\"}\"}";
+    }
+
+    @Benchmark
+    public void send(Blackhole blackhole) {
+        try {
+            producer.send(TOPIC, "order-1", "PaymentRequested", message);
+        } catch (ChaosProducer.ChaosDropException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    static final class StubKafkaTemplate extends KafkaTemplate<String, String> {
+
+        private static final CompletableFuture<SendResult<String, String>> SENT = CompletableFuture.completedFuture(
+                new SendResult<>(new ProducerRecord<>(TOPIC, "order-1", "{}"),
+                        new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0)));
+
+        StubKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, String>> send(String topic, String key, String data) {
+            return SENT;
+        }
+    }
+}
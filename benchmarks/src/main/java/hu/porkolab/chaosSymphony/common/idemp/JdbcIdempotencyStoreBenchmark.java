@@ -0,0 +1,80 @@
+package hu.porkolab.chaosSymphony.common.idemp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JdbcIdempotencyStore#markIfFirst} against embedded H2 over one reused connection, as a
+ * pooled connection would be. {@code duplicate} is the redelivery path, which goes through a
+ * primary key violation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcIdempotencyStoreBenchmark {
+
+    private static final String DUPLICATE_ID = "event-duplicate";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private JdbcIdempotencyStore store;
+    private String[] eventIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:idempotency;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS idempotency_event ("
+                + "event_id VARCHAR(255) PRIMARY KEY, "
+                + "seen_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        store = new JdbcIdempotencyStore(jdbc);
+        eventIds = new String[1 << 20];
+        for (int i = 0; i < eventIds.length; i++) {
+            eventIds[i] = "event-" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        jdbc.execute("TRUNCATE TABLE idempotency_event");
+        jdbc.update("INSERT INTO idempotency_event(event_id) VALUES (?)", DUPLICATE_ID);
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public boolean firstSeen() {
+        if (next == eventIds.length) {
+            resetTable();
+        }
+        return store.markIfFirst(eventIds[next++]);
+    }
+
+    @Benchmark
+    public boolean duplicate() {
+        return store.markIfFirst(DUPLICATE_ID);
+    }
+}
@@ -0,0 +1,66 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SagaState} transitions as the orchestrator takes them, through the {@link OrderSagas}
+ * tables: a whole happy path per shape, a rejected transition and a compensation lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SagaTransitionBenchmark {
+
+    // non-final so the JIT cannot fold the lookups
+    private SagaDefinition sequential = OrderSagas.SEQUENTIAL;
+    private SagaDefinition parallel = OrderSagas.PARALLEL;
+    private SagaEvent[] sequentialPath = {
+            SagaEvent.PAYMENT_COMPLETED, SagaEvent.INVENTORY_REQUESTED, SagaEvent.INVENTORY_RESERVED,
+            SagaEvent.SHIPPING_REQUESTED, SagaEvent.SHIPPING_COMPLETED};
+    private SagaEvent[] parallelPath = {
+            SagaEvent.PAYMENT_COMPLETED, SagaEvent.INVENTORY_RESERVED, SagaEvent.BRANCHES_JOINED,
+            SagaEvent.SHIPPING_REQUESTED, SagaEvent.SHIPPING_COMPLETED};
+    private SagaState compensated = SagaState.COMPENSATED;
+    private SagaState shippingFailed = SagaState.SHIPPING_FAILED;
+
+    @Benchmark
+    public SagaState sequentialHappyPath() {
+        return walk(sequential, SagaState.PAYMENT_PENDING, sequentialPath);
+    }
+
+    @Benchmark
+    public SagaState parallelHappyPath() {
+        return walk(parallel, SagaState.PAYMENT_AND_INVENTORY_PENDING, parallelPath);
+    }
+
+    @Benchmark
+    public SagaState rejectedTransition() {
+        return sequential.next(compensated, SagaEvent.PAYMENT_COMPLETED);
+    }
+
+    @Benchmark
+    public List<CompensationAction> compensations() {
+        return sequential.compensationsFor(shippingFailed);
+    }
+
+    private static SagaState walk(SagaDefinition definition, SagaState state, SagaEvent[] events) {
+        for (SagaEvent event : events) {
+            state = definition.next(state, event);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,73 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.orderapi.app.FraudDetectionService.FraudCheckResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FraudDetectionService#evaluate} including the velocity index. {@code hot} cycles over a
+ * handful of returning customers; {@code cold} over more customers than the index keeps, so every
+ * order inserts a new customer and periodically triggers eviction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FraudDetectionServiceBenchmark {
+
+    @Param({"hot", "cold"})
+    public String customers;
+
+    private FraudDetectionService service;
+    private Order[] orders;
+    private int next;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        service = new FraudDetectionService(new SimpleMeterRegistry());
+        set(service, "velocityWindowMinutes", 60);
+        set(service, "velocityMaxOrders", 5);
+
+        int distinct = "hot".equals(customers) ? 16 : FraudDetectionService.DEFAULT_VELOCITY_MAX_CUSTOMERS * 2 + 1;
+        orders = new Order[distinct];
+        for (int i = 0; i < distinct; i++) {
+            // below every review threshold, so the benchmark stays on the approve path
+            orders[i] = Order.builder()
+                    .id(UUID.randomUUID())
+                    .customerId("customer-" + i)
+                    .total(new BigDecimal("49.99"))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public FraudCheckResult evaluate() {
+        Order order = orders[next];
+        next = next + 1 == orders.length ? 0 : next + 1;
+        return service.evaluate(order);
+    }
+
+    private static void set(Object target, String field, int value) throws ReflectiveOperationException {
+        Field f = target.getClass().getDeclaredField(field);
+        f.setAccessible(true);
+        f.setInt(target, value);
+    }
+}
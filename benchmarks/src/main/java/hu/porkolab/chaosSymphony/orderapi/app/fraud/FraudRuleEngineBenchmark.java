@@ -0,0 +1,55 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring throughput and allocation rate of {@link FraudRuleEngine}.
+ * <p>
+ * The GC profiler column {@code gc.alloc.rate.norm} must stay at {@code ~0 B/op} for
+ * {@code approve}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FraudRuleEngineBenchmark {
+
+    private FraudRuleEngine engine;
+    private FraudSignals approve;
+    private FraudSignals review;
+
+    @Setup
+    public void setUp() {
+        engine = FraudRuleEngine.withDefaultRules(new FraudScoringProperties());
+        approve = new FraudSignals().set(12_345, 1, 5, 12);
+        review = new FraudSignals().set(250_000, 4, 5, 3);
+    }
+
+    @Benchmark
+    public long approve() {
+        return engine.evaluate(approve);
+    }
+
+    @Benchmark
+    public long review() {
+        return engine.evaluate(review);
+    }
+
+    @Benchmark
+    public String reviewWithReason() {
+        return engine.describe(engine.evaluate(review), review);
+    }
+}
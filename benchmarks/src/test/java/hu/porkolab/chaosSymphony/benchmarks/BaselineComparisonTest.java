@@ -0,0 +1,78 @@
+package hu.porkolab.chaosSymphony.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.benchmarks.BaselineComparison.Measurement;
+import hu.porkolab.chaosSymphony.benchmarks.BaselineComparison.Regression;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("BaselineComparison")
+class BaselineComparisonTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should key results by benchmark and parameters and read the allocation rate")
+    void read_shouldParseJmhJson() throws Exception {
+        String json = """
+                [{"benchmark":"x.EnvelopeHelperBenchmark.parse","mode":"avgt",
+                  "params":{"payloadBytes":"1024"},
+                  "primaryMetric":{"score":812.5,"scoreUnit":"ns/op"},
+                  "secondaryMetrics":{"gc.alloc.rate.norm":{"score":2048.0,"scoreUnit":"B/op"}}}]
+                """;
+
+        Map<String, Measurement> results = BaselineComparison.read(new ObjectMapper().readTree(json));
+
+        assertThat(results).containsOnlyKeys("x.EnvelopeHelperBenchmark.parse{payloadBytes=1024}");
+        assertThat(results.values().iterator().next()).isEqualTo(new Measurement(812.5, "ns/op", 2048.0));
+    }
+
+    @Test
+    @DisplayName("Should flag time and allocation growth beyond their thresholds only")
+    void compare_shouldFlagRegressions() {
+        Map<String, Measurement> baseline = Map.of(
+                "a", new Measurement(100, "ns/op", 1000),
+                "b", new Measurement(100, "ns/op", 1000));
+        Map<String, Measurement> current = Map.of(
+                "a", new Measurement(120, "ns/op", 1050),
+                "b", new Measurement(130, "ns/op", 1200));
+
+        List<Regression> regressions = BaselineComparison.compare(baseline, current, 0.25, 0.10, out);
+
+        assertThat(regressions).extracting(Regression::benchmark, Regression::metric)
+                .containsExactlyInAnyOrder(
+                        tuple("b", "time"),
+                        tuple("b", "alloc"));
+    }
+
+    @Test
+    @DisplayName("Should tolerate a few bytes on benchmarks that allocate nothing")
+    void compare_shouldIgnoreNoiseNearZero() {
+        List<Regression> regressions = BaselineComparison.compare(
+                Map.of("a", new Measurement(10, "ns/op", 0.01)),
+                Map.of("a", new Measurement(10, "ns/op", 8)), 0.25, 0.10, out);
+
+        assertThat(regressions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report benchmarks missing from either side without failing")
+    void compare_shouldReportNewAndMissing() {
+        List<Regression> regressions = BaselineComparison.compare(
+                Map.of("old", new Measurement(10, "ns/op", 0)),
+                Map.of("new", new Measurement(10, "ns/op", 0)), 0.25, 0.10, out);
+
+        assertThat(regressions).isEmpty();
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("new      new").contains("not run  old");
+    }
+}
@@ -0,0 +1,68 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompletionTracker")
+class CompletionTrackerTest {
+
+    private final CompletionTracker tracker = new CompletionTracker();
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    @DisplayName("Should measure from the scheduled arrival to the first terminal status")
+    void firstTerminalStatus_shouldRecordLatency() {
+        tracker.dispatched("o1", ms(1000), true);
+
+        tracker.onStatus("o1", "PAYMENT_REQUESTED", ms(1100));
+        tracker.onStatus("o1", "COMPLETED", ms(1250));
+        tracker.onStatus("o1", "CANCELLED", ms(1400));
+
+        assertThat(tracker.completed()).isEqualTo(1);
+        assertThat(tracker.failed()).isZero();
+        assertThat(tracker.inFlight()).isZero();
+        assertThat(tracker.latencyMicros().getMaxValue()).isBetween(249_000L, 251_000L);
+        assertThat(tracker.lastMeasuredNanos()).isEqualTo(ms(1250));
+    }
+
+    @Test
+    @DisplayName("A status consumed before the order id is registered should still count")
+    void statusBeforeDispatch_shouldRecordOnDispatch() {
+        tracker.onStatus("o1", "COMPLETED", ms(1250));
+
+        tracker.dispatched("o1", ms(1000), true);
+
+        assertThat(tracker.completed()).isEqualTo(1);
+        assertThat(tracker.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Failures should be counted but kept out of the latency histogram")
+    void failure_shouldNotRecordLatency() {
+        tracker.dispatched("o1", ms(1000), true);
+
+        tracker.onStatus("o1", "PAYMENT_FAILED", ms(1100));
+
+        assertThat(tracker.failed()).isEqualTo(1);
+        assertThat(tracker.latencyMicros().getTotalCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Warmup orders should finish without being counted")
+    void warmup_shouldNotCount() {
+        tracker.dispatched("o1", ms(1000), false);
+        tracker.dispatched("o2", ms(1000), true);
+
+        tracker.onStatus("o1", "COMPLETED", ms(1100));
+
+        assertThat(tracker.completed()).isZero();
+        assertThat(tracker.inFlight()).isEqualTo(1);
+    }
+}
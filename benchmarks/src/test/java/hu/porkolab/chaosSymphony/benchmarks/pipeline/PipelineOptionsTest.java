@@ -0,0 +1,59 @@
+package hu.porkolab.chaosSymphony.benchmarks.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PipelineOptions")
+class PipelineOptionsTest {
+
+    @Test
+    @DisplayName("Should fall back to defaults")
+    void parse_withoutArguments_shouldUseDefaults() {
+        PipelineOptions options = PipelineOptions.parse();
+
+        assertThat(options.rate()).isEqualTo(50);
+        assertThat(options.duration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(options.partitions()).isEqualTo(3);
+        assertThat(options.properties()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Service properties should override those given for every service")
+    void propertiesFor_shouldLayerServiceOverGlobal() {
+        PipelineOptions options = PipelineOptions.parse(
+                "--rate=200",
+                "--property=spring.kafka.producer.properties.linger.ms=5",
+                "--property=orchestrator:spring.kafka.producer.properties.linger.ms=0",
+                "--property=orchestrator:saga.parallel-steps=true");
+
+        assertThat(options.rate()).isEqualTo(200);
+        assertThat(options.propertiesFor("orchestrator")).isEqualTo(Map.of(
+                "spring.kafka.producer.properties.linger.ms", "0",
+                "saga.parallel-steps", "true"));
+        assertThat(options.propertiesFor("payment-svc")).isEqualTo(Map.of(
+                "spring.kafka.producer.properties.linger.ms", "5"));
+    }
+
+    @Test
+    @DisplayName("Should keep colons in property values")
+    void property_withColonInValue_shouldApplyToAll() {
+        PipelineOptions options = PipelineOptions.parse("--property=orders.admission.lag.url=http://localhost:8095");
+
+        assertThat(options.propertiesFor("order-api")).containsEntry("orders.admission.lag.url", "http://localhost:8095");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and services")
+    void parse_shouldRejectUnknown() {
+        assertThatThrownBy(() -> PipelineOptions.parse("--threads=4"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PipelineOptions.parse("--property=billing-svc:a=b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.UUID;
 
 public final class EnvelopeHelper {
   private static final ObjectMapper OM = new ObjectMapper();
+  private static final EnvelopeWriter WRITER = new EnvelopeWriter(OM);
 
   private EnvelopeHelper() {
   }
@@ -28,13 +29,8 @@ public final class EnvelopeHelper {
         OM.readTree(payloadJson);
       }
 
-      var root = OM.createObjectNode();
-      root.put("orderId", orderId);
-      root.put("eventId", eventId);
-      root.put("type", type);
       // payloadot raw stringként tesszük be
-      root.put("payload", payloadJson);
-      return OM.writeValueAsString(root);
+      return WRITER.writeText(orderId, eventId, type, payloadJson);
     } catch (Exception e) {
       throw new RuntimeException("Envelope build failed", e);
     }
@@ -47,7 +43,9 @@ public final class EnvelopeHelper {
       String orderId = getText(n, "orderId", null);
       String eventId = getText(n, "eventId", null);
       String type = getText(n, "type", null);
-      String payload = getText(n, "payload", "{}"); // raw string
+      JsonNode p = n.get("payload");
+      // EnvelopeWriter.write beágyazott objektumként írja a payloadot
+      String payload = p != null && p.isContainerNode() ? p.toString() : getText(n, "payload", "{}"); // raw string
       return new EventEnvelope(orderId, eventId, type, payload);
     } catch (Exception e) {
       throw new RuntimeException("Envelope parse failed", e);
@@ -0,0 +1,55 @@
+package hu.porkolab.chaosSymphony.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Writes the {@code orderId, eventId, type, payload} envelope straight to a {@link JsonGenerator},
+ * without building a tree or serialising the payload into an intermediate string first.
+ * Thread-safe once constructed.
+ */
+public final class EnvelopeWriter {
+
+  private final ObjectMapper mapper;
+
+  public EnvelopeWriter(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /** Serialises {@code payload} in place as a nested JSON value. */
+  public String write(String orderId, String eventId, String type, Object payload) {
+    return write(orderId, eventId, type, gen -> mapper.writeValue(gen, payload));
+  }
+
+  /**
+   * Embeds already serialised JSON as a string field, the format {@link EnvelopeHelper#envelope}
+   * has always produced. The payload is not re-parsed.
+   */
+  public String writeText(String orderId, String eventId, String type, String payloadJson) {
+    return write(orderId, eventId, type, gen -> gen.writeString(payloadJson));
+  }
+
+  private String write(String orderId, String eventId, String type, PayloadWriter payload) {
+    StringWriter out = new StringWriter(128);
+    try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+      gen.writeStartObject();
+      gen.writeStringField("orderId", orderId);
+      gen.writeStringField("eventId", eventId);
+      gen.writeStringField("type", type);
+      gen.writeFieldName("payload");
+      payload.write(gen);
+      gen.writeEndObject();
+    } catch (IOException e) {
+      throw new IllegalStateException("Envelope build failed", e);
+    }
+    return out.toString();
+  }
+
+  @FunctionalInterface
+  private interface PayloadWriter {
+    void write(JsonGenerator gen) throws IOException;
+  }
+}
@@ -0,0 +1,116 @@
+package hu.porkolab.chaosSymphony.common.breaker;
+
+/**
+ * Failure-rate state of one listener over its last {@code windowSize} calls. Only the state machine;
+ * pausing and resuming the consumer is up to {@link ConsumerCircuitBreakerInterceptor}.
+ * <p>
+ * While {@link State#OPEN} nothing is counted. In {@link State#HALF_OPEN} exactly one caller gets
+ * the probe, and its outcome alone closes the breaker or opens it again.
+ */
+public class ConsumerCircuitBreaker {
+
+    /** Ordinals are what the {@code kafka.consumer.breaker.state} gauge shows. */
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final boolean[] window;
+    private int next;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private boolean probing;
+
+    public ConsumerCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException(
+                    "Need 1 <= minimumCalls <= windowSize, got " + minimumCalls + " and " + windowSize);
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** Failure rate in percent over the current window. */
+    public synchronized double failureRate() {
+        return calls == 0 ? 0 : failures * 100.0 / calls;
+    }
+
+    /** Counts the outcome of an ordinary call; returns {@code true} if it opened the breaker. */
+    public synchronized boolean onCall(boolean failed) {
+        if (state != State.CLOSED) {
+            return false;
+        }
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+        if (calls >= minimumCalls && failureRate() >= failureRateThreshold) {
+            state = State.OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /** Ends the open period; returns {@code false} if the breaker was not open. */
+    public synchronized boolean halfOpen() {
+        if (state != State.OPEN) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        probing = false;
+        return true;
+    }
+
+    /** Hands the probe to the first caller after {@link #halfOpen()}. */
+    public synchronized boolean tryAcquireProbe() {
+        if (state != State.HALF_OPEN || probing) {
+            return false;
+        }
+        probing = true;
+        return true;
+    }
+
+    /** Half-open with nobody holding the probe yet. */
+    public synchronized boolean awaitingProbe() {
+        return state == State.HALF_OPEN && !probing;
+    }
+
+    /**
+     * Closes a half-open breaker whose probe was never taken, because no consumer of the group had
+     * a record to process; {@code false} if a probe is in flight or the breaker is not half-open.
+     */
+    public synchronized boolean closeWithoutProbe() {
+        if (state != State.HALF_OPEN || probing) {
+            return false;
+        }
+        onProbe(false);
+        return true;
+    }
+
+    /** Settles the probe and returns the new state. */
+    public synchronized State onProbe(boolean failed) {
+        probing = false;
+        if (failed) {
+            state = State.OPEN;
+        } else {
+            state = State.CLOSED;
+            calls = 0;
+            failures = 0;
+            next = 0;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,41 @@
+package hu.porkolab.chaosSymphony.common.breaker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+
+/**
+ * Consumer circuit breaker of a service. The interceptor reaches the listener containers through
+ * {@code HopTimingConfig}, which chains every record interceptor bean onto every factory.
+ */
+@Configuration
+@EnableConfigurationProperties(ConsumerCircuitBreakerProperties.class)
+@ConditionalOnProperty(prefix = "kafka.circuit-breaker", name = "enabled", matchIfMissing = true)
+public class ConsumerCircuitBreakerConfig {
+
+    @Bean
+    public ConsumerCircuitBreakerInterceptor consumerCircuitBreakerInterceptor(
+            ConsumerCircuitBreakerProperties properties, ObjectProvider<KafkaListenerEndpointRegistry> registry,
+            MeterRegistry meterRegistry) {
+        return new ConsumerCircuitBreakerInterceptor(properties, registry, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor consumerCircuitBreakerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    factory.getContainerProperties().setPauseImmediate(true);
+                }
+                return bean;
+            }
+        };
+    }
+}
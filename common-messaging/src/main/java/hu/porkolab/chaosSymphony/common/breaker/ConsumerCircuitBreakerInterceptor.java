@@ -0,0 +1,228 @@
+package hu.porkolab.chaosSymphony.common.breaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker per consumer group, fed by the outcome of every listener call. When the failure
+ * rate crosses the threshold the group's containers are paused, so the backlog waits in Kafka
+ * instead of burning back-off cycles and DLT writes on a dependency that is down. After
+ * {@code open-duration} a single consumer is resumed; its first record is the probe, and the probe's
+ * outcome resumes everything or pauses the group for another period. A consumer whose partitions
+ * stay idle for {@code probe-timeout} is paused again and the next one gets the probe; when none
+ * of them has a record, there is no backlog to protect and the breaker closes.
+ * <p>
+ * Containers need {@code pauseImmediate}, otherwise the rest of the current poll would still run
+ * through a just-opened breaker; {@link ConsumerCircuitBreakerConfig} sets it on every factory.
+ * Record listeners only.
+ */
+@Slf4j
+public class ConsumerCircuitBreakerInterceptor implements RecordInterceptor<Object, Object>, DisposableBean {
+
+    private record Call(String group, ConsumerCircuitBreaker breaker, boolean probe) {}
+
+    private final ConsumerCircuitBreakerProperties properties;
+    private final ObjectProvider<KafkaListenerEndpointRegistry> registry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ConsumerCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> probeDeadlines = new ConcurrentHashMap<>();
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+    private final ScheduledExecutorService timer;
+
+    public ConsumerCircuitBreakerInterceptor(ConsumerCircuitBreakerProperties properties,
+                                             ObjectProvider<KafkaListenerEndpointRegistry> registry,
+                                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.meterRegistry = meterRegistry;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "consumer-circuit-breaker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+                                                    Consumer<Object, Object> consumer) {
+        String group = consumer == null ? null : consumer.groupMetadata().groupId();
+        if (group == null || !guards(group)) {
+            return record;
+        }
+        ConsumerCircuitBreaker breaker = breaker(group);
+        current.set(new Call(group, breaker, breaker.tryAcquireProbe()));
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        onOutcome(false);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception, Consumer<Object, Object> consumer) {
+        onOutcome(true);
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        current.remove();
+    }
+
+    public Map<String, ConsumerCircuitBreaker> breakers() {
+        return Map.copyOf(breakers);
+    }
+
+    boolean guards(String group) {
+        return properties.getGroups().isEmpty() || properties.getGroups().contains(group);
+    }
+
+    ConsumerCircuitBreaker breaker(String group) {
+        return breakers.computeIfAbsent(group, g -> {
+            var breaker = new ConsumerCircuitBreaker(properties.getWindowSize(), properties.getMinimumCalls(),
+                    properties.getFailureRateThreshold());
+            Gauge.builder("kafka.consumer.breaker.state", breaker, b -> b.state().ordinal())
+                    .description("Consumer circuit breaker state: 0 closed, 1 half-open, 2 open")
+                    .tag("group", g)
+                    .register(meterRegistry);
+            Gauge.builder("kafka.consumer.breaker.failure.rate", breaker, ConsumerCircuitBreaker::failureRate)
+                    .description("Failure rate in percent over the breaker window")
+                    .tag("group", g)
+                    .baseUnit("percent")
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private void onOutcome(boolean failed) {
+        Call call = current.get();
+        if (call == null) {
+            return;
+        }
+        current.remove();
+        if (call.probe()) {
+            ScheduledFuture<?> deadline = probeDeadlines.remove(call.group());
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+            ConsumerCircuitBreaker.State state = call.breaker().onProbe(failed);
+            transitioned(call.group(), state);
+            if (state == ConsumerCircuitBreaker.State.CLOSED) {
+                containers(call.group()).forEach(MessageListenerContainer::resume);
+            } else {
+                open(call.group());
+            }
+        } else if (call.breaker().onCall(failed)) {
+            transitioned(call.group(), ConsumerCircuitBreaker.State.OPEN);
+            open(call.group());
+        }
+    }
+
+    private void open(String group) {
+        containers(group).forEach(MessageListenerContainer::pause);
+        timer.schedule(() -> halfOpen(group), properties.getOpenDuration().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void halfOpen(String group) {
+        ConsumerCircuitBreaker breaker = breakers.get(group);
+        if (breaker == null || !breaker.halfOpen()) {
+            return;
+        }
+        transitioned(group, ConsumerCircuitBreaker.State.HALF_OPEN);
+        offerProbe(group, breaker, 0);
+    }
+
+    /** Resumes the {@code index}-th probe consumer of the group, or closes once all were idle. */
+    private void offerProbe(String group, ConsumerCircuitBreaker breaker, int index) {
+        List<MessageListenerContainer> consumers = probeConsumers(group);
+        if (index >= consumers.size()) {
+            if (breaker.closeWithoutProbe()) {
+                transitioned(group, ConsumerCircuitBreaker.State.CLOSED);
+                containers(group).forEach(MessageListenerContainer::resume);
+            }
+            return;
+        }
+        MessageListenerContainer consumer = consumers.get(index);
+        consumer.resume();
+        probeDeadlines.put(group, timer.schedule(() -> probeTimedOut(group, breaker, consumer, index),
+                properties.getProbeTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void probeTimedOut(String group, ConsumerCircuitBreaker breaker, MessageListenerContainer consumer,
+                               int index) {
+        if (!breaker.awaitingProbe()) {
+            return;
+        }
+        log.info("[BREAKER] {} probe consumer idle for {}, trying the next one", group, properties.getProbeTimeout());
+        consumer.pause();
+        offerProbe(group, breaker, index + 1);
+    }
+
+    /** Children of concurrent containers, so a single thread sees the probe record. */
+    private List<MessageListenerContainer> probeConsumers(String group) {
+        List<MessageListenerContainer> consumers = new ArrayList<>();
+        for (MessageListenerContainer container : containers(group)) {
+            int before = consumers.size();
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) {
+                for (MessageListenerContainer child : concurrent.getContainers()) {
+                    var assigned = child.getAssignedPartitions();
+                    if (assigned != null && !assigned.isEmpty()) {
+                        consumers.add(child);
+                    }
+                }
+            }
+            if (consumers.size() == before) {
+                consumers.add(container);
+            }
+        }
+        return consumers;
+    }
+
+    private List<MessageListenerContainer> containers(String group) {
+        KafkaListenerEndpointRegistry endpoints = registry.getIfAvailable();
+        if (endpoints == null) {
+            return List.of();
+        }
+        return endpoints.getListenerContainers().stream()
+                .filter(c -> group.equals(c.getGroupId()))
+                .toList();
+    }
+
+    private void transitioned(String group, ConsumerCircuitBreaker.State state) {
+        Counter.builder("kafka.consumer.breaker.transitions")
+                .description("Consumer circuit breaker state changes")
+                .tag("group", group)
+                .tag("state", state.name())
+                .register(meterRegistry)
+                .increment();
+        if (state == ConsumerCircuitBreaker.State.OPEN) {
+            log.warn("[BREAKER] {} opened: pausing for {}", group, properties.getOpenDuration());
+        } else {
+            log.info("[BREAKER] {} is {}", group, state);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+}
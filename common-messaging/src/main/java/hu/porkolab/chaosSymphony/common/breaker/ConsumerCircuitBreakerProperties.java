@@ -0,0 +1,38 @@
+package hu.porkolab.chaosSymphony.common.breaker;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "kafka.circuit-breaker")
+public class ConsumerCircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    /** Consumer groups to guard; empty guards every listener of the service. */
+    private List<String> groups = new ArrayList<>();
+
+    /** Last listener calls the failure rate is taken over. */
+    private int windowSize = 20;
+
+    /** Calls in the window before the breaker may open at all. */
+    private int minimumCalls = 10;
+
+    /** Failure rate in percent at which the breaker opens. */
+    private double failureRateThreshold = 50;
+
+    /** How long partitions stay paused before a single probe record is let through. */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * How long the consumer resumed for the probe may go without a record before the next consumer
+     * of the group gets the probe instead. Once every consumer has been idle, the breaker closes.
+     */
+    private Duration probeTimeout = Duration.ofSeconds(10);
+}
@@ -1,5 +1,8 @@
 package hu.porkolab.chaosSymphony.common.chaos;
 
+import hu.porkolab.chaosSymphony.common.jfr.ChaosFaultEvent;
+import hu.porkolab.chaosSymphony.common.jfr.ChaosFaultEvent.Fault;
+import hu.porkolab.chaosSymphony.common.jfr.JfrEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -22,23 +25,40 @@ public class ChaosProducer {
     public void send(String topic, String key, String type, String msg) {
         ChaosRules.Rule rule = rulesSupplier.get().ruleFor(topic, type);
         ChaosRules rules = rulesSupplier.get();
-        rules.maybeDelay(rule.maxDelayMs());
+        delay(rules, rule, topic, key);
         if (rules.hit(rule.pDrop())) { 
+            ChaosFaultEvent.emit(topic, key, Fault.DROP);
             log.warn("[CHAOS] DROP topic={} key={} type={}", topic, key, type); 
             throw new ChaosDropException("Chaos DROP triggered for topic=" + topic + " key=" + key);
         }
         if (rules.hit(rule.pCorrupt())) {
             int cut = Math.max(1, msg.length()/2);
             msg = msg.substring(0, cut);
+            ChaosFaultEvent.emit(topic, key, Fault.CORRUPT);
             log.warn("[CHAOS] CORRUPT topic={} key={} type={} cut={}", topic, key, type, cut);
         }
         kafka.send(topic, key, msg);
         if (rules.hit(rule.pDup())) {
             kafka.send(topic, key, msg);
+            ChaosFaultEvent.emit(topic, key, Fault.DUPLICATE);
             log.warn("[CHAOS] DUP topic={} key={} type={}", topic, key, type);
         }
     }
-    
+
+    private static void delay(ChaosRules rules, ChaosRules.Rule rule, String topic, String key) {
+        if (rule.maxDelayMs() <= 0) {
+            return;
+        }
+        ChaosFaultEvent event = new ChaosFaultEvent();
+        event.begin();
+        rules.maybeDelay(rule.maxDelayMs());
+        if (event.shouldCommit()) {
+            event.topic = topic;
+            event.keyHash = JfrEvents.keyHash(key);
+            event.fault = Fault.DELAY.name();
+            event.commit();
+        }
+    }
     
     public static class ChaosDropException extends RuntimeException {
         public ChaosDropException(String message) {
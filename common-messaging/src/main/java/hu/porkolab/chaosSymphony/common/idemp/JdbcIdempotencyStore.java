@@ -1,5 +1,7 @@
 package hu.porkolab.chaosSymphony.common.idemp;
 
+import hu.porkolab.chaosSymphony.common.jfr.IdempotencyCheckEvent;
+import hu.porkolab.chaosSymphony.common.jfr.JfrEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -17,10 +19,13 @@ public class JdbcIdempotencyStore implements IdempotencyStore {
 
     @Override
     public boolean markIfFirst(String eventId) {
+        IdempotencyCheckEvent check = new IdempotencyCheckEvent();
+        check.begin();
         try {
             int rows = jdbc.update("INSERT INTO idempotency_event(event_id) VALUES (?)", eventId);
             if (rows == 1) {
                 log.debug("Event {} marked as processed", eventId);
+                check.firstSeen = true;
                 return true;
             }
             return false;
@@ -30,6 +35,12 @@ public class JdbcIdempotencyStore implements IdempotencyStore {
         } catch (Exception e) {
             log.error("Unexpected error checking idempotency for event {}: {}", eventId, e.getMessage(), e);
             throw e;
+        } finally {
+            if (check.shouldCommit()) {
+                check.keyHash = JfrEvents.keyHash(eventId);
+                check.store = "jdbc";
+                check.commit();
+            }
         }
     }
 }
@@ -0,0 +1,38 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hu.porkolab.chaosSymphony.ChaosFault")
+@Label("Chaos Fault Injected")
+@Category({JfrEvents.CATEGORY, "Chaos"})
+@Description("A fault injected on send; the duration of a DELAY is the injected delay")
+@StackTrace(false)
+public class ChaosFaultEvent extends Event {
+
+    public enum Fault { DELAY, DROP, CORRUPT, DUPLICATE }
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Key Hash")
+    public int keyHash;
+
+    @Label("Fault")
+    public String fault;
+
+    public static void emit(String topic, Object key, Fault fault) {
+        ChaosFaultEvent e = new ChaosFaultEvent();
+        if (!e.isEnabled()) {
+            return;
+        }
+        e.topic = topic;
+        e.keyHash = JfrEvents.keyHash(key);
+        e.fault = fault.name();
+        e.commit();
+    }
+}
@@ -0,0 +1,22 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecordings flightRecordings(FlightRecorderProperties properties) {
+        FlightRecordings recordings = new FlightRecordings(properties);
+        recordings.startContinuous();
+        return recordings;
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(FlightRecordings recordings) {
+        return new FlightRecorderEndpoint(recordings);
+    }
+}
@@ -0,0 +1,98 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import hu.porkolab.chaosSymphony.common.jfr.FlightRecordings.RecordingInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/jfr}: list recordings, {@code POST} to start a bounded one
+ * ({@code {"name":..,"duration":"2m","settings":"profile"}}, all optional), {@code POST /{name}}
+ * to stop it early, {@code GET /{name}} to download it as a {@code .jfr} file (the rolling one is
+ * {@code continuous}) and {@code DELETE /{name}} to discard it.
+ */
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecordings recordings;
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String name) throws IOException {
+        return recordings.dump(name)
+                .map(file -> new WebEndpointResponse<Resource>(new TemporaryFileResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String name, @Nullable Duration duration, @Nullable String settings) {
+        try {
+            return recordings.start(name, duration, settings);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector String name) {
+        return recordings.stop(name)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<RecordingInfo> discard(@Selector String name) {
+        return recordings.discard(name)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /** A dump that deletes itself once it has been streamed. */
+    static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // keeps the converters on getInputStream() rather than reading the path directly
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jfr")
+public class FlightRecorderProperties {
+
+    /** JFR settings of on-demand recordings; {@code profile} adds allocation and lock sampling. */
+    private String defaultSettings = "profile";
+
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /** Longest on-demand recording that can be requested. */
+    private Duration maxDuration = Duration.ofMinutes(15);
+
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /** On-demand recordings kept at once, running or stopped; delete one to start another. */
+    private int maxRecordings = 3;
+
+    private final Continuous continuous = new Continuous();
+
+    /** Rolling recording started with the application, dumped on request. */
+    @Getter
+    @Setter
+    public static class Continuous {
+
+        private boolean enabled = true;
+
+        private String settings = "default";
+
+        private Duration maxAge = Duration.ofMinutes(30);
+
+        private DataSize maxSize = DataSize.ofMegabytes(128);
+    }
+}
@@ -0,0 +1,179 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Flight Recorder recordings of this JVM: the rolling {@value #CONTINUOUS} recording and a bounded
+ * number of on-demand ones, each capped in duration and size. Recordings are written to the JFR
+ * repository on disk and stay there, stopped, until discarded, so they can be downloaded after the
+ * fact. Whatever the settings, they never record environment variables or system properties,
+ * which hold credentials.
+ */
+@Slf4j
+public class FlightRecordings implements DisposableBean {
+
+    public static final String CONTINUOUS = "continuous";
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    public record RecordingInfo(String name, RecordingState state, String settings, Instant startedAt,
+                                Duration duration, Duration maxAge, long maxSizeBytes, long sizeBytes) {
+
+        static RecordingInfo of(Recording recording, String settings) {
+            return new RecordingInfo(recording.getName(), recording.getState(), settings,
+                    recording.getStartTime(), recording.getDuration(), recording.getMaxAge(),
+                    recording.getMaxSize(), recording.getSize());
+        }
+    }
+
+    private record Entry(Recording recording, String settings) {}
+
+    private final FlightRecorderProperties properties;
+    private final Map<String, Entry> recordings = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public FlightRecordings(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    public void startContinuous() {
+        FlightRecorderProperties.Continuous continuous = properties.getContinuous();
+        if (!continuous.isEnabled() || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        Recording recording = newRecording(continuous.getSettings());
+        recording.setName(CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(continuous.getMaxAge());
+        recording.setMaxSize(continuous.getMaxSize().toBytes());
+        recording.start();
+        recordings.put(CONTINUOUS, new Entry(recording, continuous.getSettings()));
+        log.info("Continuous flight recording started ({} settings, last {})", continuous.getSettings(),
+                continuous.getMaxAge());
+    }
+
+    /**
+     * Starts an on-demand recording that stops itself after {@code duration}.
+     *
+     * @throws IllegalArgumentException for a bad name, duration or settings
+     * @throws IllegalStateException when Flight Recorder is unavailable or the recording limit is reached
+     */
+    public synchronized RecordingInfo start(String name, Duration duration, String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        String recordingName = name != null ? name : "recording-" + sequence.incrementAndGet();
+        if (!NAME.matcher(recordingName).matches() || CONTINUOUS.equals(recordingName)) {
+            throw new IllegalArgumentException("Invalid recording name '" + recordingName + "'");
+        }
+        if (recordings.containsKey(recordingName)) {
+            throw new IllegalArgumentException("Recording '" + recordingName + "' already exists");
+        }
+        Duration length = duration != null ? duration : properties.getDefaultDuration();
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.getMaxDuration()) > 0) {
+            throw new IllegalArgumentException("Duration must be positive and at most " + properties.getMaxDuration());
+        }
+        long onDemand = recordings.keySet().stream().filter(n -> !CONTINUOUS.equals(n)).count();
+        if (onDemand >= properties.getMaxRecordings()) {
+            throw new IllegalStateException(onDemand + " recordings already kept; discard one first");
+        }
+        String jfc = settings != null ? settings : properties.getDefaultSettings();
+
+        Recording recording = newRecording(jfc);
+        recording.setName(recordingName);
+        recording.setToDisk(true);
+        recording.setDuration(length);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.start();
+        recordings.put(recordingName, new Entry(recording, jfc));
+        log.info("Flight recording '{}' started for {} ({} settings)", recordingName, length, jfc);
+        return RecordingInfo.of(recording, jfc);
+    }
+
+    /** Stops a recording early; its data stays available for download. */
+    public Optional<RecordingInfo> stop(String name) {
+        return Optional.ofNullable(recordings.get(name)).map(entry -> {
+            if (entry.recording().getState() == RecordingState.RUNNING) {
+                entry.recording().stop();
+                log.info("Flight recording '{}' stopped", name);
+            }
+            return RecordingInfo.of(entry.recording(), entry.settings());
+        });
+    }
+
+    /** Closes a recording and deletes its data. */
+    public Optional<RecordingInfo> discard(String name) {
+        return Optional.ofNullable(recordings.remove(name)).map(entry -> {
+            RecordingInfo info = RecordingInfo.of(entry.recording(), entry.settings());
+            entry.recording().close();
+            log.info("Flight recording '{}' discarded", name);
+            return info;
+        });
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream()
+                .map(entry -> RecordingInfo.of(entry.recording(), entry.settings()))
+                .sorted(Comparator.comparing(RecordingInfo::name))
+                .toList();
+    }
+
+    /**
+     * Copies what a recording holds so far into a temporary {@code .jfr} file, which the caller
+     * deletes. Works on running and stopped recordings.
+     */
+    public Optional<Path> dump(String name) throws IOException {
+        Entry entry = recordings.get(name);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile("jfr-" + name + "-", ".jfr");
+        try {
+            entry.recording().dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return Optional.of(file);
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(entry -> entry.recording().close());
+        recordings.clear();
+    }
+
+    private static Recording newRecording(String settings) {
+        Recording recording = new Recording(configuration(settings));
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        return recording;
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings '" + name + "', use default or profile", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hu.porkolab.chaosSymphony.IdempotencyCheck")
+@Label("Idempotency Check")
+@Category({JfrEvents.CATEGORY, "Messaging"})
+@Description("One round trip to the idempotency store")
+@StackTrace(false)
+public class IdempotencyCheckEvent extends Event {
+
+    @Label("Key Hash")
+    public int keyHash;
+
+    @Label("First Seen")
+    @Description("False for a duplicate, or when the check failed")
+    public boolean firstSeen;
+
+    @Label("Store")
+    public String store;
+}
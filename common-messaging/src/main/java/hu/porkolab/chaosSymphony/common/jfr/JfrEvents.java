@@ -0,0 +1,15 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+/** Shared bits of the Chaos Symphony Flight Recorder events. */
+public final class JfrEvents {
+
+    static final String CATEGORY = "Chaos Symphony";
+
+    private JfrEvents() {
+    }
+
+    /** Keys are order ids; recordings get shared, so events carry a hash to correlate by instead. */
+    public static int keyHash(Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+}
@@ -0,0 +1,41 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("hu.porkolab.chaosSymphony.MessageProcessed")
+@Label("Message Processed")
+@Category({JfrEvents.CATEGORY, "Messaging"})
+@Description("A consumed record, or a batch for batch listeners, from listener start to listener end")
+@StackTrace(false)
+public class MessageProcessedEvent extends Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("Offset")
+    @Description("Offset of the first record")
+    public long offset;
+
+    @Label("Key Hash")
+    public int keyHash;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Queue Time")
+    @Description("Time the (first) record waited between send and listener, -1 if unknown")
+    @Timespan(Timespan.MILLISECONDS)
+    public long queueTime;
+
+    @Label("Failed")
+    public boolean failed;
+}
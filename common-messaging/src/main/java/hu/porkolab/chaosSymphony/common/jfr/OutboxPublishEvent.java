@@ -0,0 +1,31 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("hu.porkolab.chaosSymphony.OutboxPublish")
+@Label("Outbox Publish")
+@Category({JfrEvents.CATEGORY, "Outbox"})
+@Description("One outbox batch claimed, published, acknowledged and cleaned up")
+@StackTrace(false)
+public class OutboxPublishEvent extends Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Max Lag")
+    @Description("Oldest row's time between being written and being acknowledged")
+    @Timespan(Timespan.MILLISECONDS)
+    public long maxLag;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,47 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hu.porkolab.chaosSymphony.SagaTransition")
+@Label("Saga Transition")
+@Category({JfrEvents.CATEGORY, "Saga"})
+@StackTrace(false)
+public class SagaTransitionEvent extends Event {
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Saga")
+    public String saga;
+
+    @Label("Event")
+    public String sagaEvent;
+
+    @Label("From")
+    public String fromState;
+
+    @Label("To")
+    public String toState;
+
+    @Label("Accepted")
+    public boolean accepted;
+
+    /** Records a transition; {@code to} is {@code null} when the definition rejected the event. */
+    public static void emit(String orderId, String saga, Enum<?> event, Enum<?> from, Enum<?> to) {
+        SagaTransitionEvent e = new SagaTransitionEvent();
+        if (!e.isEnabled()) {
+            return;
+        }
+        e.orderId = orderId;
+        e.saga = saga;
+        e.sagaEvent = event.name();
+        e.fromState = from == null ? null : from.name();
+        e.toState = to == null ? null : to.name();
+        e.accepted = to != null;
+        e.commit();
+    }
+}
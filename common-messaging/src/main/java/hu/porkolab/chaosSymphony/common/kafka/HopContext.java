@@ -0,0 +1,35 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import org.apache.kafka.common.header.Headers;
+
+import java.util.OptionalLong;
+
+/**
+ * The hop a listener thread is currently handling. {@link HopTimingInterceptor} sets it around the
+ * listener call so that whatever the listener sends continues the same saga, one hop further.
+ */
+record HopContext(long sagaStartedAt, long hopCount) {
+
+    private static final ThreadLocal<HopContext> CURRENT = new ThreadLocal<>();
+
+    static HopContext current() {
+        return CURRENT.get();
+    }
+
+    static void set(HopContext context) {
+        CURRENT.set(context);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /** The hop described by a record's own headers, or {@code null} if it was sent without them. */
+    static HopContext of(Headers headers) {
+        OptionalLong sagaStartedAt = HopHeaders.read(headers, HopHeaders.SAGA_STARTED_AT);
+        if (sagaStartedAt.isEmpty()) {
+            return null;
+        }
+        return new HopContext(sagaStartedAt.getAsLong(), HopHeaders.read(headers, HopHeaders.HOP_COUNT).orElse(0));
+    }
+}
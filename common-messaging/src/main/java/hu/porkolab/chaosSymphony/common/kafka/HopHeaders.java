@@ -0,0 +1,44 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+
+/**
+ * Headers stamped on every send so a consumer can split a hop into time spent waiting in the topic
+ * and time spent in the listener. Values are decimal strings (epoch millis, hop count), which keeps
+ * them readable in the DLQ browser and on the console consumer.
+ */
+public final class HopHeaders {
+
+    /** When this record was handed to the producer. */
+    public static final String PRODUCED_AT = "x-produced-at";
+
+    /** When the first record of the saga was produced; carried unchanged along every hop. */
+    public static final String SAGA_STARTED_AT = "x-saga-started-at";
+
+    /** Number of topics the saga has passed through, this one included. */
+    public static final String HOP_COUNT = "x-hop-count";
+
+    private HopHeaders() {
+    }
+
+    public static OptionalLong read(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        if (header == null || header.value() == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    public static void write(Headers headers, String name, long value) {
+        headers.remove(name);
+        headers.add(name, Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,42 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.Map;
+
+/**
+ * Stamps {@link HopHeaders} on outgoing records. A send from inside a listener continues the saga of
+ * the record being handled; a re-publish of a consumed record (dead-lettering, DLQ replay) continues
+ * the saga in its own headers; anything else starts a new saga. Runs on the sending thread.
+ */
+public class HopHeadersProducerInterceptor<K, V> implements ProducerInterceptor<K, V> {
+
+    @Override
+    public ProducerRecord<K, V> onSend(ProducerRecord<K, V> record) {
+        long now = System.currentTimeMillis();
+        HopContext previous = HopContext.current();
+        if (previous == null) {
+            previous = HopContext.of(record.headers());
+        }
+        HopHeaders.write(record.headers(), HopHeaders.PRODUCED_AT, now);
+        HopHeaders.write(record.headers(), HopHeaders.SAGA_STARTED_AT,
+                previous != null ? previous.sagaStartedAt() : now);
+        HopHeaders.write(record.headers(), HopHeaders.HOP_COUNT,
+                previous != null ? previous.hopCount() + 1 : 1);
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
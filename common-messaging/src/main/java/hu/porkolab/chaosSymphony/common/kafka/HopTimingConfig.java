@@ -0,0 +1,56 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.CompositeBatchInterceptor;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.List;
+
+/**
+ * Puts {@link HopHeadersProducerInterceptor} on every {@link KafkaTemplate} and
+ * {@link HopTimingInterceptor} on every listener container factory of the application, including
+ * the service-specific ones, so no factory has to remember to wire them. Other record and batch
+ * interceptor beans, such as the delayed-retry group filter, are chained in front of it in their
+ * {@code Ordered} order; interceptors set on a factory elsewhere would be replaced.
+ */
+@Configuration
+public class HopTimingConfig {
+
+    @Bean
+    public HopTimingInterceptor hopTimingInterceptor(MeterRegistry meterRegistry) {
+        return new HopTimingInterceptor(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor hopTimingPostProcessor(
+            ObjectProvider<RecordInterceptor<Object, Object>> recordInterceptors,
+            ObjectProvider<BatchInterceptor<Object, Object>> batchInterceptors) {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof KafkaTemplate<?, ?> template) {
+                    ((KafkaTemplate<Object, Object>) template).setProducerInterceptor(
+                            new HopHeadersProducerInterceptor<>());
+                } else if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    var f = (AbstractKafkaListenerContainerFactory<?, Object, Object>) factory;
+                    List<RecordInterceptor<Object, Object>> records = recordInterceptors.orderedStream().toList();
+                    List<BatchInterceptor<Object, Object>> batches = batchInterceptors.orderedStream().toList();
+                    f.setRecordInterceptor(records.size() == 1 ? records.get(0)
+                            : new CompositeRecordInterceptor<>(records.toArray(RecordInterceptor[]::new)));
+                    f.setBatchInterceptor(batches.size() == 1 ? batches.get(0)
+                            : new CompositeBatchInterceptor<>(batches.toArray(BatchInterceptor[]::new)));
+                }
+                return bean;
+            }
+        };
+    }
+}
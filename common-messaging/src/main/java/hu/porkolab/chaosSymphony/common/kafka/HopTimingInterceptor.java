@@ -0,0 +1,190 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import hu.porkolab.chaosSymphony.common.jfr.JfrEvents;
+import hu.porkolab.chaosSymphony.common.jfr.MessageProcessedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits every consumed hop into histograms tagged by topic:
+ * <ul>
+ *   <li>{@code kafka.hop.queue.time} – from the producer handing the record over to the listener
+ *       getting it, i.e. broker, network, consumer lag and retry back-off;</li>
+ *   <li>{@code kafka.hop.service.time} – the listener call itself;</li>
+ *   <li>{@code kafka.hop.saga.elapsed} – from the saga's first send until this hop finished.</li>
+ * </ul>
+ * Queue time compares wall clocks of two hosts, so it is only as good as their clock sync; negative
+ * values are recorded as zero. Batch listeners get queue and saga time per record but a single
+ * {@code kafka.hop.batch.service.time} sample per poll, and no {@link HopContext} since a poll
+ * mixes sagas.
+ * <p>
+ * While a Flight Recorder recording runs, each listener call is also a {@link MessageProcessedEvent}.
+ */
+public class HopTimingInterceptor implements RecordInterceptor<Object, Object>, BatchInterceptor<Object, Object> {
+
+    private record Timers(Timer queue, Timer service, Timer sagaElapsed, Timer batchService) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timers> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> listenerStartedAt = new ThreadLocal<>();
+    private final ThreadLocal<MessageProcessedEvent> processing = new ThreadLocal<>();
+
+    public HopTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+                                                    Consumer<Object, Object> consumer) {
+        long queueTime = recordQueueTime(record, System.currentTimeMillis());
+        beginEvent(record, 1, queueTime);
+        HopContext hop = HopContext.of(record.headers());
+        if (hop != null) {
+            HopContext.set(hop);
+        }
+        listenerStartedAt.set(System.nanoTime());
+        return record;
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception, Consumer<Object, Object> consumer) {
+        MessageProcessedEvent event = processing.get();
+        if (event != null) {
+            event.failed = true;
+        }
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        Long startedAt = listenerStartedAt.get();
+        listenerStartedAt.remove();
+        HopContext.clear();
+        endEvent(false);
+        if (startedAt == null) {
+            return;
+        }
+        Timers t = timersFor(record.topic());
+        t.service().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        recordSagaElapsed(record, t, System.currentTimeMillis());
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records,
+                                                     Consumer<Object, Object> consumer) {
+        long now = System.currentTimeMillis();
+        long firstQueueTime = -1;
+        ConsumerRecord<Object, Object> first = null;
+        for (ConsumerRecord<Object, Object> record : records) {
+            long queueTime = recordQueueTime(record, now);
+            if (first == null) {
+                first = record;
+                firstQueueTime = queueTime;
+            }
+        }
+        if (first != null) {
+            beginEvent(first, records.count(), firstQueueTime);
+        }
+        listenerStartedAt.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        endEvent(false);
+        afterBatch(records);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<Object, Object> records, Exception exception,
+                        Consumer<Object, Object> consumer) {
+        endEvent(true);
+        afterBatch(records);
+    }
+
+    private void afterBatch(ConsumerRecords<Object, Object> records) {
+        Long startedAt = listenerStartedAt.get();
+        listenerStartedAt.remove();
+        long now = System.currentTimeMillis();
+        for (var partition : records.partitions()) {
+            Timers t = timersFor(partition.topic());
+            if (startedAt != null) {
+                t.batchService().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                startedAt = null;
+            }
+            for (ConsumerRecord<Object, Object> record : records.records(partition)) {
+                recordSagaElapsed(record, t, now);
+            }
+        }
+    }
+
+    /** Returns the recorded queue time in millis, or -1 if the record carries no send time. */
+    private long recordQueueTime(ConsumerRecord<Object, Object> record, long now) {
+        OptionalLong producedAt = HopHeaders.read(record.headers(), HopHeaders.PRODUCED_AT);
+        long since = producedAt.isPresent() ? producedAt.getAsLong() : record.timestamp();
+        if (since <= 0) {
+            return -1;
+        }
+        long queueTime = Math.max(0, now - since);
+        timersFor(record.topic()).queue().record(queueTime, TimeUnit.MILLISECONDS);
+        return queueTime;
+    }
+
+    private void beginEvent(ConsumerRecord<Object, Object> first, int records, long queueTime) {
+        MessageProcessedEvent event = new MessageProcessedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        event.topic = first.topic();
+        event.partition = first.partition();
+        event.offset = first.offset();
+        event.keyHash = JfrEvents.keyHash(first.key());
+        event.records = records;
+        event.queueTime = queueTime;
+        processing.set(event);
+    }
+
+    private void endEvent(boolean failed) {
+        MessageProcessedEvent event = processing.get();
+        if (event == null) {
+            return;
+        }
+        processing.remove();
+        event.failed |= failed;
+        event.commit();
+    }
+
+    private static void recordSagaElapsed(ConsumerRecord<Object, Object> record, Timers t, long now) {
+        HopHeaders.read(record.headers(), HopHeaders.SAGA_STARTED_AT)
+                .ifPresent(startedAt -> t.sagaElapsed().record(Math.max(0, now - startedAt), TimeUnit.MILLISECONDS));
+    }
+
+    private Timers timersFor(String topic) {
+        return timers.computeIfAbsent(topic, tp -> new Timers(
+                timer("kafka.hop.queue.time", "Time a record waited between send and listener", tp),
+                timer("kafka.hop.service.time", "Time the listener spent on a record", tp),
+                timer("kafka.hop.saga.elapsed", "Time from saga start until this hop was handled", tp),
+                timer("kafka.hop.batch.service.time", "Time a batch listener spent on one poll", tp)));
+    }
+
+    private Timer timer(String name, String description, String topic) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry);
+    }
+}
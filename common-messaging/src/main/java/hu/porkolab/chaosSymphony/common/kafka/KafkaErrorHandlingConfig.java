@@ -1,8 +1,10 @@
 package hu.porkolab.chaosSymphony.common.kafka;
 
+import hu.porkolab.chaosSymphony.common.retry.DelayedRetry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,14 +46,16 @@ public DefaultErrorHandler errorHandler(
         @Value("${kafka.retry.max-attempts:4}") int maxAttempts,
         @Value("${kafka.retry.initial-interval-ms:200}") long initialInterval,
         @Value("${kafka.retry.multiplier:2.0}") double multiplier,
-        @Value("${kafka.retry.max-interval-ms:2000}") long maxInterval) {
+        @Value("${kafka.retry.max-interval-ms:2000}") long maxInterval,
+        ObjectProvider<DelayedRetry> delayedRetry) {
 
     var backoff = new ExponentialBackOffWithMaxRetries(maxAttempts);
     backoff.setInitialInterval(initialInterval);
     backoff.setMultiplier(multiplier);
     backoff.setMaxInterval(maxInterval);
 
-    var handler = new DefaultErrorHandler(dlpr, backoff);
+    DelayedRetry retry = delayedRetry.getIfAvailable();
+    var handler = retry != null ? retry.errorHandler(dlpr, backoff) : new DefaultErrorHandler(dlpr, backoff);
     handler.setCommitRecovered(true);
 
     
@@ -0,0 +1,97 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves the root logger's appenders (the console one Boot configures from {@code logging.pattern.*})
+ * behind logback {@link AsyncAppender}s, so listener threads only enqueue. The queue is bounded:
+ * once it is 80% full, TRACE/DEBUG/INFO events are discarded; WARN and ERROR are never dropped and
+ * block the caller instead if the queue is completely full.
+ */
+class AsyncAppenders {
+
+    private static final String PREFIX = "ASYNC_";
+
+    private final List<AsyncAppender> installed = new ArrayList<>();
+
+    synchronized boolean installed() {
+        return !installed.isEmpty();
+    }
+
+    synchronized void install(int queueSize) {
+        if (!installed.isEmpty() || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (!(appender instanceof AsyncAppenderBase)) {
+                appenders.add(appender);
+            }
+        }
+        for (Appender<ILoggingEvent> appender : appenders) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName(PREFIX + appender.getName());
+            async.setQueueSize(queueSize);
+            async.setNeverBlock(false);
+            async.setIncludeCallerData(false);
+            async.addAppender(appender);
+            async.start();
+            // attach before detaching so no event falls between the two
+            root.addAppender(async);
+            root.detachAppender(appender);
+            installed.add(async);
+        }
+    }
+
+    /**
+     * Puts the original appenders back and flushes what is still queued. They are detached from
+     * the async appender before it stops, since stopping it also stops whatever is attached.
+     */
+    synchronized void uninstall() {
+        if (installed.isEmpty() || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (AsyncAppender async : installed) {
+            List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+            async.iteratorForAppenders().forEachRemaining(appenders::add);
+            appenders.forEach(root::addAppender);
+            root.detachAppender(async);
+            awaitDrained(async);
+            appenders.forEach(async::detachAppender);
+            async.stop();
+        }
+        installed.clear();
+    }
+
+    /** Gives the worker up to the flush time to hand queued events to the original appenders. */
+    private static void awaitDrained(AsyncAppender async) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(async.getMaxFlushTime());
+        while (async.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    synchronized int queued() {
+        return installed.stream().mapToInt(AsyncAppender::getNumberOfElementsInQueue).sum();
+    }
+}
@@ -0,0 +1,157 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * INFO lines written once per message. Each event type is counted; in {@link Mode#SAMPLED} only
+ * the first {@code samplesPerSecond} lines of a type per second reach the logger and the rest show
+ * up in a periodic summary ({@code "1234 payments processed in last 10s (10 logged)"}). Warnings
+ * and errors do not go through here and are never sampled.
+ * <pre>
+ * private static final HotPathLog processed = HotPathLog.forEvent(log, "payments processed");
+ * ...
+ * processed.info("Payment processed for orderId={}", orderId);
+ * </pre>
+ */
+public final class HotPathLog {
+
+    public enum Mode {
+        /** Every line, as plain logging would. */
+        FULL,
+        /** Up to {@code samplesPerSecond} lines per type per second, plus summaries. */
+        SAMPLED,
+        /** Nothing; counts are still kept. */
+        OFF
+    }
+
+    private static final Map<String, HotPathLog> EVENTS = new ConcurrentHashMap<>();
+
+    private static volatile Mode mode = Mode.SAMPLED;
+    private static volatile int samplesPerSecond = 1;
+
+    private final Logger logger;
+    private final String event;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sinceSummary = new LongAdder();
+    private final LongAdder loggedSinceSummary = new LongAdder();
+    /** Second (low 32 bits of the monotonic clock) in the high half, lines logged in it in the low half. */
+    private final AtomicLong window = new AtomicLong();
+
+    private HotPathLog(Logger logger, String event) {
+        this.logger = logger;
+        this.event = event;
+    }
+
+    /** One instance per event name; the first caller's logger writes its lines and summaries. */
+    public static HotPathLog forEvent(Logger logger, String event) {
+        return EVENTS.computeIfAbsent(event, e -> new HotPathLog(logger, e));
+    }
+
+    public static void configure(Mode newMode, int newSamplesPerSecond) {
+        mode = newMode;
+        samplesPerSecond = Math.max(0, newSamplesPerSecond);
+    }
+
+    public static Mode mode() {
+        return mode;
+    }
+
+    public static int samplesPerSecond() {
+        return samplesPerSecond;
+    }
+
+    static Collection<HotPathLog> events() {
+        return EVENTS.values();
+    }
+
+    public String event() {
+        return event;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public void info(String format) {
+        if (admit()) {
+            logger.info(format);
+        }
+    }
+
+    public void info(String format, Object arg) {
+        if (admit()) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (admit()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (admit()) {
+            logger.info(format, args);
+        }
+    }
+
+    /** Logs and resets the counts since the last call; nothing for idle types or in FULL/OFF mode. */
+    void summarize(Duration interval) {
+        long count = sinceSummary.sumThenReset();
+        long logged = loggedSinceSummary.sumThenReset();
+        if (count > 0 && mode == Mode.SAMPLED && logger.isInfoEnabled()) {
+            logger.info("{} {} in last {}s ({} logged)", count, event, interval.toSeconds(), logged);
+        }
+    }
+
+    static void summarizeAll(Duration interval) {
+        EVENTS.values().forEach(log -> log.summarize(interval));
+    }
+
+    private boolean admit() {
+        total.increment();
+        sinceSummary.increment();
+        if (!logger.isInfoEnabled()) {
+            return false;
+        }
+        boolean admitted = switch (mode) {
+            case FULL -> true;
+            case SAMPLED -> sample();
+            case OFF -> false;
+        };
+        if (admitted) {
+            loggedSinceSummary.increment();
+        }
+        return admitted;
+    }
+
+    private boolean sample() {
+        int limit = samplesPerSecond;
+        if (limit <= 0) {
+            return false;
+        }
+        long second = (System.nanoTime() / 1_000_000_000L) & 0xFFFF_FFFFL;
+        while (true) {
+            long current = window.get();
+            long next;
+            if (current >>> 32 != second) {
+                next = (second << 32) | 1;
+            } else if ((int) current >= limit) {
+                return false;
+            } else {
+                next = current + 1;
+            }
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/hotpathlog}: current mode, sampling rate, async state and per-event counts;
+ * {@code POST} with any of {@code mode}, {@code samplesPerSecond} and {@code async} to change them.
+ */
+@Endpoint(id = "hotpathlog")
+@RequiredArgsConstructor
+public class HotPathLogEndpoint {
+
+    private final HotPathLogging hotPathLogging;
+
+    @ReadOperation
+    public HotPathLogging.Settings settings() {
+        return hotPathLogging.settings();
+    }
+
+    @WriteOperation
+    public HotPathLogging.Settings update(@Nullable HotPathLog.Mode mode, @Nullable Integer samplesPerSecond,
+                                          @Nullable Boolean async) {
+        return hotPathLogging.update(mode, samplesPerSecond, async);
+    }
+}
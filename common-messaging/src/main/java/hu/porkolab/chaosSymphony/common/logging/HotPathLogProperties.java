@@ -0,0 +1,31 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hot-path-log")
+public class HotPathLogProperties {
+
+    private HotPathLog.Mode mode = HotPathLog.Mode.SAMPLED;
+
+    /** Lines per event type per second that get through in SAMPLED mode; 0 leaves only summaries. */
+    private int samplesPerSecond = 1;
+
+    private Duration summaryInterval = Duration.ofSeconds(10);
+
+    private final Async async = new Async();
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        private boolean enabled = true;
+
+        private int queueSize = 8192;
+    }
+}
@@ -0,0 +1,80 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/** Applies {@link HotPathLogProperties} at startup and lets the endpoint change them afterwards. */
+@Slf4j
+public class HotPathLogging implements InitializingBean, DisposableBean {
+
+    public record EventCount(String event, long total) {}
+
+    public record Settings(HotPathLog.Mode mode, int samplesPerSecond, boolean async, int queued,
+                           List<EventCount> events) {}
+
+    private final HotPathLogProperties properties;
+    private final AsyncAppenders asyncAppenders = new AsyncAppenders();
+    private ScheduledExecutorService summaries;
+
+    public HotPathLogging(HotPathLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        HotPathLog.configure(properties.getMode(), properties.getSamplesPerSecond());
+        if (properties.getAsync().isEnabled()) {
+            asyncAppenders.install(properties.getAsync().getQueueSize());
+        }
+        summaries = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hot-path-log-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSummaryInterval().toMillis();
+        summaries.scheduleAtFixedRate(() -> HotPathLog.summarizeAll(properties.getSummaryInterval()),
+                interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Hot-path logging: mode={}, samplesPerSecond={}, async={}", properties.getMode(),
+                properties.getSamplesPerSecond(), asyncAppenders.installed());
+    }
+
+    /** Changes whatever is non-null; returns the resulting settings. */
+    public Settings update(HotPathLog.Mode mode, Integer samplesPerSecond, Boolean async) {
+        HotPathLog.configure(mode != null ? mode : HotPathLog.mode(),
+                samplesPerSecond != null ? samplesPerSecond : HotPathLog.samplesPerSecond());
+        if (Boolean.TRUE.equals(async)) {
+            asyncAppenders.install(properties.getAsync().getQueueSize());
+        } else if (Boolean.FALSE.equals(async)) {
+            asyncAppenders.uninstall();
+        }
+        Settings settings = settings();
+        log.info("Hot-path logging changed: mode={}, samplesPerSecond={}, async={}", settings.mode(),
+                settings.samplesPerSecond(), settings.async());
+        return settings;
+    }
+
+    public Settings settings() {
+        List<EventCount> events = HotPathLog.events().stream()
+                .map(e -> new EventCount(e.event(), e.total()))
+                .sorted(Comparator.comparing(EventCount::event))
+                .toList();
+        return new Settings(HotPathLog.mode(), HotPathLog.samplesPerSecond(), asyncAppenders.installed(),
+                asyncAppenders.queued(), events);
+    }
+
+    @Override
+    public void destroy() {
+        if (summaries != null) {
+            summaries.shutdownNow();
+        }
+        HotPathLog.summarizeAll(properties.getSummaryInterval());
+        asyncAppenders.uninstall();
+    }
+}
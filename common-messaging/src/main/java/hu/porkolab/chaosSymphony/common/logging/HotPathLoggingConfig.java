@@ -0,0 +1,20 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotPathLogProperties.class)
+public class HotPathLoggingConfig {
+
+    @Bean
+    public HotPathLogging hotPathLogging(HotPathLogProperties properties) {
+        return new HotPathLogging(properties);
+    }
+
+    @Bean
+    public HotPathLogEndpoint hotPathLogEndpoint(HotPathLogging hotPathLogging) {
+        return new HotPathLogEndpoint(hotPathLogging);
+    }
+}
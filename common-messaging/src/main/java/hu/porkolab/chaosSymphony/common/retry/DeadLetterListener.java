@@ -0,0 +1,13 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Told about every record of a delayed-retry topic that was dead-lettered, which is where a
+ * {@code @DltHandler} used to hook in.
+ */
+@FunctionalInterface
+public interface DeadLetterListener {
+
+    void deadLettered(ConsumerRecord<?, ?> record, Exception exception);
+}
@@ -0,0 +1,217 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import hu.porkolab.chaosSymphony.common.kafka.HopHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry policy shared by every listener of a service, replacing one {@code @RetryableTopic} chain
+ * of retry topics and consumers per listener.
+ * <p>
+ * A failed record of one of the configured topics first gets a few in-memory retries if the failure
+ * is transient. If it still fails and is retryable, it is parked in the delay tier for its attempt
+ * ({@code retry.delay.1s}, {@code .10s}, {@code .60s}) and the service's {@link DelayedRetryScheduler}
+ * puts it back on the origin topic once the delay is up. Fatal failures and records out of
+ * attempts go to the dead letters the error handler was built with, as before. Records of other
+ * topics keep the plain back-off of that handler.
+ */
+@Slf4j
+public class DelayedRetry {
+
+    private static final BackOff NO_RETRIES = new FixedBackOff(0, 0);
+
+    /** Same as the fatal defaults of {@link DefaultErrorHandler}: redelivering these cannot help. */
+    private static final List<Class<? extends Throwable>> FATAL = List.of(
+            DeserializationException.class, MessageConversionException.class, ConversionException.class,
+            MethodArgumentResolutionException.class, NoSuchMethodException.class, ClassCastException.class);
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final DelayedRetryProperties properties;
+    private final KafkaTemplate<String, String> template;
+    private final String service;
+    private final ObjectProvider<DeadLetterListener> deadLetterListeners;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> topics;
+    private final BackOff fastRetry;
+
+    public DelayedRetry(DelayedRetryProperties properties, KafkaTemplate<String, String> template, String service,
+                        ObjectProvider<DeadLetterListener> deadLetterListeners, MeterRegistry meterRegistry) {
+        if (properties.getTiers().isEmpty()) {
+            throw new IllegalArgumentException("kafka.delayed-retry.tiers must not be empty");
+        }
+        this.properties = properties;
+        this.template = template;
+        this.service = service;
+        this.deadLetterListeners = deadLetterListeners;
+        this.meterRegistry = meterRegistry;
+        this.topics = Set.copyOf(properties.getTopics());
+        this.fastRetry = new FixedBackOff(properties.getFastRetryInterval().toMillis(), properties.getFastRetries());
+    }
+
+    /**
+     * Error handler that sends failures of the configured topics through the delay tiers and
+     * everything else, including their exhausted records, to {@code deadLetters} after {@code backOff}.
+     */
+    public DefaultErrorHandler errorHandler(ConsumerRecordRecoverer deadLetters, BackOff backOff) {
+        ConsumerAwareRecordRecoverer recoverer = (record, consumer, exception) ->
+                recover(record, consumer, exception, deadLetters);
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer, backOff);
+        handler.setBackOffFunction(this::backOffFor);
+        return handler;
+    }
+
+    /** In-memory back-off of a failure; {@code null} leaves the handler's own back-off in place. */
+    BackOff backOffFor(ConsumerRecord<?, ?> record, Exception exception) {
+        if (!handles(record.topic())) {
+            return null;
+        }
+        return isTransient(exception) ? fastRetry : NO_RETRIES;
+    }
+
+    public boolean handles(String topic) {
+        return topics.contains(topic);
+    }
+
+    public String service() {
+        return service;
+    }
+
+    public List<String> tierTopics() {
+        return properties.getTiers().stream().map(this::tierTopic).toList();
+    }
+
+    String tierTopic(Duration delay) {
+        long millis = delay.toMillis();
+        return properties.getTopicPrefix() + (millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms");
+    }
+
+    boolean isTransient(Throwable exception) {
+        return !isFatal(exception) && causedBy(exception, properties.getTransientExceptions());
+    }
+
+    boolean isRetryable(Throwable exception) {
+        return isTransient(exception)
+                || (!isFatal(exception) && causedBy(exception, properties.getRetryableExceptions()));
+    }
+
+    void recover(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception,
+                 ConsumerRecordRecoverer deadLetters) {
+        if (!handles(record.topic())) {
+            deadLetter(record, consumer, exception, deadLetters, "not-delayed");
+            return;
+        }
+        int attempt = (int) HopHeaders.read(record.headers(), RetryHeaders.ATTEMPT).orElse(0);
+        if (!isRetryable(exception)) {
+            deadLetter(record, consumer, exception, deadLetters, "fatal");
+        } else if (attempt + 1 >= properties.getMaxAttempts()) {
+            deadLetter(record, consumer, exception, deadLetters, "exhausted");
+        } else {
+            delay(record, consumer, exception, attempt);
+        }
+    }
+
+    private void delay(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception, int attempt) {
+        List<Duration> tiers = properties.getTiers();
+        Duration delay = tiers.get(Math.min(attempt, tiers.size() - 1));
+        String tierTopic = tierTopic(delay);
+
+        var headers = new RecordHeaders(record.headers().toArray());
+        RetryHeaders.writeString(headers, RetryHeaders.ORIGIN_TOPIC, record.topic());
+        String group = consumer == null ? null : consumer.groupMetadata().groupId();
+        if (group != null) {
+            RetryHeaders.writeString(headers, RetryHeaders.ORIGIN_GROUP, group);
+        }
+        RetryHeaders.writeString(headers, RetryHeaders.SERVICE, service);
+        HopHeaders.write(headers, RetryHeaders.ATTEMPT, attempt + 1);
+        HopHeaders.write(headers, RetryHeaders.DUE_AT, System.currentTimeMillis() + delay.toMillis());
+        RetryHeaders.writeString(headers, RetryHeaders.EXCEPTION, describe(exception));
+
+        try {
+            template.send(new ProducerRecord<>(tierTopic, null, Objects.toString(record.key(), null),
+                    Objects.toString(record.value(), null), headers)).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while parking record in " + tierTopic, e);
+        } catch (Exception e) {
+            throw new KafkaException("Failed to park record of " + record.topic() + " in " + tierTopic, e);
+        }
+        counter("kafka.retry.delayed", "Records parked in a delay tier", record.topic(), "tier", tierTopic)
+                .increment();
+        log.warn("[RETRY] {}-{}@{} key={} attempt {} parked in {}: {}", record.topic(), record.partition(),
+                record.offset(), record.key(), attempt + 1, tierTopic, exception.toString());
+    }
+
+    private void deadLetter(ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, Exception exception,
+                            ConsumerRecordRecoverer deadLetters, String reason) {
+        if (deadLetters instanceof ConsumerAwareRecordRecoverer aware) {
+            aware.accept(record, consumer, exception);
+        } else {
+            deadLetters.accept(record, exception);
+        }
+        counter("kafka.retry.dead.lettered", "Records given up on and sent to their DLT", record.topic(),
+                "reason", reason).increment();
+        for (DeadLetterListener listener : deadLetterListeners.orderedStream().toList()) {
+            try {
+                listener.deadLettered(record, exception);
+            } catch (RuntimeException e) {
+                log.warn("Dead letter listener {} failed: {}", listener, e.toString());
+            }
+        }
+    }
+
+    private Counter counter(String name, String description, String topic, String tag, String value) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("topic", topic)
+                .tag(tag, value)
+                .register(meterRegistry);
+    }
+
+    private static boolean isFatal(Throwable exception) {
+        return causedBy(exception, FATAL);
+    }
+
+    private static boolean causedBy(Throwable exception, List<Class<? extends Throwable>> types) {
+        for (Throwable t = exception; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            for (Class<? extends Throwable> type : types) {
+                if (type.isInstance(t)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Throwable exception) {
+        Throwable root = exception;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String text = root.getClass().getName() + ": " + root.getMessage();
+        return text.length() > 500 ? text.substring(0, 500) : text;
+    }
+}
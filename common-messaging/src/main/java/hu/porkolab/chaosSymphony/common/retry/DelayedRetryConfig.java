@@ -0,0 +1,43 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Shared delayed retry of a service. The error handlers of {@code KafkaErrorHandlingConfig} and of
+ * the service-specific consumer configs pick up {@link DelayedRetry} when this is imported; the tier
+ * topics come from {@code scripts/topics.sh}.
+ */
+@Configuration
+@EnableConfigurationProperties(DelayedRetryProperties.class)
+public class DelayedRetryConfig {
+
+    @Bean
+    public DelayedRetry delayedRetry(DelayedRetryProperties properties, KafkaTemplate<String, String> kafkaTemplate,
+                                     @Value("${spring.application.name}") String service,
+                                     ObjectProvider<DeadLetterListener> deadLetterListeners,
+                                     MeterRegistry meterRegistry) {
+        return new DelayedRetry(properties, kafkaTemplate, service, deadLetterListeners, meterRegistry);
+    }
+
+    @Bean
+    public DelayedRetryScheduler delayedRetryScheduler(DelayedRetry delayedRetry, DelayedRetryProperties properties,
+                                                       ConsumerFactory<String, String> consumerFactory,
+                                                       KafkaTemplate<String, String> kafkaTemplate,
+                                                       MeterRegistry meterRegistry) {
+        String groupId = properties.getGroupId() != null ? properties.getGroupId()
+                : delayedRetry.service() + "-delayed-retry";
+        return new DelayedRetryScheduler(delayedRetry, consumerFactory, kafkaTemplate, groupId, meterRegistry);
+    }
+
+    @Bean
+    public DelayedRetryGroupFilter delayedRetryGroupFilter() {
+        return new DelayedRetryGroupFilter();
+    }
+}
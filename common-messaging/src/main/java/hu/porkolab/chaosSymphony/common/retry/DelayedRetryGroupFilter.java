@@ -0,0 +1,28 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.Ordered;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+/**
+ * A redelivered record lands on its origin topic for every consumer group of that topic, but only
+ * the group that failed it should see it again. The others skip it here, before their listener runs.
+ */
+public class DelayedRetryGroupFilter implements RecordInterceptor<Object, Object>, Ordered {
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+                                                    Consumer<Object, Object> consumer) {
+        String originGroup = RetryHeaders.readString(record.headers(), RetryHeaders.ORIGIN_GROUP);
+        if (originGroup == null || consumer == null) {
+            return record;
+        }
+        return originGroup.equals(consumer.groupMetadata().groupId()) ? record : null;
+    }
+}
@@ -0,0 +1,47 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import hu.porkolab.chaosSymphony.common.chaos.ChaosProducer;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "kafka.delayed-retry")
+public class DelayedRetryProperties {
+
+    /** Listener topics whose failures go through the delay tiers instead of straight to their DLT. */
+    private List<String> topics = new ArrayList<>();
+
+    /** Delay of each tier; attempt n waits in tier n, attempts past the last tier reuse it. */
+    private List<Duration> tiers = new ArrayList<>(List.of(
+            Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(60)));
+
+    private String topicPrefix = "retry.delay.";
+
+    /** Deliveries of a record on its origin topic, the first one included, before it is dead-lettered. */
+    private int maxAttempts = 4;
+
+    /** In-memory redeliveries of a transient failure before the record is handed to a tier. */
+    private int fastRetries = 2;
+
+    private Duration fastRetryInterval = Duration.ofMillis(200);
+
+    /** Failures worth a fast retry; causes are checked too. Transient failures are always retryable. */
+    private List<Class<? extends Throwable>> transientExceptions = new ArrayList<>(List.of(
+            SocketTimeoutException.class, RetriableException.class, TransientDataAccessException.class,
+            ChaosProducer.ChaosDropException.class));
+
+    /** Further failures that go through the tiers; anything else is dead-lettered at once. */
+    private List<Class<? extends Throwable>> retryableExceptions = new ArrayList<>();
+
+    /** Consumer group of the tier schedulers; one group per service, every instance shares the work. */
+    private String groupId;
+}
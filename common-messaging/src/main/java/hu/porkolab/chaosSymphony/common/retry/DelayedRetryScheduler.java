@@ -0,0 +1,120 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import hu.porkolab.chaosSymphony.common.kafka.HopHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One consumer per delay tier, shared by all delayed-retry topics of the service. A tier holds
+ * records of a single delay, so they fall due in offset order: the scheduler waits for the head of
+ * each partition with a {@code nack} and puts due records back on their origin topic. Records that
+ * another service parked are acknowledged and left to that service's own scheduler group.
+ */
+@Slf4j
+public class DelayedRetryScheduler implements SmartLifecycle {
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final DelayedRetry delayedRetry;
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> template;
+    private final String groupId;
+    private final Counter redelivered;
+    private final List<ConcurrentMessageListenerContainer<String, String>> containers = new ArrayList<>();
+    private volatile boolean running;
+
+    public DelayedRetryScheduler(DelayedRetry delayedRetry, ConsumerFactory<String, String> consumerFactory,
+                                 KafkaTemplate<String, String> template, String groupId,
+                                 MeterRegistry meterRegistry) {
+        this.delayedRetry = delayedRetry;
+        this.consumerFactory = consumerFactory;
+        this.template = template;
+        this.groupId = groupId;
+        this.redelivered = Counter.builder("kafka.retry.redelivered")
+                .description("Records put back on their origin topic by the delay tier scheduler")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (String tier : delayedRetry.tierTopics()) {
+            ContainerProperties props = new ContainerProperties(tier);
+            props.setGroupId(groupId);
+            props.setClientId(groupId + "-" + tier);
+            props.setAckMode(ContainerProperties.AckMode.MANUAL);
+            props.setMessageListener((AcknowledgingMessageListener<String, String>) this::onTierRecord);
+
+            var container = new ConcurrentMessageListenerContainer<>(consumerFactory, props);
+            container.setCommonErrorHandler(
+                    new DefaultErrorHandler(new FixedBackOff(1000, FixedBackOff.UNLIMITED_ATTEMPTS)));
+            container.setBeanName("delayedRetry-" + tier);
+            container.start();
+            containers.add(container);
+        }
+        running = true;
+        log.info("Delayed retry scheduler started for tiers {} in group {}", delayedRetry.tierTopics(), groupId);
+    }
+
+    @Override
+    public synchronized void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        containers.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void onTierRecord(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        long remaining = HopHeaders.read(record.headers(), RetryHeaders.DUE_AT).orElse(0) - System.currentTimeMillis();
+        if (remaining > 0) {
+            ack.nack(Duration.ofMillis(remaining));
+            return;
+        }
+        String originTopic = RetryHeaders.readString(record.headers(), RetryHeaders.ORIGIN_TOPIC);
+        String service = RetryHeaders.readString(record.headers(), RetryHeaders.SERVICE);
+        if (originTopic == null || !delayedRetry.service().equals(service)) {
+            ack.acknowledge();
+            return;
+        }
+
+        var headers = new RecordHeaders(record.headers().toArray());
+        headers.remove(RetryHeaders.DUE_AT);
+        try {
+            template.send(new ProducerRecord<>(originTopic, null, record.key(), record.value(), headers))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while redelivering to " + originTopic, e);
+        } catch (Exception e) {
+            throw new KafkaException("Failed to redeliver " + record.topic() + " record to " + originTopic, e);
+        }
+        ack.acknowledge();
+        redelivered.increment();
+        log.debug("[RETRY] redelivered key={} from {} to {}", record.key(), record.topic(), originTopic);
+    }
+}
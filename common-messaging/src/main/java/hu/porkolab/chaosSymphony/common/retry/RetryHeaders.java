@@ -0,0 +1,43 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Headers a record carries while it waits in a delay tier and after it is back on its origin topic.
+ * Like the hop headers they are plain strings, so the DLQ browser shows where a record has been.
+ */
+public final class RetryHeaders {
+
+    public static final String ORIGIN_TOPIC = "x-retry-origin-topic";
+
+    /** Consumer group that failed the record; other groups on the origin topic skip the redelivery. */
+    public static final String ORIGIN_GROUP = "x-retry-origin-group";
+
+    /** {@code spring.application.name} of the service whose scheduler redelivers the record. */
+    public static final String SERVICE = "x-retry-service";
+
+    /** Delayed retries so far; absent on a first delivery. */
+    public static final String ATTEMPT = "x-retry-attempt";
+
+    /** Epoch millis before which the tier scheduler must not redeliver. */
+    public static final String DUE_AT = "x-retry-due-at";
+
+    /** Exception class and message of the last failure. */
+    public static final String EXCEPTION = "x-retry-exception";
+
+    private RetryHeaders() {
+    }
+
+    public static String readString(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    public static void writeString(Headers headers, String name, String value) {
+        headers.remove(name);
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package hu.porkolab.chaosSymphony.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnvelopeWriterTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final EnvelopeWriter writer = new EnvelopeWriter(mapper);
+
+	@Test
+	@DisplayName("Should embed the payload as a nested object, not an escaped string")
+	void write_shouldNestPayload() throws Exception {
+		String json = writer.write("order-1", "event-1", "OrderCreated", Map.of("total", 12.5));
+
+		JsonNode root = mapper.readTree(json);
+		assertThat(root.path("orderId").asText()).isEqualTo("order-1");
+		assertThat(root.path("eventId").asText()).isEqualTo("event-1");
+		assertThat(root.path("type").asText()).isEqualTo("OrderCreated");
+		assertThat(root.path("payload").isObject()).isTrue();
+		assertThat(root.path("payload").path("total").asDouble()).isEqualTo(12.5);
+	}
+
+	@Test
+	@DisplayName("Nested payload should parse back to its JSON text")
+	void write_shouldRoundTripThroughEnvelopeHelper() {
+		String json = writer.write("order-1", "event-1", "OrderCreated", Map.of("x", 1));
+
+		EventEnvelope env = EnvelopeHelper.parse(json);
+
+		assertThat(env.getOrderId()).isEqualTo("order-1");
+		assertThat(env.getEventId()).isEqualTo("event-1");
+		assertThat(env.getPayload()).isEqualTo("{\"x\":1}");
+	}
+
+	@Test
+	@DisplayName("Text payload should match the legacy string-encoded format")
+	void writeText_shouldEncodePayloadAsString() throws Exception {
+		String json = writer.writeText("order-1", "event-1", "PaymentRequested", "{\"x\":1}");
+
+		JsonNode payload = mapper.readTree(json).path("payload");
+		assertThat(payload.isTextual()).isTrue();
+		assertThat(payload.asText()).isEqualTo("{\"x\":1}");
+	}
+}
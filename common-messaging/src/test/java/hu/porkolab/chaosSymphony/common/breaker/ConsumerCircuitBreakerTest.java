@@ -0,0 +1,309 @@
+package hu.porkolab.chaosSymphony.common.breaker;
+
+import hu.porkolab.chaosSymphony.common.breaker.ConsumerCircuitBreaker.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConsumerCircuitBreaker Tests")
+class ConsumerCircuitBreakerTest {
+
+    @Nested
+    @DisplayName("State Machine Tests")
+    class StateMachineTests {
+
+        private final ConsumerCircuitBreaker breaker = new ConsumerCircuitBreaker(10, 4, 50);
+
+        @Test
+        @DisplayName("Should stay closed below the minimum number of calls")
+        void onCall_belowMinimumCalls_shouldStayClosed() {
+            assertThat(breaker.onCall(true)).isFalse();
+            assertThat(breaker.onCall(true)).isFalse();
+            assertThat(breaker.onCall(true)).isFalse();
+
+            assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should open once the failure rate reaches the threshold")
+        void onCall_thresholdReached_shouldOpen() {
+            breaker.onCall(false);
+            breaker.onCall(true);
+            breaker.onCall(false);
+
+            assertThat(breaker.onCall(true)).isTrue();
+            assertThat(breaker.state()).isEqualTo(State.OPEN);
+            assertThat(breaker.failureRate()).isEqualTo(50.0);
+        }
+
+        @Test
+        @DisplayName("Should forget outcomes that slid out of the window")
+        void onCall_slidingWindow_shouldEvictOldOutcomes() {
+            var small = new ConsumerCircuitBreaker(4, 4, 75);
+            small.onCall(true);
+            small.onCall(true);
+            small.onCall(false);
+            small.onCall(false);
+            small.onCall(false);
+
+            assertThat(small.failureRate()).isEqualTo(25.0);
+            assertThat(small.state()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should hand out exactly one probe when half-open")
+        void tryAcquireProbe_shouldGrantOnce() {
+            openBreaker();
+
+            assertThat(breaker.tryAcquireProbe()).isFalse();
+            assertThat(breaker.halfOpen()).isTrue();
+            assertThat(breaker.tryAcquireProbe()).isTrue();
+            assertThat(breaker.tryAcquireProbe()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should close and reset after a successful probe")
+        void onProbe_success_shouldClose() {
+            openBreaker();
+            breaker.halfOpen();
+            breaker.tryAcquireProbe();
+
+            assertThat(breaker.onProbe(false)).isEqualTo(State.CLOSED);
+            assertThat(breaker.failureRate()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should open again after a failed probe")
+        void onProbe_failure_shouldReopen() {
+            openBreaker();
+            breaker.halfOpen();
+            breaker.tryAcquireProbe();
+
+            assertThat(breaker.onProbe(true)).isEqualTo(State.OPEN);
+        }
+
+        @Test
+        @DisplayName("Should close without a probe only while nobody holds it")
+        void closeWithoutProbe_shouldRespectProbe() {
+            openBreaker();
+            assertThat(breaker.closeWithoutProbe()).isFalse();
+
+            breaker.halfOpen();
+            breaker.tryAcquireProbe();
+            assertThat(breaker.awaitingProbe()).isFalse();
+            assertThat(breaker.closeWithoutProbe()).isFalse();
+
+            breaker.onProbe(true);
+            breaker.halfOpen();
+            assertThat(breaker.awaitingProbe()).isTrue();
+            assertThat(breaker.closeWithoutProbe()).isTrue();
+            assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should reject a minimum above the window size")
+        void constructor_invalidWindow_shouldThrow() {
+            assertThatThrownBy(() -> new ConsumerCircuitBreaker(5, 6, 50))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private void openBreaker() {
+            for (int i = 0; i < 4; i++) {
+                breaker.onCall(true);
+            }
+        }
+    }
+
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    @MockitoSettings(strictness = Strictness.LENIENT)
+    @DisplayName("Interceptor Tests")
+    class InterceptorTests {
+
+        private static final String GROUP = "payment-requested";
+
+        @Mock
+        private Consumer<Object, Object> consumer;
+
+        @Mock
+        private KafkaListenerEndpointRegistry registry;
+
+        @Mock
+        private MessageListenerContainer container;
+
+        @Mock
+        private MessageListenerContainer otherContainer;
+
+        private MeterRegistry meterRegistry;
+        private ConsumerCircuitBreakerProperties properties;
+        private ConsumerCircuitBreakerInterceptor interceptor;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            properties = new ConsumerCircuitBreakerProperties();
+            properties.setWindowSize(4);
+            properties.setMinimumCalls(4);
+            properties.setOpenDuration(Duration.ofHours(1));
+            var beans = new StaticListableBeanFactory();
+            beans.addBean("registry", registry);
+            interceptor = new ConsumerCircuitBreakerInterceptor(properties,
+                    beans.getBeanProvider(KafkaListenerEndpointRegistry.class), meterRegistry);
+            when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata(GROUP));
+            when(container.getGroupId()).thenReturn(GROUP);
+            when(otherContainer.getGroupId()).thenReturn("payment-refund");
+            when(registry.getListenerContainers()).thenReturn(List.of(container, otherContainer));
+        }
+
+        @AfterEach
+        void tearDown() {
+            interceptor.destroy();
+        }
+
+        private void call(boolean failed) {
+            var record = new ConsumerRecord<Object, Object>("payment.requested", 0, 0L, "k", "v");
+            interceptor.intercept(record, consumer);
+            if (failed) {
+                interceptor.failure(record, new IllegalStateException("downstream down"), consumer);
+            } else {
+                interceptor.success(record, consumer);
+            }
+            interceptor.afterRecord(record, consumer);
+        }
+
+        private double gauge(String name) {
+            return meterRegistry.get(name).tag("group", GROUP).gauge().value();
+        }
+
+        @Test
+        @DisplayName("Should pause the group's containers when the breaker opens")
+        void failures_shouldPauseContainers() {
+            call(false);
+            call(true);
+            call(true);
+            call(true);
+
+            verify(container).pause();
+            verify(otherContainer, never()).pause();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.OPEN.ordinal());
+            assertThat(gauge("kafka.consumer.breaker.failure.rate")).isEqualTo(75.0);
+            assertThat(meterRegistry.get("kafka.consumer.breaker.transitions").tag("state", "OPEN")
+                    .counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should resume for a probe and close when it succeeds")
+        void probeSuccess_shouldResume() {
+            for (int i = 0; i < 4; i++) {
+                call(true);
+            }
+
+            interceptor.halfOpen(GROUP);
+            verify(container).resume();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.HALF_OPEN.ordinal());
+
+            call(false);
+
+            verify(container, times(2)).resume();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.CLOSED.ordinal());
+        }
+
+        @Test
+        @DisplayName("Should pause again when the probe fails")
+        void probeFailure_shouldPauseAgain() {
+            for (int i = 0; i < 4; i++) {
+                call(true);
+            }
+            interceptor.halfOpen(GROUP);
+
+            call(true);
+
+            verify(container, times(2)).pause();
+            verify(container, times(1)).resume();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.OPEN.ordinal());
+        }
+
+        @Test
+        @DisplayName("Should close when the probe consumer stays idle past the probe timeout")
+        void idleProbe_shouldClose() {
+            properties.setProbeTimeout(Duration.ofMillis(50));
+            for (int i = 0; i < 4; i++) {
+                call(true);
+            }
+
+            interceptor.halfOpen(GROUP);
+
+            verify(container, timeout(2_000).times(2)).resume();
+            verify(container, times(2)).pause();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.CLOSED.ordinal());
+        }
+
+        @Test
+        @DisplayName("Should hand the probe to the next consumer when the first one stays idle")
+        @SuppressWarnings("unchecked")
+        void idleProbe_shouldMoveToNextConsumer() {
+            properties.setProbeTimeout(Duration.ofMillis(50));
+            var concurrent = mock(ConcurrentMessageListenerContainer.class);
+            KafkaMessageListenerContainer<Object, Object> idle = mock(KafkaMessageListenerContainer.class);
+            KafkaMessageListenerContainer<Object, Object> busy = mock(KafkaMessageListenerContainer.class);
+            when(concurrent.getGroupId()).thenReturn(GROUP);
+            when(concurrent.getContainers()).thenReturn(List.of(idle, busy));
+            when(idle.getAssignedPartitions()).thenReturn(List.of(new TopicPartition("payment.requested", 0)));
+            when(busy.getAssignedPartitions()).thenReturn(List.of(new TopicPartition("payment.requested", 1)));
+            when(registry.getListenerContainers()).thenReturn(List.of(concurrent, otherContainer));
+            for (int i = 0; i < 4; i++) {
+                call(true);
+            }
+
+            interceptor.halfOpen(GROUP);
+            verify(idle).resume();
+
+            verify(busy, timeout(2_000)).resume();
+            verify(idle).pause();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.HALF_OPEN.ordinal());
+
+            call(false);
+
+            verify(concurrent).resume();
+            assertThat(gauge("kafka.consumer.breaker.state")).isEqualTo(State.CLOSED.ordinal());
+        }
+
+        @Test
+        @DisplayName("Should leave groups outside the configured list alone")
+        void unguardedGroup_shouldNotTrack() {
+            properties.setGroups(List.of("orchestrator-order-created"));
+
+            for (int i = 0; i < 4; i++) {
+                call(true);
+            }
+
+            verify(container, never()).pause();
+            assertThat(interceptor.breakers()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package hu.porkolab.chaosSymphony.common.jfr;
+
+import hu.porkolab.chaosSymphony.common.jfr.FlightRecordings.RecordingInfo;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FlightRecordings Tests")
+class FlightRecordingsTest {
+
+    private FlightRecorderProperties properties;
+    private FlightRecordings recordings;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FlightRecorderProperties();
+        properties.setMaxRecordings(2);
+        properties.getContinuous().setEnabled(false);
+        recordings = new FlightRecordings(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordings.destroy();
+    }
+
+    @Nested
+    @DisplayName("Recording Lifecycle Tests")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should start a bounded recording with default settings")
+        void start_defaults() {
+            RecordingInfo info = recordings.start(null, null, null);
+
+            assertThat(info.name()).startsWith("recording-");
+            assertThat(info.state()).isEqualTo(RecordingState.RUNNING);
+            assertThat(info.settings()).isEqualTo("profile");
+            assertThat(info.duration()).isEqualTo(properties.getDefaultDuration());
+            assertThat(recordings.list()).extracting(RecordingInfo::name).containsExactly(info.name());
+        }
+
+        @Test
+        @DisplayName("Should keep data of a stopped recording until discarded")
+        void stopThenDiscard() throws Exception {
+            recordings.start("incident", Duration.ofMinutes(1), "default");
+
+            assertThat(recordings.stop("incident")).get()
+                    .extracting(RecordingInfo::state).isEqualTo(RecordingState.STOPPED);
+            Path dump = recordings.dump("incident").orElseThrow();
+            assertThat(dump).exists();
+            Files.delete(dump);
+
+            assertThat(recordings.discard("incident")).isPresent();
+            assertThat(recordings.list()).isEmpty();
+            assertThat(recordings.dump("incident")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should start the continuous recording when enabled")
+        void continuous() {
+            properties.getContinuous().setEnabled(true);
+
+            recordings.startContinuous();
+
+            assertThat(recordings.list()).singleElement().satisfies(info -> {
+                assertThat(info.name()).isEqualTo(FlightRecordings.CONTINUOUS);
+                assertThat(info.maxAge()).isEqualTo(properties.getContinuous().getMaxAge());
+            });
+        }
+
+        @Test
+        @DisplayName("Should capture custom events in a dump")
+        void dumpContainsCustomEvents() throws Exception {
+            recordings.start("events", Duration.ofMinutes(1), "default");
+
+            SagaTransitionEvent.emit("order-1", "sequential", RecordingState.NEW, RecordingState.NEW,
+                    RecordingState.RUNNING);
+
+            Path dump = recordings.dump("events").orElseThrow();
+            try {
+                List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                        .filter(e -> e.getEventType().getName().equals("hu.porkolab.chaosSymphony.SagaTransition"))
+                        .toList();
+                assertThat(events).singleElement().satisfies(e -> {
+                    assertThat(e.getString("orderId")).isEqualTo("order-1");
+                    assertThat(e.getString("toState")).isEqualTo("RUNNING");
+                    assertThat(e.getBoolean("accepted")).isTrue();
+                });
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Sensitive Data Tests")
+    class SensitiveDataTests {
+
+        @Test
+        @DisplayName("Should leave environment variables and system properties out of a dump")
+        void dumpOmitsEnvironment() throws Exception {
+            recordings.start("env", Duration.ofMinutes(1), "profile");
+
+            Path dump = recordings.dump("env").orElseThrow();
+            try {
+                assertThat(RecordingFile.readAllEvents(dump))
+                        .isNotEmpty()
+                        .extracting(e -> e.getEventType().getName())
+                        .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Limit Tests")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Should reject a duration above the maximum")
+        void tooLong() {
+            assertThatThrownBy(() -> recordings.start("long", Duration.ofHours(1), null))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("at most");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown settings")
+        void unknownSettings() {
+            assertThatThrownBy(() -> recordings.start("x", null, "nope"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("nope");
+        }
+
+        @Test
+        @DisplayName("Should reject duplicate and reserved names")
+        void names() {
+            recordings.start("a", null, "default");
+
+            assertThatThrownBy(() -> recordings.start("a", null, "default"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> recordings.start(FlightRecordings.CONTINUOUS, null, "default"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> recordings.start("../a", null, "default"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should refuse more recordings than configured")
+        void maxRecordings() {
+            recordings.start("a", null, "default");
+            recordings.start("b", null, "default");
+
+            assertThatThrownBy(() -> recordings.start("c", null, "default"))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Endpoint Tests")
+    class EndpointTests {
+
+        private FlightRecorderEndpoint endpoint;
+
+        @BeforeEach
+        void setUp() {
+            endpoint = new FlightRecorderEndpoint(recordings);
+        }
+
+        @Test
+        @DisplayName("Should stream a dump and delete it afterwards")
+        void download() throws Exception {
+            endpoint.start("dl", null, "default");
+
+            WebEndpointResponse<Resource> response = endpoint.download("dl");
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            Path file = response.getBody().getFile().toPath();
+            try (InputStream in = response.getBody().getInputStream()) {
+                assertThat(in.readAllBytes()).isNotEmpty();
+            }
+            assertThat(file).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for unknown recordings")
+        void unknown() throws Exception {
+            assertThat(endpoint.download("missing").getStatus()).isEqualTo(404);
+            assertThat(endpoint.stop("missing").getStatus()).isEqualTo(404);
+            assertThat(endpoint.discard("missing").getStatus()).isEqualTo(404);
+        }
+
+        @Test
+        @DisplayName("Should turn invalid requests into 400")
+        void invalid() {
+            assertThatThrownBy(() -> endpoint.start(null, Duration.ofDays(1), null))
+                    .isInstanceOf(InvalidEndpointRequestException.class);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HopHeadersProducerInterceptor Tests")
+class HopHeadersProducerInterceptorTest {
+
+    private final HopHeadersProducerInterceptor<String, String> interceptor = new HopHeadersProducerInterceptor<>();
+
+    @AfterEach
+    void tearDown() {
+        HopContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should start a new saga when sent outside a listener")
+    void onSend_noContext_startsSaga() {
+        long before = System.currentTimeMillis();
+
+        var record = interceptor.onSend(new ProducerRecord<>("orders", "k", "v"));
+
+        long producedAt = HopHeaders.read(record.headers(), HopHeaders.PRODUCED_AT).orElseThrow();
+        assertThat(producedAt).isGreaterThanOrEqualTo(before);
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.SAGA_STARTED_AT)).hasValue(producedAt);
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.HOP_COUNT)).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should continue the saga of the record being handled")
+    void onSend_withContext_continuesSaga() {
+        HopContext.set(new HopContext(1_000L, 2));
+
+        var record = interceptor.onSend(new ProducerRecord<>("payment.result", "k", "v"));
+
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.SAGA_STARTED_AT)).hasValue(1_000L);
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.HOP_COUNT)).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should restamp a re-published record and keep its saga")
+    void onSend_republished_keepsSagaAndRestamps() {
+        var record = new ProducerRecord<String, String>("payment.requested.dlt", "k", "v");
+        HopHeaders.write(record.headers(), HopHeaders.PRODUCED_AT, 5_000L);
+        HopHeaders.write(record.headers(), HopHeaders.SAGA_STARTED_AT, 1_000L);
+        HopHeaders.write(record.headers(), HopHeaders.HOP_COUNT, 2);
+
+        interceptor.onSend(record);
+
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.PRODUCED_AT).orElseThrow()).isGreaterThan(5_000L);
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.SAGA_STARTED_AT)).hasValue(1_000L);
+        assertThat(HopHeaders.read(record.headers(), HopHeaders.HOP_COUNT)).hasValue(3);
+        assertThat(record.headers().headers(HopHeaders.HOP_COUNT)).hasSize(1);
+    }
+}
@@ -0,0 +1,175 @@
+package hu.porkolab.chaosSymphony.common.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HopTimingInterceptor Tests")
+class HopTimingInterceptorTest {
+
+    private MeterRegistry meterRegistry;
+    private HopTimingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new HopTimingInterceptor(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HopContext.clear();
+    }
+
+    private static ConsumerRecord<Object, Object> stamped(String topic, long producedAt, long sagaStartedAt, long hop) {
+        var record = new ConsumerRecord<Object, Object>(topic, 0, 0L, "k", "v");
+        HopHeaders.write(record.headers(), HopHeaders.PRODUCED_AT, producedAt);
+        HopHeaders.write(record.headers(), HopHeaders.SAGA_STARTED_AT, sagaStartedAt);
+        HopHeaders.write(record.headers(), HopHeaders.HOP_COUNT, hop);
+        return record;
+    }
+
+    private Timer timer(String name, String topic) {
+        return meterRegistry.get(name).tag("topic", topic).timer();
+    }
+
+    @Nested
+    @DisplayName("Record Listener Tests")
+    class RecordListenerTests {
+
+        @Test
+        @DisplayName("Should record queue, service and saga time tagged by topic")
+        void recordsAllThreeTimes() {
+            long now = System.currentTimeMillis();
+            var record = stamped("payment.requested", now - 300, now - 1_000, 1);
+
+            interceptor.intercept(record, null);
+            interceptor.afterRecord(record, null);
+
+            assertThat(timer("kafka.hop.queue.time", "payment.requested").totalTime(TimeUnit.MILLISECONDS))
+                    .isBetween(300.0, 5_000.0);
+            assertThat(timer("kafka.hop.service.time", "payment.requested").count()).isEqualTo(1);
+            assertThat(timer("kafka.hop.saga.elapsed", "payment.requested").totalTime(TimeUnit.MILLISECONDS))
+                    .isGreaterThanOrEqualTo(1_000.0);
+        }
+
+        @Test
+        @DisplayName("Should expose the hop to the listener and clear it afterwards")
+        void setsAndClearsContext() {
+            var record = stamped("payment.requested", 2_000L, 1_000L, 2);
+
+            interceptor.intercept(record, null);
+            assertThat(HopContext.current()).isEqualTo(new HopContext(1_000L, 2));
+
+            interceptor.afterRecord(record, null);
+            assertThat(HopContext.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should fall back to the record timestamp without hop headers")
+        void unstampedRecord_usesTimestamp() {
+            long now = System.currentTimeMillis();
+            var record = new ConsumerRecord<Object, Object>("legacy", 0, 0L, now - 200, null, 0, 0, "k", "v",
+                    new RecordHeaders(), Optional.empty());
+
+            interceptor.intercept(record, null);
+            interceptor.afterRecord(record, null);
+
+            assertThat(timer("kafka.hop.queue.time", "legacy").totalTime(TimeUnit.MILLISECONDS))
+                    .isGreaterThanOrEqualTo(200.0);
+            assertThat(timer("kafka.hop.saga.elapsed", "legacy").count()).isZero();
+            assertThat(HopContext.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should record producer clock ahead of consumer as zero queue time")
+        void clockSkew_clampedToZero() {
+            long now = System.currentTimeMillis();
+            var record = stamped("orders", now + 60_000, now, 1);
+
+            interceptor.intercept(record, null);
+            interceptor.afterRecord(record, null);
+
+            assertThat(timer("kafka.hop.queue.time", "orders").totalTime(TimeUnit.MILLISECONDS)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Listener Tests")
+    class BatchListenerTests {
+
+        @Test
+        @DisplayName("Should record queue time per record and service time once per poll")
+        void recordsPerRecordAndPerPoll() {
+            long now = System.currentTimeMillis();
+            var records = new ConsumerRecords<>(Map.of(new TopicPartition("order.status.update", 0),
+                    List.of(stamped("order.status.update", now - 100, now - 500, 4),
+                            stamped("order.status.update", now - 100, now - 500, 4))));
+
+            interceptor.intercept(records, null);
+            interceptor.success(records, null);
+
+            assertThat(timer("kafka.hop.queue.time", "order.status.update").count()).isEqualTo(2);
+            assertThat(timer("kafka.hop.saga.elapsed", "order.status.update").count()).isEqualTo(2);
+            assertThat(timer("kafka.hop.batch.service.time", "order.status.update").count()).isEqualTo(1);
+            assertThat(HopContext.current()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Flight Recorder Tests")
+    class FlightRecorderTests {
+
+        @Test
+        @DisplayName("Should emit a MessageProcessed event per record while recording")
+        void emitsMessageProcessed() throws Exception {
+            long now = System.currentTimeMillis();
+            var ok = stamped("inventory.requested", now - 50, now - 100, 2);
+            var failed = stamped("inventory.requested", now - 50, now - 100, 2);
+            Path dump = Files.createTempFile("hop", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("hu.porkolab.chaosSymphony.MessageProcessed");
+                recording.start();
+
+                interceptor.intercept(ok, null);
+                interceptor.afterRecord(ok, null);
+                interceptor.intercept(failed, null);
+                interceptor.failure(failed, new IllegalStateException("boom"), null);
+                interceptor.afterRecord(failed, null);
+
+                recording.stop();
+                recording.dump(dump);
+                List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+                assertThat(events).hasSize(2).allSatisfy(e -> {
+                    assertThat(e.getString("topic")).isEqualTo("inventory.requested");
+                    assertThat(e.getInt("keyHash")).isEqualTo("k".hashCode());
+                    assertThat(e.getLong("queueTime")).isGreaterThanOrEqualTo(50);
+                });
+                assertThat(events).extracting(e -> e.getBoolean("failed")).containsExactly(false, true);
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hu.porkolab.chaosSymphony.common.kafka;
 
+import hu.porkolab.chaosSymphony.common.retry.DelayedRetry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -36,6 +39,10 @@ class KafkaErrorHandlingConfigTest {
         ReflectionTestUtils.setField(config, "bootstrap", "localhost:9092");
     }
 
+    private static ObjectProvider<DelayedRetry> noDelayedRetry() {
+        return new StaticListableBeanFactory().getBeanProvider(DelayedRetry.class);
+    }
+
     @Nested
     @DisplayName("ConsumerFactory Tests")
     class ConsumerFactoryTests {
@@ -113,7 +120,7 @@ class KafkaErrorHandlingConfigTest {
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
 
             
-            DefaultErrorHandler handler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L);
+            DefaultErrorHandler handler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L, noDelayedRetry());
 
             
             assertThat(handler).isNotNull();
@@ -126,7 +133,7 @@ class KafkaErrorHandlingConfigTest {
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
 
             
-            DefaultErrorHandler handler = config.errorHandler(recoverer, 10, 500L, 3.0, 5000L);
+            DefaultErrorHandler handler = config.errorHandler(recoverer, 10, 500L, 3.0, 5000L, noDelayedRetry());
 
             
             assertThat(handler).isNotNull();
@@ -139,7 +146,7 @@ class KafkaErrorHandlingConfigTest {
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
 
             
-            DefaultErrorHandler handler = config.errorHandler(recoverer, 1, 100L, 1.0, 100L);
+            DefaultErrorHandler handler = config.errorHandler(recoverer, 1, 100L, 1.0, 100L, noDelayedRetry());
 
             
             assertThat(handler).isNotNull();
@@ -156,7 +163,7 @@ class KafkaErrorHandlingConfigTest {
             
             ConsumerFactory<String, String> consumerFactory = config.consumerFactory();
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
-            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L);
+            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L, noDelayedRetry());
 
             
             ConcurrentKafkaListenerContainerFactory<String, String> factory =
@@ -172,7 +179,7 @@ class KafkaErrorHandlingConfigTest {
             
             ConsumerFactory<String, String> consumerFactory = config.consumerFactory();
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
-            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L);
+            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L, noDelayedRetry());
 
             
             ConcurrentKafkaListenerContainerFactory<String, String> factory =
@@ -189,7 +196,7 @@ class KafkaErrorHandlingConfigTest {
             
             ConsumerFactory<String, String> consumerFactory = config.consumerFactory();
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
-            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L);
+            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L, noDelayedRetry());
 
             
             ConcurrentKafkaListenerContainerFactory<String, String> factory =
@@ -212,7 +219,7 @@ class KafkaErrorHandlingConfigTest {
             
             ConsumerFactory<String, String> consumerFactory = config.consumerFactory();
             DeadLetterPublishingRecoverer recoverer = config.deadLetterPublishingRecoverer(kafkaTemplate);
-            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L);
+            DefaultErrorHandler errorHandler = config.errorHandler(recoverer, 4, 200L, 2.0, 2000L, noDelayedRetry());
 
             
             ConcurrentKafkaListenerContainerFactory<String, String> factory =
@@ -0,0 +1,191 @@
+package hu.porkolab.chaosSymphony.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotPathLog Tests")
+class HotPathLogTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger("hot-path-test-" + UUID.randomUUID());
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        HotPathLog.configure(HotPathLog.Mode.SAMPLED, 1);
+    }
+
+    private HotPathLog event() {
+        return HotPathLog.forEvent(logger, "events " + UUID.randomUUID());
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Nested
+    @DisplayName("Mode Tests")
+    class ModeTests {
+
+        @Test
+        @DisplayName("Should log every line in FULL mode")
+        void full() {
+            HotPathLog.configure(HotPathLog.Mode.FULL, 0);
+            HotPathLog log = event();
+
+            for (int i = 0; i < 5; i++) {
+                log.info("processed {}", i);
+            }
+
+            assertThat(messages()).containsExactly("processed 0", "processed 1", "processed 2", "processed 3",
+                    "processed 4");
+        }
+
+        @Test
+        @DisplayName("Should let samples-per-second lines through and summarize the rest")
+        void sampled() {
+            HotPathLog.configure(HotPathLog.Mode.SAMPLED, 2);
+            HotPathLog log = event();
+
+            for (int i = 0; i < 10; i++) {
+                log.info("processed {}", i);
+            }
+            log.summarize(Duration.ofSeconds(10));
+
+            // a second boundary may fall inside the loop, letting two more through
+            assertThat(messages()).hasSizeBetween(3, 5);
+            assertThat(messages().getLast()).matches("10 " + log.event() + " in last 10s \\((2|4) logged\\)");
+            assertThat(log.total()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should only summarize with a zero sampling rate")
+        void summaryOnly() {
+            HotPathLog.configure(HotPathLog.Mode.SAMPLED, 0);
+            HotPathLog log = event();
+
+            log.info("processed {} {}", 1, 2);
+            log.info("processed {} {} {}", 1, 2, 3);
+            log.summarize(Duration.ofSeconds(5));
+            log.summarize(Duration.ofSeconds(5));
+
+            assertThat(messages()).containsExactly("2 " + log.event() + " in last 5s (0 logged)");
+        }
+
+        @Test
+        @DisplayName("Should log nothing in OFF mode but keep counting")
+        void off() {
+            HotPathLog.configure(HotPathLog.Mode.OFF, 10);
+            HotPathLog log = event();
+
+            log.info("processed");
+            log.summarize(Duration.ofSeconds(10));
+
+            assertThat(messages()).isEmpty();
+            assertThat(log.total()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should respect the logger level")
+        void levelDisabled() {
+            HotPathLog.configure(HotPathLog.Mode.FULL, 0);
+            logger.setLevel(Level.WARN);
+            HotPathLog log = event();
+
+            log.info("processed");
+
+            assertThat(messages()).isEmpty();
+            assertThat(log.total()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Appender Tests")
+    class AsyncAppenderTests {
+
+        private final AsyncAppenders asyncAppenders = new AsyncAppenders();
+
+        private List<Appender<ILoggingEvent>> rootAppenders() {
+            Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+            List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+            for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+                appenders.add(it.next());
+            }
+            return appenders;
+        }
+
+        @AfterEach
+        void tearDown() {
+            asyncAppenders.uninstall();
+        }
+
+        @Test
+        @DisplayName("Should wrap root appenders and restore them")
+        void installAndUninstall() {
+            Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+            ListAppender<ILoggingEvent> rootAppender = new ListAppender<>();
+            rootAppender.setName("root-list");
+            rootAppender.start();
+            root.addAppender(rootAppender);
+            try {
+                List<Appender<ILoggingEvent>> original = rootAppenders();
+
+                asyncAppenders.install(256);
+
+                assertThat(asyncAppenders.installed()).isTrue();
+                assertThat(rootAppenders()).hasSameSizeAs(original)
+                        .allSatisfy(a -> assertThat(a.getName()).startsWith("ASYNC_"));
+                root.warn("while async");
+
+                asyncAppenders.uninstall();
+
+                assertThat(asyncAppenders.installed()).isFalse();
+                assertThat(rootAppenders()).containsExactlyInAnyOrderElementsOf(original)
+                        .allSatisfy(a -> assertThat(a.isStarted()).isTrue());
+                root.warn("after uninstall");
+                assertThat(rootAppender.list).extracting(ILoggingEvent::getFormattedMessage)
+                        .containsExactly("while async", "after uninstall");
+            } finally {
+                root.detachAppender(rootAppender);
+            }
+        }
+
+        @Test
+        @DisplayName("Should not wrap twice")
+        void idempotent() {
+            asyncAppenders.install(256);
+            List<Appender<ILoggingEvent>> wrapped = rootAppenders();
+
+            asyncAppenders.install(256);
+
+            assertThat(rootAppenders()).containsExactlyElementsOf(wrapped);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package hu.porkolab.chaosSymphony.common.retry;
+
+import hu.porkolab.chaosSymphony.common.kafka.HopHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRecordRecoverer;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DelayedRetry Tests")
+class DelayedRetryTest {
+
+    private static final String TOPIC = "payment.requested";
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private ConsumerAwareRecordRecoverer deadLetters;
+
+    @Mock
+    private Consumer<Object, Object> consumer;
+
+    private MeterRegistry meterRegistry;
+    private DelayedRetryProperties properties;
+    private List<ConsumerRecord<?, ?>> deadLettered;
+    private DelayedRetry delayedRetry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new DelayedRetryProperties();
+        properties.setTopics(List.of(TOPIC));
+        properties.setRetryableExceptions(List.of(IllegalStateException.class));
+        deadLettered = new ArrayList<>();
+        var listeners = new StaticListableBeanFactory();
+        listeners.addBean("deadLetterListener", (DeadLetterListener) (record, exception) -> deadLettered.add(record));
+        delayedRetry = new DelayedRetry(properties, kafkaTemplate, "payment-svc",
+                listeners.getBeanProvider(DeadLetterListener.class), meterRegistry);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata("payment-requested"));
+    }
+
+    private static ConsumerRecord<Object, Object> record(String topic, Integer attempt) {
+        var record = new ConsumerRecord<Object, Object>(topic, 0, 7L, "order-1", "{}");
+        if (attempt != null) {
+            HopHeaders.write(record.headers(), RetryHeaders.ATTEMPT, attempt);
+        }
+        return record;
+    }
+
+    private static Exception failed(Throwable cause) {
+        return new ListenerExecutionFailedException("Listener failed", cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, String> parked() {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("Classification Tests")
+    class ClassificationTests {
+
+        @Test
+        @DisplayName("Should find transient causes behind the listener exception")
+        void isTransient_shouldUnwrapCauses() {
+            assertThat(delayedRetry.isTransient(failed(new SocketTimeoutException("read timed out")))).isTrue();
+            assertThat(delayedRetry.isTransient(failed(new IllegalStateException("declined")))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should treat configured and transient exceptions as retryable")
+        void isRetryable_shouldCoverConfiguredAndTransient() {
+            assertThat(delayedRetry.isRetryable(failed(new IllegalStateException("declined")))).isTrue();
+            assertThat(delayedRetry.isRetryable(failed(new SocketTimeoutException()))).isTrue();
+            assertThat(delayedRetry.isRetryable(failed(new IllegalArgumentException("bad amount")))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should never retry deserialization failures")
+        void isRetryable_shouldRejectFatal() {
+            properties.setRetryableExceptions(List.of(RuntimeException.class));
+            var exception = failed(new DeserializationException("bad payload", new byte[0], false, null));
+
+            assertThat(delayedRetry.isRetryable(exception)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should name tier topics after their delay")
+        void tierTopics_shouldUseDelays() {
+            assertThat(delayedRetry.tierTopics())
+                    .containsExactly("retry.delay.1s", "retry.delay.10s", "retry.delay.60s");
+            assertThat(delayedRetry.tierTopic(Duration.ofMillis(250))).isEqualTo("retry.delay.250ms");
+        }
+    }
+
+    @Nested
+    @DisplayName("BackOff Tests")
+    class BackOffTests {
+
+        @Test
+        @DisplayName("Should fast-retry transient failures in memory")
+        void backOff_transient_shouldUseFastRetry() {
+            var backOff = delayedRetry.backOffFor(record(TOPIC, null), failed(new SocketTimeoutException()));
+
+            BackOffExecution execution = backOff.start();
+            assertThat(execution.nextBackOff()).isEqualTo(200L);
+            assertThat(execution.nextBackOff()).isEqualTo(200L);
+            assertThat(execution.nextBackOff()).isEqualTo(BackOffExecution.STOP);
+        }
+
+        @Test
+        @DisplayName("Should hand other failures to the recoverer at once")
+        void backOff_otherFailure_shouldNotRetryInMemory() {
+            var backOff = delayedRetry.backOffFor(record(TOPIC, null), failed(new IllegalStateException()));
+
+            assertThat(backOff.start().nextBackOff()).isEqualTo(BackOffExecution.STOP);
+        }
+
+        @Test
+        @DisplayName("Should keep the handler's back-off for other topics")
+        void backOff_otherTopic_shouldDefer() {
+            assertThat(delayedRetry.backOffFor(record("payment.refund", null), failed(new SocketTimeoutException())))
+                    .isNull();
+        }
+
+        @Test
+        @DisplayName("Should build a handler around the given back-off")
+        void errorHandler_shouldBeCreated() {
+            assertThat(delayedRetry.errorHandler(deadLetters, new FixedBackOff(100, 3))).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recover Tests")
+    class RecoverTests {
+
+        @Test
+        @DisplayName("Should park a first failure in the first tier")
+        void recover_firstFailure_shouldParkInFirstTier() {
+            var record = record(TOPIC, null);
+            HopHeaders.write(record.headers(), HopHeaders.SAGA_STARTED_AT, 1234L);
+
+            long before = System.currentTimeMillis();
+            delayedRetry.recover(record, consumer, failed(new IllegalStateException("declined")), deadLetters);
+
+            ProducerRecord<String, String> parked = parked();
+            assertThat(parked.topic()).isEqualTo("retry.delay.1s");
+            assertThat(parked.key()).isEqualTo("order-1");
+            assertThat(parked.value()).isEqualTo("{}");
+            assertThat(RetryHeaders.readString(parked.headers(), RetryHeaders.ORIGIN_TOPIC)).isEqualTo(TOPIC);
+            assertThat(RetryHeaders.readString(parked.headers(), RetryHeaders.ORIGIN_GROUP))
+                    .isEqualTo("payment-requested");
+            assertThat(RetryHeaders.readString(parked.headers(), RetryHeaders.SERVICE)).isEqualTo("payment-svc");
+            assertThat(RetryHeaders.readString(parked.headers(), RetryHeaders.EXCEPTION))
+                    .isEqualTo("java.lang.IllegalStateException: declined");
+            assertThat(HopHeaders.read(parked.headers(), RetryHeaders.ATTEMPT)).hasValue(1);
+            assertThat(HopHeaders.read(parked.headers(), RetryHeaders.DUE_AT).getAsLong())
+                    .isBetween(before + 1000, System.currentTimeMillis() + 1000);
+            assertThat(HopHeaders.read(parked.headers(), HopHeaders.SAGA_STARTED_AT)).hasValue(1234L);
+            verifyNoInteractions(deadLetters);
+            assertThat(meterRegistry.get("kafka.retry.delayed").tag("tier", "retry.delay.1s").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should move later attempts to longer tiers")
+        void recover_secondFailure_shouldParkInSecondTier() {
+            delayedRetry.recover(record(TOPIC, 1), consumer, failed(new IllegalStateException()), deadLetters);
+
+            ProducerRecord<String, String> parked = parked();
+            assertThat(parked.topic()).isEqualTo("retry.delay.10s");
+            assertThat(HopHeaders.read(parked.headers(), RetryHeaders.ATTEMPT)).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should dead-letter once attempts are used up")
+        void recover_exhausted_shouldDeadLetter() {
+            var record = record(TOPIC, 3);
+            var exception = failed(new IllegalStateException());
+
+            delayedRetry.recover(record, consumer, exception, deadLetters);
+
+            verify(deadLetters).accept(record, consumer, exception);
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+            assertThat(deadLettered).containsExactly(record);
+            assertThat(meterRegistry.get("kafka.retry.dead.lettered").tag("reason", "exhausted").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should dead-letter non-retryable failures at once")
+        void recover_fatal_shouldDeadLetter() {
+            var record = record(TOPIC, null);
+            var exception = failed(new IllegalArgumentException("bad amount"));
+
+            delayedRetry.recover(record, consumer, exception, deadLetters);
+
+            verify(deadLetters).accept(record, consumer, exception);
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        }
+
+        @Test
+        @DisplayName("Should dead-letter records of other topics")
+        void recover_otherTopic_shouldDeadLetter() {
+            var record = record("payment.refund", null);
+            var exception = failed(new SocketTimeoutException());
+
+            delayedRetry.recover(record, consumer, exception, deadLetters);
+
+            verify(deadLetters).accept(record, consumer, exception);
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        }
+
+        @Test
+        @DisplayName("Should fail the recovery when the tier cannot be written")
+        void recover_sendFails_shouldThrow() {
+            when(kafkaTemplate.send(any(ProducerRecord.class)))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+            assertThatThrownBy(() -> delayedRetry.recover(record(TOPIC, null),
+                            consumer, failed(new IllegalStateException()), deadLetters))
+                    .isInstanceOf(KafkaException.class)
+                    .hasMessageContaining("retry.delay.1s");
+        }
+    }
+
+    @Nested
+    @DisplayName("Scheduler Tests")
+    class SchedulerTests {
+
+        @Mock
+        private ConsumerFactory<String, String> consumerFactory;
+
+        @Mock
+        private Acknowledgment ack;
+
+        private DelayedRetryScheduler scheduler;
+
+        @BeforeEach
+        void setUp() {
+            scheduler = new DelayedRetryScheduler(delayedRetry, consumerFactory, kafkaTemplate,
+                    "payment-svc-delayed-retry", meterRegistry);
+        }
+
+        private ConsumerRecord<String, String> parkedRecord(String service, long dueAt) {
+            var record = new ConsumerRecord<String, String>("retry.delay.1s", 0, 3L, "order-1", "{}");
+            RetryHeaders.writeString(record.headers(), RetryHeaders.ORIGIN_TOPIC, TOPIC);
+            RetryHeaders.writeString(record.headers(), RetryHeaders.SERVICE, service);
+            HopHeaders.write(record.headers(), RetryHeaders.ATTEMPT, 1);
+            HopHeaders.write(record.headers(), RetryHeaders.DUE_AT, dueAt);
+            return record;
+        }
+
+        @Test
+        @DisplayName("Should wait for a record that is not due yet")
+        void onTierRecord_notDue_shouldNack() {
+            scheduler.onTierRecord(parkedRecord("payment-svc", System.currentTimeMillis() + 5_000), ack);
+
+            ArgumentCaptor<Duration> sleep = ArgumentCaptor.forClass(Duration.class);
+            verify(ack).nack(sleep.capture());
+            assertThat(sleep.getValue()).isBetween(Duration.ofMillis(4_000), Duration.ofMillis(5_000));
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        }
+
+        @Test
+        @DisplayName("Should put a due record back on its origin topic")
+        void onTierRecord_due_shouldRedeliver() {
+            scheduler.onTierRecord(parkedRecord("payment-svc", System.currentTimeMillis() - 1), ack);
+
+            ProducerRecord<String, String> redelivered = parked();
+            assertThat(redelivered.topic()).isEqualTo(TOPIC);
+            assertThat(redelivered.key()).isEqualTo("order-1");
+            assertThat(redelivered.headers().lastHeader(RetryHeaders.DUE_AT)).isNull();
+            assertThat(HopHeaders.read(redelivered.headers(), RetryHeaders.ATTEMPT)).hasValue(1);
+            verify(ack).acknowledge();
+            assertThat(meterRegistry.get("kafka.retry.redelivered").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should skip records parked by another service")
+        void onTierRecord_otherService_shouldSkip() {
+            scheduler.onTierRecord(parkedRecord("inventory-svc", System.currentTimeMillis() - 1), ack);
+
+            verify(ack).acknowledge();
+            verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Group Filter Tests")
+    class GroupFilterTests {
+
+        private final DelayedRetryGroupFilter filter = new DelayedRetryGroupFilter();
+
+        @Test
+        @DisplayName("Should pass first deliveries to every group")
+        void intercept_noOriginGroup_shouldPass() {
+            var record = record(TOPIC, null);
+
+            assertThat(filter.intercept(record, consumer)).isSameAs(record);
+        }
+
+        @Test
+        @DisplayName("Should pass a redelivery to the group that failed it")
+        void intercept_originGroup_shouldPass() {
+            var record = record(TOPIC, 1);
+            RetryHeaders.writeString(record.headers(), RetryHeaders.ORIGIN_GROUP, "payment-requested");
+
+            assertThat(filter.intercept(record, consumer)).isSameAs(record);
+        }
+
+        @Test
+        @DisplayName("Should hide a redelivery from other groups")
+        void intercept_otherGroup_shouldSkip() {
+            var record = record(TOPIC, 1);
+            RetryHeaders.writeString(record.headers(), RetryHeaders.ORIGIN_GROUP, "payment-audit");
+
+            assertThat(filter.intercept(record, consumer)).isNull();
+        }
+    }
+}
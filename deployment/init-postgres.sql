@@ -22,21 +22,57 @@ CREATE TABLE IF NOT EXISTS orders (
     ))
 );
 
--- Outbox table for CDC
+-- Keyset listing/export walk (created_at, id) newest first; pending-review lookups filter by status
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at ON orders (status, created_at);
+
+-- Outbox table for CDC, range-partitioned by day on occurred_at so order-api's
+-- OutboxHousekeeping can drop whole expired partitions instead of deleting rows
 CREATE TABLE IF NOT EXISTS order_outbox (
-    id UUID PRIMARY KEY,
+    id UUID NOT NULL,
     aggregate_id UUID NOT NULL,
     aggregate_type VARCHAR(255) NOT NULL,
     type VARCHAR(255) NOT NULL,
     payload JSONB NOT NULL,
-    occurred_at TIMESTAMPTZ NOT NULL DEFAULT now()
-);
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    published_at TIMESTAMPTZ,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE IF NOT EXISTS order_outbox_default PARTITION OF order_outbox DEFAULT;
+
+DO $$
+DECLARE
+    d DATE;
+BEGIN
+    FOR i IN 0..3 LOOP
+        d := (now() AT TIME ZONE 'UTC')::date + i;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS order_outbox_p%s PARTITION OF order_outbox FOR VALUES FROM (%L) TO (%L)',
+                       to_char(d, 'YYYYMMDD'), d::timestamp AT TIME ZONE 'UTC', (d + 1)::timestamp AT TIME ZONE 'UTC');
+    END LOOP;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_order_outbox_occurred_at ON order_outbox (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_order_outbox_unpublished ON order_outbox (occurred_at, id) WHERE published_at IS NULL;
+
+-- Wakes the in-process outbox relay (outbox.relay.enabled) as soon as rows are committed
+CREATE OR REPLACE FUNCTION notify_order_outbox() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('order_outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS order_outbox_notify ON order_outbox;
+CREATE TRIGGER order_outbox_notify
+    AFTER INSERT ON order_outbox
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_order_outbox();
 
 -- Debezium publication
 DO $$
 BEGIN
     IF NOT EXISTS (SELECT 1 FROM pg_publication WHERE pubname = 'dbz_publication') THEN
-        CREATE PUBLICATION dbz_publication FOR TABLE order_outbox;
+        CREATE PUBLICATION dbz_publication FOR TABLE order_outbox WITH (publish_via_partition_root = true);
     END IF;
 END $$;
 
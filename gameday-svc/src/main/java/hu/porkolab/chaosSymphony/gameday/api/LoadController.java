@@ -0,0 +1,46 @@
+package hu.porkolab.chaosSymphony.gameday.api;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadGenerator;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProfile;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/gameday/load")
+@RequiredArgsConstructor
+public class LoadController {
+
+    private final LoadGenerator loadGenerator;
+
+    @PostMapping
+    public ResponseEntity<LoadReport> start(@RequestBody LoadProfile profile) {
+        LoadRun run = loadGenerator.start(profile);
+        return ResponseEntity.accepted().body(run.report());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<LoadReport> report(@PathVariable String id) {
+        return loadGenerator.find(id)
+                .map(run -> ResponseEntity.ok(run.report()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<LoadReport> stop(@PathVariable String id) {
+        return loadGenerator.find(id)
+                .map(run -> {
+                    run.stop();
+                    return ResponseEntity.accepted().body(run.report());
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
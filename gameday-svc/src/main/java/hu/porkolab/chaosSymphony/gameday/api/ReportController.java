@@ -0,0 +1,48 @@
+package hu.porkolab.chaosSymphony.gameday.api;
+
+import hu.porkolab.chaosSymphony.gameday.report.GameDayReport;
+import hu.porkolab.chaosSymphony.gameday.report.GameDayReports;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/gameday/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final GameDayReports reports;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GameDayReport> report(@PathVariable String id) {
+        return reports.find(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{id}/html", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> html(@PathVariable String id) {
+        return reports.findHtml(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/baseline")
+    public ResponseEntity<GameDayReport> baseline() {
+        return reports.baseline()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/baseline/{id}")
+    public ResponseEntity<GameDayReport> promote(@PathVariable String id) {
+        return reports.promote(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,46 @@
+package hu.porkolab.chaosSymphony.gameday.api;
+
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioEngine;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioPlan;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/gameday/scenarios")
+@RequiredArgsConstructor
+public class ScenarioController {
+
+    private final ScenarioEngine scenarioEngine;
+
+    @PostMapping
+    public ResponseEntity<ScenarioReport> start(@RequestBody ScenarioPlan plan) {
+        ScenarioRun run = scenarioEngine.start(plan);
+        return ResponseEntity.accepted().body(run.report());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ScenarioReport> report(@PathVariable String id) {
+        return scenarioEngine.find(id)
+                .map(run -> ResponseEntity.ok(run.report()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ScenarioReport> abort(@PathVariable String id) {
+        return scenarioEngine.find(id)
+                .map(run -> {
+                    scenarioEngine.abort(run, "Aborted on request");
+                    return ResponseEntity.accepted().body(run.report());
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
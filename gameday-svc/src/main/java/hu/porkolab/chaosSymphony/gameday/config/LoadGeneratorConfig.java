@@ -0,0 +1,34 @@
+package hu.porkolab.chaosSymphony.gameday.config;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+@Configuration
+@EnableConfigurationProperties(LoadProperties.class)
+public class LoadGeneratorConfig {
+
+    @Value("${order.api.url:http://order-api:8080}")
+    private String orderApiUrl;
+
+    /** Blocking client for the load generator's virtual threads; HTTP/1.1 so Tomcat is not asked to upgrade. */
+    @Bean
+    public RestClient orderApiRestClient(LoadProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getRequestTimeout());
+        return RestClient.builder()
+                .baseUrl(orderApiUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
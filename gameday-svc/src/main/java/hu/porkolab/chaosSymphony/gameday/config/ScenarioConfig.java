@@ -0,0 +1,30 @@
+package hu.porkolab.chaosSymphony.gameday.config;
+
+import hu.porkolab.chaosSymphony.gameday.report.ReportProperties;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableConfigurationProperties({ScenarioProperties.class, ReportProperties.class})
+public class ScenarioConfig {
+
+    @Value("${analytics.url:http://streams-analytics:8095}")
+    private String analyticsUrl;
+
+    /** Short timeouts: a slow read must not delay the guard check that could abort a run. */
+    @Bean
+    public RestClient analyticsRestClient(ScenarioProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getMetricsTimeout());
+        requestFactory.setReadTimeout(properties.getMetricsTimeout());
+        return RestClient.builder()
+                .baseUrl(analyticsUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
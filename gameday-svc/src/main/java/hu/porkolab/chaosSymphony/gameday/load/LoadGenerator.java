@@ -0,0 +1,183 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load against {@code POST /api/orders}. A dispatcher thread releases each arrival at
+ * the time the {@link LoadProfile} fixes for it and hands it to a virtual thread, so a slow
+ * response holds up only its own order, never the schedule. Only when
+ * {@code max-in-flight} requests are open does the dispatcher wait; the arrivals it holds back
+ * go out late and are measured from their schedule like any other.
+ */
+@Slf4j
+@Service
+public class LoadGenerator {
+
+    record OrderRequest(String customerId, BigDecimal total, String currency, String shippingAddress) {}
+
+    private final RestClient orderApi;
+    private final SagaOutcomeTracker tracker;
+    private final LoadProperties properties;
+    private final Map<String, LoadRun> runs;
+
+    public LoadGenerator(@Qualifier("orderApiRestClient") RestClient orderApi, SagaOutcomeTracker tracker,
+                         LoadProperties properties) {
+        this.orderApi = orderApi;
+        this.tracker = tracker;
+        this.properties = properties;
+        this.runs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LoadRun> eldest) {
+                return size() > properties.getRetainedRuns() && eldest.getValue().state() == LoadRun.State.FINISHED;
+            }
+        };
+    }
+
+    /** Starts a run in the background. */
+    public LoadRun start(LoadProfile profile) {
+        LoadRun run = new LoadRun(UUID.randomUUID().toString().substring(0, 8), profile, Instant.now(),
+                System.nanoTime());
+        synchronized (runs) {
+            runs.put(run.id(), run);
+        }
+        tracker.runStarted();
+        Thread.ofPlatform().name("load-" + run.id()).start(() -> execute(run));
+        log.info("Load run {} started: {}", run.id(), profile);
+        return run;
+    }
+
+    /** Runs a profile to the end, including waiting for saga outcomes, and returns its report. */
+    public LoadReport run(LoadProfile profile) throws InterruptedException {
+        LoadRun run = start(profile);
+        try {
+            run.awaitFinished(profile.duration().plus(properties.getRequestTimeout()).plus(properties.getSagaTimeout())
+                    .plusSeconds(5));
+        } catch (InterruptedException e) {
+            run.stop();
+            throw e;
+        }
+        return run.report();
+    }
+
+    public Optional<LoadRun> find(String id) {
+        synchronized (runs) {
+            return Optional.ofNullable(runs.get(id));
+        }
+    }
+
+    void execute(LoadRun run) {
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+        try {
+            try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+                long arrivals = run.profile().arrivals();
+                for (long i = 0; i < arrivals && !run.stopRequested(); i++) {
+                    long due = run.startNanos() + run.profile().offsetNanos(i);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    if (!inFlight.tryAcquire()) {
+                        run.delayed();
+                        if (!awaitSlot(inFlight, run)) {
+                            run.dropped(dueBy(run, i, arrivals, System.nanoTime()));
+                            break;
+                        }
+                    }
+                    long seq = i;
+                    senders.execute(() -> {
+                        try {
+                            send(run, seq, due);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+            run.draining();
+            awaitSagas(run);
+        } catch (RuntimeException e) {
+            log.error("Load run {} failed", run.id(), e);
+        } finally {
+            tracker.runEnded(run);
+            run.finish();
+            log.info("Load run finished: {}", run.report().summary());
+        }
+    }
+
+    void send(LoadRun run, long seq, long scheduledNanos) {
+        long sentNanos = System.nanoTime();
+        try {
+            orderApi.post()
+                    .uri("/api/orders")
+                    .body(order(run, seq))
+                    .exchange((request, response) -> {
+                        int status = response.getStatusCode().value();
+                        JsonNode body = status == 202 ? response.bodyTo(JsonNode.class) : null;
+                        run.responded(status, scheduledNanos, sentNanos, System.nanoTime());
+                        if (body != null && body.hasNonNull("orderId")) {
+                            tracker.await(body.get("orderId").asText(), run, scheduledNanos);
+                        }
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            run.failed(scheduledNanos, sentNanos, System.nanoTime());
+            log.debug("Order {} of load run {} failed: {}", seq, run.id(), e.getMessage());
+        }
+    }
+
+    /** Blocks until a request slot frees up; {@code false} if the run was stopped first. */
+    private static boolean awaitSlot(Semaphore inFlight, LoadRun run) {
+        try {
+            while (!run.stopRequested()) {
+                if (inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.stop();
+        }
+        return false;
+    }
+
+    /** Arrivals from {@code from} on that were already due at {@code now}. */
+    static long dueBy(LoadRun run, long from, long arrivals, long now) {
+        long due = from;
+        while (due < arrivals && run.startNanos() + run.profile().offsetNanos(due) <= now) {
+            due++;
+        }
+        return due - from;
+    }
+
+    /** A distinct customer per order keeps the fraud velocity rule out of the measurement. */
+    static OrderRequest order(LoadRun run, long seq) {
+        long cents = ThreadLocalRandom.current().nextLong(1_001, 20_000);
+        return new OrderRequest("gameday-" + run.id() + "-" + seq, BigDecimal.valueOf(cents, 2), "EUR",
+                "GameDay load " + run.id());
+    }
+
+    private void awaitSagas(LoadRun run) {
+        long deadline = System.nanoTime() + properties.getSagaTimeout().toNanos();
+        while (run.sagasPending() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(100).toNanos());
+        }
+    }
+}
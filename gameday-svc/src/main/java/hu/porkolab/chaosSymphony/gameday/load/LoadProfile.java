@@ -0,0 +1,61 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arrival schedule of a load run. {@code CONSTANT} sends {@code startRate} orders per second for
+ * the whole duration; {@code RAMP} changes the rate linearly from {@code startRate} to
+ * {@code endRate}. Arrivals are fixed in advance, so a slow system cannot slow the schedule down.
+ */
+public record LoadProfile(Type type, double startRate, double endRate, Duration duration) {
+
+    public enum Type { CONSTANT, RAMP }
+
+    public LoadProfile {
+        if (type == null) {
+            type = Type.CONSTANT;
+        }
+        if (type == Type.CONSTANT) {
+            endRate = startRate;
+        }
+        if (startRate < 0 || endRate < 0 || startRate + endRate <= 0) {
+            throw new IllegalArgumentException("Rates must be non-negative and not both zero");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+    }
+
+    public static LoadProfile constant(double rate, Duration duration) {
+        return new LoadProfile(Type.CONSTANT, rate, rate, duration);
+    }
+
+    public static LoadProfile ramp(double startRate, double endRate, Duration duration) {
+        return new LoadProfile(Type.RAMP, startRate, endRate, duration);
+    }
+
+    /** Number of arrivals over the whole duration: the area under the rate curve. */
+    public long arrivals() {
+        return (long) Math.floor((startRate + endRate) / 2 * seconds());
+    }
+
+    /**
+     * When arrival {@code i} (0-based) is due, relative to the start of the run. For a ramp this
+     * solves {@code startRate * t + slope * t^2 / 2 = i} for {@code t}.
+     */
+    public long offsetNanos(long i) {
+        double slope = (endRate - startRate) / seconds();
+        double t;
+        if (Math.abs(slope) < 1e-12) {
+            t = i / startRate;
+        } else {
+            t = (-startRate + Math.sqrt(startRate * startRate + 2 * slope * i)) / slope;
+        }
+        return (long) (t * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private double seconds() {
+        return duration.toNanos() / 1e9;
+    }
+}
@@ -0,0 +1,39 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gameday.load")
+public class LoadProperties {
+
+    /**
+     * Requests still waiting for a response. An arrival beyond this waits for a free slot and is
+     * sent late; its latency still counts from its scheduled time.
+     */
+    private int maxInFlight = 2000;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /** How long to keep waiting for final saga statuses after the last arrival. */
+    private Duration sagaTimeout = Duration.ofSeconds(60);
+
+    /** Finished runs kept for {@code GET /api/gameday/load/{id}}. */
+    private int retainedRuns = 20;
+
+    /** Constant-rate load of the GameDay smoke step, before chaos is switched on. */
+    private double smokeRate = 2;
+
+    private Duration smokeDuration = Duration.ofSeconds(10);
+
+    /** Constant-rate load of the GameDay measure step, with chaos on. */
+    private double measureRate = 20;
+
+    private Duration measureDuration = Duration.ofSeconds(60);
+}
@@ -0,0 +1,75 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Point-in-time view of a {@link LoadRun}. {@code heldForReview} are orders the fraud check kept
+ * back (200) and {@code throttled} were shed by admission control (429). {@code delayed} waited in
+ * the generator for one of {@code gameday.load.max-in-flight} slots and went out late; they are
+ * in the response percentiles, measured from their schedule. {@code dropped} were already due
+ * but never sent because the run was stopped while they waited.
+ */
+public record LoadReport(
+        String id,
+        LoadProfile profile,
+        LoadRun.State state,
+        Instant startedAt,
+        double elapsedSeconds,
+        long plannedArrivals,
+        long sent,
+        long accepted,
+        long heldForReview,
+        long throttled,
+        long errors,
+        long delayed,
+        long dropped,
+        long sagasCompleted,
+        long sagasFailed,
+        long sagasPending,
+        double acceptedPerSecond,
+        double sagasCompletedPerSecond,
+        Percentiles responseLatencyMs,
+        Percentiles serviceTimeMs,
+        Percentiles sagaLatencyMs) {
+
+    public record Percentiles(long count, double p50, double p90, double p99, double p999, double max) {
+
+        static Percentiles of(Histogram histogram) {
+            Histogram copy = histogram.copy();
+            return new Percentiles(copy.getTotalCount(),
+                    millis(copy.getValueAtPercentile(50)),
+                    millis(copy.getValueAtPercentile(90)),
+                    millis(copy.getValueAtPercentile(99)),
+                    millis(copy.getValueAtPercentile(99.9)),
+                    millis(copy.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    static LoadReport of(LoadRun run, Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        return new LoadReport(run.id(), run.profile(), run.state(), run.startedAt(), seconds,
+                run.profile().arrivals(), run.sent(), run.accepted(), run.held(), run.throttled(), run.errors(),
+                run.delayedCount(), run.droppedCount(), run.sagasCompleted(), run.sagasFailed(), run.sagasPending(),
+                run.accepted() / seconds, run.sagasCompleted() / seconds,
+                Percentiles.of(run.responseMicros()), Percentiles.of(run.serviceMicros()),
+                Percentiles.of(run.sagaMicros()));
+    }
+
+    public String summary() {
+        return String.format(
+                "%s %s: %d sent, %d accepted (%.1f/s), %d held, %d throttled, %d errors, %d delayed, %d dropped; "
+                        + "sagas %d completed (%.1f/s), %d failed, %d pending; "
+                        + "response p50/p99/p99.9 %.0f/%.0f/%.0f ms; saga p50/p99/p99.9 %.0f/%.0f/%.0f ms",
+                id, state, sent, accepted, acceptedPerSecond, heldForReview, throttled, errors, delayed, dropped,
+                sagasCompleted, sagasCompletedPerSecond, sagasFailed, sagasPending,
+                responseLatencyMs.p50(), responseLatencyMs.p99(), responseLatencyMs.p999(),
+                sagaLatencyMs.p50(), sagaLatencyMs.p99(), sagaLatencyMs.p999());
+    }
+}
@@ -0,0 +1,203 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live state of one load run. Response and saga latencies are measured from the arrival each
+ * order was scheduled for rather than from when its request actually went out. A stalled
+ * system therefore shows up as latency for every order that should have been sent during
+ * the stall, which corrects for coordinated omission. That includes arrivals the generator itself
+ * held back while {@code max-in-flight} requests were open: they are sent late, counted as
+ * {@code delayed}, and their latency still runs from the schedule. Service time, from the actual
+ * send, is kept separately so the two can be compared.
+ */
+public final class LoadRun {
+
+    public enum State { RUNNING, DRAINING, FINISHED }
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String id;
+    private final LoadProfile profile;
+    private final Instant startedAt;
+    private final long startNanos;
+
+    private final Histogram responseMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Histogram serviceMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Histogram sagaMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong held = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sagasCompleted = new AtomicLong();
+    private final AtomicLong sagasFailed = new AtomicLong();
+    private final AtomicLong sagasPending = new AtomicLong();
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile State state = State.RUNNING;
+    private volatile boolean stopRequested;
+    private volatile long endNanos;
+
+    LoadRun(String id, LoadProfile profile, Instant startedAt, long startNanos) {
+        this.id = id;
+        this.profile = profile;
+        this.startedAt = startedAt;
+        this.startNanos = startNanos;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public LoadProfile profile() {
+        return profile;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /** Stops scheduling new arrivals; requests and sagas already in flight are still awaited. */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean awaitFinished(Duration timeout) throws InterruptedException {
+        return finished.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public LoadReport report() {
+        long end = state == State.FINISHED ? endNanos : System.nanoTime();
+        return LoadReport.of(this, Duration.ofNanos(end - startNanos));
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    boolean stopRequested() {
+        return stopRequested;
+    }
+
+    void draining() {
+        state = State.DRAINING;
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        state = State.FINISHED;
+        finished.countDown();
+    }
+
+    void delayed() {
+        delayed.incrementAndGet();
+    }
+
+    void dropped(long arrivals) {
+        dropped.addAndGet(arrivals);
+    }
+
+    void responded(int status, long scheduledNanos, long sentNanos, long nowNanos) {
+        sent.incrementAndGet();
+        record(responseMicros, nowNanos - scheduledNanos);
+        record(serviceMicros, nowNanos - sentNanos);
+        if (status == 202) {
+            accepted.incrementAndGet();
+        } else if (status == 200) {
+            held.incrementAndGet();
+        } else if (status == 429) {
+            throttled.incrementAndGet();
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    void failed(long scheduledNanos, long sentNanos, long nowNanos) {
+        responded(-1, scheduledNanos, sentNanos, nowNanos);
+    }
+
+    void sagaStarted() {
+        sagasPending.incrementAndGet();
+    }
+
+    void sagaFinished(boolean completed, long scheduledNanos, long nowNanos) {
+        sagasPending.decrementAndGet();
+        if (completed) {
+            sagasCompleted.incrementAndGet();
+            record(sagaMicros, nowNanos - scheduledNanos);
+        } else {
+            sagasFailed.incrementAndGet();
+        }
+    }
+
+    long sagasPending() {
+        return sagasPending.get();
+    }
+
+    Histogram responseMicros() {
+        return responseMicros;
+    }
+
+    Histogram serviceMicros() {
+        return serviceMicros;
+    }
+
+    Histogram sagaMicros() {
+        return sagaMicros;
+    }
+
+    Instant startedAt() {
+        return startedAt;
+    }
+
+    long sent() {
+        return sent.get();
+    }
+
+    long accepted() {
+        return accepted.get();
+    }
+
+    long held() {
+        return held.get();
+    }
+
+    long throttled() {
+        return throttled.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    long delayedCount() {
+        return delayed.get();
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    long sagasCompleted() {
+        return sagasCompleted.get();
+    }
+
+    long sagasFailed() {
+        return sagasFailed.get();
+    }
+
+    private static void record(Histogram histogram, long nanos) {
+        histogram.recordValue(Math.clamp(TimeUnit.NANOSECONDS.toMicros(nanos), 0, HIGHEST_MICROS));
+    }
+}
@@ -0,0 +1,96 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Correlates orders sent by a {@link LoadRun} with their first terminal {@code order.status.update}
+ * ({@code COMPLETED}, {@code <STEP>_FAILED} or {@code CANCELLED}).
+ * <p>
+ * A status can arrive before the sender has read the order id from the 202 response, so both
+ * sides go through {@link Map#compute} and whichever comes second records the outcome. Updates
+ * are only kept while a run is active. The consumer group is per deployment: with more than one
+ * gameday-svc replica, give each its own {@code gameday.load.status-group}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaOutcomeTracker {
+
+    private sealed interface Entry permits Awaiting, Finished {}
+
+    private record Awaiting(LoadRun run, long scheduledNanos) implements Entry {}
+
+    private record Finished(String status, long atNanos) implements Entry {}
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> orders = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRuns = new AtomicInteger();
+
+    @KafkaListener(
+            topics = "${gameday.load.status-topic:order.status.update}",
+            groupId = "${gameday.load.status-group:gameday-svc-load}")
+    public void onStatusUpdate(ConsumerRecord<String, String> rec) {
+        if (activeRuns.get() == 0) {
+            return;
+        }
+        try {
+            JsonNode update = objectMapper.readTree(rec.value());
+            onStatus(update.path("orderId").asText(rec.key()), update.path("status").asText(), System.nanoTime());
+        } catch (Exception e) {
+            log.debug("Ignoring unreadable status update {}: {}", rec.key(), e.getMessage());
+        }
+    }
+
+    void runStarted() {
+        activeRuns.incrementAndGet();
+    }
+
+    void runEnded(LoadRun run) {
+        orders.values().removeIf(e -> e instanceof Awaiting a && a.run() == run);
+        if (activeRuns.decrementAndGet() == 0) {
+            orders.clear();
+        }
+    }
+
+    void await(String orderId, LoadRun run, long scheduledNanos) {
+        run.sagaStarted();
+        orders.compute(orderId, (id, entry) -> {
+            if (entry instanceof Finished finished) {
+                run.sagaFinished(isCompleted(finished.status()), scheduledNanos, finished.atNanos());
+                return null;
+            }
+            return new Awaiting(run, scheduledNanos);
+        });
+    }
+
+    void onStatus(String orderId, String status, long nowNanos) {
+        if (!isTerminal(status)) {
+            return;
+        }
+        orders.compute(orderId, (id, entry) -> {
+            if (entry instanceof Awaiting awaiting) {
+                awaiting.run().sagaFinished(isCompleted(status), awaiting.scheduledNanos(), nowNanos);
+                return null;
+            }
+            return entry == null ? new Finished(status, nowNanos) : entry;
+        });
+    }
+
+    static boolean isTerminal(String status) {
+        return isCompleted(status) || "CANCELLED".equals(status) || status.endsWith("_FAILED");
+    }
+
+    private static boolean isCompleted(String status) {
+        return "COMPLETED".equals(status);
+    }
+}
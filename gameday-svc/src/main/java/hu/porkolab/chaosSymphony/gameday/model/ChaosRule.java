@@ -1,10 +1,14 @@
 package hu.porkolab.chaosSymphony.gameday.model;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ChaosRule {
     private String id;
     private String targetTopic;
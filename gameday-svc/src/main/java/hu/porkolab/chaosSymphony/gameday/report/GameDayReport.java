@@ -0,0 +1,65 @@
+package hu.porkolab.chaosSymphony.gameday.report;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.Hypothesis;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioRun;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What is kept of a finished GameDay: outcome, steps, a {@link Summary} and the sampled
+ * {@link SeriesPoint} time series, compared with the baseline run when there is one. Values
+ * that could not be read are {@code null}.
+ */
+public record GameDayReport(
+        String id,
+        String name,
+        ScenarioRun.State state,
+        String reason,
+        Instant startedAt,
+        Instant finishedAt,
+        List<Hypothesis> guards,
+        List<ScenarioRun.StepResult> steps,
+        List<ScenarioRun.GuardBreach> breaches,
+        List<LoadReport> loads,
+        Summary summary,
+        List<SeriesPoint> series,
+        Comparison comparison) {
+
+    /**
+     * Throughput and load latencies are those of the heaviest load run; pipeline figures are the
+     * worst sample, DLT and compensation counts the increase over the run.
+     */
+    public record Summary(
+            double durationSeconds,
+            double acceptedPerSecond,
+            double sagasCompletedPerSecond,
+            double responseP99Ms,
+            double sagaP99Ms,
+            Double pipelineP99Ms,
+            Double maxConsumerLagMs,
+            Double dltMessages,
+            Double compensations,
+            Map<String, Double> stageP99Ms) {}
+
+    /** One sample; load rates are over the interval since the previous sample. */
+    public record SeriesPoint(
+            double offsetSeconds,
+            Double acceptedPerSecond,
+            Double sagasCompletedPerSecond,
+            Double pipelineThroughput,
+            Double pipelineP95Ms,
+            Double pipelineP99Ms,
+            Double maxConsumerLagMs,
+            Double dltCount,
+            Double compensations,
+            Map<String, Double> stageP99Ms) {}
+
+    public record Comparison(String baselineId, Instant baselineStartedAt, List<Delta> deltas, boolean regressed) {}
+
+    /** {@code change} is relative to the baseline, e.g. {@code -0.12} for 12% less. */
+    public record Delta(String measure, double baseline, double current, double change, boolean higherIsBetter,
+                        boolean regression) {}
+}
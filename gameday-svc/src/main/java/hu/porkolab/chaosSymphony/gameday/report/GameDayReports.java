@@ -0,0 +1,214 @@
+package hu.porkolab.chaosSymphony.gameday.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.Metric;
+import hu.porkolab.chaosSymphony.gameday.scenario.MetricsSnapshot;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioListener;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Turns every finished scenario into {@code <id>.json} and a self-contained {@code <id>.html}
+ * under {@code gameday.report.directory}, compared with {@code baseline.json} when present.
+ * A run becomes the baseline only when promoted, so a bad run never silently lowers the bar.
+ */
+@Slf4j
+@Service
+public class GameDayReports implements ScenarioListener {
+
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final String BASELINE = "baseline";
+
+    private final ObjectMapper objectMapper;
+    private final ReportProperties properties;
+
+    public GameDayReports(ObjectMapper objectMapper, ReportProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void scenarioFinished(ScenarioReport scenario) {
+        GameDayReport report = build(scenario, baseline().orElse(null), properties);
+        try {
+            Files.createDirectories(properties.getDirectory());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(json(report.id()).toFile(), report);
+            Files.writeString(html(report.id()), HtmlReportRenderer.render(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write GameDay report " + report.id(), e);
+        }
+        if (report.comparison() != null && report.comparison().regressed()) {
+            log.warn("GameDay {} regressed against baseline {}: {}", report.id(), report.comparison().baselineId(),
+                    report.comparison().deltas().stream().filter(GameDayReport.Delta::regression)
+                            .map(GameDayReport.Delta::measure).toList());
+        }
+        log.info("GameDay report written to {}", html(report.id()).toAbsolutePath());
+    }
+
+    public Optional<GameDayReport> find(String id) {
+        if (!ID.matcher(id).matches() || !Files.isRegularFile(json(id))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json(id).toFile(), GameDayReport.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read GameDay report " + id, e);
+        }
+    }
+
+    public Optional<String> findHtml(String id) {
+        if (!ID.matcher(id).matches() || !Files.isRegularFile(html(id))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(html(id), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read GameDay report " + id, e);
+        }
+    }
+
+    public Optional<GameDayReport> baseline() {
+        return find(BASELINE);
+    }
+
+    /** Makes run {@code id} the baseline later runs are compared with. */
+    public Optional<GameDayReport> promote(String id) {
+        Optional<GameDayReport> report = find(id);
+        if (report.isPresent() && !BASELINE.equals(id)) {
+            try {
+                Files.copy(json(id), json(BASELINE), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not promote GameDay report " + id, e);
+            }
+            log.info("GameDay {} is now the baseline", id);
+        }
+        return report;
+    }
+
+    private Path json(String id) {
+        return properties.getDirectory().resolve(id + ".json");
+    }
+
+    private Path html(String id) {
+        return properties.getDirectory().resolve(id + ".html");
+    }
+
+    static GameDayReport build(ScenarioReport scenario, GameDayReport baseline, ReportProperties properties) {
+        List<GameDayReport.SeriesPoint> series = series(scenario.samples());
+        GameDayReport.Summary summary = summary(scenario, series);
+        GameDayReport.Comparison comparison = baseline == null || baseline.id().equals(scenario.id())
+                ? null
+                : compare(baseline, summary, properties);
+        return new GameDayReport(scenario.id(), scenario.name(), scenario.state(), scenario.reason(),
+                scenario.startedAt(), scenario.finishedAt(), scenario.guards(), scenario.steps(), scenario.breaches(),
+                scenario.loads(), summary, series, comparison);
+    }
+
+    private static List<GameDayReport.SeriesPoint> series(List<ScenarioRun.Sample> samples) {
+        List<GameDayReport.SeriesPoint> points = new ArrayList<>(samples.size());
+        ScenarioRun.Sample previous = null;
+        for (ScenarioRun.Sample sample : samples) {
+            MetricsSnapshot m = sample.metrics();
+            Double accepted = null;
+            Double sagas = null;
+            if (previous != null && sample.offsetSeconds() > previous.offsetSeconds()) {
+                double seconds = sample.offsetSeconds() - previous.offsetSeconds();
+                accepted = (sample.accepted() - previous.accepted()) / seconds;
+                sagas = (sample.sagasCompleted() - previous.sagasCompleted()) / seconds;
+            }
+            Map<String, Double> stages = new TreeMap<>();
+            m.stages().forEach((stage, latency) -> stages.put(stage, latency.p99()));
+            points.add(new GameDayReport.SeriesPoint(sample.offsetSeconds(), accepted, sagas,
+                    value(m, Metric.PIPELINE_THROUGHPUT), value(m, Metric.PIPELINE_P95_MS),
+                    value(m, Metric.PIPELINE_P99_MS), value(m, Metric.MAX_CONSUMER_LAG_MS),
+                    value(m, Metric.DLT_COUNT), value(m, Metric.COMPENSATIONS), stages));
+            previous = sample;
+        }
+        return points;
+    }
+
+    private static GameDayReport.Summary summary(ScenarioReport scenario, List<GameDayReport.SeriesPoint> series) {
+        Instant end = scenario.finishedAt() != null ? scenario.finishedAt() : Instant.now();
+        double duration = Duration.between(scenario.startedAt(), end).toMillis() / 1000.0;
+        Map<String, Double> stageP99 = new TreeMap<>();
+        series.forEach(p -> p.stageP99Ms().forEach((stage, p99) -> stageP99.merge(stage, p99, Math::max)));
+        List<LoadReport> loads = scenario.loads();
+        return new GameDayReport.Summary(duration,
+                loads.stream().mapToDouble(LoadReport::acceptedPerSecond).max().orElse(0),
+                loads.stream().mapToDouble(LoadReport::sagasCompletedPerSecond).max().orElse(0),
+                loads.stream().mapToDouble(l -> l.responseLatencyMs().p99()).max().orElse(0),
+                loads.stream().mapToDouble(l -> l.sagaLatencyMs().p99()).max().orElse(0),
+                max(series, GameDayReport.SeriesPoint::pipelineP99Ms),
+                max(series, GameDayReport.SeriesPoint::maxConsumerLagMs),
+                increase(series, GameDayReport.SeriesPoint::dltCount),
+                increase(series, GameDayReport.SeriesPoint::compensations),
+                stageP99);
+    }
+
+    static GameDayReport.Comparison compare(GameDayReport baseline, GameDayReport.Summary current,
+                                            ReportProperties properties) {
+        GameDayReport.Summary base = baseline.summary();
+        List<GameDayReport.Delta> deltas = new ArrayList<>();
+        double throughput = properties.getThroughputTolerance();
+        double latency = properties.getLatencyTolerance();
+        delta(deltas, "sagas completed/s", base.sagasCompletedPerSecond(), current.sagasCompletedPerSecond(), true,
+                throughput);
+        delta(deltas, "accepted/s", base.acceptedPerSecond(), current.acceptedPerSecond(), true, throughput);
+        delta(deltas, "response p99 ms", base.responseP99Ms(), current.responseP99Ms(), false, latency);
+        delta(deltas, "saga p99 ms", base.sagaP99Ms(), current.sagaP99Ms(), false, latency);
+        delta(deltas, "pipeline p99 ms", base.pipelineP99Ms(), current.pipelineP99Ms(), false, latency);
+        base.stageP99Ms().forEach((stage, p99) ->
+                delta(deltas, stage + " p99 ms", p99, current.stageP99Ms().get(stage), false, latency));
+        boolean regressed = deltas.stream().anyMatch(GameDayReport.Delta::regression);
+        return new GameDayReport.Comparison(baseline.id(), baseline.startedAt(), deltas, regressed);
+    }
+
+    /** Measures missing on either side, or zero in the baseline, cannot be compared and are left out. */
+    private static void delta(List<GameDayReport.Delta> deltas, String measure, Double baseline, Double current,
+                              boolean higherIsBetter, double tolerance) {
+        if (baseline == null || current == null || baseline <= 0) {
+            return;
+        }
+        double change = (current - baseline) / baseline;
+        boolean regression = higherIsBetter ? change < -tolerance : change > tolerance;
+        deltas.add(new GameDayReport.Delta(measure, baseline, current, change, higherIsBetter, regression));
+    }
+
+    private static Double value(MetricsSnapshot snapshot, Metric metric) {
+        OptionalDouble value = snapshot.get(metric);
+        return value.isPresent() ? value.getAsDouble() : null;
+    }
+
+    private static Double max(List<GameDayReport.SeriesPoint> series,
+                              Function<GameDayReport.SeriesPoint, Double> metric) {
+        OptionalDouble max = series.stream().map(metric).filter(Objects::nonNull).mapToDouble(Double::doubleValue).max();
+        return max.isPresent() ? max.getAsDouble() : null;
+    }
+
+    private static Double increase(List<GameDayReport.SeriesPoint> series,
+                                   Function<GameDayReport.SeriesPoint, Double> counter) {
+        List<Double> values = series.stream().map(counter).filter(Objects::nonNull).toList();
+        return values.isEmpty() ? null : values.getLast() - values.getFirst();
+    }
+}
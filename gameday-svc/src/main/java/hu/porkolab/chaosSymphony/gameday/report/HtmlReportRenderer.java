@@ -0,0 +1,229 @@
+package hu.porkolab.chaosSymphony.gameday.report;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioRun;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/** Renders a {@link GameDayReport} as one HTML file with inline CSS and SVG charts, viewable offline. */
+final class HtmlReportRenderer {
+
+    private static final String[] COLORS = {"#2563eb", "#dc2626", "#16a34a", "#d97706", "#7c3aed", "#0891b2", "#db2777"};
+    private static final int WIDTH = 760;
+    private static final int HEIGHT = 220;
+    private static final int PAD = 44;
+
+    private HtmlReportRenderer() {
+    }
+
+    static String render(GameDayReport report) {
+        StringBuilder html = new StringBuilder(32 * 1024);
+        html.append("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\"><title>GameDay ")
+                .append(esc(report.name())).append(' ').append(esc(report.id())).append("</title><style>")
+                .append("body{font-family:system-ui,sans-serif;margin:2rem;color:#111;max-width:1000px}")
+                .append("table{border-collapse:collapse;margin:.5rem 0 1.5rem}td,th{border:1px solid #ddd;padding:4px 8px;")
+                .append("text-align:left;font-size:14px}th{background:#f5f5f5}.num{text-align:right}")
+                .append(".bad{background:#fee2e2;color:#991b1b;font-weight:600}.good{color:#166534}")
+                .append(".state{display:inline-block;padding:2px 8px;border-radius:4px;color:#fff}")
+                .append(".PASSED{background:#16a34a}.FAILED{background:#d97706}.ABORTED{background:#dc2626}")
+                .append(".RUNNING{background:#2563eb}svg{display:block;margin-bottom:1.5rem}")
+                .append("</style></head><body>");
+
+        html.append("<h1>GameDay ").append(esc(report.name())).append(" <small>").append(esc(report.id()))
+                .append("</small></h1><p><span class=\"state ").append(report.state()).append("\">")
+                .append(report.state()).append("</span> ");
+        if (report.reason() != null) {
+            html.append(esc(report.reason()));
+        }
+        html.append("</p><p>Started ").append(report.startedAt()).append(", finished ").append(report.finishedAt())
+                .append(". Guards: ").append(esc(String.valueOf(report.guards()))).append("</p>");
+
+        renderSummary(html, report);
+        renderCharts(html, report.series());
+        renderSteps(html, report.steps());
+        renderLoads(html, report.loads());
+        renderBreaches(html, report.breaches());
+        return html.append("</body></html>").toString();
+    }
+
+    private static void renderSummary(StringBuilder html, GameDayReport report) {
+        GameDayReport.Summary s = report.summary();
+        GameDayReport.Comparison comparison = report.comparison();
+        html.append("<h2>Summary</h2>");
+        if (comparison != null) {
+            html.append("<p>Compared with baseline ").append(esc(comparison.baselineId())).append(" of ")
+                    .append(comparison.baselineStartedAt()).append(": ")
+                    .append(comparison.regressed() ? "<span class=\"bad\">regression</span>" : "<span class=\"good\">no regression</span>")
+                    .append("</p><table><tr><th>Measure</th><th>Baseline</th><th>This run</th><th>Change</th></tr>");
+            for (GameDayReport.Delta d : comparison.deltas()) {
+                html.append("<tr").append(d.regression() ? " class=\"bad\"" : "").append("><td>").append(esc(d.measure()))
+                        .append("</td><td class=\"num\">").append(num(d.baseline())).append("</td><td class=\"num\">")
+                        .append(num(d.current())).append("</td><td class=\"num\">")
+                        .append(String.format(Locale.ROOT, "%+.1f%%", d.change() * 100)).append("</td></tr>");
+            }
+            html.append("</table>");
+        } else {
+            html.append("<p>No baseline to compare with.</p>");
+        }
+        Map<String, Double> rows = new LinkedHashMap<>();
+        rows.put("Duration s", s.durationSeconds());
+        rows.put("Accepted/s", s.acceptedPerSecond());
+        rows.put("Sagas completed/s", s.sagasCompletedPerSecond());
+        rows.put("Response p99 ms", s.responseP99Ms());
+        rows.put("Saga p99 ms", s.sagaP99Ms());
+        rows.put("Pipeline p99 ms (worst sample)", s.pipelineP99Ms());
+        rows.put("Max consumer lag ms", s.maxConsumerLagMs());
+        rows.put("Dead-lettered messages", s.dltMessages());
+        rows.put("Compensations", s.compensations());
+        s.stageP99Ms().forEach((stage, p99) -> rows.put(stage + " p99 ms (worst sample)", p99));
+        html.append("<table>");
+        rows.forEach((k, v) -> html.append("<tr><th>").append(esc(k)).append("</th><td class=\"num\">")
+                .append(v == null ? "n/a" : num(v)).append("</td></tr>"));
+        html.append("</table>");
+    }
+
+    private static void renderCharts(StringBuilder html, List<GameDayReport.SeriesPoint> series) {
+        if (series.isEmpty()) {
+            return;
+        }
+        html.append("<h2>Time series</h2>");
+        Map<String, Function<GameDayReport.SeriesPoint, Double>> throughput = new LinkedHashMap<>();
+        throughput.put("accepted/s", GameDayReport.SeriesPoint::acceptedPerSecond);
+        throughput.put("sagas completed/s", GameDayReport.SeriesPoint::sagasCompletedPerSecond);
+        throughput.put("pipeline orders/s", GameDayReport.SeriesPoint::pipelineThroughput);
+        chart(html, "Throughput", series, throughput);
+
+        Map<String, Function<GameDayReport.SeriesPoint, Double>> latency = new LinkedHashMap<>();
+        latency.put("pipeline p95", GameDayReport.SeriesPoint::pipelineP95Ms);
+        latency.put("pipeline p99", GameDayReport.SeriesPoint::pipelineP99Ms);
+        chart(html, "Pipeline latency (ms)", series, latency);
+
+        TreeSet<String> stages = new TreeSet<>();
+        series.forEach(p -> stages.addAll(p.stageP99Ms().keySet()));
+        Map<String, Function<GameDayReport.SeriesPoint, Double>> stageLatency = new LinkedHashMap<>();
+        stages.forEach(stage -> stageLatency.put(stage, p -> p.stageP99Ms().get(stage)));
+        chart(html, "p99 per stage (ms)", series, stageLatency);
+
+        chart(html, "Max consumer lag (ms)", series, Map.of("lag", GameDayReport.SeriesPoint::maxConsumerLagMs));
+
+        Map<String, Function<GameDayReport.SeriesPoint, Double>> counts = new LinkedHashMap<>();
+        counts.put("dead-lettered", GameDayReport.SeriesPoint::dltCount);
+        counts.put("compensations", GameDayReport.SeriesPoint::compensations);
+        chart(html, "DLT and compensation counts", series, counts);
+    }
+
+    private static void chart(StringBuilder html, String title, List<GameDayReport.SeriesPoint> series,
+                              Map<String, Function<GameDayReport.SeriesPoint, Double>> lines) {
+        double maxX = Math.max(series.getLast().offsetSeconds(), 1e-9);
+        double maxY = 0;
+        for (Function<GameDayReport.SeriesPoint, Double> line : lines.values()) {
+            for (GameDayReport.SeriesPoint p : series) {
+                Double y = line.apply(p);
+                if (y != null && Double.isFinite(y)) {
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        if (maxY <= 0) {
+            return;
+        }
+        html.append("<h3>").append(esc(title)).append("</h3><svg width=\"").append(WIDTH).append("\" height=\"")
+                .append(HEIGHT + 24).append("\" viewBox=\"0 0 ").append(WIDTH).append(' ').append(HEIGHT + 24)
+                .append("\" font-size=\"11\"><line x1=\"").append(PAD).append("\" y1=\"").append(HEIGHT - PAD / 2)
+                .append("\" x2=\"").append(WIDTH - 8).append("\" y2=\"").append(HEIGHT - PAD / 2)
+                .append("\" stroke=\"#999\"/><line x1=\"").append(PAD).append("\" y1=\"8\" x2=\"").append(PAD)
+                .append("\" y2=\"").append(HEIGHT - PAD / 2).append("\" stroke=\"#999\"/>")
+                .append("<text x=\"2\" y=\"16\">").append(num(maxY)).append("</text>")
+                .append("<text x=\"2\" y=\"").append(HEIGHT - PAD / 2).append("\">0</text>")
+                .append("<text x=\"").append(WIDTH - 60).append("\" y=\"").append(HEIGHT - 6).append("\">")
+                .append(num(maxX)).append(" s</text>");
+        int color = 0;
+        int legendX = PAD;
+        for (Map.Entry<String, Function<GameDayReport.SeriesPoint, Double>> line : lines.entrySet()) {
+            String stroke = COLORS[color++ % COLORS.length];
+            List<String> points = new ArrayList<>();
+            for (GameDayReport.SeriesPoint p : series) {
+                Double y = line.getValue().apply(p);
+                if (y != null && Double.isFinite(y)) {
+                    double px = PAD + (WIDTH - 8 - PAD) * p.offsetSeconds() / maxX;
+                    double py = (HEIGHT - PAD / 2.0) - (HEIGHT - PAD / 2.0 - 8) * y / maxY;
+                    points.add(String.format(Locale.ROOT, "%.1f,%.1f", px, py));
+                }
+            }
+            if (!points.isEmpty()) {
+                html.append("<polyline fill=\"none\" stroke-width=\"1.5\" stroke=\"").append(stroke)
+                        .append("\" points=\"").append(String.join(" ", points)).append("\"/>");
+            }
+            html.append("<text x=\"").append(legendX).append("\" y=\"").append(HEIGHT + 18).append("\" fill=\"")
+                    .append(stroke).append("\">").append(esc(line.getKey())).append("</text>");
+            legendX += 12 + 7 * line.getKey().length();
+        }
+        html.append("</svg>");
+    }
+
+    private static void renderSteps(StringBuilder html, List<ScenarioRun.StepResult> steps) {
+        html.append("<h2>Steps</h2><table><tr><th>#</th><th>Step</th><th>Outcome</th><th>Detail</th><th>Started</th></tr>");
+        for (ScenarioRun.StepResult step : steps) {
+            html.append("<tr").append(step.outcome() == ScenarioRun.Outcome.FAILED ? " class=\"bad\"" : "")
+                    .append("><td>").append(step.index() + 1).append("</td><td>").append(esc(step.step()))
+                    .append("</td><td>").append(step.outcome()).append("</td><td>").append(esc(step.detail()))
+                    .append("</td><td>").append(step.startedAt()).append("</td></tr>");
+        }
+        html.append("</table>");
+    }
+
+    private static void renderLoads(StringBuilder html, List<LoadReport> loads) {
+        if (loads.isEmpty()) {
+            return;
+        }
+        html.append("<h2>Load runs</h2><table><tr><th>Run</th><th>Profile</th><th>Sent</th><th>Accepted/s</th>")
+                .append("<th>Throttled</th><th>Errors</th><th>Delayed</th><th>Dropped</th><th>Sagas completed/s</th>")
+                .append("<th>Response p50/p99/p99.9 ms</th><th>Saga p50/p99/p99.9 ms</th></tr>");
+        for (LoadReport load : loads) {
+            html.append("<tr><td>").append(esc(load.id())).append("</td><td>").append(esc(String.valueOf(load.profile())))
+                    .append("</td><td class=\"num\">").append(load.sent()).append("</td><td class=\"num\">")
+                    .append(num(load.acceptedPerSecond())).append("</td><td class=\"num\">").append(load.throttled())
+                    .append("</td><td class=\"num\">").append(load.errors()).append("</td><td class=\"num\">")
+                    .append(load.delayed()).append("</td><td class=\"num\">")
+                    .append(load.dropped()).append("</td><td class=\"num\">").append(num(load.sagasCompletedPerSecond()))
+                    .append("</td><td class=\"num\">").append(percentiles(load.responseLatencyMs()))
+                    .append("</td><td class=\"num\">").append(percentiles(load.sagaLatencyMs())).append("</td></tr>");
+        }
+        html.append("</table>");
+    }
+
+    private static void renderBreaches(StringBuilder html, List<ScenarioRun.GuardBreach> breaches) {
+        if (breaches.isEmpty()) {
+            return;
+        }
+        html.append("<h2>Guard breaches</h2><table><tr><th>At</th><th>Violations</th></tr>");
+        for (ScenarioRun.GuardBreach breach : breaches) {
+            html.append("<tr><td>").append(breach.at()).append("</td><td>")
+                    .append(esc(String.join("; ", breach.violations()))).append("</td></tr>");
+        }
+        html.append("</table>");
+    }
+
+    private static String percentiles(LoadReport.Percentiles p) {
+        return num(p.p50()) + " / " + num(p.p99()) + " / " + num(p.p999());
+    }
+
+    private static String num(double value) {
+        return Math.abs(value) >= 100 || value == Math.rint(value)
+                ? String.format(Locale.ROOT, "%.0f", value)
+                : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String esc(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,22 @@
+package hu.porkolab.chaosSymphony.gameday.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gameday.report")
+public class ReportProperties {
+
+    /** Where {@code <id>.json}, {@code <id>.html} and {@code baseline.json} are written. */
+    private Path directory = Path.of("gameday-reports");
+
+    /** Relative throughput drop against the baseline that is flagged as a regression. */
+    private double throughputTolerance = 0.10;
+
+    /** Relative tail latency increase against the baseline that is flagged as a regression. */
+    private double latencyTolerance = 0.20;
+}
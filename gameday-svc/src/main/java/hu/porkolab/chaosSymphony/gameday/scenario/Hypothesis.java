@@ -0,0 +1,90 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.OptionalDouble;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A steady-state condition such as {@code PIPELINE_P99_MS < 500ms} or {@code DLT_RATIO < 0.1%}.
+ * Written and serialized as that text; {@code ms}, {@code s} and {@code %} suffixes are
+ * normalised to milliseconds and ratios.
+ */
+public record Hypothesis(Metric metric, Operator operator, double threshold) {
+
+    public enum Operator {
+        LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        boolean test(double value, double threshold) {
+            return switch (this) {
+                case LT -> value < threshold;
+                case LE -> value <= threshold;
+                case GT -> value > threshold;
+                case GE -> value >= threshold;
+            };
+        }
+    }
+
+    /** {@code NO_DATA}: the metric was read but had no samples; {@code UNKNOWN}: it could not be read. */
+    public enum Verdict { HOLDS, BREACHED, NO_DATA, UNKNOWN }
+
+    private static final Pattern SYNTAX =
+            Pattern.compile("\\s*(\\w+)\\s*(<=|>=|<|>)\\s*([-+]?[0-9]*\\.?[0-9]+(?:[eE][-+]?[0-9]+)?)\\s*(ms|s|%)?\\s*");
+
+    public Hypothesis {
+        if (metric == null || operator == null) {
+            throw new IllegalArgumentException("Hypothesis needs a metric and an operator");
+        }
+    }
+
+    @JsonCreator
+    public static Hypothesis parse(String text) {
+        Matcher m = SYNTAX.matcher(text == null ? "" : text);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Expected '<METRIC> <op> <value>[ms|s|%]' but got: " + text);
+        }
+        Metric metric;
+        try {
+            metric = Metric.valueOf(m.group(1).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown metric in hypothesis: " + text);
+        }
+        Operator operator = switch (m.group(2)) {
+            case "<" -> Operator.LT;
+            case "<=" -> Operator.LE;
+            case ">" -> Operator.GT;
+            default -> Operator.GE;
+        };
+        double value = Double.parseDouble(m.group(3));
+        if ("s".equals(m.group(4))) {
+            value *= 1000;
+        } else if ("%".equals(m.group(4))) {
+            value /= 100;
+        }
+        return new Hypothesis(metric, operator, value);
+    }
+
+    public Verdict evaluate(MetricsSnapshot snapshot) {
+        OptionalDouble value = snapshot.get(metric);
+        if (value.isEmpty()) {
+            return snapshot.noData(metric) ? Verdict.NO_DATA : Verdict.UNKNOWN;
+        }
+        return operator.test(value.getAsDouble(), threshold) ? Verdict.HOLDS : Verdict.BREACHED;
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return metric + " " + operator.symbol + " " + BigDecimal.valueOf(threshold).stripTrailingZeros().toPlainString();
+    }
+}
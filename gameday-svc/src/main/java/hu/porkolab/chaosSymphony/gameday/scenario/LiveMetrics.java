@@ -0,0 +1,131 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the current value of every {@link Metric}: pipeline latency and DLT figures from
+ * streams-analytics ({@code GET /api/metrics/slo}), throughput, compensations and per-stage
+ * latency from {@code GET /api/metrics/pipeline}, consumer time lag from its lag monitor
+ * ({@code GET /api/lag}) and the rest from the scenario's own load runs.
+ */
+@Slf4j
+@Component
+public class LiveMetrics {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record SloView(Double p95Latency, Double p99Latency, Double dltCount, Double dltRatio, Double sloBurnRate1h) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record PipelineView(Double throughput, Double compensations, List<StageView> stages) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record StageView(String stage, double p50, double p95, double p99) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record LagView(List<GroupView> groups) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record GroupView(String groupId, long maxTimeLagMs) {}
+
+    private final RestClient analytics;
+
+    public LiveMetrics(@Qualifier("analyticsRestClient") RestClient analytics) {
+        this.analytics = analytics;
+    }
+
+    public MetricsSnapshot snapshot(Collection<LoadRun> loads) {
+        Map<Metric, Double> values = new EnumMap<>(Metric.class);
+        Map<String, MetricsSnapshot.StageLatency> stages = new HashMap<>();
+        readSlo(values);
+        readPipeline(values, stages);
+        readLag(values);
+        readLoads(loads, values);
+        return new MetricsSnapshot(Instant.now(), values, stages);
+    }
+
+    private void readSlo(Map<Metric, Double> values) {
+        try {
+            SloView slo = analytics.get().uri("/api/metrics/slo").retrieve().body(SloView.class);
+            if (slo != null) {
+                putIfPresent(values, Metric.PIPELINE_P95_MS, slo.p95Latency());
+                putIfPresent(values, Metric.PIPELINE_P99_MS, slo.p99Latency());
+                putIfPresent(values, Metric.DLT_COUNT, slo.dltCount());
+                putIfPresent(values, Metric.DLT_RATIO, slo.dltRatio());
+                putIfPresent(values, Metric.SLO_BURN_RATE, slo.sloBurnRate1h());
+            }
+        } catch (RestClientException e) {
+            log.debug("SLO metrics unavailable: {}", e.getMessage());
+        }
+    }
+
+    private void readPipeline(Map<Metric, Double> values, Map<String, MetricsSnapshot.StageLatency> stages) {
+        try {
+            PipelineView pipeline = analytics.get().uri("/api/metrics/pipeline").retrieve().body(PipelineView.class);
+            if (pipeline != null) {
+                putIfPresent(values, Metric.PIPELINE_THROUGHPUT, pipeline.throughput());
+                putIfPresent(values, Metric.COMPENSATIONS, pipeline.compensations());
+                if (pipeline.stages() != null) {
+                    pipeline.stages().forEach(s -> stages.put(s.stage(),
+                            new MetricsSnapshot.StageLatency(s.p50(), s.p95(), s.p99())));
+                }
+            }
+        } catch (RestClientException e) {
+            log.debug("Pipeline metrics unavailable: {}", e.getMessage());
+        }
+    }
+
+    private void readLag(Map<Metric, Double> values) {
+        try {
+            LagView lag = analytics.get().uri("/api/lag").retrieve().body(LagView.class);
+            if (lag != null && lag.groups() != null) {
+                values.put(Metric.MAX_CONSUMER_LAG_MS, (double) lag.groups().stream()
+                        .mapToLong(GroupView::maxTimeLagMs)
+                        .max()
+                        .orElse(0));
+            }
+        } catch (RestClientException e) {
+            log.debug("Consumer lag unavailable: {}", e.getMessage());
+        }
+    }
+
+    /** Tail latencies are the worst of the runs; the error ratio is over all of their requests. */
+    private static void readLoads(Collection<LoadRun> loads, Map<Metric, Double> values) {
+        if (loads.isEmpty()) {
+            return;
+        }
+        double responseP99 = 0;
+        double sagaP99 = 0;
+        long sent = 0;
+        long errors = 0;
+        for (LoadRun load : loads) {
+            LoadReport report = load.report();
+            responseP99 = Math.max(responseP99, report.responseLatencyMs().p99());
+            sagaP99 = Math.max(sagaP99, report.sagaLatencyMs().p99());
+            sent += report.sent();
+            errors += report.errors();
+        }
+        values.put(Metric.LOAD_RESPONSE_P99_MS, responseP99);
+        values.put(Metric.LOAD_SAGA_P99_MS, sagaP99);
+        values.put(Metric.LOAD_ERROR_RATIO, sent == 0 ? 0 : errors / (double) sent);
+    }
+
+    private static void putIfPresent(Map<Metric, Double> values, Metric metric, Double value) {
+        if (value != null) {
+            values.put(metric, value);
+        }
+    }
+}
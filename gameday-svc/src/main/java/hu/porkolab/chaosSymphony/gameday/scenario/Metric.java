@@ -0,0 +1,34 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+/**
+ * Values a steady-state {@link Hypothesis} can be stated over. {@code ANALYTICS} metrics are read
+ * from streams-analytics; {@code LOAD} metrics come from the load runs of the scenario itself
+ * and only exist while one has been started.
+ */
+public enum Metric {
+
+    PIPELINE_P95_MS(Source.ANALYTICS),
+    PIPELINE_P99_MS(Source.ANALYTICS),
+    /** Orders started per second over the last minute. */
+    PIPELINE_THROUGHPUT(Source.ANALYTICS),
+    DLT_RATIO(Source.ANALYTICS),
+    DLT_COUNT(Source.ANALYTICS),
+    COMPENSATIONS(Source.ANALYTICS),
+    SLO_BURN_RATE(Source.ANALYTICS),
+    MAX_CONSUMER_LAG_MS(Source.ANALYTICS),
+    LOAD_RESPONSE_P99_MS(Source.LOAD),
+    LOAD_SAGA_P99_MS(Source.LOAD),
+    LOAD_ERROR_RATIO(Source.LOAD);
+
+    public enum Source { ANALYTICS, LOAD }
+
+    private final Source source;
+
+    Metric(Source source) {
+        this.source = source;
+    }
+
+    public Source source() {
+        return source;
+    }
+}
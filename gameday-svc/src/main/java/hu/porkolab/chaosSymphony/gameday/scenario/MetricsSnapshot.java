@@ -0,0 +1,41 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Metric values read at one instant; a metric whose source could not be read is absent, and one
+ * whose source was read but had no samples in its window, such as a latency percentile of an idle
+ * pipeline, is NaN. {@code stages} holds processing time percentiles per service.
+ */
+public record MetricsSnapshot(Instant at, Map<Metric, Double> values, Map<String, StageLatency> stages) {
+
+    /** Processing time percentiles of one service, in milliseconds. */
+    public record StageLatency(double p50, double p95, double p99) {}
+
+    public MetricsSnapshot {
+        EnumMap<Metric, Double> copy = new EnumMap<>(Metric.class);
+        copy.putAll(values);
+        values = Collections.unmodifiableMap(copy);
+        stages = stages == null ? Map.of() : Collections.unmodifiableMap(new TreeMap<>(stages));
+    }
+
+    public MetricsSnapshot(Instant at, Map<Metric, Double> values) {
+        this(at, values, Map.of());
+    }
+
+    /** True when the source answered without samples, as opposed to not answering at all. */
+    public boolean noData(Metric metric) {
+        Double value = values.get(metric);
+        return value != null && value.isNaN();
+    }
+
+    public OptionalDouble get(Metric metric) {
+        Double value = values.get(metric);
+        return value == null || value.isNaN() ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+}
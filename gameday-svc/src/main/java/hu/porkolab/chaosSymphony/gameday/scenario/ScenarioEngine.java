@@ -0,0 +1,370 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadGenerator;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProperties;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+import hu.porkolab.chaosSymphony.gameday.model.ChaosRule;
+import hu.porkolab.chaosSymphony.gameday.service.ChaosSvcClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes {@link ScenarioPlan}s. Each run has its own runner thread for the steps, while a
+ * shared scheduler samples {@link LiveMetrics} into the run's time series and checks the plan's
+ * guards against each sample. A breached guard aborts
+ * the run from the scheduler thread: it stops the run's load, removes its chaos rules at once and
+ * then interrupts whatever step is in progress. Chaos created by a run is always removed when
+ * the run ends, whatever the outcome.
+ */
+@Slf4j
+@Service
+public class ScenarioEngine {
+
+    private static final class StepFailedException extends RuntimeException {
+        StepFailedException(String message) {
+            super(message);
+        }
+    }
+
+    private final ChaosSvcClient chaosSvcClient;
+    private final LoadGenerator loadGenerator;
+    private final LiveMetrics liveMetrics;
+    private final ScenarioProperties properties;
+    private final LoadProperties loadProperties;
+    private final List<ScenarioListener> listeners;
+    private final ScheduledExecutorService guardScheduler;
+    private final Map<String, ScenarioRun> runs;
+
+    public ScenarioEngine(ChaosSvcClient chaosSvcClient, LoadGenerator loadGenerator, LiveMetrics liveMetrics,
+                          ScenarioProperties properties, LoadProperties loadProperties,
+                          List<ScenarioListener> listeners) {
+        this.chaosSvcClient = chaosSvcClient;
+        this.loadGenerator = loadGenerator;
+        this.liveMetrics = liveMetrics;
+        this.properties = properties;
+        this.loadProperties = loadProperties;
+        this.listeners = List.copyOf(listeners);
+        this.guardScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("gameday-guards").daemon().factory());
+        this.runs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ScenarioRun> eldest) {
+                return size() > properties.getRetainedRuns() && !eldest.getValue().isRunning();
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        List<ScenarioRun> all;
+        synchronized (runs) {
+            all = List.copyOf(runs.values());
+        }
+        all.forEach(run -> abort(run, "gameday-svc is shutting down"));
+        guardScheduler.shutdownNow();
+    }
+
+    /** Starts a run in the background. */
+    public ScenarioRun start(ScenarioPlan plan) {
+        ScenarioRun run = new ScenarioRun(UUID.randomUUID().toString().substring(0, 8), plan, Instant.now());
+        synchronized (runs) {
+            runs.put(run.id(), run);
+        }
+        Thread.ofPlatform().name("gameday-" + run.id()).start(() -> execute(run));
+        log.info("Scenario {} '{}' started with {} steps, guards {}", run.id(), plan.name(), plan.steps().size(),
+                plan.guards());
+        return run;
+    }
+
+    /** Runs a plan to the end and returns its report. */
+    public ScenarioReport run(ScenarioPlan plan) throws InterruptedException {
+        ScenarioRun run = start(plan);
+        try {
+            run.awaitFinished(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            abort(run, "Interrupted");
+            throw e;
+        }
+        return run.report();
+    }
+
+    public Optional<ScenarioRun> find(String id) {
+        synchronized (runs) {
+            return Optional.ofNullable(runs.get(id));
+        }
+    }
+
+    /** Aborts a run on request; false if it had already ended. */
+    public boolean abort(ScenarioRun run, String reason) {
+        if (!run.abort(reason)) {
+            return false;
+        }
+        log.warn("Scenario {} aborted: {}", run.id(), reason);
+        run.activeLoads().forEach(LoadRun::stop);
+        rollback(run);
+        run.interruptRunner();
+        return true;
+    }
+
+    void execute(ScenarioRun run) {
+        run.attachRunner(Thread.currentThread());
+        ScenarioPlan plan = run.plan();
+        ScheduledFuture<?> monitor = null;
+        try {
+            monitor = guardScheduler.scheduleWithFixedDelay(() -> monitor(run), 0, guardInterval(plan).toMillis(),
+                    TimeUnit.MILLISECONDS);
+            List<ScenarioStep> steps = plan.steps();
+            for (int i = 0; i < steps.size() && run.isRunning(); i++) {
+                executeStep(run, i, steps.get(i));
+            }
+            for (LoadRun load : run.loads()) {
+                awaitLoad(load);
+            }
+            run.pass();
+        } catch (InterruptedException e) {
+            run.fail("Interrupted");
+        } catch (RuntimeException e) {
+            if (!(e instanceof StepFailedException) && run.isRunning()) {
+                log.error("Scenario {} failed", run.id(), e);
+            }
+            run.fail(e.getMessage());
+        } finally {
+            if (monitor != null) {
+                monitor.cancel(false);
+            }
+            run.detachRunner();
+            run.activeLoads().forEach(LoadRun::stop);
+            rollback(run);
+            run.finish();
+            log.info("Scenario {} '{}' {}{}", run.id(), plan.name(), run.state(),
+                    run.reason() == null ? "" : ": " + run.reason());
+            notifyListeners(run);
+        }
+    }
+
+    private void notifyListeners(ScenarioRun run) {
+        ScenarioReport report = run.report();
+        for (ScenarioListener listener : listeners) {
+            try {
+                listener.scenarioFinished(report);
+            } catch (RuntimeException e) {
+                log.error("Scenario {} listener {} failed", run.id(), listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void executeStep(ScenarioRun run, int index, ScenarioStep step) throws InterruptedException {
+        Instant started = Instant.now();
+        log.info("[Scenario {} step {}/{}] {}", run.id(), index + 1, run.plan().steps().size(), step.describe());
+        try {
+            String detail = switch (step) {
+                case ScenarioStep.Load load -> load(run, load);
+                case ScenarioStep.Chaos chaos -> activate(run, chaos.rules());
+                case ScenarioStep.ClearChaos ignored -> rollback(run) + " chaos rule(s) removed";
+                case ScenarioStep.Wait wait -> await(run, wait);
+                case ScenarioStep.Assertion assertion -> verify(run, assertion.expect());
+            };
+            run.stepFinished(new ScenarioRun.StepResult(index, step.describe(), ScenarioRun.Outcome.PASSED, detail,
+                    started, Instant.now()));
+        } catch (InterruptedException | RuntimeException e) {
+            String detail = run.isRunning() ? e.getMessage() : "aborted";
+            run.stepFinished(new ScenarioRun.StepResult(index, step.describe(), ScenarioRun.Outcome.FAILED, detail,
+                    started, Instant.now()));
+            throw e;
+        }
+    }
+
+    private String load(ScenarioRun run, ScenarioStep.Load step) throws InterruptedException {
+        LoadRun load = loadGenerator.start(step.profile());
+        run.loadStarted(load);
+        if (step.background()) {
+            return "load run " + load.id() + " started";
+        }
+        awaitLoad(load);
+        return load.report().summary();
+    }
+
+    private void awaitLoad(LoadRun load) throws InterruptedException {
+        Duration timeout = load.profile().duration()
+                .plus(loadProperties.getRequestTimeout())
+                .plus(loadProperties.getSagaTimeout())
+                .plusSeconds(5);
+        try {
+            if (!load.awaitFinished(timeout)) {
+                load.stop();
+                throw new StepFailedException("Load run " + load.id() + " did not finish within " + timeout);
+            }
+        } catch (InterruptedException e) {
+            load.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the rules one by one. Each rule is tracked for rollback when chaos-svc answers, not
+     * when this thread gets the answer: an abort interrupts the wait, but the request is not
+     * cancelled, and a rule that lands after the run ended is removed right away.
+     */
+    private String activate(ScenarioRun run, List<ChaosRule> rules) throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (ChaosRule rule : rules) {
+            CompletableFuture<ChaosRule> request = chaosSvcClient.createChaosRule(rule)
+                    .doOnNext(created -> tracked(run, created))
+                    .toFuture();
+            ChaosRule created;
+            try {
+                created = request.get(properties.getChaosTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new StepFailedException("chaos-svc did not create the " + rule.getFaultType() + " rule on "
+                        + rule.getTargetTopic() + " within " + properties.getChaosTimeout());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            }
+            if (created != null && created.getId() != null) {
+                ids.add(created.getId());
+            }
+        }
+        return "chaos rules " + ids + " active";
+    }
+
+    private void tracked(ScenarioRun run, ChaosRule created) {
+        if (created.getId() == null) {
+            return;
+        }
+        run.chaosActivated(created.getId());
+        if (!run.isRunning()) {
+            // the run's own rollback may already be past this rule; off the client's event loop,
+            // since rollback blocks
+            guardScheduler.execute(() -> rollback(run));
+        }
+    }
+
+    /** Removes the run's chaos rules, newest first; safe to call from both threads. */
+    private int rollback(ScenarioRun run) {
+        int removed = 0;
+        for (Optional<String> id = run.nextChaosToRollBack(); id.isPresent(); id = run.nextChaosToRollBack()) {
+            try {
+                chaosSvcClient.deleteChaosRule(id.get()).block(properties.getChaosTimeout());
+                removed++;
+            } catch (RuntimeException e) {
+                log.error("Scenario {} could not remove chaos rule {}; remove it by hand", run.id(), id.get(), e);
+            }
+        }
+        if (removed > 0) {
+            log.info("Scenario {} removed {} chaos rule(s)", run.id(), removed);
+        }
+        return removed;
+    }
+
+    private String await(ScenarioRun run, ScenarioStep.Wait step) throws InterruptedException {
+        if (step.until() == null) {
+            Thread.sleep(step.duration());
+            return "waited " + step.duration();
+        }
+        long deadline = System.nanoTime() + step.duration().toNanos();
+        Duration poll = guardInterval(run.plan());
+        while (true) {
+            MetricsSnapshot snapshot = liveMetrics.snapshot(run.activeLoads());
+            if (step.until().evaluate(snapshot) == Hypothesis.Verdict.HOLDS) {
+                return step.until() + " held at " + observed(snapshot, step.until().metric());
+            }
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                throw new StepFailedException(step.until() + " did not hold within " + step.duration()
+                        + ", last " + observed(snapshot, step.until().metric()));
+            }
+            Thread.sleep(Math.min(TimeUnit.NANOSECONDS.toMillis(left) + 1, poll.toMillis()));
+        }
+    }
+
+    private String verify(ScenarioRun run, List<Hypothesis> expect) {
+        MetricsSnapshot snapshot = liveMetrics.snapshot(run.activeLoads());
+        run.observed(snapshot);
+        List<String> failed = new ArrayList<>();
+        for (Hypothesis hypothesis : expect) {
+            if (hypothesis.evaluate(snapshot) != Hypothesis.Verdict.HOLDS) {
+                failed.add(hypothesis + " (" + observed(snapshot, hypothesis.metric()) + ")");
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new StepFailedException("Hypotheses not met: " + String.join(", ", failed));
+        }
+        return "all held";
+    }
+
+    /** Samples the metrics into the run's time series, then checks its guards against them. */
+    void monitor(ScenarioRun run) {
+        if (!run.isRunning()) {
+            return;
+        }
+        try {
+            MetricsSnapshot snapshot = liveMetrics.snapshot(run.activeLoads());
+            run.observed(snapshot);
+            checkGuards(run, snapshot);
+        } catch (RuntimeException e) {
+            log.error("Scenario {} metrics sample failed", run.id(), e);
+        }
+    }
+
+    /**
+     * A guard counts as breached when its metric is over the limit, and also when a
+     * streams-analytics metric cannot be read: a run that cannot see its steady state is not
+     * safe to continue. A metric without samples, such as the p99 of a pipeline with no traffic
+     * yet, is not checked, just like load metrics before a load has started.
+     */
+    private void checkGuards(ScenarioRun run, MetricsSnapshot snapshot) {
+        if (run.plan().guards().isEmpty()) {
+            return;
+        }
+        List<String> violations = new ArrayList<>();
+        for (Hypothesis guard : run.plan().guards()) {
+            Hypothesis.Verdict verdict = guard.evaluate(snapshot);
+            if (verdict == Hypothesis.Verdict.BREACHED
+                    || verdict == Hypothesis.Verdict.UNKNOWN && guard.metric().source() == Metric.Source.ANALYTICS) {
+                violations.add(guard + " (" + observed(snapshot, guard.metric()) + ")");
+            }
+        }
+        if (violations.isEmpty()) {
+            run.guardsHeld();
+            return;
+        }
+        int consecutive = run.breached(new ScenarioRun.GuardBreach(snapshot.at(), List.copyOf(violations)));
+        log.warn("Scenario {} guard check {} failed: {}", run.id(), consecutive, violations);
+        if (consecutive > toleratedBreaches(run.plan())) {
+            abort(run, "SLO guard breached: " + String.join(", ", violations));
+        }
+    }
+
+    private Duration guardInterval(ScenarioPlan plan) {
+        return plan.guardInterval() != null ? plan.guardInterval() : properties.getGuardInterval();
+    }
+
+    private int toleratedBreaches(ScenarioPlan plan) {
+        return plan.toleratedBreaches() != null ? plan.toleratedBreaches() : properties.getToleratedBreaches();
+    }
+
+    private static String observed(MetricsSnapshot snapshot, Metric metric) {
+        var value = snapshot.get(metric);
+        if (value.isPresent()) {
+            return metric + " = " + String.format("%.4g", value.getAsDouble());
+        }
+        return metric + (snapshot.noData(metric) ? " has no data" : " unavailable");
+    }
+}
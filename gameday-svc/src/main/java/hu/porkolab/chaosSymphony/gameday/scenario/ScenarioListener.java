@@ -0,0 +1,7 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+/** Told about every scenario run once it has ended and its chaos has been removed. */
+public interface ScenarioListener {
+
+    void scenarioFinished(ScenarioReport report);
+}
@@ -0,0 +1,33 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A declarative GameDay: steps run in order while every guard is checked every
+ * {@code guardInterval}. More than {@code toleratedBreaches} consecutive failed checks abort
+ * the run and roll back its chaos. Unset interval and tolerance fall back to
+ * {@code gameday.scenario.*}.
+ */
+public record ScenarioPlan(
+        String name,
+        List<Hypothesis> guards,
+        Duration guardInterval,
+        Integer toleratedBreaches,
+        List<ScenarioStep> steps) {
+
+    public ScenarioPlan {
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("A scenario needs at least one step");
+        }
+        if (guardInterval != null && (guardInterval.isNegative() || guardInterval.isZero())) {
+            throw new IllegalArgumentException("Guard interval must be positive");
+        }
+        if (toleratedBreaches != null && toleratedBreaches < 0) {
+            throw new IllegalArgumentException("Tolerated breaches must not be negative");
+        }
+        name = name == null || name.isBlank() ? "gameday" : name;
+        guards = guards == null ? List.of() : List.copyOf(guards);
+        steps = List.copyOf(steps);
+    }
+}
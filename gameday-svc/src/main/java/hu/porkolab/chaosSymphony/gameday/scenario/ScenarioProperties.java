@@ -0,0 +1,37 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gameday.scenario")
+public class ScenarioProperties {
+
+    /** How often guards are checked, unless the plan sets its own interval. */
+    private Duration guardInterval = Duration.ofSeconds(5);
+
+    /** Failed guard checks in a row that are tolerated before the run is aborted. */
+    private int toleratedBreaches = 0;
+
+    private Duration metricsTimeout = Duration.ofSeconds(2);
+
+    /** Timeout of each chaos-svc call, including the rollback ones. */
+    private Duration chaosTimeout = Duration.ofSeconds(10);
+
+    /** Finished runs kept for {@code GET /api/gameday/scenarios/{id}}. */
+    private int retainedRuns = 20;
+
+    /** Guards of the built-in GameDay started by {@code POST /api/gameday/start}. */
+    private List<String> defaultGuards = List.of(
+            "PIPELINE_P99_MS < 2500ms", "DLT_RATIO < 10%", "MAX_CONSUMER_LAG_MS < 30s");
+
+    /** After chaos is cleared, the built-in GameDay waits this long for consumer lag to recover. */
+    private Duration recoveryTimeout = Duration.ofMinutes(2);
+
+    private Duration recoveryMaxLag = Duration.ofSeconds(5);
+}
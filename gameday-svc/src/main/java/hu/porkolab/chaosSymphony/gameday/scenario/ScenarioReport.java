@@ -0,0 +1,26 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Point-in-time view of a {@link ScenarioRun}. {@code reason} explains a failed or aborted run;
+ * {@code metrics} is the last snapshot the guards were checked against and {@code samples} the
+ * time series of all of them.
+ */
+public record ScenarioReport(
+        String id,
+        String name,
+        ScenarioRun.State state,
+        String reason,
+        Instant startedAt,
+        Instant finishedAt,
+        List<Hypothesis> guards,
+        List<ScenarioRun.StepResult> steps,
+        List<ScenarioRun.GuardBreach> breaches,
+        List<LoadReport> loads,
+        MetricsSnapshot metrics,
+        List<ScenarioRun.Sample> samples) {
+}
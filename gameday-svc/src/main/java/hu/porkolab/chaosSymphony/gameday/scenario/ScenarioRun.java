@@ -0,0 +1,192 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live state of one {@link ScenarioPlan} execution. The first of pass, fail or abort wins; the
+ * guard thread aborts, the runner thread passes or fails.
+ */
+public final class ScenarioRun {
+
+    public enum State { RUNNING, PASSED, FAILED, ABORTED }
+
+    public enum Outcome { PASSED, FAILED }
+
+    public record StepResult(int index, String step, Outcome outcome, String detail, Instant startedAt,
+                             Instant finishedAt) {}
+
+    public record GuardBreach(Instant at, List<String> violations) {}
+
+    /** Metrics at {@code offsetSeconds} into the run, with the load counters so far. */
+    public record Sample(double offsetSeconds, MetricsSnapshot metrics, long accepted, long sagasCompleted) {}
+
+    private static final int MAX_BREACHES = 100;
+    private static final int MAX_SAMPLES = 20_000;
+
+    private final String id;
+    private final ScenarioPlan plan;
+    private final Instant startedAt;
+    private final AtomicReference<State> state = new AtomicReference<>(State.RUNNING);
+    private final List<StepResult> steps = new CopyOnWriteArrayList<>();
+    private final List<LoadRun> loads = new CopyOnWriteArrayList<>();
+    private final Deque<String> chaosRuleIds = new ConcurrentLinkedDeque<>();
+    private final Deque<GuardBreach> breaches = new ConcurrentLinkedDeque<>();
+    private final Deque<Sample> samples = new ConcurrentLinkedDeque<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile String reason;
+    private volatile Instant finishedAt;
+    private volatile MetricsSnapshot lastMetrics;
+    private volatile int consecutiveBreaches;
+    private Thread runner;
+
+    ScenarioRun(String id, ScenarioPlan plan, Instant startedAt) {
+        this.id = id;
+        this.plan = plan;
+        this.startedAt = startedAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public ScenarioPlan plan() {
+        return plan;
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    public boolean isRunning() {
+        return state.get() == State.RUNNING;
+    }
+
+    public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    public ScenarioReport report() {
+        return new ScenarioReport(id, plan.name(), state.get(), reason, startedAt, finishedAt, plan.guards(),
+                List.copyOf(steps), List.copyOf(breaches), loads.stream().map(LoadRun::report).toList(), lastMetrics,
+                List.copyOf(samples));
+    }
+
+    boolean abort(String why) {
+        return end(State.ABORTED, why);
+    }
+
+    boolean fail(String why) {
+        return end(State.FAILED, why);
+    }
+
+    boolean pass() {
+        return end(State.PASSED, null);
+    }
+
+    private boolean end(State to, String why) {
+        if (state.compareAndSet(State.RUNNING, to)) {
+            reason = why;
+            return true;
+        }
+        return false;
+    }
+
+    void finish() {
+        finishedAt = Instant.now();
+        finished.countDown();
+    }
+
+    synchronized void attachRunner(Thread thread) {
+        runner = thread;
+    }
+
+    /** Clears any interrupt meant for the steps, so cleanup is not cut short. */
+    synchronized void detachRunner() {
+        runner = null;
+        Thread.interrupted();
+    }
+
+    synchronized void interruptRunner() {
+        if (runner != null) {
+            runner.interrupt();
+        }
+    }
+
+    void stepFinished(StepResult result) {
+        steps.add(result);
+    }
+
+    void loadStarted(LoadRun load) {
+        loads.add(load);
+    }
+
+    List<LoadRun> loads() {
+        return loads;
+    }
+
+    /** Loads whose arrivals or sagas are still in progress. */
+    List<LoadRun> activeLoads() {
+        List<LoadRun> active = new ArrayList<>();
+        for (LoadRun load : loads) {
+            if (load.state() != LoadRun.State.FINISHED) {
+                active.add(load);
+            }
+        }
+        return active;
+    }
+
+    void chaosActivated(String ruleId) {
+        chaosRuleIds.push(ruleId);
+    }
+
+    /** Takes the most recently activated rule that has not been rolled back yet. */
+    Optional<String> nextChaosToRollBack() {
+        return Optional.ofNullable(chaosRuleIds.poll());
+    }
+
+    void observed(MetricsSnapshot snapshot) {
+        lastMetrics = snapshot;
+        long accepted = 0;
+        long sagasCompleted = 0;
+        for (LoadRun load : loads) {
+            LoadReport report = load.report();
+            accepted += report.accepted();
+            sagasCompleted += report.sagasCompleted();
+        }
+        double offset = Duration.between(startedAt, snapshot.at()).toNanos() / 1e9;
+        samples.add(new Sample(offset, snapshot, accepted, sagasCompleted));
+        if (samples.size() > MAX_SAMPLES) {
+            samples.poll();
+        }
+    }
+
+    int breached(GuardBreach breach) {
+        breaches.add(breach);
+        if (breaches.size() > MAX_BREACHES) {
+            breaches.poll();
+        }
+        return ++consecutiveBreaches;
+    }
+
+    void guardsHeld() {
+        consecutiveBreaches = 0;
+    }
+}
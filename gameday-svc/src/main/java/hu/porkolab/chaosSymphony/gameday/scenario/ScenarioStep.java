@@ -0,0 +1,96 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProfile;
+import hu.porkolab.chaosSymphony.gameday.model.ChaosRule;
+
+import java.time.Duration;
+import java.util.List;
+
+/** One step of a {@link ScenarioPlan}, tagged in JSON by its {@code step} property. */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "step")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ScenarioStep.Load.class, name = "load"),
+        @JsonSubTypes.Type(value = ScenarioStep.Chaos.class, name = "chaos"),
+        @JsonSubTypes.Type(value = ScenarioStep.ClearChaos.class, name = "clear-chaos"),
+        @JsonSubTypes.Type(value = ScenarioStep.Wait.class, name = "wait"),
+        @JsonSubTypes.Type(value = ScenarioStep.Assertion.class, name = "assert")
+})
+public sealed interface ScenarioStep {
+
+    String describe();
+
+    /** Runs a load profile; a {@code background} load keeps going while the next steps run. */
+    record Load(LoadProfile profile, boolean background) implements ScenarioStep {
+
+        public Load {
+            if (profile == null) {
+                throw new IllegalArgumentException("Load step needs a profile");
+            }
+        }
+
+        @Override
+        public String describe() {
+            return (background ? "background load " : "load ") + profile;
+        }
+    }
+
+    /** Activates chaos rules; they are removed by {@link ClearChaos} or when the run ends. */
+    record Chaos(List<ChaosRule> rules) implements ScenarioStep {
+
+        public Chaos {
+            if (rules == null || rules.isEmpty()) {
+                throw new IllegalArgumentException("Chaos step needs at least one rule");
+            }
+            rules = List.copyOf(rules);
+        }
+
+        @Override
+        public String describe() {
+            return "chaos " + rules.stream().map(r -> r.getFaultType() + "@" + r.getTargetTopic()).toList();
+        }
+    }
+
+    record ClearChaos() implements ScenarioStep {
+
+        @Override
+        public String describe() {
+            return "clear chaos";
+        }
+    }
+
+    /**
+     * Waits for {@code duration}, or, with {@code until}, until it holds; it fails if it does not
+     * hold within {@code duration}.
+     */
+    record Wait(Duration duration, Hypothesis until) implements ScenarioStep {
+
+        public Wait {
+            if (duration == null || duration.isNegative()) {
+                throw new IllegalArgumentException("Wait step needs a non-negative duration");
+            }
+        }
+
+        @Override
+        public String describe() {
+            return until == null ? "wait " + duration : "wait up to " + duration + " until " + until;
+        }
+    }
+
+    /** Fails the run unless every hypothesis holds right now. */
+    record Assertion(List<Hypothesis> expect) implements ScenarioStep {
+
+        public Assertion {
+            if (expect == null || expect.isEmpty()) {
+                throw new IllegalArgumentException("Assert step needs at least one hypothesis");
+            }
+            expect = List.copyOf(expect);
+        }
+
+        @Override
+        public String describe() {
+            return "assert " + expect;
+        }
+    }
+}
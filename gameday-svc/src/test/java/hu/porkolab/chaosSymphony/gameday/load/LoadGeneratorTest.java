@@ -0,0 +1,118 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadGeneratorTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile CountDownLatch stalled = new CountDownLatch(0);
+    private HttpServer orderApi;
+    private LoadProperties properties;
+    private SagaOutcomeTracker tracker;
+    private LoadGenerator generator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        orderApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        orderApi.createContext("/api/orders", exchange -> {
+            int n = requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            try {
+                stalled.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int status = n % 5 == 0 ? 429 : 202;
+            byte[] body = ("{\"orderId\":\"o" + n + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+            if (status == 202) {
+                tracker.onStatus("o" + n, n % 2 == 0 ? "PAYMENT_FAILED" : "COMPLETED", System.nanoTime());
+            }
+        });
+        orderApi.setExecutor(Executors.newCachedThreadPool());
+        orderApi.start();
+
+        properties = new LoadProperties();
+        properties.setSagaTimeout(Duration.ofSeconds(2));
+        tracker = new SagaOutcomeTracker(new ObjectMapper());
+        generator = new LoadGenerator(
+                RestClient.create("http://127.0.0.1:" + orderApi.getAddress().getPort()), tracker, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderApi.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should send every planned arrival and classify responses and saga outcomes")
+    void run_shouldReportOutcomes() throws Exception {
+        LoadReport report = generator.run(LoadProfile.constant(20, Duration.ofSeconds(1)));
+
+        assertThat(report.state()).isEqualTo(LoadRun.State.FINISHED);
+        assertThat(report.sent()).isEqualTo(20);
+        assertThat(report.accepted()).isEqualTo(16);
+        assertThat(report.throttled()).isEqualTo(4);
+        assertThat(report.errors()).isZero();
+        assertThat(report.sagasCompleted() + report.sagasFailed()).isEqualTo(16);
+        assertThat(report.sagasPending()).isZero();
+        assertThat(report.responseLatencyMs().count()).isEqualTo(20);
+        assertThat(generator.find(report.id())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Arrivals held back by max-in-flight during a stall should be sent late and measured from their schedule")
+    void run_whenStalled_shouldMeasureDelayedArrivalsFromSchedule() throws Exception {
+        properties.setMaxInFlight(2);
+        CountDownLatch release = new CountDownLatch(1);
+        stalled = release;
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(600);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+
+        LoadReport report = generator.run(LoadProfile.constant(10, Duration.ofSeconds(1)));
+
+        assertThat(report.sent()).isEqualTo(10);
+        assertThat(report.dropped()).isZero();
+        assertThat(report.delayed()).isPositive();
+        assertThat(report.responseLatencyMs().count()).isEqualTo(10);
+        // the arrival due at 100 ms could only go out once the stall cleared at 600 ms
+        assertThat(report.responseLatencyMs().max()).isGreaterThan(400);
+    }
+
+    @Test
+    @DisplayName("Should count requests that cannot reach order-api as errors")
+    void run_whenOrderApiDown_shouldCountErrors() throws Exception {
+        orderApi.stop(0);
+
+        LoadReport report = generator.run(LoadProfile.constant(5, Duration.ofSeconds(1)));
+
+        assertThat(report.errors()).isEqualTo(5);
+        assertThat(report.accepted()).isZero();
+    }
+}
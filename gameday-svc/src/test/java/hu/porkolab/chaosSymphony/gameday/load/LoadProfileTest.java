@@ -0,0 +1,58 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadProfileTest {
+
+    private static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Test
+    @DisplayName("Constant profile should space arrivals evenly")
+    void constant_shouldSpaceEvenly() {
+        LoadProfile profile = LoadProfile.constant(10, Duration.ofSeconds(5));
+
+        assertThat(profile.arrivals()).isEqualTo(50);
+        assertThat(seconds(profile.offsetNanos(0))).isZero();
+        assertThat(seconds(profile.offsetNanos(25))).isCloseTo(2.5, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Ramp should send half its arrivals late when ramping up")
+    void ramp_shouldFollowLinearRate() {
+        LoadProfile profile = LoadProfile.ramp(0, 100, Duration.ofSeconds(10));
+
+        assertThat(profile.arrivals()).isEqualTo(500);
+        // N(t) = 5 t^2, so arrival 125 is due at 5 s and arrival 500 at 10 s
+        assertThat(seconds(profile.offsetNanos(125))).isCloseTo(5.0, within(1e-6));
+        assertThat(seconds(profile.offsetNanos(500))).isCloseTo(10.0, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Ramp down should stay within the duration")
+    void rampDown_shouldEndAtDuration() {
+        LoadProfile profile = LoadProfile.ramp(100, 20, Duration.ofSeconds(10));
+
+        assertThat(profile.arrivals()).isEqualTo(600);
+        assertThat(seconds(profile.offsetNanos(600))).isCloseTo(10.0, within(1e-6));
+        assertThat(seconds(profile.offsetNanos(100))).isLessThan(1.1);
+    }
+
+    @Test
+    @DisplayName("Should reject empty profiles")
+    void shouldValidate() {
+        assertThatThrownBy(() -> LoadProfile.constant(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadProfile.constant(5, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package hu.porkolab.chaosSymphony.gameday.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SagaOutcomeTrackerTest {
+
+    private final SagaOutcomeTracker tracker = new SagaOutcomeTracker(new ObjectMapper());
+    private LoadRun run;
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @BeforeEach
+    void setUp() {
+        run = new LoadRun("r1", LoadProfile.constant(1, Duration.ofSeconds(1)), Instant.now(), 0);
+        tracker.runStarted();
+    }
+
+    @Test
+    @DisplayName("First terminal status should finish the saga and time it from the scheduled arrival")
+    void terminalStatus_shouldRecordSagaLatency() {
+        tracker.await("o1", run, ms(1000));
+
+        tracker.onStatus("o1", "COMPLETED", ms(1300));
+        tracker.onStatus("o1", "CANCELLED", ms(1500));
+
+        LoadReport report = run.report();
+        assertThat(report.sagasCompleted()).isEqualTo(1);
+        assertThat(report.sagasFailed()).isZero();
+        assertThat(report.sagasPending()).isZero();
+        assertThat(report.sagaLatencyMs().max()).isBetween(299.0, 301.0);
+    }
+
+    @Test
+    @DisplayName("A status consumed before the 202 was read should still be matched")
+    void statusBeforeAwait_shouldMatch() {
+        tracker.onStatus("o1", "PAYMENT_FAILED", ms(1300));
+
+        tracker.await("o1", run, ms(1000));
+
+        assertThat(run.report().sagasFailed()).isEqualTo(1);
+        assertThat(run.report().sagasPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read orderId and status from the update payload")
+    void onStatusUpdate_shouldParsePayload() {
+        tracker.await("o1", run, 0);
+
+        tracker.onStatusUpdate(new ConsumerRecord<>("order.status.update", 0, 0, "o1",
+                "{\"orderId\":\"o1\",\"status\":\"COMPLETED\",\"reason\":\"\"}"));
+
+        assertThat(run.report().sagasCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Updates should be ignored while no run is active")
+    void noActiveRun_shouldIgnore() {
+        tracker.runEnded(run);
+
+        tracker.onStatusUpdate(new ConsumerRecord<>("order.status.update", 0, 0, "o1",
+                "{\"orderId\":\"o1\",\"status\":\"COMPLETED\"}"));
+        tracker.runStarted();
+        tracker.await("o1", run, 0);
+
+        assertThat(run.report().sagasPending()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,156 @@
+package hu.porkolab.chaosSymphony.gameday.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProfile;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+import hu.porkolab.chaosSymphony.gameday.scenario.Hypothesis;
+import hu.porkolab.chaosSymphony.gameday.scenario.Metric;
+import hu.porkolab.chaosSymphony.gameday.scenario.MetricsSnapshot;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioReport;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioRun;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GameDayReportsTest {
+
+    private static final Instant START = Instant.parse("2026-10-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @TempDir
+    private Path directory;
+
+    private ReportProperties properties;
+    private GameDayReports reports;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportProperties();
+        properties.setDirectory(directory);
+        reports = new GameDayReports(objectMapper, properties);
+    }
+
+    private static LoadReport load(double sagasPerSecond, double sagaP99) {
+        LoadReport.Percentiles response = new LoadReport.Percentiles(100, 20, 40, 80, 120, 150);
+        LoadReport.Percentiles saga = new LoadReport.Percentiles(90, sagaP99 / 2, sagaP99 * 0.8, sagaP99, sagaP99, sagaP99);
+        return new LoadReport("load-1", LoadProfile.constant(10, Duration.ofSeconds(10)), LoadRun.State.FINISHED,
+                START, 10, 100, 100, 100, 0, 0, 0, 0, 0, 90, 0, 0, 10, sagasPerSecond, response, response, saga);
+    }
+
+    private static ScenarioRun.Sample sample(double offset, double p99, double dlt, long accepted, double payP99) {
+        MetricsSnapshot snapshot = new MetricsSnapshot(START.plusMillis((long) (offset * 1000)),
+                Map.of(Metric.PIPELINE_P99_MS, p99, Metric.DLT_COUNT, dlt, Metric.COMPENSATIONS, 3.0,
+                        Metric.MAX_CONSUMER_LAG_MS, 250.0),
+                Map.of("payment-svc", new MetricsSnapshot.StageLatency(10, 20, payP99)));
+        return new ScenarioRun.Sample(offset, snapshot, accepted, accepted - 5);
+    }
+
+    private static ScenarioReport scenario(String id, double sagasPerSecond, double sagaP99, double payP99) {
+        return new ScenarioReport(id, "nightly", ScenarioRun.State.PASSED, null, START, START.plusSeconds(20),
+                List.of(Hypothesis.parse("PIPELINE_P99_MS < 500ms")),
+                List.of(new ScenarioRun.StepResult(0, "load", ScenarioRun.Outcome.PASSED, "ok", START, START)),
+                List.of(), List.of(load(sagasPerSecond, sagaP99)), null,
+                List.of(sample(0, 100, 7, 0, payP99 / 2), sample(5, 300, 9, 50, payP99),
+                        sample(10, 200, 12, 100, payP99 / 2)));
+    }
+
+    @Nested
+    @DisplayName("Building")
+    class Building {
+
+        @Test
+        @DisplayName("Should derive rates per interval and run totals from the samples")
+        void shouldSummariseSamples() {
+            GameDayReport report = GameDayReports.build(scenario("r1", 9, 800, 40), null, properties);
+
+            assertThat(report.series()).hasSize(3);
+            assertThat(report.series().get(0).acceptedPerSecond()).isNull();
+            assertThat(report.series().get(1).acceptedPerSecond()).isEqualTo(10.0);
+            assertThat(report.summary().pipelineP99Ms()).isEqualTo(300.0);
+            assertThat(report.summary().dltMessages()).isEqualTo(5.0);
+            assertThat(report.summary().compensations()).isZero();
+            assertThat(report.summary().stageP99Ms()).containsEntry("payment-svc", 40.0);
+            assertThat(report.summary().sagasCompletedPerSecond()).isEqualTo(9.0);
+            assertThat(report.comparison()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should flag throughput drops and tail latency growth beyond tolerance")
+        void shouldFlagRegressions() {
+            GameDayReport baseline = GameDayReports.build(scenario("base", 10, 800, 40), null, properties);
+
+            GameDayReport report = GameDayReports.build(scenario("r2", 8.5, 900, 60), baseline, properties);
+
+            GameDayReport.Comparison comparison = report.comparison();
+            assertThat(comparison.baselineId()).isEqualTo("base");
+            assertThat(comparison.regressed()).isTrue();
+            assertThat(comparison.deltas())
+                    .filteredOn(GameDayReport.Delta::regression)
+                    .extracting(GameDayReport.Delta::measure)
+                    .containsExactlyInAnyOrder("sagas completed/s", "payment-svc p99 ms");
+            assertThat(comparison.deltas())
+                    .filteredOn(d -> d.measure().equals("saga p99 ms"))
+                    .singleElement()
+                    .satisfies(d -> assertThat(d.change()).isCloseTo(0.125, within(1e-9)));
+        }
+
+        @Test
+        @DisplayName("Should not flag a run that is within tolerance")
+        void withinTolerance_shouldNotRegress() {
+            GameDayReport baseline = GameDayReports.build(scenario("base", 10, 800, 40), null, properties);
+
+            GameDayReport report = GameDayReports.build(scenario("r3", 9.5, 850, 44), baseline, properties);
+
+            assertThat(report.comparison().regressed()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Storage")
+    class Storage {
+
+        @Test
+        @DisplayName("Should write JSON and HTML and compare later runs with a promoted baseline")
+        void shouldWriteAndCompareWithBaseline() throws Exception {
+            reports.scenarioFinished(scenario("run-1", 10, 800, 40));
+
+            assertThat(directory.resolve("run-1.json")).exists();
+            assertThat(reports.find("run-1")).get().extracting(GameDayReport::name).isEqualTo("nightly");
+            assertThat(reports.baseline()).isEmpty();
+
+            assertThat(reports.promote("run-1")).isPresent();
+            reports.scenarioFinished(scenario("run-2", 7, 800, 40));
+
+            GameDayReport second = reports.find("run-2").orElseThrow();
+            assertThat(second.comparison().baselineId()).isEqualTo("run-1");
+            assertThat(second.comparison().regressed()).isTrue();
+            String html = Files.readString(directory.resolve("run-2.html"));
+            assertThat(html).contains("<svg", "regression", "sagas completed/s", "PIPELINE_P99_MS &lt; 500")
+                    .doesNotContain("<script");
+        }
+
+        @Test
+        @DisplayName("Should not resolve ids outside the report directory")
+        void shouldRejectPathIds() {
+            assertThat(reports.find("../secret")).isEmpty();
+            assertThat(reports.findHtml("a/b")).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HypothesisTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    @DisplayName("Should parse thresholds with units")
+    void parse_shouldNormaliseUnits() {
+        assertThat(Hypothesis.parse("PIPELINE_P99_MS < 500ms"))
+                .isEqualTo(new Hypothesis(Metric.PIPELINE_P99_MS, Hypothesis.Operator.LT, 500));
+        assertThat(Hypothesis.parse("dlt_ratio<0.1%").threshold()).isEqualTo(0.001);
+        assertThat(Hypothesis.parse("MAX_CONSUMER_LAG_MS <= 30s").threshold()).isEqualTo(30_000);
+        assertThat(Hypothesis.parse("LOAD_ERROR_RATIO >= 0").operator()).isEqualTo(Hypothesis.Operator.GE);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown metrics and malformed text")
+    void parse_shouldReject() {
+        assertThatThrownBy(() -> Hypothesis.parse("P99 < 500"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown metric");
+        assertThatThrownBy(() -> Hypothesis.parse("PIPELINE_P99_MS = 500"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should be unknown when the metric is missing and without data when it has no samples")
+    void evaluate_shouldReportVerdicts() {
+        Hypothesis p99 = Hypothesis.parse("PIPELINE_P99_MS < 500");
+
+        assertThat(p99.evaluate(new MetricsSnapshot(Instant.now(), Map.of(Metric.PIPELINE_P99_MS, 499.0))))
+                .isEqualTo(Hypothesis.Verdict.HOLDS);
+        assertThat(p99.evaluate(new MetricsSnapshot(Instant.now(), Map.of(Metric.PIPELINE_P99_MS, 500.0))))
+                .isEqualTo(Hypothesis.Verdict.BREACHED);
+        assertThat(p99.evaluate(new MetricsSnapshot(Instant.now(), Map.of(Metric.PIPELINE_P99_MS, Double.NaN))))
+                .isEqualTo(Hypothesis.Verdict.NO_DATA);
+        assertThat(p99.evaluate(new MetricsSnapshot(Instant.now(), Map.of())))
+                .isEqualTo(Hypothesis.Verdict.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should read a declarative plan from JSON")
+    void plan_shouldDeserialize() throws Exception {
+        String json = """
+                {
+                  "name": "payment-latency",
+                  "guards": ["PIPELINE_P99_MS < 500ms", "DLT_RATIO < 0.1%"],
+                  "guardInterval": "PT2S",
+                  "steps": [
+                    {"step": "load", "profile": {"type": "RAMP", "startRate": 5, "endRate": 50, "duration": "PT2M"}, "background": true},
+                    {"step": "chaos", "rules": [{"targetTopic": "payment.requested", "faultType": "DELAY", "probability": 0.3, "delayMs": 800}]},
+                    {"step": "wait", "duration": "PT1M"},
+                    {"step": "clear-chaos"},
+                    {"step": "wait", "duration": "PT2M", "until": "MAX_CONSUMER_LAG_MS < 5s"},
+                    {"step": "assert", "expect": ["LOAD_ERROR_RATIO < 1%"]}
+                  ]
+                }
+                """;
+
+        ScenarioPlan plan = objectMapper.readValue(json, ScenarioPlan.class);
+
+        assertThat(plan.guards()).hasSize(2);
+        assertThat(plan.guardInterval()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(plan.toleratedBreaches()).isNull();
+        assertThat(plan.steps()).hasExactlyElementsOfTypes(ScenarioStep.Load.class, ScenarioStep.Chaos.class,
+                ScenarioStep.Wait.class, ScenarioStep.ClearChaos.class, ScenarioStep.Wait.class,
+                ScenarioStep.Assertion.class);
+        assertThat(((ScenarioStep.Load) plan.steps().get(0)).background()).isTrue();
+        assertThat(((ScenarioStep.Chaos) plan.steps().get(1)).rules().get(0).getDelayMs()).isEqualTo(800);
+        assertThat(objectMapper.writeValueAsString(plan.guards())).isEqualTo("[\"PIPELINE_P99_MS < 500\",\"DLT_RATIO < 0.001\"]");
+    }
+}
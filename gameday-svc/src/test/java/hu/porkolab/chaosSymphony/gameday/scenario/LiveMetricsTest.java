@@ -0,0 +1,68 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("LiveMetrics")
+class LiveMetricsTest {
+
+    private MockRestServiceServer server;
+    private LiveMetrics liveMetrics;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://analytics");
+        server = MockRestServiceServer.bindTo(builder).build();
+        liveMetrics = new LiveMetrics(builder.build());
+    }
+
+    private void respond(String slo) {
+        server.expect(requestTo("http://analytics/api/metrics/slo"))
+                .andRespond(withSuccess(slo, MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://analytics/api/metrics/pipeline"))
+                .andRespond(withSuccess("""
+                        {"throughput":0.0,"compensations":0,"stages":[]}""", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://analytics/api/lag"))
+                .andRespond(withSuccess("""
+                        {"groups":[]}""", MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should keep a quantile without samples apart from a failed query")
+    void snapshot_shouldSeparateNoDataFromUnavailable() {
+        respond("""
+                {"p95Latency":"NaN","p99Latency":"NaN","dltCount":0,"dltRatio":null,"sloBurnRate1h":0.0}""");
+
+        MetricsSnapshot snapshot = liveMetrics.snapshot(List.of());
+
+        assertThat(snapshot.noData(Metric.PIPELINE_P99_MS)).isTrue();
+        assertThat(snapshot.get(Metric.PIPELINE_P99_MS)).isEmpty();
+        assertThat(snapshot.noData(Metric.DLT_RATIO)).isFalse();
+        assertThat(snapshot.get(Metric.DLT_RATIO)).isEmpty();
+        assertThat(snapshot.get(Metric.DLT_COUNT)).hasValue(0.0);
+    }
+
+    @Test
+    @DisplayName("Should leave metrics out when streams-analytics fails")
+    void snapshot_withAnalyticsDown_shouldBeUnavailable() {
+        server.expect(requestTo("http://analytics/api/metrics/slo")).andRespond(withServerError());
+        server.expect(requestTo("http://analytics/api/metrics/pipeline")).andRespond(withServerError());
+        server.expect(requestTo("http://analytics/api/lag")).andRespond(withServerError());
+
+        MetricsSnapshot snapshot = liveMetrics.snapshot(List.of());
+
+        assertThat(snapshot.values()).isEmpty();
+        server.verify();
+    }
+}
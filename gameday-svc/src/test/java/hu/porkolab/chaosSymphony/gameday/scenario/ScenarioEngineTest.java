@@ -0,0 +1,295 @@
+package hu.porkolab.chaosSymphony.gameday.scenario;
+
+import hu.porkolab.chaosSymphony.gameday.load.LoadGenerator;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProfile;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProperties;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
+import hu.porkolab.chaosSymphony.gameday.model.ChaosRule;
+import hu.porkolab.chaosSymphony.gameday.service.ChaosSvcClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioEngineTest {
+
+    private static final ChaosRule DELAY = ChaosRule.builder()
+            .faultType(ChaosRule.FaultType.DELAY).probability(0.5).delayMs(800).targetTopic("payment.requested").build();
+
+    @Mock
+    private ChaosSvcClient chaosSvcClient;
+
+    @Mock
+    private LoadGenerator loadGenerator;
+
+    @Mock
+    private LiveMetrics liveMetrics;
+
+    @Mock
+    private ScenarioListener listener;
+
+    private final AtomicReference<MetricsSnapshot> metrics = new AtomicReference<>(snapshot(Map.of(
+            Metric.PIPELINE_P99_MS, 120.0, Metric.DLT_RATIO, 0.0, Metric.MAX_CONSUMER_LAG_MS, 50.0)));
+
+    private ScenarioEngine engine;
+
+    private static MetricsSnapshot snapshot(Map<Metric, Double> values) {
+        return new MetricsSnapshot(Instant.now(), values);
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(liveMetrics.snapshot(any())).thenAnswer(inv -> metrics.get());
+        lenient().when(chaosSvcClient.createChaosRule(any())).thenAnswer(inv -> {
+            ChaosRule rule = inv.getArgument(0);
+            return Mono.just(ChaosRule.builder().id("rule-" + rule.getTargetTopic()).faultType(rule.getFaultType())
+                    .probability(rule.getProbability()).targetTopic(rule.getTargetTopic()).build());
+        });
+        lenient().when(chaosSvcClient.deleteChaosRule(any())).thenReturn(Mono.empty());
+
+        ScenarioProperties properties = new ScenarioProperties();
+        properties.setGuardInterval(Duration.ofMillis(20));
+        engine = new ScenarioEngine(chaosSvcClient, loadGenerator, liveMetrics, properties, new LoadProperties(),
+                List.of(listener));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    private ScenarioReport runToEnd(ScenarioPlan plan) throws InterruptedException {
+        ScenarioRun run = engine.start(plan);
+        assertThat(run.awaitFinished(10, TimeUnit.SECONDS)).as("scenario finished").isTrue();
+        return run.report();
+    }
+
+    private static ScenarioPlan plan(List<String> guards, ScenarioStep... steps) {
+        return new ScenarioPlan("test", guards.stream().map(Hypothesis::parse).toList(), null, null, List.of(steps));
+    }
+
+    @Nested
+    @DisplayName("Steps")
+    class Steps {
+
+        @Test
+        @DisplayName("Should pass and remove chaos when every step succeeds")
+        void shouldPassAndClearChaos() throws Exception {
+            ScenarioReport report = runToEnd(plan(List.of("PIPELINE_P99_MS < 500ms"),
+                    new ScenarioStep.Chaos(List.of(DELAY)),
+                    new ScenarioStep.Assertion(List.of(Hypothesis.parse("DLT_RATIO < 0.1%"))),
+                    new ScenarioStep.ClearChaos()));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.PASSED);
+            assertThat(report.steps()).extracting(ScenarioRun.StepResult::outcome)
+                    .containsOnly(ScenarioRun.Outcome.PASSED);
+            verify(chaosSvcClient, times(1)).deleteChaosRule("rule-payment.requested");
+            verify(listener, timeout(5_000)).scenarioFinished(argThat(r -> r.id().equals(report.id())
+                    && !r.samples().isEmpty()));
+        }
+
+        @Test
+        @DisplayName("Should fail on an unmet assertion and still remove chaos")
+        void failedAssertion_shouldFailAndRollBack() throws Exception {
+            metrics.set(snapshot(Map.of(Metric.DLT_RATIO, 0.02)));
+
+            ScenarioReport report = runToEnd(plan(List.of(),
+                    new ScenarioStep.Chaos(List.of(DELAY)),
+                    new ScenarioStep.Assertion(List.of(Hypothesis.parse("DLT_RATIO < 0.1%"))),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.FAILED);
+            assertThat(report.reason()).contains("DLT_RATIO < 0.001");
+            assertThat(report.steps()).hasSize(2);
+            verify(chaosSvcClient).deleteChaosRule("rule-payment.requested");
+        }
+
+        @Test
+        @DisplayName("Should wait until a condition holds")
+        void waitUntil_shouldPollUntilHolds() throws Exception {
+            metrics.set(snapshot(Map.of(Metric.MAX_CONSUMER_LAG_MS, 20_000.0)));
+            when(liveMetrics.snapshot(any()))
+                    .thenReturn(metrics.get(), metrics.get())
+                    .thenReturn(snapshot(Map.of(Metric.MAX_CONSUMER_LAG_MS, 1_000.0)));
+
+            ScenarioReport report = runToEnd(plan(List.of(),
+                    new ScenarioStep.Wait(Duration.ofSeconds(5), Hypothesis.parse("MAX_CONSUMER_LAG_MS < 5s"))));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.PASSED);
+            verify(liveMetrics, atLeast(3)).snapshot(any());
+        }
+
+        @Test
+        @DisplayName("Should fail a wait whose condition never holds")
+        void waitUntil_shouldTimeOut() throws Exception {
+            metrics.set(snapshot(Map.of(Metric.MAX_CONSUMER_LAG_MS, 20_000.0)));
+
+            ScenarioReport report = runToEnd(plan(List.of(),
+                    new ScenarioStep.Wait(Duration.ofMillis(100), Hypothesis.parse("MAX_CONSUMER_LAG_MS < 5s"))));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.FAILED);
+            assertThat(report.reason()).contains("did not hold within");
+        }
+    }
+
+    @Nested
+    @DisplayName("Guards")
+    class Guards {
+
+        @Test
+        @DisplayName("Should abort and roll back chaos as soon as a guard is breached")
+        void breach_shouldAbortAndRollBack() throws Exception {
+            doAnswer(inv -> {
+                metrics.set(snapshot(Map.of(Metric.PIPELINE_P99_MS, 900.0)));
+                return Mono.just(ChaosRule.builder().id("delay-1").build());
+            }).when(chaosSvcClient).createChaosRule(any());
+
+            ScenarioReport report = runToEnd(plan(List.of("PIPELINE_P99_MS < 500ms"),
+                    new ScenarioStep.Chaos(List.of(DELAY)),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.ABORTED);
+            assertThat(report.reason()).contains("PIPELINE_P99_MS < 500", "900");
+            assertThat(report.breaches()).isNotEmpty();
+            assertThat(report.steps()).noneMatch(step -> step.step().startsWith("wait")
+                    && step.outcome() == ScenarioRun.Outcome.PASSED);
+            verify(chaosSvcClient, times(1)).deleteChaosRule("delay-1");
+        }
+
+        @Test
+        @DisplayName("Should treat unreadable streams-analytics metrics as a breach")
+        void missingMetrics_shouldAbort() throws Exception {
+            metrics.set(snapshot(Map.of()));
+
+            ScenarioReport report = runToEnd(plan(List.of("PIPELINE_P99_MS < 500ms"),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.ABORTED);
+            assertThat(report.reason()).contains("unavailable");
+        }
+
+        @Test
+        @DisplayName("Should abort when Prometheus fails even though other metrics are read")
+        void prometheusFailure_shouldAbort() throws Exception {
+            // streams-analytics answers, but reports the failed p99 query as null
+            metrics.set(snapshot(Map.of(Metric.DLT_RATIO, 0.0, Metric.MAX_CONSUMER_LAG_MS, 50.0)));
+
+            ScenarioReport report = runToEnd(plan(List.of("PIPELINE_P99_MS < 500ms", "DLT_RATIO < 0.1%"),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.ABORTED);
+            assertThat(report.reason()).contains("PIPELINE_P99_MS unavailable").doesNotContain("DLT_RATIO");
+        }
+
+        @Test
+        @DisplayName("Should not check a latency guard while the pipeline has no traffic yet")
+        void idlePipeline_shouldNotAbort() throws Exception {
+            metrics.set(snapshot(Map.of(
+                    Metric.PIPELINE_P99_MS, Double.NaN, Metric.DLT_RATIO, 0.0, Metric.MAX_CONSUMER_LAG_MS, 0.0)));
+
+            ScenarioReport report = runToEnd(plan(List.of("PIPELINE_P99_MS < 500ms", "DLT_RATIO < 0.1%"),
+                    new ScenarioStep.Wait(Duration.ofMillis(100), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.PASSED);
+            assertThat(report.breaches()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should start checking a latency guard once traffic produces samples")
+        void idlePipeline_thenSlow_shouldAbort() throws Exception {
+            metrics.set(snapshot(Map.of(Metric.PIPELINE_P99_MS, Double.NaN, Metric.DLT_RATIO, 0.0)));
+            ScenarioRun run = engine.start(plan(List.of("PIPELINE_P99_MS < 500ms"),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+            Thread.sleep(100);
+            assertThat(run.isRunning()).isTrue();
+
+            metrics.set(snapshot(Map.of(Metric.PIPELINE_P99_MS, 900.0, Metric.DLT_RATIO, 0.0)));
+
+            assertThat(run.awaitFinished(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(run.report().state()).isEqualTo(ScenarioRun.State.ABORTED);
+            assertThat(run.report().reason()).contains("PIPELINE_P99_MS = 900.0");
+        }
+
+        @Test
+        @DisplayName("Should not check load guards before a load has started")
+        void loadGuard_withoutLoad_shouldNotAbort() throws Exception {
+            ScenarioReport report = runToEnd(plan(List.of("LOAD_ERROR_RATIO < 1%"),
+                    new ScenarioStep.Wait(Duration.ofMillis(100), null)));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.PASSED);
+        }
+
+        @Test
+        @DisplayName("Should tolerate the configured number of consecutive breaches")
+        void toleratedBreaches_shouldDelayAbort() throws Exception {
+            when(liveMetrics.snapshot(any()))
+                    .thenReturn(snapshot(Map.of(Metric.PIPELINE_P99_MS, 900.0)))
+                    .thenAnswer(inv -> metrics.get());
+
+            ScenarioReport report = runToEnd(new ScenarioPlan("test", List.of(Hypothesis.parse("PIPELINE_P99_MS < 500")),
+                    null, 1, List.of(new ScenarioStep.Wait(Duration.ofMillis(200), null))));
+
+            assertThat(report.state()).isEqualTo(ScenarioRun.State.PASSED);
+            assertThat(report.breaches()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should remove a chaos rule that chaos-svc creates after the run was aborted")
+        void abortWhileCreatingChaos_shouldRemoveLateRule() throws Exception {
+            Sinks.One<ChaosRule> chaosSvc = Sinks.one();
+            doReturn(chaosSvc.asMono()).when(chaosSvcClient).createChaosRule(any());
+
+            ScenarioRun run = engine.start(plan(List.of(), new ScenarioStep.Chaos(List.of(DELAY))));
+            verify(chaosSvcClient, timeout(5_000)).createChaosRule(any());
+            assertThat(engine.abort(run, "operator")).isTrue();
+            assertThat(run.awaitFinished(10, TimeUnit.SECONDS)).isTrue();
+            verify(chaosSvcClient, never()).deleteChaosRule(any());
+
+            chaosSvc.tryEmitValue(ChaosRule.builder().id("late-1").build());
+
+            verify(chaosSvcClient, timeout(5_000)).deleteChaosRule("late-1");
+            assertThat(run.nextChaosToRollBack()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stop background load when aborted on request")
+        void abort_shouldStopLoad() throws Exception {
+            LoadRun load = mock(LoadRun.class);
+            when(load.state()).thenReturn(LoadRun.State.RUNNING);
+            lenient().when(load.id()).thenReturn("load-1");
+            lenient().when(load.report()).thenReturn(mock(LoadReport.class));
+            when(loadGenerator.start(any())).thenReturn(load);
+
+            ScenarioRun run = engine.start(plan(List.of(),
+                    new ScenarioStep.Load(LoadProfile.constant(10, Duration.ofMinutes(5)), true),
+                    new ScenarioStep.Wait(Duration.ofSeconds(30), null)));
+            verify(loadGenerator, timeout(5_000)).start(any());
+
+            assertThat(engine.abort(run, "operator")).isTrue();
+
+            assertThat(run.awaitFinished(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(run.state()).isEqualTo(ScenarioRun.State.ABORTED);
+            verify(load, atLeastOnce()).stop();
+            assertThat(engine.abort(run, "again")).isFalse();
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package hu.porkolab.chaosSymphony.gameday.service;
 
+import hu.porkolab.chaosSymphony.gameday.load.LoadGenerator;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProfile;
+import hu.porkolab.chaosSymphony.gameday.load.LoadProperties;
+import hu.porkolab.chaosSymphony.gameday.load.LoadReport;
+import hu.porkolab.chaosSymphony.gameday.load.LoadRun;
 import hu.porkolab.chaosSymphony.gameday.model.ChaosRule;
+import hu.porkolab.chaosSymphony.gameday.scenario.LiveMetrics;
+import hu.porkolab.chaosSymphony.gameday.scenario.Metric;
+import hu.porkolab.chaosSymphony.gameday.scenario.MetricsSnapshot;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioEngine;
+import hu.porkolab.chaosSymphony.gameday.scenario.ScenarioProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,7 +20,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,11 +37,31 @@ class GameDayServiceTest {
     @Mock
     private ChaosSvcClient chaosSvcClient;
 
+    @Mock
+    private LoadGenerator loadGenerator;
+
+    @Mock
+    private LiveMetrics liveMetrics;
+
     private GameDayService gameDayService;
 
     @BeforeEach
-    void setUp() {
-        gameDayService = new GameDayService(chaosSvcClient);
+    void setUp() throws Exception {
+        LoadRun load = mock(LoadRun.class);
+        lenient().when(load.profile()).thenReturn(LoadProfile.constant(1, Duration.ofSeconds(1)));
+        lenient().when(load.state()).thenReturn(LoadRun.State.FINISHED);
+        lenient().when(load.awaitFinished(any())).thenReturn(true);
+        lenient().when(load.report()).thenReturn(mock(LoadReport.class));
+        lenient().when(loadGenerator.start(any())).thenReturn(load);
+        MetricsSnapshot healthy = new MetricsSnapshot(Instant.now(),
+                Arrays.stream(Metric.values()).collect(Collectors.toMap(m -> m, m -> 0.0)));
+        lenient().when(liveMetrics.snapshot(any())).thenReturn(healthy);
+
+        LoadProperties loadProperties = new LoadProperties();
+        ScenarioProperties scenarioProperties = new ScenarioProperties();
+        ScenarioEngine engine = new ScenarioEngine(chaosSvcClient, loadGenerator, liveMetrics, scenarioProperties,
+                loadProperties, List.of());
+        gameDayService = new GameDayService(engine, loadProperties, scenarioProperties);
     }
 
     @Test
@@ -10,6 +10,11 @@ import org.springframework.context.annotation.Import;
 })
 @Import({
     hu.porkolab.chaosSymphony.common.kafka.KafkaErrorHandlingConfig.class,
+    hu.porkolab.chaosSymphony.common.kafka.HopTimingConfig.class,
+    hu.porkolab.chaosSymphony.common.jfr.FlightRecorderConfig.class,
+    hu.porkolab.chaosSymphony.common.logging.HotPathLoggingConfig.class,
+    hu.porkolab.chaosSymphony.common.retry.DelayedRetryConfig.class,
+    hu.porkolab.chaosSymphony.common.breaker.ConsumerCircuitBreakerConfig.class,
     hu.porkolab.chaosSymphony.common.idemp.IdempotencyConfig.class
 })
 public class InventorySvcApplication {
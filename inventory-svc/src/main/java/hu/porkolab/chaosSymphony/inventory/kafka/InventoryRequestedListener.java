@@ -5,18 +5,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.net.SocketTimeoutException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -25,6 +23,8 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class InventoryRequestedListener {
 
+    private static final HotPathLog processedLog = HotPathLog.forEvent(log, "inventory requests processed");
+
     private final InventoryResultProducer producer;
     private final IdempotencyStore idempotencyStore;
     private final InventoryReleaseListener releaseListener;
@@ -50,12 +50,6 @@ public class InventoryRequestedListener {
         this.objectMapper = objectMapper;
     }
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2.0, random = true),
-            include = {SocketTimeoutException.class},
-            autoCreateTopics = "false"
-    )
     @KafkaListener(topics = "${kafka.topic.inventory.requested}", groupId = "${kafka.group.id.inventory}")
     @Transactional
     public void onInventoryRequested(ConsumerRecord<String, String> rec) {
@@ -101,7 +95,7 @@ public class InventoryRequestedListener {
                     .put("items", items)
                     .toString();
 
-            log.info("Inventory processed for orderId={}, reservationId={}, items={}, status={}", orderId, reservationId, items, status);
+            processedLog.info("Inventory processed for orderId={}, reservationId={}, items={}, status={}", orderId, reservationId, items, status);
             producer.sendResult(orderId, resultPayload);
             
         } finally {
@@ -1,6 +1,7 @@
 package hu.porkolab.chaosSymphony.inventory.kafka;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.inventory.outbox.IdempotentOutbox;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import java.util.UUID;
 public class InventoryResultProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(InventoryResultProducer.class);
+	private static final HotPathLog sentLog = HotPathLog.forEvent(log, "inventory results sent");
 
 	private final KafkaTemplate<String, String> kafka;
 	private final IdempotentOutbox outbox;
@@ -35,7 +37,7 @@ public class InventoryResultProducer {
 		try {
 			String msg = EnvelopeHelper.envelope(orderId, eventId, "InventoryResult", payloadJson);
 			RecordMetadata md = kafka.send("inventory.result", orderId, msg).get().getRecordMetadata();
-			log.info("[INVENTORY] → inventory.result key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
+			sentLog.info("[INVENTORY] → inventory.result key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
 		} catch (Exception e) {
 			log.error("[INVENTORY] send inventory.result failed key={} err={}", orderId, e.getMessage(), e);
 			throw new RuntimeException(e);
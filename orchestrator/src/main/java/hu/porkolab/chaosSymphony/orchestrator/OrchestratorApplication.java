@@ -13,7 +13,14 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 })
 @EnableTransactionManagement
 @EnableScheduling
-@org.springframework.context.annotation.Import(hu.porkolab.chaosSymphony.common.kafka.KafkaErrorHandlingConfig.class)
+@org.springframework.context.annotation.Import({
+    hu.porkolab.chaosSymphony.common.kafka.KafkaErrorHandlingConfig.class,
+    hu.porkolab.chaosSymphony.common.kafka.HopTimingConfig.class,
+    hu.porkolab.chaosSymphony.common.jfr.FlightRecorderConfig.class,
+    hu.porkolab.chaosSymphony.common.logging.HotPathLoggingConfig.class,
+    hu.porkolab.chaosSymphony.common.retry.DelayedRetryConfig.class,
+    hu.porkolab.chaosSymphony.common.breaker.ConsumerCircuitBreakerConfig.class
+})
 
 public class OrchestratorApplication {
 	public static void main(String[] args) {
@@ -1,9 +1,14 @@
 package hu.porkolab.chaosSymphony.orchestrator.api;
 
-import hu.porkolab.chaosSymphony.orchestrator.config.CanaryProperties;
+import hu.porkolab.chaosSymphony.orchestrator.canary.CanaryRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/canary")
@@ -11,21 +16,43 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class CanaryConfigController {
 
-    private final CanaryProperties canaryProperties;
+    private final CanaryRouter paymentCanaryRouter;
 
     public record CanaryConfig(boolean enabled, double percentage) {}
 
+    public record RampRequest(List<Double> stages, long stageHoldSeconds) {}
+
     @GetMapping("/config")
     public CanaryConfig getConfig() {
-        double percentage = canaryProperties.getPaymentPercentage();
+        double percentage = paymentCanaryRouter.snapshot().weight();
         return new CanaryConfig(percentage > 0, percentage);
     }
 
     @PostMapping("/config")
     public CanaryConfig setConfig(@RequestBody CanaryConfig config) {
         double percentageToSet = config.enabled() ? config.percentage() : 0.0;
-        canaryProperties.setPaymentPercentage(percentageToSet);
+        apply(() -> paymentCanaryRouter.setWeight(percentageToSet));
         log.info("Canary config updated: enabled={}, percentage={}", config.enabled(), percentageToSet);
         return new CanaryConfig(config.enabled(), percentageToSet);
     }
+
+    @GetMapping("/status")
+    public CanaryRouter.Snapshot getStatus() {
+        return paymentCanaryRouter.snapshot();
+    }
+
+    @PostMapping("/ramp")
+    public CanaryRouter.Snapshot startRamp(@RequestBody RampRequest request) {
+        List<Double> stages = request.stages() == null ? List.of() : request.stages();
+        apply(() -> paymentCanaryRouter.startRamp(stages, Duration.ofSeconds(request.stageHoldSeconds())));
+        return paymentCanaryRouter.snapshot();
+    }
+
+    private static void apply(Runnable change) {
+        try {
+            change.run();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package hu.porkolab.chaosSymphony.orchestrator.canary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class CanaryRampScheduler {
+
+    private final List<CanaryRouter> routers;
+
+    @Scheduled(fixedDelayString = "${canary.ramp-check-interval-ms:1000}")
+    public void advanceRamps() {
+        routers.forEach(CanaryRouter::advanceRamp);
+    }
+}
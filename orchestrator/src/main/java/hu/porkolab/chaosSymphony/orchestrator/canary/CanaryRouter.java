@@ -0,0 +1,134 @@
+package hu.porkolab.chaosSymphony.orchestrator.canary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits one saga step between a stable and a canary variant. A key is hashed into one of
+ * {@value #BUCKETS} buckets and goes to the canary when its bucket is below the current weight,
+ * so the decision is sticky per key and raising the weight only ever moves keys onto the canary.
+ * The weight and any running ramp live in a single immutable {@link Snapshot} that writers swap
+ * atomically; {@link #route} reads it once and does no other lookups.
+ */
+@Slf4j
+public class CanaryRouter {
+
+    public static final int BUCKETS = 10_000;
+
+    public enum Variant { STABLE, CANARY }
+
+    /**
+     * Routing state. {@code ramp} is the list of weights still to come, applied one per
+     * {@code stageHold}; it is empty when the weight is set by hand.
+     */
+    public record Snapshot(double weight, List<Double> ramp, Duration stageHold, Instant stageStartedAt) {
+
+        int threshold() {
+            return (int) Math.round(weight * BUCKETS);
+        }
+
+        public boolean ramping() {
+            return !ramp.isEmpty();
+        }
+    }
+
+    private final String step;
+    private final Clock clock;
+    private final Counter stableRouted;
+    private final Counter canaryRouted;
+    private final AtomicReference<Snapshot> snapshot;
+
+    public CanaryRouter(String step, double initialWeight, MeterRegistry registry, Clock clock) {
+        this.step = step;
+        this.clock = clock;
+        this.stableRouted = routedCounter(registry, step, Variant.STABLE);
+        this.canaryRouted = routedCounter(registry, step, Variant.CANARY);
+        this.snapshot = new AtomicReference<>(fixed(checkWeight(initialWeight)));
+    }
+
+    public Variant route(String key) {
+        if (bucket(step, key) < snapshot.get().threshold()) {
+            canaryRouted.increment();
+            return Variant.CANARY;
+        }
+        stableRouted.increment();
+        return Variant.STABLE;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public String step() {
+        return step;
+    }
+
+    /** Sets the weight directly and cancels a running ramp. */
+    public void setWeight(double weight) {
+        snapshot.set(fixed(checkWeight(weight)));
+        log.info("Canary {} weight set to {}", step, weight);
+    }
+
+    /** Applies the first stage now and each following stage after {@code stageHold}. */
+    public void startRamp(List<Double> stages, Duration stageHold) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Ramp needs at least one stage");
+        }
+        if (stageHold.isNegative() || stageHold.isZero()) {
+            throw new IllegalArgumentException("Ramp stage hold must be positive");
+        }
+        stages.forEach(CanaryRouter::checkWeight);
+        snapshot.set(new Snapshot(stages.get(0), List.copyOf(stages.subList(1, stages.size())),
+                stageHold, clock.instant()));
+        log.info("Canary {} ramp started: {} every {}", step, stages, stageHold);
+    }
+
+    /** Moves a running ramp on by at most one stage once its hold has elapsed. */
+    public void advanceRamp() {
+        Instant now = clock.instant();
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            if (!current.ramping() || now.isBefore(current.stageStartedAt().plus(current.stageHold()))) {
+                return;
+            }
+            List<Double> remaining = current.ramp();
+            next = new Snapshot(remaining.get(0), remaining.subList(1, remaining.size()), current.stageHold(), now);
+        } while (!snapshot.compareAndSet(current, next));
+        log.info("Canary {} ramp advanced to {} ({} stages left)", step, next.weight(), next.ramp().size());
+    }
+
+    static int bucket(String step, String key) {
+        byte[] bytes = (step + ':' + key).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(bytes)) % BUCKETS;
+    }
+
+    private Snapshot fixed(double weight) {
+        return new Snapshot(weight, List.of(), Duration.ZERO, clock.instant());
+    }
+
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0.0 && weight <= 1.0)) {
+            throw new IllegalArgumentException("Canary weight must be between 0 and 1, got " + weight);
+        }
+        return weight;
+    }
+
+    private static Counter routedCounter(MeterRegistry registry, String step, Variant variant) {
+        return Counter.builder("canary.routed")
+                .description("Requests routed per canary variant")
+                .tag("step", step)
+                .tag("variant", variant.name().toLowerCase())
+                .register(registry);
+    }
+}
@@ -1,34 +1,30 @@
 package hu.porkolab.chaosSymphony.orchestrator.config;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Startup canary settings for the payment step. Runtime changes go to the
+ * {@link hu.porkolab.chaosSymphony.orchestrator.canary.CanaryRouter} snapshot through
+ * {@code /api/canary}, not back into these properties.
+ */
+@Getter
+@Setter
 @Component
 @ConfigurationProperties(prefix = "canary.payment")
-@Slf4j
 public class CanaryProperties {
-    
-    private final AtomicReference<Double> percentageRef = new AtomicReference<>(0.0);
-    
-    
-    public void setPercentage(double percentage) {
-        log.info("Setting canary percentage to {}", percentage);
-        this.percentageRef.set(percentage);
-    }
-    
-    public double getPercentage() {
-        return percentageRef.get();
-    }
-    
-    
-    public double getPaymentPercentage() {
-        return getPercentage();
-    }
-    
-    public void setPaymentPercentage(double percentage) {
-        setPercentage(percentage);
-    }
+
+    /** Share of orders, 0..1, routed to the canary when no ramp is configured. */
+    private double percentage = 0.0;
+
+    /** Optional weights applied in turn, e.g. 0.01, 0.05, 0.25. */
+    private List<Double> ramp = new ArrayList<>();
+
+    private Duration stageHold = Duration.ofMinutes(10);
 }
@@ -0,0 +1,21 @@
+package hu.porkolab.chaosSymphony.orchestrator.config;
+
+import hu.porkolab.chaosSymphony.orchestrator.canary.CanaryRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class CanaryRoutingConfig {
+
+    @Bean
+    public CanaryRouter paymentCanaryRouter(CanaryProperties properties, MeterRegistry registry) {
+        CanaryRouter router = new CanaryRouter("payment", properties.getPercentage(), registry, Clock.systemUTC());
+        if (!properties.getRamp().isEmpty()) {
+            router.startRamp(properties.getRamp(), properties.getStageHold());
+        }
+        return router;
+    }
+}
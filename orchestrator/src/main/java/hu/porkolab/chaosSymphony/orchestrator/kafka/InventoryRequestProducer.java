@@ -1,6 +1,7 @@
 package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 public class InventoryRequestProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(InventoryRequestProducer.class);
+	private static final HotPathLog sentLog = HotPathLog.forEvent(log, "inventory requests sent");
 	private final KafkaTemplate<String, String> kafka;
 
 	public InventoryRequestProducer(KafkaTemplate<String, String> kafka) {
@@ -21,7 +23,7 @@ public class InventoryRequestProducer {
 		try {
 			String msg = EnvelopeHelper.envelope(orderId, "InventoryRequested", payloadJson);
 			RecordMetadata md = kafka.send("inventory.requested", orderId, msg).get().getRecordMetadata();
-			log.info("[ORCH] → inventory.requested key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
+			sentLog.info("[ORCH] → inventory.requested key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
 		} catch (Exception e) {
 			log.error("[ORCH] send inventory.requested failed key={} err={}", orderId, e.getMessage(), e);
 			throw new RuntimeException(e);
@@ -2,11 +2,11 @@ package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.orchestrator.saga.SagaOrchestrator;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +22,8 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class InventoryResultListener {
 
+	private static final HotPathLog receivedLog = HotPathLog.forEvent(log, "inventory results received");
+
 	private final IdempotencyStore idempotencyStore;
 	private final ShippingRequestProducer shippingProducer;
 	private final SagaOrchestrator sagaOrchestrator;
@@ -55,38 +57,46 @@ public class InventoryResultListener {
 			return;
 		}
 
-		log.info("Orchestrator got InventoryResult: orderId={}, status={}", orderId, status);
+		receivedLog.info("Orchestrator got InventoryResult: orderId={}, status={}", orderId, status);
 
 		switch (status) {
 			case "RESERVED" -> {
+				if (sagaOrchestrator.isParallel(orderId)) {
+					// payment may still be in flight; ship only once both branches joined
+					if (sagaOrchestrator.onParallelInventoryReserved(orderId, reservationId)) {
+						requestShipping(orderId);
+					}
+					return;
+				}
 				
 				sagaOrchestrator.onInventoryReserved(orderId, reservationId);
-
-				
-				String address = sagaOrchestrator.getShippingAddress(orderId);
-				if (address == null || address.isBlank()) {
-					log.warn("No shipping address found for orderId={}, using default", orderId);
-					address = "Default Address - Please Update";
-				}
-
-				ObjectNode payload = om.createObjectNode()
-						.put("orderId", orderId)
-						.put("address", address);
-				sagaOrchestrator.onShippingRequested(orderId);
-
-				shippingProducer.sendRequest(orderId, payload.toString());
-				log.debug("Shipping request sent for orderId={} to address={}", orderId, address);
+				requestShipping(orderId);
 			}
 			case "OUT_OF_STOCK" -> {
 				log.warn("Inventory OUT_OF_STOCK for orderId={}", orderId);
-				sagaOrchestrator.onInventoryFailed(orderId, "Inventory out of stock");
-				ordersFailed.increment();
+				inventoryFailed(orderId, "Inventory out of stock");
 			}
 			default -> {
 				log.warn("Unknown inventory status='{}' for orderId={}", status, orderId);
-				sagaOrchestrator.onInventoryFailed(orderId, "Unknown inventory status: " + status);
-				ordersFailed.increment();
+				inventoryFailed(orderId, "Unknown inventory status: " + status);
 			}
 		}
 	}
+
+	private void requestShipping(String orderId) {
+		String payload = ShippingRequestProducer.requestPayload(om, orderId, sagaOrchestrator.getShippingAddress(orderId));
+		sagaOrchestrator.onShippingRequested(orderId);
+
+		shippingProducer.sendRequest(orderId, payload);
+		log.debug("Shipping request sent for orderId={}", orderId);
+	}
+
+	private void inventoryFailed(String orderId, String reason) {
+		if (sagaOrchestrator.isParallel(orderId)) {
+			sagaOrchestrator.onParallelInventoryFailed(orderId, reason);
+		} else {
+			sagaOrchestrator.onInventoryFailed(orderId, reason);
+		}
+		ordersFailed.increment();
+	}
 }
@@ -2,44 +2,42 @@ package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import hu.porkolab.chaosSymphony.common.chaos.ChaosProducer;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
+import hu.porkolab.chaosSymphony.common.retry.DeadLetterListener;
+import hu.porkolab.chaosSymphony.orchestrator.saga.SagaInstance;
 import hu.porkolab.chaosSymphony.orchestrator.saga.SagaOrchestrator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
-import java.net.SocketTimeoutException;
 
 
 @Slf4j
 @Component
-public class OrderCreatedListener {
+public class OrderCreatedListener implements DeadLetterListener {
+
+    static final String TOPIC = "order.created";
+
+    private static final HotPathLog receivedLog = HotPathLog.forEvent(log, "OrderCreated events received");
     
     private final PaymentProducer producer;
+    private final InventoryRequestProducer inventoryProducer;
     private final SagaOrchestrator sagaOrchestrator;
     private final ObjectMapper objectMapper;
 
     public OrderCreatedListener(
             PaymentProducer producer, 
+            InventoryRequestProducer inventoryProducer,
             SagaOrchestrator sagaOrchestrator,
             ObjectMapper objectMapper) {
         this.producer = producer;
+        this.inventoryProducer = inventoryProducer;
         this.sagaOrchestrator = sagaOrchestrator;
         this.objectMapper = objectMapper;
     }
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2.0, random = true),
-            include = {SocketTimeoutException.class, IllegalStateException.class, 
-                       ChaosProducer.ChaosDropException.class, RuntimeException.class},
-            autoCreateTopics = "false"
-    )
-    @KafkaListener(topics = "order.created", groupId = "orchestrator-order-created")
+    @KafkaListener(topics = TOPIC, groupId = "orchestrator-order-created")
     public void onOrderCreated(ConsumerRecord<String, String> rec) {
         JsonNode root;
         JsonNode event;
@@ -82,11 +80,11 @@ public class OrderCreatedListener {
                 ? event.get("shippingAddress").asText()
                 : null;
 
-        log.info("OrderCreated received for orderId={}, customerId={}, address={} -> initiating payment saga", 
+        receivedLog.info("OrderCreated received for orderId={}, customerId={}, address={} -> initiating payment saga", 
                 orderId, customerId, shippingAddress != null ? shippingAddress : "NOT_PROVIDED");
 
         
-        sagaOrchestrator.startSagaAndRequestPayment(orderId, shippingAddress);
+        SagaInstance saga = sagaOrchestrator.startSagaAndRequestPayment(orderId, shippingAddress);
 
         String paymentPayload = objectMapper.createObjectNode()
                 .put("orderId", orderId)
@@ -98,10 +96,18 @@ public class OrderCreatedListener {
         producer.sendPaymentRequested(orderId, paymentPayload);
         
         log.debug("PaymentRequested sent for orderId={}", orderId);
+
+        if (saga != null && saga.isParallel()) {
+            inventoryProducer.sendRequest(orderId, objectMapper.createObjectNode().put("orderId", orderId).toString());
+            log.debug("InventoryRequested sent alongside payment for orderId={}", orderId);
+        }
     }
 
-    @DltHandler
-    public void handleDlt(ConsumerRecord<String, String> rec) {
+    @Override
+    public void deadLettered(ConsumerRecord<?, ?> rec, Exception exception) {
+        if (!TOPIC.equals(rec.topic())) {
+            return;
+        }
         log.error("Message sent to DLT after all retries exhausted: key={}, topic={}", 
                 rec.key(), rec.topic());
         sagaOrchestrator.recordDltMessage();
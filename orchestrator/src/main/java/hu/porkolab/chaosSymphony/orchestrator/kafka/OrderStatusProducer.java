@@ -1,6 +1,7 @@
 package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -13,6 +14,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class OrderStatusProducer {
 
+    private static final HotPathLog sentLog = HotPathLog.forEvent(log, "order status updates sent");
+
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
 
@@ -28,7 +31,7 @@ public class OrderStatusProducer {
                     if (ex != null) {
                         log.error("Failed to send order status update for {}: {}", orderId, ex.getMessage());
                     } else {
-                        log.info("Order status update sent: orderId={}, status={}", orderId, status);
+                        sentLog.info("Order status update sent: orderId={}, status={}", orderId, status);
                     }
                 });
         } catch (Exception e) {
@@ -2,26 +2,22 @@ package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.chaos.ChaosProducer;
+import hu.porkolab.chaosSymphony.orchestrator.canary.CanaryRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentProducer {
     private final ChaosProducer chaosProducer;
-    private final Environment environment;
+    private final CanaryRouter paymentCanaryRouter;
 
     public void sendPaymentRequested(String orderId, String paymentPayloadJson) {
         String msg = EnvelopeHelper.envelope(orderId, "PaymentRequested", paymentPayloadJson);
 
-        double canaryPercentage = environment.getProperty("canary.payment.percentage", Double.class, 0.0);
-        
-        String topic = ThreadLocalRandom.current().nextDouble() < canaryPercentage 
+        String topic = paymentCanaryRouter.route(orderId) == CanaryRouter.Variant.CANARY
                 ? "payment.requested.canary" 
                 : "payment.requested";
         
@@ -37,4 +33,4 @@ public class PaymentProducer {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.orchestrator.saga.SagaOrchestrator;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
@@ -20,11 +21,14 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PaymentResultListener {
 
+    private static final HotPathLog succeededLog = HotPathLog.forEvent(log, "successful payments handled");
+
     private final ObjectMapper om;
     private final IdempotencyStore idempotencyStore;
     private final InventoryRequestProducer inventoryProducer;
     private final SagaOrchestrator sagaOrchestrator;
     private final Counter ordersFailed;
+    private final ShippingRequestProducer shippingProducer;
 
     @KafkaListener(topics = "payment.result", groupId = "orchestrator-payment-result")
     @Transactional
@@ -53,8 +57,16 @@ public class PaymentResultListener {
             return;
         }
 
-        if ("CHARGED".equalsIgnoreCase(status)) {
-            log.info("Payment successful for orderId={}, requesting inventory reservation.", orderId);
+        boolean parallel = sagaOrchestrator.isParallel(orderId);
+        if ("CHARGED".equalsIgnoreCase(status) && parallel) {
+            succeededLog.info("Payment successful for orderId={}, joining with inventory reservation.", orderId);
+            if (sagaOrchestrator.onParallelPaymentCompleted(orderId, paymentId)) {
+                String payload = ShippingRequestProducer.requestPayload(om, orderId, sagaOrchestrator.getShippingAddress(orderId));
+                sagaOrchestrator.onShippingRequested(orderId);
+                shippingProducer.sendRequest(orderId, payload);
+            }
+        } else if ("CHARGED".equalsIgnoreCase(status)) {
+            succeededLog.info("Payment successful for orderId={}, requesting inventory reservation.", orderId);
 
             sagaOrchestrator.onPaymentCompleted(orderId, paymentId);
             sagaOrchestrator.onInventoryRequested(orderId);
@@ -65,7 +77,11 @@ public class PaymentResultListener {
             String failureReason = p.path("reason").asText("Payment declined");
             log.error("Payment failed for orderId={}, reason={}", orderId, failureReason);
 
-            sagaOrchestrator.onPaymentFailed(orderId, failureReason);
+            if (parallel) {
+                sagaOrchestrator.onParallelPaymentFailed(orderId, failureReason);
+            } else {
+                sagaOrchestrator.onPaymentFailed(orderId, failureReason);
+            }
             ordersFailed.increment();
         }
     }
@@ -1,6 +1,8 @@
 package hu.porkolab.chaosSymphony.orchestrator.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,17 +13,30 @@ import org.springframework.stereotype.Component;
 public class ShippingRequestProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(ShippingRequestProducer.class);
+	private static final HotPathLog sentLog = HotPathLog.forEvent(log, "shipping requests sent");
 	private final KafkaTemplate<String, String> kafka;
 
 	public ShippingRequestProducer(KafkaTemplate<String, String> kafka) {
 		this.kafka = kafka;
 	}
 
+	/** Shipping request body; orders created without an address get a placeholder. */
+	public static String requestPayload(ObjectMapper om, String orderId, String address) {
+		if (address == null || address.isBlank()) {
+			log.warn("No shipping address found for orderId={}, using default", orderId);
+			address = "Default Address - Please Update";
+		}
+		return om.createObjectNode()
+				.put("orderId", orderId)
+				.put("address", address)
+				.toString();
+	}
+
 	public void sendRequest(String orderId, String payloadJson) {
 		try {
 			String msg = EnvelopeHelper.envelope(orderId, "ShippingRequested", payloadJson);
 			RecordMetadata md = kafka.send("shipping.requested", orderId, msg).get().getRecordMetadata();
-			log.info("[ORCH] → shipping.requested key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
+			sentLog.info("[ORCH] → shipping.requested key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
 		} catch (Exception e) {
 			log.error("[ORCH] send shipping.requested failed key={} err={}", orderId, e.getMessage(), e);
 			throw new RuntimeException(e);
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.orchestrator.saga.SagaOrchestrator;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ShippingResultListener {
 
+	private static final HotPathLog receivedLog = HotPathLog.forEvent(log, "shipping results received");
+	private static final HotPathLog completedLog = HotPathLog.forEvent(log, "orders completed");
+
 	private final IdempotencyStore idempotencyStore;
 	private final SagaOrchestrator sagaOrchestrator;
 	private final ObjectMapper om;
@@ -53,11 +57,11 @@ public class ShippingResultListener {
 			return;
 		}
 
-		log.info("Shipping result received: orderId={}, status={}", orderId, status);
+		receivedLog.info("Shipping result received: orderId={}, status={}", orderId, status);
 
 		switch (status) {
 			case "DELIVERED", "SHIPPED" -> {
-				log.info("Order {} successfully completed with status: {}", orderId, status.toLowerCase());
+				completedLog.info("Order {} successfully completed with status: {}", orderId, status.toLowerCase());
 				sagaOrchestrator.onShippingCompleted(orderId, shippingId);
 				ordersSucceeded.increment();
 			}
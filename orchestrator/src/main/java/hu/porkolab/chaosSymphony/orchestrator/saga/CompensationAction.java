@@ -0,0 +1,37 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
+
+/**
+ * One undo step. An action whose resource was never acquired (no payment id, no reservation id)
+ * is a no-op, so a definition can list what a failed step may need to undo.
+ */
+public enum CompensationAction {
+
+    RELEASE_INVENTORY {
+        @Override
+        void apply(CompensationProducer producer, SagaInstance saga, String reason) {
+            if (saga.getInventoryReservationId() != null) {
+                producer.requestInventoryRelease(saga.getOrderId(), saga.getInventoryReservationId(), reason);
+            }
+        }
+    },
+
+    REFUND_PAYMENT {
+        @Override
+        void apply(CompensationProducer producer, SagaInstance saga, String reason) {
+            if (saga.getPaymentId() != null) {
+                producer.requestPaymentRefund(saga.getOrderId(), saga.getPaymentId(), reason);
+            }
+        }
+    },
+
+    CANCEL_ORDER {
+        @Override
+        void apply(CompensationProducer producer, SagaInstance saga, String reason) {
+            producer.requestOrderCancellation(saga.getOrderId(), reason);
+        }
+    };
+
+    abstract void apply(CompensationProducer producer, SagaInstance saga, String reason);
+}
@@ -0,0 +1,58 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.CANCEL_ORDER;
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.REFUND_PAYMENT;
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.RELEASE_INVENTORY;
+import static hu.porkolab.chaosSymphony.orchestrator.saga.SagaState.*;
+
+/**
+ * The order saga in its two shapes. A step's result may overtake the bookkeeping of the steps
+ * before it (e.g. an inventory result for a saga still in {@code STARTED}), so forward events are
+ * accepted from any earlier in-flight state; everything after completion or compensation is rejected.
+ */
+public final class OrderSagas {
+
+    public static final SagaDefinition SEQUENTIAL = SagaDefinition.named("order-sequential")
+            .on(SagaEvent.PAYMENT_COMPLETED).from(STARTED, PAYMENT_PENDING).to(PAYMENT_COMPLETED)
+            .on(SagaEvent.INVENTORY_REQUESTED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED)
+                    .to(INVENTORY_PENDING)
+            .on(SagaEvent.INVENTORY_RESERVED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED, INVENTORY_PENDING)
+                    .to(INVENTORY_RESERVED)
+            .on(SagaEvent.SHIPPING_REQUESTED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED, INVENTORY_PENDING,
+                    INVENTORY_RESERVED).to(SHIPPING_PENDING)
+            .on(SagaEvent.SHIPPING_COMPLETED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED, INVENTORY_PENDING,
+                    INVENTORY_RESERVED, SHIPPING_PENDING).to(COMPLETED)
+            .on(SagaEvent.PAYMENT_FAILED).from(STARTED, PAYMENT_PENDING).to(COMPENSATING)
+            .on(SagaEvent.INVENTORY_FAILED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED,
+                    INVENTORY_PENDING).to(COMPENSATING)
+            .on(SagaEvent.SHIPPING_FAILED).from(STARTED, PAYMENT_PENDING, PAYMENT_COMPLETED,
+                    INVENTORY_PENDING, INVENTORY_RESERVED, SHIPPING_PENDING).to(COMPENSATING)
+            .on(SagaEvent.COMPENSATION_COMPLETED).from(COMPENSATING).to(COMPENSATED)
+            .compensate(PAYMENT_FAILED, CANCEL_ORDER)
+            .compensate(INVENTORY_FAILED, REFUND_PAYMENT, CANCEL_ORDER)
+            .compensate(SHIPPING_FAILED, RELEASE_INVENTORY, REFUND_PAYMENT, CANCEL_ORDER)
+            .build();
+
+    /** Payment and inventory run together and join before shipping; either failure undoes the other. */
+    public static final SagaDefinition PARALLEL = SagaDefinition.named("order-parallel")
+            .on(SagaEvent.PAYMENT_COMPLETED).from(PAYMENT_AND_INVENTORY_PENDING).stay()
+            .on(SagaEvent.INVENTORY_RESERVED).from(PAYMENT_AND_INVENTORY_PENDING).stay()
+            .on(SagaEvent.BRANCHES_JOINED).from(PAYMENT_AND_INVENTORY_PENDING).to(INVENTORY_RESERVED)
+            .on(SagaEvent.SHIPPING_REQUESTED).from(INVENTORY_RESERVED).to(SHIPPING_PENDING)
+            .on(SagaEvent.SHIPPING_COMPLETED).from(INVENTORY_RESERVED, SHIPPING_PENDING).to(COMPLETED)
+            .on(SagaEvent.PAYMENT_FAILED).from(PAYMENT_AND_INVENTORY_PENDING).to(COMPENSATING)
+            .on(SagaEvent.INVENTORY_FAILED).from(PAYMENT_AND_INVENTORY_PENDING).to(COMPENSATING)
+            .on(SagaEvent.SHIPPING_FAILED).from(INVENTORY_RESERVED, SHIPPING_PENDING).to(COMPENSATING)
+            .on(SagaEvent.COMPENSATION_COMPLETED).from(COMPENSATING).to(COMPENSATED)
+            .compensate(PAYMENT_FAILED, RELEASE_INVENTORY, CANCEL_ORDER)
+            .compensate(INVENTORY_FAILED, REFUND_PAYMENT, CANCEL_ORDER)
+            .compensate(SHIPPING_FAILED, RELEASE_INVENTORY, REFUND_PAYMENT, CANCEL_ORDER)
+            .build();
+
+    private OrderSagas() {
+    }
+
+    public static SagaDefinition of(SagaInstance saga) {
+        return saga.isParallel() ? PARALLEL : SEQUENTIAL;
+    }
+}
@@ -0,0 +1,129 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A saga type compiled from its declaration into two tables: the next state for every declared
+ * {@code (state, event)} pair, and the compensation actions for every failed step. Lookups are
+ * plain {@link EnumMap} reads; a pair that was never declared is an illegal transition.
+ * Instances are immutable.
+ */
+public final class SagaDefinition {
+
+    private final String name;
+    private final EnumMap<SagaState, EnumMap<SagaEvent, SagaState>> transitions;
+    private final EnumMap<SagaState, List<CompensationAction>> compensations;
+
+    private SagaDefinition(Builder builder) {
+        this.name = builder.name;
+        this.transitions = new EnumMap<>(SagaState.class);
+        for (SagaState state : SagaState.values()) {
+            transitions.put(state, new EnumMap<>(builder.transitions.get(state)));
+        }
+        this.compensations = new EnumMap<>(SagaState.class);
+        builder.compensations.forEach((state, actions) -> compensations.put(state, List.copyOf(actions)));
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** The state {@code event} leads to from {@code from}, or {@code null} if it is not allowed there. */
+    public SagaState next(SagaState from, SagaEvent event) {
+        return transitions.get(from).get(event);
+    }
+
+    /** Undo steps for a saga that failed in {@code failedState}, in execution order. */
+    public List<CompensationAction> compensationsFor(SagaState failedState) {
+        return failedState == null ? List.of() : compensations.getOrDefault(failedState, List.of());
+    }
+
+    @Override
+    public String toString() {
+        return "SagaDefinition[" + name + "]";
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private final EnumMap<SagaState, EnumMap<SagaEvent, SagaState>> transitions = new EnumMap<>(SagaState.class);
+        private final EnumMap<SagaState, List<CompensationAction>> compensations = new EnumMap<>(SagaState.class);
+
+        private Builder(String name) {
+            this.name = name;
+            for (SagaState state : SagaState.values()) {
+                transitions.put(state, new EnumMap<>(SagaEvent.class));
+            }
+        }
+
+        public TransitionBuilder on(SagaEvent event) {
+            return new TransitionBuilder(this, event);
+        }
+
+        public Builder compensate(SagaState failedState, CompensationAction... actions) {
+            if (compensations.putIfAbsent(failedState, new ArrayList<>(Arrays.asList(actions))) != null) {
+                throw new IllegalStateException(name + ": compensation for " + failedState + " declared twice");
+            }
+            return this;
+        }
+
+        public SagaDefinition build() {
+            return new SagaDefinition(this);
+        }
+
+        private void add(SagaState from, SagaEvent event, SagaState to) {
+            Map<SagaEvent, SagaState> row = transitions.get(from);
+            SagaState existing = row.putIfAbsent(event, to);
+            if (existing != null && existing != to) {
+                throw new IllegalStateException(name + ": " + from + " --" + event + "--> "
+                        + existing + " conflicts with " + to);
+            }
+        }
+    }
+
+    public static final class TransitionBuilder {
+
+        private final Builder builder;
+        private final SagaEvent event;
+        private SagaState[] sources = new SagaState[0];
+
+        private TransitionBuilder(Builder builder, SagaEvent event) {
+            this.builder = builder;
+            this.event = event;
+        }
+
+        public TransitionBuilder from(SagaState... states) {
+            this.sources = states;
+            return this;
+        }
+
+        public Builder to(SagaState target) {
+            if (sources.length == 0) {
+                throw new IllegalStateException(builder.name + ": " + event + " has no source state");
+            }
+            for (SagaState source : sources) {
+                builder.add(source, event, target);
+            }
+            return builder;
+        }
+
+        /** The event is accepted but leaves the state unchanged. */
+        public Builder stay() {
+            if (sources.length == 0) {
+                throw new IllegalStateException(builder.name + ": " + event + " has no source state");
+            }
+            for (SagaState source : sources) {
+                builder.add(source, event, source);
+            }
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+
+public enum SagaEvent {
+    PAYMENT_COMPLETED,
+    PAYMENT_FAILED,
+    INVENTORY_REQUESTED,
+    INVENTORY_RESERVED,
+    INVENTORY_FAILED,
+    /** Parallel sagas: both payment and inventory succeeded. */
+    BRANCHES_JOINED,
+    SHIPPING_REQUESTED,
+    SHIPPING_COMPLETED,
+    SHIPPING_FAILED,
+    COMPENSATION_COMPLETED
+}
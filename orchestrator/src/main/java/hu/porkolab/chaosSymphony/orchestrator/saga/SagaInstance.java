@@ -47,6 +47,18 @@ public class SagaInstance {
     @Column(name = "failure_reason", length = 500)
     private String failureReason;
 
+    @Column(name = "parallel_steps")
+    @Builder.Default
+    private Boolean parallelSteps = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_step", length = 16)
+    private StepStatus paymentStep;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "inventory_step", length = 16)
+    private StepStatus inventoryStep;
+
     @Column(name = "retry_count")
     @Builder.Default
     private Integer retryCount = 0;
@@ -78,4 +90,20 @@ public class SagaInstance {
         this.failedState = failedState;
         this.failureReason = reason;
     }
+
+    /** Payment and inventory were dispatched together and join before shipping. */
+    public boolean isParallel() {
+        return Boolean.TRUE.equals(parallelSteps);
+    }
+
+    public boolean bothStepsSucceeded() {
+        return paymentStep == StepStatus.SUCCEEDED && inventoryStep == StepStatus.SUCCEEDED;
+    }
+
+    
+    public enum StepStatus {
+        PENDING,
+        SUCCEEDED,
+        FAILED
+    }
 }
@@ -1,13 +1,17 @@
 package hu.porkolab.chaosSymphony.orchestrator.saga;
 
+import hu.porkolab.chaosSymphony.common.jfr.SagaTransitionEvent;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
 import hu.porkolab.chaosSymphony.orchestrator.kafka.OrderStatusProducer;
+import hu.porkolab.chaosSymphony.orchestrator.saga.SagaInstance.StepStatus;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,10 @@ import java.util.List;
 @Service
 public class SagaOrchestrator {
 
+    private static final HotPathLog startedLog = HotPathLog.forEvent(log, "sagas started");
+    private static final HotPathLog transitionsLog = HotPathLog.forEvent(log, "saga transitions");
+    private static final HotPathLog completedLog = HotPathLog.forEvent(log, "sagas completed");
+
     private final SagaRepository sagaRepository;
     private final CompensationProducer compensationProducer;
     private final OrderStatusProducer orderStatusProducer;
@@ -29,6 +37,7 @@ public class SagaOrchestrator {
     private final Counter dltMessagesTotal;
     private final Counter ordersStartedCounter;
     private final Counter ordersFailedCounter;
+    private boolean parallelSteps;
 
     @Autowired
     public SagaOrchestrator(SagaRepository sagaRepository,
@@ -64,6 +73,15 @@ public class SagaOrchestrator {
              meterRegistry.counter("orders.failed"));
     }
 
+    /**
+     * New sagas dispatch payment and inventory together and join before shipping. Sagas already
+     * in flight keep the mode they were started with.
+     */
+    @Value("${saga.parallel-steps:false}")
+    public void setParallelSteps(boolean parallelSteps) {
+        this.parallelSteps = parallelSteps;
+    }
+
     @Transactional
     public SagaInstance startSaga(String orderId) {
         
@@ -73,7 +91,7 @@ public class SagaOrchestrator {
             return existing.get();
         }
         
-        log.info("Starting saga for orderId={}", orderId);
+        startedLog.info("Starting saga for orderId={}", orderId);
         ordersStartedCounter.increment();
         SagaInstance saga = SagaInstance.builder()
             .orderId(orderId)
@@ -99,25 +117,119 @@ public class SagaOrchestrator {
             return existing.get();
         }
         
-        log.info("Starting saga and requesting payment for orderId={}, address={}", orderId, shippingAddress);
+        startedLog.info("Starting saga and requesting payment for orderId={}, address={}, parallel={}",
+                orderId, shippingAddress, parallelSteps);
         ordersStartedCounter.increment();
         SagaInstance saga = SagaInstance.builder()
             .orderId(orderId)
-            .state(SagaState.PAYMENT_PENDING)
+            .state(parallelSteps ? SagaState.PAYMENT_AND_INVENTORY_PENDING : SagaState.PAYMENT_PENDING)
+            .parallelSteps(parallelSteps)
+            .paymentStep(parallelSteps ? StepStatus.PENDING : null)
+            .inventoryStep(parallelSteps ? StepStatus.PENDING : null)
             .shippingAddress(shippingAddress)
             .retryCount(0)
             .build();
         return sagaRepository.save(saga);
     }
 
+    @Transactional(readOnly = true)
+    public boolean isParallel(String orderId) {
+        return sagaRepository.findById(orderId).map(SagaInstance::isParallel).orElse(false);
+    }
+
+    /**
+     * Parallel mode: records the payment branch. Returns {@code true} when this completes the
+     * join and shipping should be requested. Like every parallel handler it works on the saga
+     * row locked, so two branches landing together cannot overwrite each other.
+     */
+    @Transactional
+    public boolean onParallelPaymentCompleted(String orderId, String paymentId) {
+        return sagaRepository.findByIdForUpdate(orderId).map(saga -> {
+            saga.setPaymentId(paymentId);
+            saga.setPaymentStep(StepStatus.SUCCEEDED);
+            return join(saga, SagaEvent.PAYMENT_COMPLETED, CompensationAction.REFUND_PAYMENT);
+        }).orElseGet(() -> {
+            log.warn("Saga not found for orderId={} on payment completion", orderId);
+            return false;
+        });
+    }
+
+    /**
+     * Parallel mode: records the inventory branch. Returns {@code true} when this completes the
+     * join and shipping should be requested.
+     */
+    @Transactional
+    public boolean onParallelInventoryReserved(String orderId, String reservationId) {
+        return sagaRepository.findByIdForUpdate(orderId).map(saga -> {
+            saga.setInventoryReservationId(reservationId);
+            saga.setInventoryStep(StepStatus.SUCCEEDED);
+            return join(saga, SagaEvent.INVENTORY_RESERVED, CompensationAction.RELEASE_INVENTORY);
+        }).orElseGet(() -> {
+            log.warn("Saga not found for orderId={} on inventory reservation", orderId);
+            return false;
+        });
+    }
+
+    @Transactional
+    public void onParallelPaymentFailed(String orderId, String reason) {
+        sagaRepository.findByIdForUpdate(orderId).ifPresentOrElse(
+            saga -> {
+                saga.setPaymentStep(StepStatus.FAILED);
+                failParallel(saga, SagaEvent.PAYMENT_FAILED, SagaState.PAYMENT_FAILED, reason);
+            },
+            () -> log.warn("Saga not found for orderId={} on payment failure", orderId)
+        );
+    }
+
+    @Transactional
+    public void onParallelInventoryFailed(String orderId, String reason) {
+        sagaRepository.findByIdForUpdate(orderId).ifPresentOrElse(
+            saga -> {
+                saga.setInventoryStep(StepStatus.FAILED);
+                failParallel(saga, SagaEvent.INVENTORY_FAILED, SagaState.INVENTORY_FAILED, reason);
+            },
+            () -> log.warn("Saga not found for orderId={} on inventory failure", orderId)
+        );
+    }
+
+    private boolean join(SagaInstance saga, SagaEvent branch, CompensationAction undo) {
+        String orderId = saga.getOrderId();
+        if (saga.getState().isCompensating() || saga.getState() == SagaState.COMPENSATED) {
+            // the other branch already failed; undo this one as soon as it lands
+            undo.apply(compensationProducer, saga, "Compensating late " + branch + " after " + saga.getFailedState());
+            sagaRepository.save(saga);
+            log.warn("Saga {} {} after failure, compensating it", orderId, branch);
+            return false;
+        }
+        if (!advance(saga, branch)) {
+            return false;
+        }
+        boolean joined = saga.bothStepsSucceeded() && advance(saga, SagaEvent.BRANCHES_JOINED);
+        sagaRepository.save(saga);
+        transitionsLog.info("Saga {} {}, joined={}", orderId, branch, joined);
+        return joined;
+    }
+
+    private void failParallel(SagaInstance saga, SagaEvent event, SagaState failedState, String reason) {
+        if (saga.getState().isCompensating() || saga.getState().isTerminal()) {
+            // both branches failed; the first failure already compensated and cancelled
+            sagaRepository.save(saga);
+            log.info("Saga {} {} after compensation already started", saga.getOrderId(), failedState);
+            return;
+        }
+        fail(saga, event, failedState, reason);
+    }
+
     @Transactional
     public void onPaymentCompleted(String orderId, String paymentId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
+                if (!advance(saga, SagaEvent.PAYMENT_COMPLETED)) {
+                    return;
+                }
                 saga.setPaymentId(paymentId);
-                saga.transitionTo(SagaState.PAYMENT_COMPLETED);
                 sagaRepository.save(saga);
-                log.info("Saga {} transitioned to PAYMENT_COMPLETED", orderId);
+                transitionsLog.info("Saga {} transitioned to {}", orderId, saga.getState());
             },
             () -> log.warn("Saga not found for orderId={} on payment completion", orderId)
         );
@@ -127,9 +239,11 @@ public class SagaOrchestrator {
     public void onInventoryRequested(String orderId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
-                saga.transitionTo(SagaState.INVENTORY_PENDING);
+                if (!advance(saga, SagaEvent.INVENTORY_REQUESTED)) {
+                    return;
+                }
                 sagaRepository.save(saga);
-                log.info("Saga {} transitioned to INVENTORY_PENDING", orderId);
+                transitionsLog.info("Saga {} transitioned to {}", orderId, saga.getState());
             },
             () -> log.warn("Saga not found for orderId={} on inventory request", orderId)
         );
@@ -138,18 +252,7 @@ public class SagaOrchestrator {
     @Transactional
     public void onPaymentFailed(String orderId, String reason) {
         sagaRepository.findById(orderId).ifPresentOrElse(
-            saga -> {
-                saga.fail(SagaState.PAYMENT_FAILED, reason);
-                saga.transitionTo(SagaState.COMPENSATING);
-                sagaRepository.save(saga);
-                ordersFailedCounter.increment();
-                log.warn("Saga {} PAYMENT_FAILED: {}", orderId, reason);
-                
-                
-                compensationProducer.requestOrderCancellation(orderId, reason);
-                compensationsTriggered.increment();
-                sendStatusUpdate(orderId, "PAYMENT_FAILED", reason);
-            },
+            saga -> fail(saga, SagaEvent.PAYMENT_FAILED, SagaState.PAYMENT_FAILED, reason),
             () -> log.warn("Saga not found for orderId={} on payment failure", orderId)
         );
     }
@@ -158,10 +261,12 @@ public class SagaOrchestrator {
     public void onInventoryReserved(String orderId, String reservationId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
+                if (!advance(saga, SagaEvent.INVENTORY_RESERVED)) {
+                    return;
+                }
                 saga.setInventoryReservationId(reservationId);
-                saga.transitionTo(SagaState.INVENTORY_RESERVED);
                 sagaRepository.save(saga);
-                log.info("Saga {} transitioned to INVENTORY_RESERVED", orderId);
+                transitionsLog.info("Saga {} transitioned to {}", orderId, saga.getState());
             },
             () -> log.warn("Saga not found for orderId={} on inventory reservation", orderId)
         );
@@ -171,9 +276,11 @@ public class SagaOrchestrator {
     public void onShippingRequested(String orderId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
-                saga.transitionTo(SagaState.SHIPPING_PENDING);
+                if (!advance(saga, SagaEvent.SHIPPING_REQUESTED)) {
+                    return;
+                }
                 sagaRepository.save(saga);
-                log.info("Saga {} transitioned to SHIPPING_PENDING", orderId);
+                transitionsLog.info("Saga {} transitioned to {}", orderId, saga.getState());
             },
             () -> log.warn("Saga not found for orderId={} on shipping request", orderId)
         );
@@ -190,20 +297,7 @@ public class SagaOrchestrator {
     @Transactional
     public void onInventoryFailed(String orderId, String reason) {
         sagaRepository.findById(orderId).ifPresentOrElse(
-            saga -> {
-                saga.fail(SagaState.INVENTORY_FAILED, reason);
-                saga.transitionTo(SagaState.COMPENSATING);
-                sagaRepository.save(saga);
-                ordersFailedCounter.increment();
-                
-                if (saga.getPaymentId() != null) {
-                    compensationProducer.requestPaymentRefund(orderId, saga.getPaymentId(), reason);
-                }
-                compensationProducer.requestOrderCancellation(orderId, reason);
-                compensationsTriggered.increment();
-                log.warn("Saga {} INVENTORY_FAILED, triggering compensation: {}", orderId, reason);
-                sendStatusUpdate(orderId, "INVENTORY_FAILED", reason);
-            },
+            saga -> fail(saga, SagaEvent.INVENTORY_FAILED, SagaState.INVENTORY_FAILED, reason),
             () -> log.warn("Saga not found for orderId={} on inventory failure", orderId)
         );
     }
@@ -212,17 +306,19 @@ public class SagaOrchestrator {
     public void onShippingCompleted(String orderId, String shippingId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
+                if (!advance(saga, SagaEvent.SHIPPING_COMPLETED)) {
+                    return;
+                }
                 saga.setShippingId(shippingId);
-                saga.transitionTo(SagaState.COMPLETED);
                 sagaRepository.save(saga);
                 
                 
                 if (saga.getCreatedAt() != null) {
                     Duration processingDuration = Duration.between(saga.getCreatedAt(), Instant.now());
                     processingTimeTimer.record(processingDuration);
-                    log.info("Saga {} COMPLETED in {}ms", orderId, processingDuration.toMillis());
+                    completedLog.info("Saga {} COMPLETED in {}ms", orderId, processingDuration.toMillis());
                 } else {
-                    log.info("Saga {} COMPLETED successfully", orderId);
+                    completedLog.info("Saga {} COMPLETED successfully", orderId);
                 }
                 sendStatusUpdate(orderId, "COMPLETED", null);
             },
@@ -233,24 +329,7 @@ public class SagaOrchestrator {
     @Transactional
     public void onShippingFailed(String orderId, String reason) {
         sagaRepository.findById(orderId).ifPresentOrElse(
-            saga -> {
-                saga.fail(SagaState.SHIPPING_FAILED, reason);
-                saga.transitionTo(SagaState.COMPENSATING);
-                sagaRepository.save(saga);
-                ordersFailedCounter.increment();
-
-                if (saga.getInventoryReservationId() != null) {
-                    compensationProducer.requestInventoryRelease(
-                            orderId, saga.getInventoryReservationId(), reason);
-                }
-                if (saga.getPaymentId() != null) {
-                    compensationProducer.requestPaymentRefund(orderId, saga.getPaymentId(), reason);
-                }
-                compensationProducer.requestOrderCancellation(orderId, reason);
-                compensationsTriggered.increment();
-                log.warn("Saga {} SHIPPING_FAILED, triggering compensation: {}", orderId, reason);
-                sendStatusUpdate(orderId, "SHIPPING_FAILED", reason);
-            },
+            saga -> fail(saga, SagaEvent.SHIPPING_FAILED, SagaState.SHIPPING_FAILED, reason),
             () -> log.warn("Saga not found for orderId={} on shipping failure", orderId)
         );
     }
@@ -264,7 +343,9 @@ public class SagaOrchestrator {
     public void markCompensated(String orderId) {
         sagaRepository.findById(orderId).ifPresentOrElse(
             saga -> {
-                saga.transitionTo(SagaState.COMPENSATED);
+                if (!advance(saga, SagaEvent.COMPENSATION_COMPLETED)) {
+                    return;
+                }
                 sagaRepository.save(saga);
                 compensationsCompleted.increment();
                 log.info("Saga {} fully COMPENSATED", orderId);
@@ -274,6 +355,46 @@ public class SagaOrchestrator {
         );
     }
 
+    /**
+     * Moves the saga along its definition's transition table. An event the table does not allow
+     * in the current state (a duplicate, or a result arriving after completion or compensation)
+     * is logged and dropped.
+     */
+    private boolean advance(SagaInstance saga, SagaEvent event) {
+        SagaDefinition definition = OrderSagas.of(saga);
+        SagaState next = definition.next(saga.getState(), event);
+        SagaTransitionEvent.emit(saga.getOrderId(), definition.name(), event, saga.getState(), next);
+        if (next == null) {
+            log.warn("Saga {} ({}) rejected {} in state {}",
+                    saga.getOrderId(), definition.name(), event, saga.getState());
+            return false;
+        }
+        saga.transitionTo(next);
+        return true;
+    }
+
+    private void fail(SagaInstance saga, SagaEvent event, SagaState failedState, String reason) {
+        if (!advance(saga, event)) {
+            return;
+        }
+        String orderId = saga.getOrderId();
+        saga.fail(failedState, reason);
+        sagaRepository.save(saga);
+        ordersFailedCounter.increment();
+
+        for (CompensationAction action : OrderSagas.of(saga).compensationsFor(failedState)) {
+            action.apply(compensationProducer, saga, reason);
+        }
+        compensationsTriggered.increment();
+        log.warn("Saga {} {}, triggering compensation: {}", orderId, failedState, reason);
+        sendStatusUpdate(orderId, failedState.name(), reason);
+    }
+
+    /**
+     * Re-sends the undo steps of sagas stuck in {@code COMPENSATING}, from the same table
+     * {@link #fail} used for the saga's failed state. Branches that land after the failure are
+     * undone on arrival by {@code join}, so the table already covers them.
+     */
     @Transactional
     public void retryStuckCompensations() {
         Instant threshold = Instant.now().minus(5, ChronoUnit.MINUTES);
@@ -287,19 +408,21 @@ public class SagaOrchestrator {
             sagaRepository.save(saga);
             
             String reason = "Retry compensation attempt #" + saga.getRetryCount();
-            
-            if (saga.getInventoryReservationId() != null) {
-                compensationProducer.requestInventoryRelease(
-                    saga.getOrderId(), saga.getInventoryReservationId(), reason);
-            }
-            if (saga.getPaymentId() != null) {
-                compensationProducer.requestPaymentRefund(
-                    saga.getOrderId(), saga.getPaymentId(), reason);
+            for (CompensationAction action : retryCompensations(saga)) {
+                action.apply(compensationProducer, saga, reason);
             }
-            compensationProducer.requestOrderCancellation(saga.getOrderId(), reason);
         }
     }
 
+    private static List<CompensationAction> retryCompensations(SagaInstance saga) {
+        if (saga.getFailedState() == null) {
+            // compensating without a recorded failure: the one undo that is safe in any state
+            log.warn("Saga {} is compensating without a failed state, retrying cancellation only", saga.getOrderId());
+            return List.of(CompensationAction.CANCEL_ORDER);
+        }
+        return OrderSagas.of(saga).compensationsFor(saga.getFailedState());
+    }
+
     
     @Transactional
     public void handleStuckPendingSagas() {
@@ -307,6 +430,7 @@ public class SagaOrchestrator {
         List<SagaState> pendingStates = List.of(
             SagaState.PAYMENT_PENDING,
             SagaState.INVENTORY_PENDING,
+            SagaState.PAYMENT_AND_INVENTORY_PENDING,
             SagaState.SHIPPING_PENDING
         );
         
@@ -324,6 +448,13 @@ public class SagaOrchestrator {
                 case PAYMENT_PENDING -> onPaymentFailed(orderId, reason);
                 case INVENTORY_PENDING -> onInventoryFailed(orderId, reason);
                 case SHIPPING_PENDING -> onShippingFailed(orderId, reason);
+                case PAYMENT_AND_INVENTORY_PENDING -> {
+                    if (saga.getPaymentStep() != StepStatus.SUCCEEDED) {
+                        onParallelPaymentFailed(orderId, reason);
+                    } else {
+                        onParallelInventoryFailed(orderId, reason);
+                    }
+                }
                 default -> log.warn("Unexpected pending state {} for saga {}", currentState, orderId);
             }
         }
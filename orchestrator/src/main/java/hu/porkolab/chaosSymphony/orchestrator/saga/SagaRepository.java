@@ -1,11 +1,14 @@
 package hu.porkolab.chaosSymphony.orchestrator.saga;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 
 @Repository
@@ -14,6 +17,15 @@ public interface SagaRepository extends JpaRepository<SagaInstance, String> {
     
     List<SagaInstance> findByState(SagaState state);
 
+    /**
+     * Loads the saga with a row lock held until the transaction ends. The parallel branches
+     * arrive on different listener threads; locking serialises their read-modify-write so
+     * the second one always sees the first and fires the join.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SagaInstance s WHERE s.orderId = :orderId")
+    Optional<SagaInstance> findByIdForUpdate(String orderId);
+
     
     @Query("SELECT s FROM SagaInstance s WHERE s.state IN :states AND s.updatedAt < :cutoff")
     List<SagaInstance> findStuckSagas(List<SagaState> states, Instant cutoff);
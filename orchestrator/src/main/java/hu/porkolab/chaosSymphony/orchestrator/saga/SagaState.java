@@ -18,6 +18,9 @@ public enum SagaState {
     INVENTORY_PENDING(SagaPhase.INVENTORY),
 
     
+    PAYMENT_AND_INVENTORY_PENDING(SagaPhase.PARALLEL),
+
+    
     INVENTORY_RESERVED(SagaPhase.INVENTORY),
 
     
@@ -65,34 +68,13 @@ public enum SagaState {
     }
 
     
-    public CompensationStrategy getCompensationStrategy() {
-        return switch (this) {
-            case PAYMENT_FAILED -> CompensationStrategy.CANCEL_ORDER_ONLY;
-            case INVENTORY_FAILED -> CompensationStrategy.REFUND_AND_CANCEL;
-            case SHIPPING_FAILED -> CompensationStrategy.FULL_COMPENSATION;
-            default -> CompensationStrategy.NONE;
-        };
-    }
-
-    
     public enum SagaPhase {
         INITIAL,
         PAYMENT,
         INVENTORY,
+        PARALLEL,
         SHIPPING,
         COMPENSATING,
         TERMINAL
     }
-
-    
-    public enum CompensationStrategy {
-        
-        NONE,
-        
-        CANCEL_ORDER_ONLY,
-        
-        REFUND_AND_CANCEL,
-        
-        FULL_COMPENSATION
-    }
 }
@@ -8,11 +8,19 @@ CREATE TABLE IF NOT EXISTS saga_instance (
     shipping_id VARCHAR(36),
     shipping_address VARCHAR(500),
     failure_reason VARCHAR(500),
+    parallel_steps BOOLEAN DEFAULT FALSE,
+    payment_step VARCHAR(16),
+    inventory_step VARCHAR(16),
     retry_count INTEGER DEFAULT 0,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL
 );
 
+-- Join state for saga.parallel-steps, added to tables created before it existed
+ALTER TABLE saga_instance ADD COLUMN IF NOT EXISTS parallel_steps BOOLEAN DEFAULT FALSE;
+ALTER TABLE saga_instance ADD COLUMN IF NOT EXISTS payment_step VARCHAR(16);
+ALTER TABLE saga_instance ADD COLUMN IF NOT EXISTS inventory_step VARCHAR(16);
+
 -- Indexes for common queries
 CREATE INDEX IF NOT EXISTS idx_saga_state ON saga_instance(state);
 CREATE INDEX IF NOT EXISTS idx_saga_updated ON saga_instance(updated_at);
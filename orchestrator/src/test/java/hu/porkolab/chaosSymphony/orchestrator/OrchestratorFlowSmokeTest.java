@@ -5,6 +5,7 @@ import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
 import hu.porkolab.chaosSymphony.common.idemp.NoopIdempotencyStore;
 import hu.porkolab.chaosSymphony.orchestrator.kafka.InventoryRequestProducer;
 import hu.porkolab.chaosSymphony.orchestrator.kafka.PaymentResultListener;
+import hu.porkolab.chaosSymphony.orchestrator.kafka.ShippingRequestProducer;
 import hu.porkolab.chaosSymphony.orchestrator.saga.SagaOrchestrator;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -31,7 +32,8 @@ class OrchestratorFlowSmokeTest {
             new NoopIdempotencyStore(),
             mockedProducer,
             mockedSaga,
-            failed
+            failed,
+            mock(ShippingRequestProducer.class)
         );
 
         String payload = """
@@ -60,7 +62,8 @@ class OrchestratorFlowSmokeTest {
             new NoopIdempotencyStore(),
             mockedProducer,
             mockedSaga,
-            failed
+            failed,
+            mock(ShippingRequestProducer.class)
         );
 
         String payload = """
@@ -89,7 +92,8 @@ class OrchestratorFlowSmokeTest {
             mockedStore,
             mockedProducer,
             mockedSaga,
-            failed
+            failed,
+            mock(ShippingRequestProducer.class)
         );
 
         String payload = """
@@ -119,7 +123,8 @@ class OrchestratorFlowSmokeTest {
             mockedStore,
             mockedProducer,
             mockedSaga,
-            failed
+            failed,
+            mock(ShippingRequestProducer.class)
         );
 
         String payload = """
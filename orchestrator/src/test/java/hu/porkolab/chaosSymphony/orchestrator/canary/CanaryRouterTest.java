@@ -0,0 +1,152 @@
+package hu.porkolab.chaosSymphony.orchestrator.canary;
+
+import hu.porkolab.chaosSymphony.orchestrator.canary.CanaryRouter.Variant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("CanaryRouter")
+class CanaryRouterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private CanaryRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new CanaryRouter("payment", 0.0, registry, clock);
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should route the same key to the same variant every time")
+        void route_shouldBeSticky() {
+            router.setWeight(0.5);
+            List<String> keys = randomKeys(200);
+
+            List<Variant> first = keys.stream().map(router::route).toList();
+            List<Variant> second = keys.stream().map(router::route).toList();
+
+            assertThat(second).isEqualTo(first);
+        }
+
+        @Test
+        @DisplayName("Raising the weight should only move keys onto the canary")
+        void route_shouldBeMonotonicInWeight() {
+            List<String> keys = randomKeys(2_000);
+            router.setWeight(0.05);
+            List<String> canaryAtFive = keys.stream().filter(k -> router.route(k) == Variant.CANARY).toList();
+
+            router.setWeight(0.25);
+
+            assertThat(canaryAtFive).allMatch(k -> router.route(k) == Variant.CANARY);
+        }
+
+        @Test
+        @DisplayName("Should send roughly the configured share to the canary and count both variants")
+        void route_shouldHonourWeightAndCount() {
+            router.setWeight(0.2);
+
+            long canary = randomKeys(20_000).stream().filter(k -> router.route(k) == Variant.CANARY).count();
+
+            assertThat(canary / 20_000.0).isCloseTo(0.2, within(0.02));
+            assertThat(registry.get("canary.routed").tag("variant", "canary").counter().count()).isEqualTo(canary);
+            assertThat(registry.get("canary.routed").tag("variant", "stable").counter().count())
+                    .isEqualTo(20_000 - canary);
+        }
+
+        @Test
+        @DisplayName("Should reject weights outside 0..1")
+        void setWeight_outOfRange_shouldFail() {
+            assertThatThrownBy(() -> router.setWeight(5)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> router.setWeight(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ramps")
+    class RampTests {
+
+        @Test
+        @DisplayName("Should apply one stage per hold period and stop at the last one")
+        void advanceRamp_shouldStepThroughStages() {
+            router.startRamp(List.of(0.01, 0.05, 0.25), Duration.ofMinutes(10));
+            assertThat(router.snapshot().weight()).isEqualTo(0.01);
+
+            clock.advance(Duration.ofMinutes(9));
+            router.advanceRamp();
+            assertThat(router.snapshot().weight()).isEqualTo(0.01);
+
+            clock.advance(Duration.ofMinutes(1));
+            router.advanceRamp();
+            assertThat(router.snapshot().weight()).isEqualTo(0.05);
+
+            clock.advance(Duration.ofHours(1));
+            router.advanceRamp();
+            router.advanceRamp();
+            assertThat(router.snapshot().weight()).isEqualTo(0.25);
+            assertThat(router.snapshot().ramping()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Setting the weight by hand should cancel the ramp")
+        void setWeight_shouldCancelRamp() {
+            router.startRamp(List.of(0.01, 0.05), Duration.ofMinutes(1));
+
+            router.setWeight(0.0);
+            clock.advance(Duration.ofMinutes(5));
+            router.advanceRamp();
+
+            assertThat(router.snapshot().weight()).isZero();
+        }
+    }
+
+    private static List<String> randomKeys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
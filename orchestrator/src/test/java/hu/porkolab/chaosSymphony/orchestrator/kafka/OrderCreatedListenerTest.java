@@ -24,7 +24,7 @@ class OrderCreatedListenerTest {
         producer = mock(PaymentProducer.class);
         sagaOrchestrator = mock(SagaOrchestrator.class);
         objectMapper = new ObjectMapper();
-        listener = new OrderCreatedListener(producer, sagaOrchestrator, objectMapper);
+        listener = new OrderCreatedListener(producer, mock(InventoryRequestProducer.class), sagaOrchestrator, objectMapper);
     }
 
     @Test
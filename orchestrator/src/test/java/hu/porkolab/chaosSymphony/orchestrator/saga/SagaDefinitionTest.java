@@ -0,0 +1,108 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SagaDefinition")
+class SagaDefinitionTest {
+
+    @Nested
+    @DisplayName("Compilation")
+    class CompilationTests {
+
+        @Test
+        @DisplayName("Should resolve declared transitions and reject undeclared ones")
+        void next_shouldFollowDeclaration() {
+            SagaDefinition definition = SagaDefinition.named("test")
+                    .on(SagaEvent.PAYMENT_COMPLETED).from(SagaState.STARTED, SagaState.PAYMENT_PENDING)
+                            .to(SagaState.PAYMENT_COMPLETED)
+                    .build();
+
+            assertThat(definition.next(SagaState.PAYMENT_PENDING, SagaEvent.PAYMENT_COMPLETED))
+                    .isEqualTo(SagaState.PAYMENT_COMPLETED);
+            assertThat(definition.next(SagaState.COMPLETED, SagaEvent.PAYMENT_COMPLETED)).isNull();
+            assertThat(definition.next(SagaState.STARTED, SagaEvent.SHIPPING_COMPLETED)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should refuse two targets for the same state and event")
+        void build_withConflictingTransition_shouldFail() {
+            SagaDefinition.Builder builder = SagaDefinition.named("broken")
+                    .on(SagaEvent.PAYMENT_COMPLETED).from(SagaState.STARTED).to(SagaState.PAYMENT_COMPLETED);
+
+            assertThatThrownBy(() -> builder.on(SagaEvent.PAYMENT_COMPLETED).from(SagaState.STARTED)
+                    .to(SagaState.COMPLETED))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("broken");
+        }
+
+        @Test
+        @DisplayName("Should return no compensation for undeclared or missing failed states")
+        void compensationsFor_undeclared_shouldBeEmpty() {
+            SagaDefinition definition = SagaDefinition.named("test").build();
+
+            assertThat(definition.compensationsFor(SagaState.PAYMENT_FAILED)).isEmpty();
+            assertThat(definition.compensationsFor(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Order sagas")
+    class OrderSagaTests {
+
+        @Test
+        @DisplayName("Sequential saga should reject results after a terminal state")
+        void sequential_shouldRejectLateEvents() {
+            for (SagaEvent event : SagaEvent.values()) {
+                assertThat(OrderSagas.SEQUENTIAL.next(SagaState.COMPLETED, event)).isNull();
+                assertThat(OrderSagas.SEQUENTIAL.next(SagaState.COMPENSATED, event)).isNull();
+            }
+            assertThat(OrderSagas.SEQUENTIAL.next(SagaState.COMPENSATING, SagaEvent.PAYMENT_COMPLETED)).isNull();
+        }
+
+        @Test
+        @DisplayName("Compensation plans should grow with the step that failed")
+        void compensations_shouldMatchFailedStep() {
+            assertThat(OrderSagas.SEQUENTIAL.compensationsFor(SagaState.PAYMENT_FAILED))
+                    .containsExactly(CompensationAction.CANCEL_ORDER);
+            assertThat(OrderSagas.SEQUENTIAL.compensationsFor(SagaState.INVENTORY_FAILED))
+                    .containsExactly(CompensationAction.REFUND_PAYMENT, CompensationAction.CANCEL_ORDER);
+            assertThat(OrderSagas.SEQUENTIAL.compensationsFor(SagaState.SHIPPING_FAILED))
+                    .containsExactly(CompensationAction.RELEASE_INVENTORY, CompensationAction.REFUND_PAYMENT,
+                            CompensationAction.CANCEL_ORDER);
+            assertThat(OrderSagas.PARALLEL.compensationsFor(SagaState.PAYMENT_FAILED))
+                    .containsExactly(CompensationAction.RELEASE_INVENTORY, CompensationAction.CANCEL_ORDER);
+        }
+
+        @Test
+        @DisplayName("Parallel saga should only leave the pending state through the join")
+        void parallel_shouldJoinBeforeShipping() {
+            assertThat(OrderSagas.PARALLEL.next(SagaState.PAYMENT_AND_INVENTORY_PENDING, SagaEvent.PAYMENT_COMPLETED))
+                    .isEqualTo(SagaState.PAYMENT_AND_INVENTORY_PENDING);
+            assertThat(OrderSagas.PARALLEL.next(SagaState.PAYMENT_AND_INVENTORY_PENDING, SagaEvent.SHIPPING_REQUESTED))
+                    .isNull();
+            assertThat(OrderSagas.PARALLEL.next(SagaState.PAYMENT_AND_INVENTORY_PENDING, SagaEvent.BRANCHES_JOINED))
+                    .isEqualTo(SagaState.INVENTORY_RESERVED);
+        }
+    }
+
+    @Test
+    @DisplayName("Actions for resources that were never acquired should be no-ops")
+    void actions_withoutResource_shouldSkip() {
+        CompensationProducer producer = mock(CompensationProducer.class);
+        SagaInstance saga = SagaInstance.builder().orderId("o1").state(SagaState.COMPENSATING).build();
+
+        for (CompensationAction action : CompensationAction.values()) {
+            action.apply(producer, saga, "why");
+        }
+
+        verify(producer).requestOrderCancellation("o1", "why");
+        verifyNoMoreInteractions(producer);
+    }
+}
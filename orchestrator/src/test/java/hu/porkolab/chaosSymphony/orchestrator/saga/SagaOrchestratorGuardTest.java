@@ -63,4 +63,24 @@ public class SagaOrchestratorGuardTest {
 
     }
 
+    @Test
+    void onPaymentCompleted_shouldBeRejectedAfterCompensation() {
+        SagaRepository repo = mock(SagaRepository.class);
+        CompensationProducer prod = mock(CompensationProducer.class);
+        var orchestrator = new SagaOrchestrator(repo, prod, new SimpleMeterRegistry());
+
+        SagaInstance saga = SagaInstance.builder()
+            .orderId("ORD")
+            .state(SagaState.COMPENSATED)
+            .build();
+
+        when(repo.findById("ORD")).thenReturn(Optional.of(saga));
+
+        orchestrator.onPaymentCompleted("ORD", "PAY-1");
+
+        assertThat(saga.getState()).isEqualTo(SagaState.COMPENSATED);
+        assertThat(saga.getPaymentId()).isNull();
+        verify(repo, never()).save(any());
+    }
+
 }
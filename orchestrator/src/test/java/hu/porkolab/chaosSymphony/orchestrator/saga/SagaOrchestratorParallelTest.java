@@ -0,0 +1,139 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
+import hu.porkolab.chaosSymphony.orchestrator.saga.SagaInstance.StepStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SagaOrchestrator parallel mode")
+class SagaOrchestratorParallelTest {
+
+    @Mock
+    private SagaRepository sagaRepository;
+
+    @Mock
+    private CompensationProducer compensationProducer;
+
+    private SagaOrchestrator orchestrator;
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = new SagaOrchestrator(sagaRepository, compensationProducer, new SimpleMeterRegistry());
+        orchestrator.setParallelSteps(true);
+        orderId = UUID.randomUUID().toString();
+    }
+
+    private SagaInstance startedSaga() {
+        when(sagaRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(sagaRepository.save(any(SagaInstance.class))).thenAnswer(i -> i.getArgument(0));
+        SagaInstance saga = orchestrator.startSagaAndRequestPayment(orderId, "1 Main St");
+        lenient().when(sagaRepository.findById(orderId)).thenReturn(Optional.of(saga));
+        lenient().when(sagaRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(saga));
+        return saga;
+    }
+
+    @Nested
+    @DisplayName("Join")
+    class JoinTests {
+
+        @Test
+        @DisplayName("Should start with both branches pending")
+        void start_shouldTrackBothBranches() {
+            SagaInstance saga = startedSaga();
+
+            assertThat(saga.isParallel()).isTrue();
+            assertThat(saga.getState()).isEqualTo(SagaState.PAYMENT_AND_INVENTORY_PENDING);
+            assertThat(saga.getPaymentStep()).isEqualTo(StepStatus.PENDING);
+            assertThat(saga.getInventoryStep()).isEqualTo(StepStatus.PENDING);
+        }
+
+        @Test
+        @DisplayName("Should report the join only when the second branch succeeds, in either order")
+        void join_shouldFireOnSecondSuccess() {
+            SagaInstance saga = startedSaga();
+
+            assertThat(orchestrator.onParallelInventoryReserved(orderId, "res-1")).isFalse();
+            assertThat(saga.getState()).isEqualTo(SagaState.PAYMENT_AND_INVENTORY_PENDING);
+
+            assertThat(orchestrator.onParallelPaymentCompleted(orderId, "pay-1")).isTrue();
+            assertThat(saga.getState()).isEqualTo(SagaState.INVENTORY_RESERVED);
+            assertThat(saga.getPaymentId()).isEqualTo("pay-1");
+            assertThat(saga.getInventoryReservationId()).isEqualTo("res-1");
+            verifyNoInteractions(compensationProducer);
+        }
+
+        @Test
+        @DisplayName("Sequential mode should be kept for sagas started without the flag")
+        void sequentialSaga_shouldNotBeParallel() {
+            orchestrator.setParallelSteps(false);
+            SagaInstance saga = startedSaga();
+
+            assertThat(saga.isParallel()).isFalse();
+            assertThat(saga.getState()).isEqualTo(SagaState.PAYMENT_PENDING);
+            assertThat(orchestrator.isParallel(orderId)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Compensation")
+    class CompensationTests {
+
+        @Test
+        @DisplayName("Payment failure should release an inventory reservation that already succeeded")
+        void paymentFailure_shouldReleaseReservedInventory() {
+            SagaInstance saga = startedSaga();
+            orchestrator.onParallelInventoryReserved(orderId, "res-1");
+
+            orchestrator.onParallelPaymentFailed(orderId, "card declined");
+
+            assertThat(saga.getState()).isEqualTo(SagaState.COMPENSATING);
+            assertThat(saga.getFailedState()).isEqualTo(SagaState.PAYMENT_FAILED);
+            verify(compensationProducer).requestInventoryRelease(orderId, "res-1", "card declined");
+            verify(compensationProducer).requestOrderCancellation(orderId, "card declined");
+            verify(compensationProducer, never()).requestPaymentRefund(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("A branch succeeding after the other failed should be compensated on arrival")
+        void lateSuccess_shouldBeCompensated() {
+            SagaInstance saga = startedSaga();
+            orchestrator.onParallelInventoryFailed(orderId, "out of stock");
+
+            assertThat(orchestrator.onParallelPaymentCompleted(orderId, "pay-1")).isFalse();
+
+            assertThat(saga.getState()).isEqualTo(SagaState.COMPENSATING);
+            verify(compensationProducer).requestPaymentRefund(eq(orderId), eq("pay-1"), anyString());
+            verify(compensationProducer, times(1)).requestOrderCancellation(orderId, "out of stock");
+        }
+
+        @Test
+        @DisplayName("A second failure should not cancel the order twice")
+        void bothFail_shouldCompensateOnce() {
+            SagaInstance saga = startedSaga();
+
+            orchestrator.onParallelPaymentFailed(orderId, "card declined");
+            orchestrator.onParallelInventoryFailed(orderId, "out of stock");
+
+            assertThat(saga.getFailedState()).isEqualTo(SagaState.PAYMENT_FAILED);
+            assertThat(saga.getInventoryStep()).isEqualTo(StepStatus.FAILED);
+            verify(compensationProducer, times(1)).requestOrderCancellation(anyString(), anyString());
+        }
+    }
+}
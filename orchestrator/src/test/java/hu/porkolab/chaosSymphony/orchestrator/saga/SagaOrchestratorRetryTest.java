@@ -4,12 +4,18 @@ import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.CANCEL_ORDER;
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.REFUND_PAYMENT;
+import static hu.porkolab.chaosSymphony.orchestrator.saga.CompensationAction.RELEASE_INVENTORY;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -31,46 +37,54 @@ class SagaOrchestratorRetryTest {
         );
     }
 
-    @Test
-    void retry_shouldTriggerShippingFailed() {
+    static Stream<Arguments> failedStates() {
+        return Stream.of(
+            Arguments.of(false, SagaState.PAYMENT_FAILED, Set.of(CANCEL_ORDER)),
+            Arguments.of(false, SagaState.INVENTORY_FAILED, Set.of(REFUND_PAYMENT, CANCEL_ORDER)),
+            Arguments.of(false, SagaState.SHIPPING_FAILED, Set.of(RELEASE_INVENTORY, REFUND_PAYMENT, CANCEL_ORDER)),
+            Arguments.of(true, SagaState.PAYMENT_FAILED, Set.of(RELEASE_INVENTORY, CANCEL_ORDER)),
+            Arguments.of(true, SagaState.INVENTORY_FAILED, Set.of(REFUND_PAYMENT, CANCEL_ORDER)),
+            Arguments.of(true, SagaState.SHIPPING_FAILED, Set.of(RELEASE_INVENTORY, REFUND_PAYMENT, CANCEL_ORDER))
+        );
+    }
+
+    @ParameterizedTest(name = "parallel={0}, {1}")
+    @MethodSource("failedStates")
+    void retry_shouldReplayCompensationsOfFailedState(boolean parallel, SagaState failedState,
+                                                      Set<CompensationAction> expected) {
+        // both resources are held, so only the table decides what is undone
         SagaInstance saga = SagaInstance.builder()
             .orderId("o1")
             .state(SagaState.COMPENSATING)
-            .failureReason("shipping timeout")
+            .failedState(failedState)
+            .parallelSteps(parallel)
+            .paymentId("p1")
+            .inventoryReservationId("r1")
             .retryCount(0)
             .build();
-
-        when(repo.findStuckSagas(anyList(), any())).thenReturn(List.of(saga));
-        when(repo.findById("o1")).thenReturn(Optional.of(saga));
-        when(repo.save(any())).thenAnswer(i -> i.getArgument(0));
+        stuck(saga);
 
         orchestrator.retryStuckCompensations();
 
-        
         assertThat(saga.getRetryCount()).isEqualTo(1);
-
-        
-        verify(producer).requestOrderCancellation(eq("o1"),
-            contains("Retry compensation attempt"));
-
-        
-        verify(producer, never()).requestInventoryRelease(any(), any(), any());
-        verify(producer, never()).requestPaymentRefund(any(), any(), any());
+        verify(producer, times(expected.contains(RELEASE_INVENTORY) ? 1 : 0))
+            .requestInventoryRelease(eq("o1"), eq("r1"), contains("Retry compensation attempt #1"));
+        verify(producer, times(expected.contains(REFUND_PAYMENT) ? 1 : 0))
+            .requestPaymentRefund(eq("o1"), eq("p1"), contains("Retry compensation attempt #1"));
+        verify(producer).requestOrderCancellation(eq("o1"), contains("Retry compensation attempt #1"));
+        verifyNoMoreInteractions(producer);
     }
 
     @Test
-    void retry_shouldTriggerInventoryFailed() {
+    void retry_shouldSkipUndoOfResourceNeverAcquired() {
         SagaInstance saga = SagaInstance.builder()
             .orderId("o2")
             .state(SagaState.COMPENSATING)
-            .retryCount(0)
-            .failureReason("inventory issue")
+            .failedState(SagaState.SHIPPING_FAILED)
             .paymentId("p1")
+            .retryCount(0)
             .build();
-
-        when(repo.findStuckSagas(any(), any())).thenReturn(List.of(saga));
-        when(repo.findById("o2")).thenReturn(Optional.of(saga));
-        when(repo.save(any())).thenAnswer(i -> i.getArgument(0));
+        stuck(saga);
 
         orchestrator.retryStuckCompensations();
 
@@ -80,20 +94,26 @@ class SagaOrchestratorRetryTest {
     }
 
     @Test
-    void retry_shouldTriggerPaymentFailed() {
+    void retry_withoutFailedState_shouldOnlyCancel() {
         SagaInstance saga = SagaInstance.builder()
             .orderId("o3")
             .state(SagaState.COMPENSATING)
-            .retryCount(0)
             .failureReason("random failure")
+            .paymentId("p1")
+            .inventoryReservationId("r1")
+            .retryCount(2)
             .build();
-
-        when(repo.findStuckSagas(any(), any())).thenReturn(List.of(saga));
-        when(repo.findById("o3")).thenReturn(Optional.of(saga));
-        when(repo.save(any())).thenAnswer(i -> i.getArgument(0));
+        stuck(saga);
 
         orchestrator.retryStuckCompensations();
 
-        verify(producer).requestOrderCancellation(eq("o3"), anyString()); 
+        assertThat(saga.getRetryCount()).isEqualTo(3);
+        verify(producer).requestOrderCancellation(eq("o3"), contains("Retry compensation attempt #3"));
+        verifyNoMoreInteractions(producer);
+    }
+
+    private void stuck(SagaInstance saga) {
+        when(repo.findStuckSagas(eq(List.of(SagaState.COMPENSATING)), any())).thenReturn(List.of(saga));
+        when(repo.save(any())).thenAnswer(i -> i.getArgument(0));
     }
 }
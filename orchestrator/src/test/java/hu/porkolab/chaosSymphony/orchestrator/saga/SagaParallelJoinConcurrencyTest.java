@@ -0,0 +1,98 @@
+package hu.porkolab.chaosSymphony.orchestrator.saga;
+
+import hu.porkolab.chaosSymphony.orchestrator.kafka.CompensationProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ContextConfiguration(classes = SagaParallelJoinConcurrencyTest.Config.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:joindb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "saga.parallel-steps=true"
+})
+@DisplayName("Parallel saga join under concurrent branch results")
+class SagaParallelJoinConcurrencyTest {
+
+    /**
+     * Only the saga entity and repository; the application's component scan would pull in Kafka and
+     * the rest. Deliberately not a {@code @Configuration}: it is loaded through
+     * {@code @ContextConfiguration} alone, so the contexts that scan this package never see it.
+     */
+    @EntityScan(basePackageClasses = SagaInstance.class)
+    @EnableJpaRepositories(basePackageClasses = SagaRepository.class)
+    static class Config {
+        @Bean
+        SagaOrchestrator sagaOrchestrator(SagaRepository sagaRepository) {
+            return new SagaOrchestrator(sagaRepository, mock(CompensationProducer.class), new SimpleMeterRegistry());
+        }
+    }
+
+    @Autowired
+    private SagaOrchestrator sagaOrchestrator;
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    @DisplayName("Both branches completing at once should join exactly once")
+    void bothBranchesAtOnce_shouldJoinExactlyOnce() throws Exception {
+        String orderId = UUID.randomUUID().toString();
+        assertThat(sagaOrchestrator.startSagaAndRequestPayment(orderId).isParallel()).isTrue();
+        var barrier = new CyclicBarrier(2);
+
+        List<Future<Boolean>> results = pool.invokeAll(List.<Callable<Boolean>>of(
+                () -> {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return sagaOrchestrator.onParallelPaymentCompleted(orderId, "pay-1");
+                },
+                () -> {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return sagaOrchestrator.onParallelInventoryReserved(orderId, "res-1");
+                }), 30, TimeUnit.SECONDS);
+
+        assertThat(List.of(results.get(0).get(), results.get(1).get())).containsExactlyInAnyOrder(true, false);
+        SagaInstance saga = sagaRepository.findById(orderId).orElseThrow();
+        assertThat(saga.getState()).isEqualTo(SagaState.INVENTORY_RESERVED);
+        assertThat(saga.getPaymentId()).isEqualTo("pay-1");
+        assertThat(saga.getInventoryReservationId()).isEqualTo("res-1");
+        assertThat(saga.getPaymentStep()).isEqualTo(SagaInstance.StepStatus.SUCCEEDED);
+        assertThat(saga.getInventoryStep()).isEqualTo(SagaInstance.StepStatus.SUCCEEDED);
+    }
+}
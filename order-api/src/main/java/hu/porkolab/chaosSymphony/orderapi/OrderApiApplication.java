@@ -6,13 +6,19 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.Clock;
 
 @SpringBootApplication
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "Order API", version = "1.0", description = "API for creating and managing orders."))
 @Import({
     hu.porkolab.chaosSymphony.common.kafka.KafkaErrorHandlingConfig.class,
+    hu.porkolab.chaosSymphony.common.kafka.HopTimingConfig.class,
+    hu.porkolab.chaosSymphony.common.jfr.FlightRecorderConfig.class,
+    hu.porkolab.chaosSymphony.common.logging.HotPathLoggingConfig.class,
+    hu.porkolab.chaosSymphony.common.breaker.ConsumerCircuitBreakerConfig.class,
     hu.porkolab.chaosSymphony.common.idemp.IdempotencyConfig.class
 })
 
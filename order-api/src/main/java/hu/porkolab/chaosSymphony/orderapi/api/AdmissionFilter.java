@@ -0,0 +1,83 @@
+package hu.porkolab.chaosSymphony.orderapi.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.Admission;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gates order creation through {@link AdmissionControl}, answering {@code 429} with
+ * {@code Retry-After} when it is over capacity. Only new orders are gated: approve/reject and
+ * every read pass straight through, so reviewers and pollers keep working while intake is shed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return priorityOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Admission admission = admissionControl.tryAdmit(priorityOf(request));
+        if (!admission.isAdmitted()) {
+            reject(response, admission);
+            return;
+        }
+        boolean success = false;
+        try {
+            chain.doFilter(request, response);
+            success = response.getStatus() < 500;
+        } finally {
+            admission.permit().release(success);
+        }
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/api/orders", "/api/orders/", "/api/orders/start" -> Priority.NEW_ORDER;
+            case "/api/orders/batch" -> Priority.BATCH;
+            default -> null;
+        };
+    }
+
+    private void reject(HttpServletResponse response, Admission admission) throws IOException {
+        long seconds = (admission.retryAfter().toMillis() + 999) / 1000;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "Order intake is over capacity, retry later");
+        body.put("reason", admission.rejectedBy().name());
+        body.put("retryAfterSeconds", seconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,137 @@
+package hu.porkolab.chaosSymphony.orderapi.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderBatchService;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderBatchService.BatchItemResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/batch")
+@Tag(name = "Orders", description = "Order management with fraud detection")
+public class OrderBatchController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final OrderBatchService batchService;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+
+    public OrderBatchController(
+            OrderBatchService batchService,
+            ObjectMapper objectMapper,
+            @Value("${orders.batch.max-size:5000}") int maxBatchSize) {
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create orders in bulk",
+            description = "Accepts a JSON array of orders. Fraud scoring runs in parallel and orders are "
+                    + "persisted with batched inserts. Returns one result per submitted item, in order.")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results")
+    @ApiResponse(responseCode = "400", description = "Empty batch")
+    @ApiResponse(responseCode = "413", description = "Batch exceeds orders.batch.max-size")
+    public ResponseEntity<?> createBatch(@RequestBody List<CreateOrder> commands) {
+        return ingest(commands);
+    }
+
+    @PostMapping(consumes = NDJSON)
+    @Operation(summary = "Create orders in bulk from JSON lines",
+            description = "Accepts one order JSON object per line. Lines that cannot be parsed are "
+                    + "reported as failed items without failing the rest of the batch.")
+    public ResponseEntity<?> createBatchFromLines(InputStream body) throws IOException {
+        List<CreateOrder> commands = new ArrayList<>();
+        List<String> parseErrors = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (commands.size() >= maxBatchSize) {
+                    return tooLarge();
+                }
+                try {
+                    commands.add(objectMapper.readValue(line, CreateOrder.class));
+                    parseErrors.add(null);
+                } catch (JsonProcessingException e) {
+                    commands.add(null);
+                    parseErrors.add("Unparseable line: " + e.getOriginalMessage());
+                }
+            }
+        }
+
+        ResponseEntity<?> response = ingest(commands);
+        if (response.getBody() instanceof BatchOrdersResponse batch && parseErrors.stream().anyMatch(e -> e != null)) {
+            List<BatchItemResult> items = new ArrayList<>(batch.items());
+            for (int i = 0; i < items.size(); i++) {
+                if (parseErrors.get(i) != null) {
+                    items.set(i, new BatchItemResult(i, null, null, null, parseErrors.get(i)));
+                }
+            }
+            return ResponseEntity.ok(BatchOrdersResponse.of(items));
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> ingest(List<CreateOrder> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Batch must contain at least one order"));
+        }
+        if (commands.size() > maxBatchSize) {
+            return tooLarge();
+        }
+        return ResponseEntity.ok(BatchOrdersResponse.of(batchService.createOrders(commands)));
+    }
+
+    private ResponseEntity<?> tooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", "Batch exceeds the maximum of " + maxBatchSize + " orders"));
+    }
+
+    public record BatchOrdersResponse(
+            int accepted,
+            int pendingReview,
+            int rejected,
+            int failed,
+            List<BatchItemResult> items
+    ) {
+        static BatchOrdersResponse of(List<BatchItemResult> items) {
+            int accepted = 0, pendingReview = 0, rejected = 0, failed = 0;
+            for (BatchItemResult item : items) {
+                if (item.isFailed()) {
+                    failed++;
+                } else if (item.status() == OrderStatus.NEW) {
+                    accepted++;
+                } else if (item.status() == OrderStatus.PENDING_REVIEW) {
+                    pendingReview++;
+                } else if (item.status() == OrderStatus.REJECTED) {
+                    rejected++;
+                }
+            }
+            return new BatchOrdersResponse(accepted, pendingReview, rejected, failed, items);
+        }
+    }
+}
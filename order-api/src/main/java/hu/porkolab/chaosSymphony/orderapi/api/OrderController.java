@@ -1,7 +1,14 @@
 package hu.porkolab.chaosSymphony.orderapi.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderQueryService;
 import hu.porkolab.chaosSymphony.orderapi.app.OrderService;
 import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection.OrderStatusView;
 import hu.porkolab.chaosSymphony.orderapi.domain.Order;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
@@ -10,17 +17,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -28,8 +37,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Tag(name = "Orders", description = "Order management with fraud detection")
 public class OrderController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final OrderService service;
     private final OrderRepository repository;
+    private final OrderQueryService queryService;
+    private final ObjectMapper objectMapper;
+    private final OrderStatusProjection statusProjection;
 
     @PostMapping
     @Operation(summary = "Create a new order",
@@ -56,28 +70,74 @@ public class OrderController {
     }
 
     @GetMapping
-    @Operation(summary = "List orders with pagination", 
-            description = "Returns orders sorted by creation date (newest first). Supports pagination.")
-    public PagedOrdersResponse getOrders(
-            @RequestParam(defaultValue = "0") int page,
+    @Operation(summary = "List orders with cursor pagination",
+            description = "Returns orders newest first. Pass the returned nextCursor to fetch the following page. "
+                    + "No total count is computed.")
+    @ApiResponse(responseCode = "200", description = "Page of orders")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<?> getOrders(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Order> orderPage = repository.findAll(pageable);
-        return new PagedOrdersResponse(
-                orderPage.getContent(),
-                orderPage.getNumber(),
-                orderPage.getSize(),
-                orderPage.getTotalElements(),
-                orderPage.getTotalPages(),
-                orderPage.hasNext(),
-                orderPage.hasPrevious()
-        );
+        try {
+            return ResponseEntity.ok(queryService.list(cursor, Math.max(1, Math.min(size, 100))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
-    
+
     @GetMapping("/all")
-    @Operation(summary = "List all orders (no pagination)", description = "Returns all orders sorted by creation date (newest first)")
-    public List<Order> getAllOrders() {
-        return repository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    @Operation(summary = "List all orders (no pagination)",
+            description = "Streams all orders as a JSON array, newest first. Prefer /export for large tables.")
+    public ResponseEntity<StreamingResponseBody> getAllOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    ObjectWriter writer = rowWriter();
+                    try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                        json.writeStartArray();
+                        queryService.streamAll(order -> write(writer, json, order));
+                        json.writeEndArray();
+                    }
+                });
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export all orders as JSON lines",
+            description = "Streams every order newest first, one JSON object per line, using a database cursor.")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> {
+                    ObjectWriter writer = rowWriter();
+                    try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                        json.setRootValueSeparator(null);
+                        queryService.streamAll(order -> {
+                            write(writer, json, order);
+                            writeNewline(json);
+                        });
+                    }
+                });
+    }
+
+    // the servlet stream buffers on its own, flushing per row would send one chunk per order
+    private ObjectWriter rowWriter() {
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator json, Order order) {
+        try {
+            writer.writeValue(json, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNewline(JsonGenerator json) {
+        try {
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @GetMapping("/pending-review")
@@ -88,10 +148,24 @@ public class OrderController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get order by ID")
-    public ResponseEntity<Order> getOrderById(@PathVariable UUID id) {
+    @Operation(summary = "Get order by ID",
+            description = "Supports If-None-Match; a matching ETag is answered from the status cache with 304.")
+    @ApiResponse(responseCode = "200", description = "Order found")
+    @ApiResponse(responseCode = "304", description = "Order unchanged since the given ETag")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    public ResponseEntity<Order> getOrderById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<OrderStatusView> view = statusProjection.get(id);
+        if (view.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = view.get().etag();
+        if (view.get().matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         return repository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(order -> ResponseEntity.ok().eTag(etag).body(order))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -179,14 +253,4 @@ public class OrderController {
 
     
     public record RejectOrderRequest(String reason) {}
-    
-    public record PagedOrdersResponse(
-            List<Order> content,
-            int page,
-            int size,
-            long totalElements,
-            int totalPages,
-            boolean hasNext,
-            boolean hasPrevious
-    ) {}
 }
@@ -0,0 +1,93 @@
+package hu.porkolab.chaosSymphony.orderapi.api;
+
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection.OrderStatusView;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/orders/{id}/status")
+@Tag(name = "Orders", description = "Order management with fraud detection")
+public class OrderStatusController {
+
+    private final OrderStatusProjection projection;
+    private final Duration maxWait;
+
+    public OrderStatusController(
+            OrderStatusProjection projection,
+            @Value("${orders.status-wait.max-timeout:60s}") Duration maxWait) {
+        this.projection = projection;
+        this.maxWait = maxWait;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get order status",
+            description = "Served from the status cache. Send the returned ETag as If-None-Match to get 304 while unchanged.")
+    @ApiResponse(responseCode = "200", description = "Current status")
+    @ApiResponse(responseCode = "304", description = "Status unchanged since the given ETag")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    public ResponseEntity<OrderStatusView> getStatus(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return projection.get(id)
+                .map(view -> respond(view, ifNoneMatch))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/wait")
+    @Operation(summary = "Wait for an order status change",
+            description = "Long-poll: returns as soon as the status no longer matches If-None-Match, "
+                    + "or 304 when the timeout elapses first. Without If-None-Match it returns immediately.")
+    @ApiResponse(responseCode = "200", description = "Status changed")
+    @ApiResponse(responseCode = "304", description = "No change within the timeout")
+    @ApiResponse(responseCode = "404", description = "Order not found")
+    public DeferredResult<ResponseEntity<OrderStatusView>> awaitStatus(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "30s") Duration timeout) {
+        Duration wait = timeout.compareTo(maxWait) > 0 ? maxWait : timeout;
+        DeferredResult<ResponseEntity<OrderStatusView>> result = new DeferredResult<>(wait.toMillis());
+
+        Optional<OrderStatusView> current = projection.get(id);
+        if (current.isEmpty()) {
+            result.setResult(ResponseEntity.notFound().build());
+            return result;
+        }
+        if (!current.get().matches(ifNoneMatch)) {
+            result.setResult(respond(current.get(), null));
+            return result;
+        }
+
+        CompletableFuture<OrderStatusView> change = projection.awaitChange(id, ifNoneMatch);
+        change.thenAccept(view -> result.setResult(respond(view, null)));
+        result.onTimeout(() -> result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(current.get().etag())
+                .build()));
+        result.onCompletion(() -> projection.cancel(id, change));
+        return result;
+    }
+
+    private static ResponseEntity<OrderStatusView> respond(OrderStatusView view, String ifNoneMatch) {
+        if (view.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(view.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(view.etag()).body(view);
+    }
+}
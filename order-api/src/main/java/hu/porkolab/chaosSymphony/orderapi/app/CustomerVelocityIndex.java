@@ -0,0 +1,293 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-customer order velocity tracking backed by fixed-size {@code long} ring buffers.
+ * <p>
+ * Each customer keeps only its last {@code capacity} order timestamps, so recording is an
+ * array store under the customer's own lock and counting is a lock-free binary search over the
+ * ring. Once the index reaches {@code maxCustomers}, every new customer pays for a bounded
+ * eviction step: a handful of entries is sampled from a rotating cursor, idle ones are dropped,
+ * and if none was idle the least recently seen one of the sample goes. Memory stays bounded
+ * regardless of customer cardinality without a full sweep on the request path.
+ */
+@Slf4j
+public class CustomerVelocityIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x56454C31; // "VEL1"
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final int capacity;
+    private final int maxCustomers;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Object evictionLock = new Object();
+    /** Rotating position of the incremental eviction, guarded by {@code evictionLock}. */
+    private Iterator<Map.Entry<String, Ring>> evictionCursor;
+
+    public CustomerVelocityIndex(int capacity, int maxCustomers) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (maxCustomers < 1) {
+            throw new IllegalArgumentException("maxCustomers must be positive: " + maxCustomers);
+        }
+        this.capacity = capacity;
+        this.maxCustomers = maxCustomers;
+    }
+
+    public void record(String customerId, long timestampMillis, long windowStartMillis) {
+        Ring ring = rings.get(customerId);
+        if (ring == null) {
+            if (rings.size() >= maxCustomers) {
+                evictSample(windowStartMillis);
+            }
+            ring = rings.computeIfAbsent(customerId, k -> new Ring(capacity));
+        }
+        ring.record(timestampMillis);
+    }
+
+    /**
+     * Number of recorded orders newer than {@code windowStartMillis}, saturating at the ring capacity.
+     */
+    public int countSince(String customerId, long windowStartMillis) {
+        Ring ring = rings.get(customerId);
+        return ring == null ? 0 : ring.countSince(windowStartMillis);
+    }
+
+    public boolean isTracked(String customerId) {
+        return rings.containsKey(customerId);
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Full sweep: drops customers without any order after {@code windowStartMillis}. If every
+     * tracked customer is still active and the index is over its bound, the least recently seen
+     * customers are dropped as well. Meant for maintenance, not for the request path.
+     *
+     * @return number of evicted customers
+     */
+    public int evictIdle(long windowStartMillis) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int before = rings.size();
+            rings.values().removeIf(ring -> ring.lastSeen() <= windowStartMillis);
+
+            int overflow = rings.size() - maxCustomers + Math.max(1, maxCustomers / 10);
+            if (rings.size() >= maxCustomers && overflow > 0) {
+                List<Map.Entry<String, Ring>> entries = new ArrayList<>(rings.entrySet());
+                entries.sort(Comparator.comparingLong(e -> e.getValue().lastSeen()));
+                for (int i = 0; i < overflow && i < entries.size(); i++) {
+                    rings.remove(entries.get(i).getKey(), entries.get(i).getValue());
+                }
+            }
+
+            int evicted = before - rings.size();
+            if (evicted > 0) {
+                log.debug("Evicted {} customers from velocity index, {} remaining", evicted, rings.size());
+            }
+            return evicted;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * One bounded eviction step: looks at the next {@link #EVICTION_SAMPLE} entries of the cursor,
+     * drops the idle ones and, if none was idle, the least recently seen entry of the sample.
+     * Steps are serialized rather than skipped under contention, so every new customer admitted
+     * at the bound makes room for itself.
+     */
+    private void evictSample(long windowStartMillis) {
+        synchronized (evictionLock) {
+            Map.Entry<String, Ring> oldest = null;
+            boolean evicted = false;
+            for (int i = 0; i < EVICTION_SAMPLE; i++) {
+                if (evictionCursor == null || !evictionCursor.hasNext()) {
+                    evictionCursor = rings.entrySet().iterator();
+                    if (!evictionCursor.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, Ring> entry = evictionCursor.next();
+                Ring ring = entry.getValue();
+                if (rings.get(entry.getKey()) != ring) {
+                    // the cursor is weakly consistent and may still hand out an entry removed since
+                    continue;
+                }
+                if (ring.lastSeen() <= windowStartMillis) {
+                    evicted |= rings.remove(entry.getKey(), ring);
+                } else if (oldest == null || ring.lastSeen() < oldest.getValue().lastSeen()) {
+                    oldest = entry;
+                }
+            }
+            if (!evicted && oldest != null) {
+                rings.remove(oldest.getKey(), oldest.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes all customers with activity after {@code windowStartMillis} to {@code path}.
+     * The file is written to a sibling temp file first and moved into place atomically.
+     */
+    public void writeSnapshot(Path path, long windowStartMillis) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            List<Map.Entry<String, Ring>> entries = new ArrayList<>(rings.entrySet());
+            long[] buffer = new long[capacity];
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Ring> entry : entries) {
+                int n = entry.getValue().copyNewerThan(windowStartMillis, buffer);
+                out.writeUTF(entry.getKey());
+                out.writeInt(n);
+                for (int i = 0; i < n; i++) {
+                    out.writeLong(buffer[i]);
+                }
+                if (n > 0) {
+                    written++;
+                }
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Velocity snapshot written to {} ({} active customers)", path, written);
+    }
+
+    /**
+     * Restores customers from a snapshot written by {@link #writeSnapshot}. Timestamps older
+     * than {@code windowStartMillis} are skipped.
+     *
+     * @return number of restored customers
+     */
+    public int readSnapshot(Path path, long windowStartMillis) throws IOException {
+        if (!Files.isReadable(path)) {
+            return 0;
+        }
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a velocity snapshot: " + path);
+            }
+            int customers = in.readInt();
+            for (int c = 0; c < customers; c++) {
+                String customerId = in.readUTF();
+                int n = in.readInt();
+                boolean full = rings.size() >= maxCustomers;
+                Ring ring = null;
+                for (int i = 0; i < n; i++) {
+                    long ts = in.readLong();
+                    if (full || ts <= windowStartMillis) {
+                        continue;
+                    }
+                    if (ring == null) {
+                        ring = rings.computeIfAbsent(customerId, k -> new Ring(capacity));
+                        restored++;
+                    }
+                    ring.record(ts);
+                }
+            }
+        }
+        log.info("Velocity snapshot restored from {} ({} customers)", path, restored);
+        return restored;
+    }
+
+    /**
+     * Ring of the most recent order timestamps of one customer. Writers serialize on the ring,
+     * clamp their timestamp to the newest one so the ring stays sorted even when concurrent
+     * requests arrive out of order, and publish the new head only after the slot is stored.
+     * The ring has one spare slot, so the next write never lands in a slot a lock-free reader
+     * of the current head is looking at.
+     */
+    static final class Ring {
+        private final AtomicLongArray slots;
+        private final AtomicLong sequence = new AtomicLong();
+        private final int capacity;
+        private volatile long lastSeen;
+
+        Ring(int capacity) {
+            this.capacity = capacity;
+            this.slots = new AtomicLongArray(capacity + 1);
+        }
+
+        synchronized void record(long timestampMillis) {
+            long ts = Math.max(timestampMillis, lastSeen);
+            long seq = sequence.get();
+            slots.set(slot(seq), ts);
+            lastSeen = ts;
+            sequence.set(seq + 1);
+        }
+
+        long lastSeen() {
+            return lastSeen;
+        }
+
+        int countSince(long windowStartMillis) {
+            return countSince(sequence.get(), windowStartMillis);
+        }
+
+        private int slot(long seq) {
+            return (int) (seq % slots.length());
+        }
+
+        private int countSince(long head, long windowStartMillis) {
+            int filled = (int) Math.min(head, capacity);
+            int lo = 0;
+            int hi = filled;
+            // newest-first position i lives at slot (head - 1 - i); timestamps are non-increasing in i
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (slots.get(slot(head - 1 - mid)) > windowStartMillis) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        int copyNewerThan(long windowStartMillis, long[] target) {
+            long head = sequence.get();
+            int n = countSince(head, windowStartMillis);
+            for (int i = 0; i < n; i++) {
+                target[i] = slots.get(slot(head - n + i));
+            }
+            return n;
+        }
+    }
+}
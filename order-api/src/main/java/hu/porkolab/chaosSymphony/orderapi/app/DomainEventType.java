@@ -0,0 +1,23 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Outbox metadata for one event class: the {@code type} header, the aggregate it belongs to and
+ * how to read the aggregate id. Ids are read through a plain accessor, never reflection.
+ */
+public record DomainEventType<E>(
+        Class<E> eventClass,
+        String type,
+        String aggregateType,
+        Function<? super E, UUID> aggregateId
+) {
+    public UUID aggregateIdOf(E event) {
+        UUID id = aggregateId.apply(event);
+        if (id == null) {
+            throw new IllegalArgumentException(type + " has no aggregate id");
+        }
+        return id;
+    }
+}
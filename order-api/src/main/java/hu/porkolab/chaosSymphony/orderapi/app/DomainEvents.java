@@ -0,0 +1,38 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.events.OrderCreated;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The events this service publishes through the outbox. Adding an event means adding a constant
+ * here; publishing an unregistered class fails fast instead of guessing its type by name.
+ */
+public final class DomainEvents {
+
+    public static final DomainEventType<OrderCreated> ORDER_CREATED =
+            order(OrderCreated.class, "OrderCreated", e -> UUID.fromString(e.getOrderId().toString()));
+
+    private static final Map<Class<?>, DomainEventType<?>> BY_CLASS = Stream.of(ORDER_CREATED)
+            .collect(Collectors.toUnmodifiableMap(DomainEventType::eventClass, Function.identity()));
+
+    private DomainEvents() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> DomainEventType<E> typeOf(E event) {
+        DomainEventType<?> type = BY_CLASS.get(event.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Unregistered domain event: " + event.getClass().getName());
+        }
+        return (DomainEventType<E>) type;
+    }
+
+    private static <E> DomainEventType<E> order(Class<E> eventClass, String type, Function<E, UUID> aggregateId) {
+        return new DomainEventType<>(eventClass, type, "Order", aggregateId);
+    }
+}
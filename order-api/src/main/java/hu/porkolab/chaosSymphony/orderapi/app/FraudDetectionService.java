@@ -1,37 +1,48 @@
 package hu.porkolab.chaosSymphony.orderapi.app;
 
+import hu.porkolab.chaosSymphony.orderapi.app.fraud.FraudRule;
+import hu.porkolab.chaosSymphony.orderapi.app.fraud.FraudRuleEngine;
+import hu.porkolab.chaosSymphony.orderapi.app.fraud.FraudRules;
+import hu.porkolab.chaosSymphony.orderapi.app.fraud.FraudScoringProperties;
+import hu.porkolab.chaosSymphony.orderapi.app.fraud.FraudSignals;
 import hu.porkolab.chaosSymphony.orderapi.domain.Order;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 
 @Slf4j
 @Service
 public class FraudDetectionService {
 
-    private static final BigDecimal HIGH_VALUE_THRESHOLD = new BigDecimal("1000.00");
-    private static final BigDecimal REVIEW_SCORE_THRESHOLD = new BigDecimal("70.00");
-    private static final BigDecimal REJECT_SCORE_THRESHOLD = new BigDecimal("90.00");
+    static final int DEFAULT_VELOCITY_CAPACITY = 64;
+    static final int DEFAULT_VELOCITY_MAX_CUSTOMERS = 100_000;
 
     private final Counter ordersScanned;
     private final Counter ordersFlagged;
     private final Counter ordersAutoRejected;
 
-    // TODO: Production deployment should use Redis or database for velocity tracking persistence.
-    // Current in-memory implementation loses data on service restart, which could allow
-    // fraudulent velocity patterns to go undetected after deployments or crashes.
-    // See: https://redis.io/docs/data-types/sorted-sets/ for time-windowed counting pattern.
-    private final Map<String, List<Long>> customerOrderTimestamps = new ConcurrentHashMap<>();
+    private final CustomerVelocityIndex velocityIndex;
+    private final FraudRuleEngine engine;
+    private final ThreadLocal<FraudSignals> signalsHolder = ThreadLocal.withInitial(FraudSignals::new);
+    private volatile HourOfDay currentHour = new HourOfDay(Long.MAX_VALUE, Long.MIN_VALUE, 0);
 
     @Value("${fraud.velocity.window.minutes:60}")
     private int velocityWindowMinutes;
@@ -39,150 +50,193 @@ public class FraudDetectionService {
     @Value("${fraud.velocity.max.orders:5}")
     private int velocityMaxOrders;
 
+    @Value("${fraud.velocity.snapshot-path:}")
+    private String velocitySnapshotPath;
+
     public FraudDetectionService(MeterRegistry meterRegistry) {
+        this(meterRegistry, FraudRuleEngine.withDefaultRules(new FraudScoringProperties()),
+                DEFAULT_VELOCITY_CAPACITY, DEFAULT_VELOCITY_MAX_CUSTOMERS);
+    }
+
+    @Autowired
+    public FraudDetectionService(
+            MeterRegistry meterRegistry,
+            FraudScoringProperties scoringProperties,
+            ObjectProvider<FraudRule> customRules,
+            @Value("${fraud.velocity.capacity:" + DEFAULT_VELOCITY_CAPACITY + "}") int velocityCapacity,
+            @Value("${fraud.velocity.max-customers:" + DEFAULT_VELOCITY_MAX_CUSTOMERS + "}") int velocityMaxCustomers) {
+        this(meterRegistry, compileEngine(scoringProperties, customRules), velocityCapacity, velocityMaxCustomers);
+    }
+
+    FraudDetectionService(
+            MeterRegistry meterRegistry,
+            FraudRuleEngine engine,
+            int velocityCapacity,
+            int velocityMaxCustomers) {
+        this.engine = engine;
         this.ordersScanned = meterRegistry.counter("fraud.orders.scanned");
         this.ordersFlagged = meterRegistry.counter("fraud.orders.flagged");
         this.ordersAutoRejected = meterRegistry.counter("fraud.orders.auto_rejected");
+        this.velocityIndex = new CustomerVelocityIndex(velocityCapacity, velocityMaxCustomers);
+        meterRegistry.gauge("fraud.velocity.customers", velocityIndex, CustomerVelocityIndex::size);
     }
 
-    
-    public FraudCheckResult evaluate(Order order) {
-        ordersScanned.increment();
-
-        BigDecimal score = BigDecimal.ZERO;
-        List<String> reasons = new CopyOnWriteArrayList<>();
+    private static FraudRuleEngine compileEngine(FraudScoringProperties props, ObjectProvider<FraudRule> customRules) {
+        List<FraudRule> rules = new ArrayList<>(FraudRules.defaults(props));
+        customRules.orderedStream().forEach(rules::add);
+        FraudRuleEngine engine = new FraudRuleEngine(rules, props);
+        log.info("Fraud rule pipeline compiled: {}", engine.ruleIds());
+        return engine;
+    }
 
-        
-        if (order.getTotal().compareTo(HIGH_VALUE_THRESHOLD) > 0) {
-            BigDecimal valueScore = calculateValueRiskScore(order.getTotal());
-            score = score.add(valueScore);
-            reasons.add(String.format("High value order: $%.2f (score +%.1f)",
-                    order.getTotal(), valueScore));
+    @PostConstruct
+    void restoreVelocitySnapshot() {
+        if (velocityMaxOrders > velocityIndex.capacity()) {
+            log.warn("fraud.velocity.max.orders={} exceeds fraud.velocity.capacity={}, velocity rule can never fire",
+                    velocityMaxOrders, velocityIndex.capacity());
         }
-
-        
-        if (order.getCustomerId() != null) {
-            BigDecimal velocityScore = calculateVelocityScore(order.getCustomerId());
-            if (velocityScore.compareTo(BigDecimal.ZERO) > 0) {
-                score = score.add(velocityScore);
-                reasons.add(String.format("Velocity anomaly detected (score +%.1f)", velocityScore));
-            }
-            recordOrderTimestamp(order.getCustomerId());
+        if (velocitySnapshotPath == null || velocitySnapshotPath.isBlank()) {
+            return;
         }
-
-        
-        if (isRoundNumber(order.getTotal())) {
-            score = score.add(new BigDecimal("15.00"));
-            reasons.add("Suspiciously round amount (score +15)");
+        try {
+            velocityIndex.readSnapshot(Path.of(velocitySnapshotPath), windowStart(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.warn("Could not restore velocity snapshot from {}: {}", velocitySnapshotPath, e.getMessage());
         }
+    }
 
-        
-        
-        int hour = java.time.LocalTime.now().getHour();
-        if (hour >= 1 && hour <= 5) {
-            score = score.add(new BigDecimal("10.00"));
-            reasons.add("Off-hours order (score +10)");
+    @PreDestroy
+    void writeVelocitySnapshot() {
+        if (velocitySnapshotPath == null || velocitySnapshotPath.isBlank()) {
+            return;
+        }
+        try {
+            velocityIndex.writeSnapshot(Path.of(velocitySnapshotPath), windowStart(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.warn("Could not write velocity snapshot to {}: {}", velocitySnapshotPath, e.getMessage());
         }
+    }
 
-        
-        score = score.min(new BigDecimal("100.00"));
+    public FraudCheckResult evaluate(Order order) {
+        ordersScanned.increment();
+
+        long now = System.currentTimeMillis();
+        int recentOrders = 0;
+        if (order.getCustomerId() != null) {
+            long windowStart = windowStart(now);
+            recentOrders = velocityIndex.countSince(order.getCustomerId(), windowStart);
+            velocityIndex.record(order.getCustomerId(), now, windowStart);
+        }
 
-        FraudAction action = determineAction(score, order.getTotal());
+        FraudSignals signals = signalsHolder.get().set(
+                toCents(order.getTotal()),
+                recentOrders,
+                velocityMaxOrders,
+                hourOfDay(now));
+        long verdict = engine.evaluate(signals);
+        FraudCheckResult result = new FraudCheckResult(engine, verdict, signals);
 
+        FraudAction action = result.action();
         if (action == FraudAction.REJECT) {
             ordersAutoRejected.increment();
             log.warn("Order {} auto-rejected. Score: {}, Reasons: {}",
-                    order.getId(), score, reasons);
+                    order.getId(), result.score(), result.reason());
         } else if (action == FraudAction.REVIEW) {
             ordersFlagged.increment();
             log.info("Order {} flagged for review. Score: {}, Reasons: {}",
-                    order.getId(), score, reasons);
-        } else {
-            log.debug("Order {} passed fraud check. Score: {}", order.getId(), score);
+                    order.getId(), result.score(), result.reason());
+        } else if (log.isDebugEnabled()) {
+            log.debug("Order {} passed fraud check. Score: {}", order.getId(), result.score());
         }
 
-        return new FraudCheckResult(
-                score.setScale(2, RoundingMode.HALF_UP),
-                action,
-                String.join("; ", reasons)
-        );
+        return result;
     }
 
-    private BigDecimal calculateValueRiskScore(BigDecimal total) {
-        
-        
-        if (total.compareTo(new BigDecimal("5000")) >= 0) {
-            return new BigDecimal("50.00");
-        } else if (total.compareTo(new BigDecimal("2000")) >= 0) {
-            return new BigDecimal("35.00");
-        } else {
-            return new BigDecimal("20.00");
-        }
+    private long windowStart(long now) {
+        return now - (velocityWindowMinutes * 60 * 1000L);
     }
 
-    private BigDecimal calculateVelocityScore(String customerId) {
-        List<Long> timestamps = customerOrderTimestamps.get(customerId);
-        if (timestamps == null || timestamps.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        long windowStart = System.currentTimeMillis() - (velocityWindowMinutes * 60 * 1000L);
-        long recentOrders = timestamps.stream()
-                .filter(ts -> ts > windowStart)
-                .count();
-
-        if (recentOrders >= velocityMaxOrders) {
-            return new BigDecimal("40.00"); 
-        } else if (recentOrders >= velocityMaxOrders / 2) {
-            return new BigDecimal("20.00"); 
+    /**
+     * Hour of day in the system zone. The bounds of the current hour are cached, so only the first
+     * order of each hour pays for the {@code java.time} conversion.
+     */
+    int hourOfDay(long nowMillis) {
+        HourOfDay hour = currentHour;
+        if (nowMillis < hour.from() || nowMillis >= hour.until()) {
+            ZonedDateTime now = Instant.ofEpochMilli(nowMillis).atZone(ZoneId.systemDefault());
+            ZonedDateTime start = now.truncatedTo(ChronoUnit.HOURS);
+            hour = new HourOfDay(start.toInstant().toEpochMilli(),
+                    start.plusHours(1).toInstant().toEpochMilli(), now.getHour());
+            currentHour = hour;
         }
-        return BigDecimal.ZERO;
+        return hour.hour();
     }
 
-    private void recordOrderTimestamp(String customerId) {
-        customerOrderTimestamps
-                .computeIfAbsent(customerId, k -> new CopyOnWriteArrayList<>())
-                .add(System.currentTimeMillis());
+    private record HourOfDay(long from, long until, int hour) {}
 
-        
-        long windowStart = System.currentTimeMillis() - (velocityWindowMinutes * 60 * 1000L);
-        customerOrderTimestamps.get(customerId).removeIf(ts -> ts < windowStart);
+    static long toCents(BigDecimal amount) {
+        // order totals carry at most two decimals; doubleValue() of such a compact value is exact
+        // enough for cents and, unlike movePointRight, does not allocate
+        if (amount.scale() >= 0 && amount.scale() <= 2 && amount.precision() <= 15) {
+            return Math.round(amount.doubleValue() * 100);
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
     }
 
-    private boolean isRoundNumber(BigDecimal amount) {
-        
-        BigDecimal remainder = amount.remainder(new BigDecimal("100"));
-        return remainder.compareTo(BigDecimal.ZERO) == 0
-                || remainder.compareTo(new BigDecimal("50")) == 0;
-    }
+    /**
+     * Outcome of a fraud evaluation. It copies the signals out of the per-thread holder, and the
+     * score and reason text are built on first access only, so approved orders that never read
+     * them allocate nothing but this object.
+     */
+    public static final class FraudCheckResult {
+        private final FraudRuleEngine engine;
+        private final long verdict;
+        private final long totalCents;
+        private final int recentOrders;
+        private final int velocityLimit;
+        private final int hourOfDay;
+        private BigDecimal score;
+        private String reason;
+
+        FraudCheckResult(FraudRuleEngine engine, long verdict, FraudSignals signals) {
+            this.engine = engine;
+            this.verdict = verdict;
+            this.totalCents = signals.totalCents();
+            this.recentOrders = signals.recentOrders();
+            this.velocityLimit = signals.velocityLimit();
+            this.hourOfDay = signals.hourOfDay();
+        }
 
-    private FraudAction determineAction(BigDecimal score, BigDecimal total) {
-        
-        if (score.compareTo(REJECT_SCORE_THRESHOLD) >= 0) {
-            return FraudAction.REJECT;
+        public BigDecimal score() {
+            if (score == null) {
+                score = BigDecimal.valueOf(FraudRuleEngine.scoreBps(verdict), 2);
+            }
+            return score;
         }
 
-        
-        if (score.compareTo(REVIEW_SCORE_THRESHOLD) >= 0
-                || total.compareTo(HIGH_VALUE_THRESHOLD) > 0) {
-            return FraudAction.REVIEW;
+        public FraudAction action() {
+            return FraudRuleEngine.action(verdict);
         }
 
-        return FraudAction.APPROVE;
-    }
+        public String reason() {
+            if (reason == null) {
+                reason = engine.describe(verdict,
+                        new FraudSignals().set(totalCents, recentOrders, velocityLimit, hourOfDay));
+            }
+            return reason;
+        }
 
-    
-    public record FraudCheckResult(
-            BigDecimal score,
-            FraudAction action,
-            String reason
-    ) {
         public boolean requiresReview() {
-            return action == FraudAction.REVIEW;
+            return action() == FraudAction.REVIEW;
         }
 
         public boolean isRejected() {
-            return action == FraudAction.REJECT;
+            return action() == FraudAction.REJECT;
+        }
+
+        @Override
+        public String toString() {
+            return "FraudCheckResult[score=" + score() + ", action=" + action() + ", reason=" + reason() + "]";
         }
     }
 
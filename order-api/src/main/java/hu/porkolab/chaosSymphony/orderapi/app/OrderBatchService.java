@@ -0,0 +1,234 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.events.OrderCreated;
+import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
+import hu.porkolab.chaosSymphony.orderapi.app.FraudDetectionService.FraudCheckResult;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion. Fraud scoring for a batch runs in parallel slices, then orders and
+ * their outbox rows are written with JDBC batch inserts, one transaction per chunk of
+ * {@code orders.batch.jdbc-batch-size} items. A failing chunk only fails its own items.
+ */
+@Slf4j
+@Service
+public class OrderBatchService {
+
+    static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(id, status, total, created_at, fraud_score, review_reason, customer_id, shipping_address) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final OrderService orderService;
+    private final FraudDetectionService fraudDetectionService;
+    private final OrderStatusProjection statusProjection;
+    private final OutboxEventProducer outboxEventProducer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final Clock clock;
+    private final int jdbcBatchSize;
+    private final int fraudParallelism;
+    private final ExecutorService fraudExecutor;
+
+    public OrderBatchService(
+            OrderService orderService,
+            FraudDetectionService fraudDetectionService,
+            OrderStatusProjection statusProjection,
+            OutboxEventProducer outboxEventProducer,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            Clock clock,
+            @Value("${orders.batch.jdbc-batch-size:500}") int jdbcBatchSize,
+            @Value("${orders.batch.fraud-parallelism:0}") int fraudParallelism) {
+        this.orderService = orderService;
+        this.fraudDetectionService = fraudDetectionService;
+        this.statusProjection = statusProjection;
+        this.outboxEventProducer = outboxEventProducer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.clock = clock;
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+        this.fraudParallelism = fraudParallelism > 0 ? fraudParallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fraudExecutor = Executors.newFixedThreadPool(this.fraudParallelism, r -> {
+            Thread t = new Thread(r, "fraud-batch-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fraudExecutor.shutdown();
+    }
+
+    public List<BatchItemResult> createOrders(List<CreateOrder> commands) {
+        int n = commands.size();
+        BatchItemResult[] results = new BatchItemResult[n];
+        Order[] orders = new Order[n];
+        Instant now = Instant.now(clock);
+
+        for (int i = 0; i < n; i++) {
+            CreateOrder cmd = commands.get(i);
+            String violation = validate(cmd);
+            if (violation != null) {
+                results[i] = BatchItemResult.failed(i, violation);
+            } else {
+                orders[i] = orderService.newOrder(cmd, now);
+            }
+        }
+
+        scoreInParallel(orders, results);
+
+        List<OrderCreated> events = new ArrayList<>();
+        for (int from = 0; from < n; from += jdbcBatchSize) {
+            int to = Math.min(n, from + jdbcBatchSize);
+            List<Order> chunk = new ArrayList<>(to - from);
+            events.clear();
+            for (int i = from; i < to; i++) {
+                if (orders[i] == null) {
+                    continue;
+                }
+                chunk.add(orders[i]);
+                if (results[i].status() == OrderStatus.NEW) {
+                    events.add(orderService.orderCreated(orders[i]));
+                }
+            }
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    insertOrders(chunk);
+                    outboxEventProducer.fireAll(events);
+                    chunk.forEach(statusProjection::update);
+                });
+            } catch (RuntimeException e) {
+                log.error("Batch chunk [{}, {}) failed to persist: {}", from, to, e.getMessage(), e);
+                for (int i = from; i < to; i++) {
+                    if (orders[i] != null) {
+                        results[i] = BatchItemResult.failed(i, "Persistence failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        List<BatchItemResult> list = List.of(results);
+        if (log.isInfoEnabled()) {
+            log.info("Batch of {} orders ingested: {}", n, list.stream()
+                    .collect(Collectors.groupingBy(r -> r.error() != null ? "FAILED" : r.status().name(),
+                            Collectors.counting())));
+        }
+        return list;
+    }
+
+    private String validate(CreateOrder cmd) {
+        if (cmd == null) {
+            return "Order must not be null";
+        }
+        Set<ConstraintViolation<CreateOrder>> violations = validator.validate(cmd);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void scoreInParallel(Order[] orders, BatchItemResult[] results) {
+        int n = orders.length;
+        int slices = Math.min(fraudParallelism, Math.max(1, n / 64));
+        int sliceSize = (n + slices - 1) / slices;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < n; from += sliceSize) {
+            int start = from;
+            int end = Math.min(n, from + sliceSize);
+            Runnable slice = () -> {
+                for (int i = start; i < end; i++) {
+                    if (orders[i] == null) {
+                        continue;
+                    }
+                    try {
+                        FraudCheckResult fraud = fraudDetectionService.evaluate(orders[i]);
+                        OrderCreationResult created = orderService.applyFraudResult(orders[i], fraud);
+                        results[i] = BatchItemResult.of(i, created);
+                    } catch (RuntimeException e) {
+                        orders[i] = null;
+                        results[i] = BatchItemResult.failed(i, "Fraud evaluation failed: " + e.getMessage());
+                    }
+                }
+            };
+            futures.add(slices == 1 ? runInline(slice) : CompletableFuture.runAsync(slice, fraudExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private static CompletableFuture<Void> runInline(Runnable slice) {
+        slice.run();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void insertOrders(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders, orders.size(), (ps, order) -> {
+            ps.setObject(1, order.getId());
+            ps.setString(2, order.getStatus().name());
+            ps.setBigDecimal(3, order.getTotal());
+            ps.setTimestamp(4, Timestamp.from(order.getCreatedAt()));
+            ps.setBigDecimal(5, order.getFraudScore());
+            ps.setString(6, order.getReviewReason());
+            ps.setString(7, order.getCustomerId());
+            if (order.getShippingAddress() != null) {
+                ps.setString(8, order.getShippingAddress());
+            } else {
+                ps.setNull(8, Types.VARCHAR);
+            }
+        });
+    }
+
+    public record BatchItemResult(
+            int index,
+            UUID orderId,
+            OrderStatus status,
+            String reviewReason,
+            String error
+    ) {
+        static BatchItemResult of(int index, OrderCreationResult created) {
+            return new BatchItemResult(index, created.orderId(), created.status(), created.reviewReason(), null);
+        }
+
+        static BatchItemResult failed(int index, String error) {
+            return new BatchItemResult(index, null, null, null, error);
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read side of the {@code orders} table that stays flat at any table size.
+ * <p>
+ * Listing pages by keyset on {@code (created_at, id)} newest first, so every page is an index
+ * range scan regardless of depth and no total is counted. Export walks the same index with a
+ * server side cursor, holding at most {@code orders.export.fetch-size} rows in memory.
+ */
+@Service
+public class OrderQueryService {
+
+    private static final String COLUMNS =
+            "id, status, total, created_at, fraud_score, review_reason, customer_id, shipping_address";
+    static final String FIRST_PAGE = "SELECT " + COLUMNS + " FROM orders "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String NEXT_PAGE = "SELECT " + COLUMNS + " FROM orders "
+            + "WHERE (created_at, id) < (?, ?) "
+            + "ORDER BY created_at DESC, id DESC LIMIT ?";
+    static final String EXPORT = "SELECT " + COLUMNS + " FROM orders ORDER BY created_at DESC, id DESC";
+
+    private static final RowMapper<Order> ORDER_ROW = (rs, rowNum) -> Order.builder()
+            .id(rs.getObject("id", UUID.class))
+            .status(OrderStatus.valueOf(rs.getString("status")))
+            .total(rs.getBigDecimal("total"))
+            .createdAt(rs.getTimestamp("created_at").toInstant())
+            .fraudScore(rs.getBigDecimal("fraud_score"))
+            .reviewReason(rs.getString("review_reason"))
+            .customerId(rs.getString("customer_id"))
+            .shippingAddress(rs.getString("shipping_address"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final int fetchSize;
+
+    public OrderQueryService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns up to {@code size} orders older than {@code cursor}, or the newest ones when
+     * {@code cursor} is {@code null}. One extra row is read to decide whether a next page exists.
+     */
+    public OrderSlice list(String cursor, int size) {
+        List<Order> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jdbcTemplate.query(FIRST_PAGE, ORDER_ROW, size + 1);
+        } else {
+            Keyset after = Keyset.decode(cursor);
+            rows = jdbcTemplate.query(NEXT_PAGE, ORDER_ROW,
+                    Timestamp.from(after.createdAt()), after.id(), size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Order> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? Keyset.of(content.get(size - 1)).encode() : null;
+        return new OrderSlice(List.copyOf(content), size, nextCursor, hasNext);
+    }
+
+    /**
+     * Streams every order newest first to {@code sink}. Runs in a read-only transaction so the
+     * PostgreSQL driver honours the fetch size instead of materialising the whole result.
+     */
+    public void streamAll(Consumer<Order> sink) {
+        RowCallbackHandler handler = rs -> sink.accept(ORDER_ROW.mapRow(rs, 0));
+        readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, handler));
+    }
+
+    public record OrderSlice(
+            List<Order> content,
+            int size,
+            String nextCursor,
+            boolean hasNext
+    ) {}
+
+    /**
+     * Position of the last row of a page. Encoded as opaque base64url so clients do not
+     * depend on its layout.
+     */
+    record Keyset(Instant createdAt, UUID id) {
+
+        static Keyset of(Order order) {
+            return new Keyset(order.getCreatedAt(), order.getId());
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Keyset decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                if (sep < 0) {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                return new Keyset(Instant.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+}
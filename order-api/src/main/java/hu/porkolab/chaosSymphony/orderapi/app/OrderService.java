@@ -1,7 +1,6 @@
 package hu.porkolab.chaosSymphony.orderapi.app;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.events.OrderCreated;
 import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
 import hu.porkolab.chaosSymphony.orderapi.domain.*;
@@ -11,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.Instant;
@@ -22,55 +20,62 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    private static final HotPathLog createdLog = HotPathLog.forEvent(log, "orders created");
+
     private final OrderRepository orderRepository;
-    private final OrderOutboxRepository outboxRepository;
+    private final OutboxEventProducer outboxEventProducer;
     private final FraudDetectionService fraudDetectionService;
     private final Clock clock;
-    private final ObjectMapper objectMapper;
+    private final OrderStatusProjection statusProjection;
 
     
     @Transactional
     public OrderCreationResult createOrder(CreateOrder cmd) {
-        UUID orderId = UUID.randomUUID();
-        BigDecimal total = cmd.total().setScale(2, RoundingMode.HALF_UP);
         Instant now = Instant.now(clock);
+        Order order = newOrder(cmd, now);
 
         
-        Order order = Order.builder()
-                .id(orderId)
+        FraudCheckResult fraudResult = fraudDetectionService.evaluate(order);
+        OrderCreationResult result = applyFraudResult(order, fraudResult);
+        orderRepository.save(order);
+        statusProjection.update(order);
+
+        if (result.isRejected()) {
+            log.warn("Order {} auto-rejected due to fraud risk: {}", order.getId(), result.reviewReason());
+        } else if (result.requiresReview()) {
+            log.info("Order {} flagged for manual review: {}", order.getId(), result.reviewReason());
+        } else {
+            outboxEventProducer.fire(orderCreated(order));
+            createdLog.info("Order {} created and published for processing", order.getId());
+        }
+        return result;
+    }
+
+    Order newOrder(CreateOrder cmd, Instant now) {
+        return Order.builder()
+                .id(UUID.randomUUID())
                 .status(OrderStatus.NEW)
-                .total(total)
+                .total(cmd.total().setScale(2, RoundingMode.HALF_UP))
                 .customerId(cmd.customerId())
                 .shippingAddress(cmd.shippingAddress())
                 .createdAt(now)
                 .build();
+    }
 
-        
-        FraudCheckResult fraudResult = fraudDetectionService.evaluate(order);
+    OrderCreationResult applyFraudResult(Order order, FraudCheckResult fraudResult) {
         order.setFraudScore(fraudResult.score());
 
         if (fraudResult.isRejected()) {
-            
             order.reject(fraudResult.reason());
-            orderRepository.save(order);
-            log.warn("Order {} auto-rejected due to fraud risk: {}", orderId, fraudResult.reason());
-            return new OrderCreationResult(orderId, OrderStatus.REJECTED, fraudResult.reason());
+            return new OrderCreationResult(order.getId(), OrderStatus.REJECTED, fraudResult.reason());
         }
 
         if (fraudResult.requiresReview()) {
-            
             order.flagForReview(fraudResult.score(), fraudResult.reason());
-            orderRepository.save(order);
-            log.info("Order {} flagged for manual review: {}", orderId, fraudResult.reason());
-            return new OrderCreationResult(orderId, OrderStatus.PENDING_REVIEW, fraudResult.reason());
+            return new OrderCreationResult(order.getId(), OrderStatus.PENDING_REVIEW, fraudResult.reason());
         }
 
-        
-        orderRepository.save(order);
-        publishOrderCreatedEvent(order, now);
-
-        log.info("Order {} created and published for processing", orderId);
-        return new OrderCreationResult(orderId, OrderStatus.NEW, null);
+        return new OrderCreationResult(order.getId(), OrderStatus.NEW, null);
     }
 
     
@@ -86,9 +91,10 @@ public class OrderService {
 
         order.approve();
         orderRepository.save(order);
+        statusProjection.update(order);
 
         
-        publishOrderCreatedEvent(order, Instant.now(clock));
+        outboxEventProducer.fire(orderCreated(order));
 
         log.info("Order {} approved and published for processing", orderId);
         return order;
@@ -102,6 +108,7 @@ public class OrderService {
 
         order.reject(reason);
         orderRepository.save(order);
+        statusProjection.update(order);
 
         log.info("Order {} rejected: {}", orderId, reason);
         return order;
@@ -112,30 +119,14 @@ public class OrderService {
         return orderRepository.findById(orderId);
     }
 
-    private void publishOrderCreatedEvent(Order order, Instant timestamp) {
-        OrderCreated eventPayload = OrderCreated.newBuilder()
+    OrderCreated orderCreated(Order order) {
+        return OrderCreated.newBuilder()
                 .setOrderId(order.getId().toString())
                 .setTotal(order.getTotal().doubleValue())
                 .setCurrency("USD")
                 .setCustomerId(order.getCustomerId())
                 .setShippingAddress(order.getShippingAddress())
                 .build();
-
-        try {
-            String payloadJson = objectMapper.writeValueAsString(eventPayload);
-            OrderOutbox outboxEvent = OrderOutbox.builder()
-                    .id(UUID.randomUUID())
-                    .aggregateId(order.getId())
-                    .aggregateType("Order")
-                    .type(eventPayload.getClass().getSimpleName())
-                    .payload(payloadJson)
-                    .occurredAt(timestamp)
-                    .build();
-            outboxRepository.save(outboxEvent);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize OrderCreated event for outbox", e);
-            throw new RuntimeException("Failed to serialize event payload", e);
-        }
     }
 
     
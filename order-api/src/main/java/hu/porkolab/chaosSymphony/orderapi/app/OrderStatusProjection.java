@@ -0,0 +1,225 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Read-side view of order status for pollers. Entries are loaded from the database once and
+ * then written through by every status change in this instance, so repeated polls are served
+ * from memory. Status updates applied by another replica's consumer reach this instance through
+ * {@link #applyRemote}; {@code expire-after-write} bounds how stale an entry can get for changes
+ * that are not broadcast, such as an approval or cancellation handled by another instance.
+ * <p>
+ * Long-poll waiters are woken by local updates at once. A status change consumed by another
+ * replica never passes through this instance, so the orders that have waiters are also re-read
+ * from the database, which all replicas share, every {@code status-wait.recheck-interval}: one
+ * batched query per interval, and only while someone is waiting.
+ */
+@Slf4j
+@Component
+public class OrderStatusProjection {
+
+    private final OrderRepository orderRepository;
+    private final Cache<UUID, OrderStatusView> views;
+    private final ConcurrentHashMap<UUID, Queue<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public OrderStatusProjection(
+            OrderRepository orderRepository,
+            MeterRegistry meterRegistry,
+            @Value("${orders.status-cache.max-size:100000}") long maxSize,
+            @Value("${orders.status-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.orderRepository = orderRepository;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "order.status.projection");
+    }
+
+    public Optional<OrderStatusView> get(UUID orderId) {
+        return Optional.ofNullable(views.get(orderId, id -> orderRepository.findById(id)
+                .map(OrderStatusView::of)
+                .orElse(null)));
+    }
+
+    /**
+     * Records the current state of {@code order}. Inside a transaction the write is deferred
+     * until commit so readers never see a status that was rolled back.
+     */
+    public void update(Order order) {
+        OrderStatusView view = OrderStatusView.of(order);
+        afterCommit(() -> publish(view));
+    }
+
+    /**
+     * Records a status change applied without loading the entity. A {@code null} reason means
+     * the stored one was kept, so it is taken from the cached view or, failing that, re-read.
+     */
+    public void update(UUID orderId, OrderStatus status, String reviewReason) {
+        afterCommit(() -> {
+            if (reviewReason != null) {
+                publish(new OrderStatusView(orderId, status, reviewReason));
+                return;
+            }
+            OrderStatusView cached = views.getIfPresent(orderId);
+            if (cached != null) {
+                publish(new OrderStatusView(orderId, status, cached.reviewReason()));
+            } else {
+                orderRepository.findById(orderId).map(OrderStatusView::of).ifPresent(this::publish);
+            }
+        });
+    }
+
+    /**
+     * Mirrors a status update that some replica's consumer is writing. Only views already cached
+     * here are refreshed, since an uncached order is read from the database on its next poll; a
+     * {@code null} reason keeps the cached one, as the writer keeps the stored one.
+     */
+    public void applyRemote(UUID orderId, OrderStatus status, String reviewReason) {
+        OrderStatusView cached = views.getIfPresent(orderId);
+        if (cached == null) {
+            return;
+        }
+        OrderStatusView current = new OrderStatusView(orderId, status,
+                reviewReason != null ? reviewReason : cached.reviewReason());
+        if (!current.equals(cached)) {
+            publish(current);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Completes once the order no longer matches {@code ifNoneMatch}; immediately if it already
+     * does not. Callers own the timeout and must {@link #cancel} the future when giving up.
+     */
+    public CompletableFuture<OrderStatusView> awaitChange(UUID orderId, String ifNoneMatch) {
+        CompletableFuture<OrderStatusView> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(ifNoneMatch, future);
+        waiters.compute(orderId, (id, queue) -> {
+            Queue<Waiter> waiting = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+            waiting.add(waiter);
+            return waiting;
+        });
+        // re-check after registering so an update racing with the registration is not lost
+        get(orderId).filter(view -> !view.matches(ifNoneMatch)).ifPresent(future::complete);
+        return future;
+    }
+
+    public void cancel(UUID orderId, CompletableFuture<OrderStatusView> future) {
+        waiters.computeIfPresent(orderId, (id, queue) -> {
+            queue.removeIf(waiter -> waiter.future() == future);
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    /**
+     * Re-reads the orders somebody is waiting on, so changes applied by another replica wake
+     * this instance's waiters too and refresh its cached views on the way.
+     */
+    @Scheduled(fixedDelayString = "${orders.status-wait.recheck-interval:1s}")
+    public void recheckWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        for (Order order : orderRepository.findAllById(List.copyOf(waiters.keySet()))) {
+            OrderStatusView current = OrderStatusView.of(order);
+            if (!current.equals(views.getIfPresent(order.getId()))) {
+                publish(current);
+            }
+        }
+    }
+
+    int waiting(UUID orderId) {
+        Queue<Waiter> queue = waiters.get(orderId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void publish(OrderStatusView view) {
+        views.put(view.orderId(), view);
+        waiters.computeIfPresent(view.orderId(), (id, queue) -> {
+            int notified = 0;
+            for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (!view.matches(waiter.ifNoneMatch())) {
+                    waiter.future().complete(view);
+                    it.remove();
+                    notified++;
+                }
+            }
+            if (notified > 0) {
+                log.debug("Notified {} waiters of order {} status {}", notified, id, view.status());
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    private record Waiter(String ifNoneMatch, CompletableFuture<OrderStatusView> future) {}
+
+    public record OrderStatusView(
+            UUID orderId,
+            OrderStatus status,
+            String reviewReason
+    ) {
+        static OrderStatusView of(Order order) {
+            return new OrderStatusView(order.getId(), order.getStatus(), order.getReviewReason());
+        }
+
+        /**
+         * Status and review reason are the only columns that change after creation, so this
+         * tag also validates the full order representation.
+         */
+        public String etag() {
+            return "\"" + status + "-" + Integer.toHexString(Objects.hashCode(reviewReason)) + "\"";
+        }
+
+        /** Weak comparison against an {@code If-None-Match} header value, as RFC 9110 requires for GET. */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            String etag = etag();
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
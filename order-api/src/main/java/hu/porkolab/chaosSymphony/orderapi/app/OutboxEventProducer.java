@@ -1,48 +1,84 @@
 package hu.porkolab.chaosSymphony.orderapi.app;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import hu.porkolab.chaosSymphony.common.EventEnvelope;
+import hu.porkolab.chaosSymphony.common.EnvelopeWriter;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutbox;
-import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Writes registered {@link DomainEvents} to {@code order_outbox}; the only way events of this
+ * service reach the outbox. The row payload is the shared envelope with the event nested in it,
+ * serialised in a single pass; the envelope's {@code eventId} is the outbox row id.
+ * <p>
+ * Both methods join the caller's transaction, or open one if there is none.
+ */
 @Component
-@RequiredArgsConstructor
 public class OutboxEventProducer {
 
-	private final OrderOutboxRepository outboxRepository;
-	private final ObjectMapper objectMapper;
+	static final String INSERT_OUTBOX = "INSERT INTO order_outbox "
+			+ "(id, aggregate_id, aggregate_type, type, payload, occurred_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
 
-	@SneakyThrows
+	private final JdbcTemplate jdbcTemplate;
+	private final EnvelopeWriter envelopeWriter;
+	private final Clock clock;
+
+	public OutboxEventProducer(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Clock clock) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.envelopeWriter = new EnvelopeWriter(objectMapper);
+		this.clock = clock;
+	}
+
+	@Transactional
 	public void fire(Object event) {
-		String payloadJson = objectMapper.writeValueAsString(event);
-		String eventType = event.getClass().getSimpleName();
-
-		
-		UUID orderId = (UUID) event.getClass().getMethod("getOrderId").invoke(event);
-
-		EventEnvelope envelope = new EventEnvelope(
-				UUID.randomUUID().toString(),
-				orderId.toString(),
-				eventType,
-				payloadJson);
-
-		String envelopeJson = objectMapper.writeValueAsString(envelope);
-
-		OrderOutbox outboxEvent = OrderOutbox.builder()
-				.id(UUID.randomUUID())
-				.aggregateId(orderId)
-				.aggregateType("Order")
-				.type(eventType)
-				.payload(envelopeJson)
-				.occurredAt(Instant.now())
+		insert(List.of(toOutbox(event, Instant.now(clock))));
+	}
+
+	/** Publishes all events or none: the rows are written in one JDBC batch. */
+	@Transactional
+	public void fireAll(List<?> events) {
+		Instant now = Instant.now(clock);
+		List<OrderOutbox> rows = new ArrayList<>(events.size());
+		for (Object event : events) {
+			rows.add(toOutbox(event, now));
+		}
+		insert(rows);
+	}
+
+	<E> OrderOutbox toOutbox(E event, Instant occurredAt) {
+		DomainEventType<E> type = DomainEvents.typeOf(event);
+		UUID aggregateId = type.aggregateIdOf(event);
+		UUID eventId = UUID.randomUUID();
+		return OrderOutbox.builder()
+				.id(eventId)
+				.aggregateId(aggregateId)
+				.aggregateType(type.aggregateType())
+				.type(type.type())
+				.payload(envelopeWriter.write(aggregateId.toString(), eventId.toString(), type.type(), event))
+				.occurredAt(occurredAt)
 				.build();
+	}
 
-		outboxRepository.save(outboxEvent);
+	private void insert(List<OrderOutbox> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(INSERT_OUTBOX, rows, rows.size(), (ps, row) -> {
+			ps.setObject(1, row.getId());
+			ps.setObject(2, row.getAggregateId());
+			ps.setString(3, row.getAggregateType());
+			ps.setString(4, row.getType());
+			ps.setString(5, row.getPayload());
+			ps.setTimestamp(6, Timestamp.from(row.getOccurredAt()));
+		});
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code order_outbox} from growing without bound.
+ * <p>
+ * When the table is range-partitioned on {@code occurred_at} (see {@code init-postgres.sql}),
+ * daily partitions are created {@code partitions-ahead} days in advance and dropped as a whole
+ * once they fall out of {@code retention}. Otherwise, and for rows that landed in the default
+ * partition, expired rows are deleted in chunks of {@code delete-batch-size} so no single
+ * statement holds locks for long. Row count and table size are exported as gauges.
+ * <p>
+ * With the in-process relay, rows it has not published yet are never removed, however old:
+ * deletes require {@code published_at}, and a partition that still holds unpublished rows is
+ * kept (with a warning) until the relay catches up. Debezium captures rows from the WAL at
+ * commit and its replication slot holds the WAL while it is down, so there age alone counts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxHousekeeping {
+
+    static final String PARTITION_PREFIX = "order_outbox_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{8})");
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // the outer range lets the planner skip partitions that are newer than the cutoff
+    static final String DELETE_EXPIRED = "DELETE FROM order_outbox WHERE occurred_at < ? AND (id, occurred_at) IN "
+            + "(SELECT id, occurred_at FROM order_outbox WHERE occurred_at < ? ORDER BY occurred_at LIMIT ?)";
+    static final String DELETE_EXPIRED_PUBLISHED = "DELETE FROM order_outbox WHERE occurred_at < ? AND (id, occurred_at) IN "
+            + "(SELECT id, occurred_at FROM order_outbox WHERE occurred_at < ? AND published_at IS NOT NULL "
+            + "ORDER BY occurred_at LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final Duration retention;
+    private final int deleteBatchSize;
+    private final int maxDeleteBatches;
+    private final int partitionsAhead;
+    private final boolean relayPublishes;
+
+    private final AtomicLong rowCount = new AtomicLong();
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private boolean postgres;
+    private boolean partitioned;
+
+    public OutboxHousekeeping(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${outbox.retention.period:7d}") Duration retention,
+            @Value("${outbox.retention.delete-batch-size:5000}") int deleteBatchSize,
+            @Value("${outbox.retention.max-delete-batches:100}") int maxDeleteBatches,
+            @Value("${outbox.retention.partitions-ahead:3}") int partitionsAhead,
+            @Value("${outbox.relay.enabled:false}") boolean relayPublishes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.retention = retention;
+        this.deleteBatchSize = deleteBatchSize;
+        this.maxDeleteBatches = maxDeleteBatches;
+        this.partitionsAhead = partitionsAhead;
+        this.relayPublishes = relayPublishes;
+
+        Gauge.builder("outbox.table.rows", rowCount, AtomicLong::get)
+                .description("Rows in order_outbox (planner estimate on PostgreSQL)")
+                .register(meterRegistry);
+        Gauge.builder("outbox.table.size", sizeBytes, AtomicLong::get)
+                .description("On-disk size of order_outbox including indexes and partitions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void detectLayout() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+            if (postgres) {
+                String kind = jdbcTemplate.queryForObject(
+                        "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass('order_outbox')", String.class);
+                partitioned = "p".equals(kind);
+            }
+            if (partitioned) {
+                // before the first insert of the day can fall into the default partition
+                createUpcomingPartitions();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not inspect order_outbox, using batched deletes: {}", e.getMessage());
+        }
+        log.info("Outbox housekeeping: retention={}, mode={}", retention, partitioned ? "partitions" : "batched delete");
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.retention.interval:5m}", initialDelayString = "${outbox.retention.initial-delay:1m}")
+    public void enforceRetention() {
+        Instant cutoff = Instant.now(clock).minus(retention);
+        if (partitioned) {
+            createUpcomingPartitions();
+            dropExpiredPartitions(cutoff);
+        }
+        int deleted = deleteExpired(cutoff);
+        if (deleted > 0) {
+            log.info("Deleted {} outbox rows older than {}", deleted, cutoff);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.retention.stats-interval:30s}")
+    public void refreshStats() {
+        try {
+            if (postgres) {
+                rowCount.set(jdbcTemplate.queryForObject("""
+                        SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint FROM pg_class c
+                        WHERE c.oid = to_regclass('order_outbox')
+                           OR c.oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = to_regclass('order_outbox'))
+                        """, Long.class));
+                sizeBytes.set(jdbcTemplate.queryForObject("""
+                        SELECT COALESCE(SUM(pg_total_relation_size(c.oid)), 0) FROM pg_class c
+                        WHERE c.oid = to_regclass('order_outbox')
+                           OR c.oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = to_regclass('order_outbox'))
+                        """, Long.class));
+            } else {
+                rowCount.set(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_outbox", Long.class));
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not refresh outbox stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes rows older than {@code cutoff} in bounded chunks, each in its own implicit
+     * transaction. Stops after {@code max-delete-batches} so one run cannot monopolise the table.
+     * Rows the relay has yet to publish are left alone.
+     */
+    int deleteExpired(Instant cutoff) {
+        Timestamp before = Timestamp.from(cutoff);
+        String delete = relayPublishes ? DELETE_EXPIRED_PUBLISHED : DELETE_EXPIRED;
+        int total = 0;
+        for (int batch = 0; batch < maxDeleteBatches; batch++) {
+            int deleted = jdbcTemplate.update(delete, before, before, deleteBatchSize);
+            total += deleted;
+            if (deleted < deleteBatchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= partitionsAhead; i++) {
+            LocalDate day = today.plusDays(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                        + " PARTITION OF order_outbox FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('"
+                        + day.plusDays(1) + " 00:00:00+00')");
+            } catch (DataAccessException e) {
+                // rows for that day already sit in the default partition; they expire via deleteExpired
+                log.warn("Could not create outbox partition for {}: {}", day, e.getMessage());
+            }
+        }
+    }
+
+    void dropExpiredPartitions(Instant cutoff) {
+        LocalDate cutoffDay = cutoff.atZone(ZoneOffset.UTC).toLocalDate();
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('order_outbox')
+                """, String.class);
+        for (String name : partitions) {
+            Matcher m = PARTITION_NAME.matcher(name);
+            if (!m.matches()) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(m.group(1), PARTITION_DAY);
+            // the partition covers [day, day + 1), drop only when all of it is expired
+            if (!day.plusDays(1).isAfter(cutoffDay)) {
+                long unpublished = unpublishedRows(name);
+                if (unpublished > 0) {
+                    log.warn("Keeping expired outbox partition {}: {} rows not published yet", name, unpublished);
+                    continue;
+                }
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                log.info("Dropped expired outbox partition {}", name);
+            }
+        }
+    }
+
+    long unpublishedRows(String table) {
+        if (!relayPublishes) {
+            return 0;
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE published_at IS NULL", Long.class);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_DAY);
+    }
+}
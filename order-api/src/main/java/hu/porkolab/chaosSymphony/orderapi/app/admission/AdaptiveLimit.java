@@ -0,0 +1,129 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit. A request that finishes within {@code latencyTarget} while the limit
+ * was at least half used grows the limit by {@code 1/limit}, i.e. by one per window of
+ * successful requests; a slow or failed request multiplies it by {@code backoffRatio}. Only
+ * requests that started after the previous cut can cut again, so one burst of slow responses
+ * shrinks the limit once instead of once per request. Unsampled permits hold a slot but never move
+ * the limit, for work whose latency is not comparable to the target.
+ */
+public final class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int currentLimit;
+
+    // guarded by this
+    private double limit;
+    private long lastDecreaseAt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyTarget, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget, double backoffRatio,
+                  LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limit bounds must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+        this.lastDecreaseAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the limit are in use, or returns {@code null}.
+     * A share below one keeps the rest of the limit for higher-priority callers.
+     */
+    public Permit tryAcquire(double share) {
+        return tryAcquire(share, true);
+    }
+
+    /** As {@link #tryAcquire(double)}; an unsampled permit's latency and outcome are ignored on release. */
+    public Permit tryAcquire(double share, boolean sampled) {
+        int allowed = Math.max(1, (int) (currentLimit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoClock.getAsLong(), current + 1, sampled);
+            }
+        }
+    }
+
+    /** Multiplicative decrease driven by a signal outside the request path, such as downstream lag. */
+    public synchronized void backOff() {
+        decrease(nanoClock.getAsLong());
+    }
+
+    public int limit() {
+        return currentLimit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onComplete(Permit permit, long now, boolean success) {
+        if (!permit.sampled) {
+            return;
+        }
+        if (!success || now - permit.startedAt > latencyTargetNanos) {
+            if (permit.startedAt - lastDecreaseAt >= 0) {
+                decrease(now);
+            }
+        } else if (permit.inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+            currentLimit = (int) limit;
+        }
+    }
+
+    private void decrease(long now) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        currentLimit = (int) limit;
+        lastDecreaseAt = now;
+    }
+
+    public final class Permit {
+        private final long startedAt;
+        private final int inFlightAtStart;
+        private final boolean sampled;
+        private boolean released;
+
+        private Permit(long startedAt, int inFlightAtStart, boolean sampled) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+            this.sampled = sampled;
+        }
+
+        /** Returns the slot and, if sampled, feeds the request's latency into the limit. Idempotent. */
+        public void release(boolean success) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            onComplete(this, nanoClock.getAsLong(), success);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import java.time.Duration;
+
+/** Outcome of {@link AdmissionControl#tryAdmit}: a permit to release, or why and for how long to back off. */
+public record Admission(AdaptiveLimit.Permit permit, AdmissionControl.Reason rejectedBy, Duration retryAfter) {
+
+    static Admission admitted(AdaptiveLimit.Permit permit) {
+        return new Admission(permit, null, Duration.ZERO);
+    }
+
+    static Admission rejected(AdmissionControl.Reason reason, Duration retryAfter) {
+        return new Admission(null, reason, retryAfter);
+    }
+
+    public boolean isAdmitted() {
+        return permit != null;
+    }
+}
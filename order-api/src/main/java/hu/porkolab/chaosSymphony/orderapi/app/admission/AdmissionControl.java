@@ -0,0 +1,166 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Decides whether a new order is let in. Downstream pressure (consumer time lag reported by
+ * streams-analytics and the number of sagas still in progress) is refreshed in the background
+ * and read from a volatile snapshot, so the request path never waits on it. Rejections carry a
+ * Retry-After: the excess lag while lag is the cause, otherwise the refresh interval.
+ * <p>
+ * The limit adapts to single orders only. A batch takes a slot within {@code batchShare} but its
+ * latency, which grows with its size, is not judged against {@code latencyTarget}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orders.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControl {
+
+    static final Set<OrderStatus> IN_PROGRESS =
+            EnumSet.of(OrderStatus.NEW, OrderStatus.APPROVED, OrderStatus.PAID, OrderStatus.ALLOCATED);
+
+    public enum Priority { NEW_ORDER, BATCH }
+
+    public enum Reason { DOWNSTREAM_LAG, PENDING_SAGAS, CONCURRENCY }
+
+    record Pressure(long lagMs, Instant lagSampledAt, long pendingSagas) {
+        static final Pressure NONE = new Pressure(0, Instant.EPOCH, 0);
+    }
+
+    private final AdmissionProperties properties;
+    private final AdaptiveLimit limit;
+    private final OrderRepository orderRepository;
+    private final DownstreamLagClient lagClient;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private volatile Pressure pressure = Pressure.NONE;
+
+    public AdmissionControl(
+            AdmissionProperties properties,
+            OrderRepository orderRepository,
+            DownstreamLagClient lagClient,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.properties = properties;
+        this.orderRepository = orderRepository;
+        this.lagClient = lagClient;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.limit = new AdaptiveLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getLatencyTarget(), properties.getBackoffRatio());
+
+        Gauge.builder("orders.admission.limit", limit, AdaptiveLimit::limit)
+                .description("Current concurrency limit for order creation")
+                .register(meterRegistry);
+        Gauge.builder("orders.admission.inflight", limit, AdaptiveLimit::inFlight)
+                .description("Order creation requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("orders.admission.downstream.lag", this, c -> c.effectiveLagMs() / 1000.0)
+                .description("Downstream consumer time lag used for admission")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.admission.pending.sagas", this, c -> c.pressure.pendingSagas())
+                .description("Orders whose saga has not finished yet")
+                .register(meterRegistry);
+    }
+
+    public Admission tryAdmit(Priority priority) {
+        Reason shedBy = shedReason(priority);
+        if (shedBy != null) {
+            return reject(priority, shedBy);
+        }
+        boolean batch = priority == Priority.BATCH;
+        AdaptiveLimit.Permit permit = limit.tryAcquire(batch ? properties.getBatchShare() : 1.0, !batch);
+        return permit != null ? Admission.admitted(permit) : reject(priority, Reason.CONCURRENCY);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.admission.refresh-interval:2s}")
+    public void refresh() {
+        Pressure previous = pressure;
+        long pending = previous.pendingSagas();
+        if (properties.getMaxPendingSagas() > 0) {
+            try {
+                pending = orderRepository.countByStatusIn(IN_PROGRESS);
+            } catch (DataAccessException e) {
+                log.warn("Pending saga count failed, keeping {}: {}", pending, e.getMessage());
+            }
+        }
+        long lagMs = previous.lagMs();
+        Instant lagSampledAt = previous.lagSampledAt();
+        OptionalLong lag = lagClient.maxTimeLagMs(properties.getLag().getGroups());
+        if (lag.isPresent()) {
+            lagMs = lag.getAsLong();
+            lagSampledAt = clock.instant();
+        }
+        pressure = new Pressure(lagMs, lagSampledAt, pending);
+
+        if (effectiveLagMs() > properties.getLag().getSoft().toMillis()) {
+            limit.backOff();
+            log.debug("Downstream lag {}ms, concurrency limit now {}", lagMs, limit.limit());
+        }
+    }
+
+    public int limit() {
+        return limit.limit();
+    }
+
+    Pressure pressure() {
+        return pressure;
+    }
+
+    private Reason shedReason(Priority priority) {
+        long lagMs = effectiveLagMs();
+        long threshold = (priority == Priority.BATCH ? properties.getLag().getSoft() : properties.getLag().getHard())
+                .toMillis();
+        if (lagMs > threshold) {
+            return Reason.DOWNSTREAM_LAG;
+        }
+        long maxPending = properties.getMaxPendingSagas();
+        if (maxPending > 0 && pressure.pendingSagas() >= maxPending) {
+            return Reason.PENDING_SAGAS;
+        }
+        return null;
+    }
+
+    private long effectiveLagMs() {
+        Pressure current = pressure;
+        Duration age = Duration.between(current.lagSampledAt(), clock.instant());
+        return age.compareTo(properties.getLag().getStaleAfter()) > 0 ? 0 : current.lagMs();
+    }
+
+    private Admission reject(Priority priority, Reason reason) {
+        meterRegistry.counter("orders.admission.rejected",
+                "priority", priority.name().toLowerCase(),
+                "reason", reason.name().toLowerCase()).increment();
+        return Admission.rejected(reason, retryAfter(reason));
+    }
+
+    private Duration retryAfter(Reason reason) {
+        Duration wait = switch (reason) {
+            case DOWNSTREAM_LAG -> Duration.ofMillis(effectiveLagMs() - properties.getLag().getSoft().toMillis());
+            case PENDING_SAGAS -> properties.getRefreshInterval();
+            case CONCURRENCY -> Duration.ofSeconds(1);
+        };
+        Duration floor = Duration.ofSeconds(1);
+        if (wait.compareTo(floor) < 0) {
+            return floor;
+        }
+        return wait.compareTo(properties.getMaxRetryAfter()) > 0 ? properties.getMaxRetryAfter() : wait;
+    }
+}
@@ -0,0 +1,53 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admission control for new orders. Approve/reject and reads are never limited; single orders
+ * may use the whole concurrency limit, batches only {@code batchShare} of it.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "orders.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 32;
+    private int minLimit = 4;
+    private int maxLimit = 256;
+    private Duration latencyTarget = Duration.ofMillis(250);
+    private double backoffRatio = 0.9;
+    private double batchShare = 0.5;
+
+    private Duration refreshInterval = Duration.ofSeconds(2);
+    private Duration maxRetryAfter = Duration.ofSeconds(30);
+
+    /** In-progress sagas (orders not yet in a terminal state) above which new orders are shed; 0 disables. */
+    private long maxPendingSagas = 0;
+
+    private Lag lag = new Lag();
+
+    @Getter
+    @Setter
+    public static class Lag {
+        /** streams-analytics base URL; blank disables the lag signal. */
+        private String url = "";
+        private List<String> groups = new ArrayList<>(List.of("orchestrator-order-created"));
+        private Duration timeout = Duration.ofMillis(500);
+        /** Above this the limit backs off on every refresh and batches are shed. */
+        private Duration soft = Duration.ofSeconds(5);
+        /** Above this every new order is shed. */
+        private Duration hard = Duration.ofSeconds(30);
+        /** A sample older than this is ignored, so an unreachable monitor does not shed traffic. */
+        private Duration staleAfter = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,57 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/** Reads consumer group time lag from the streams-analytics lag monitor ({@code GET /api/lag/{group}}). */
+@Slf4j
+@Component
+public class DownstreamLagClient {
+
+    private final RestClient client;
+
+    public DownstreamLagClient(RestClient.Builder builder, AdmissionProperties properties) {
+        AdmissionProperties.Lag lag = properties.getLag();
+        if (lag.getUrl() == null || lag.getUrl().isBlank()) {
+            this.client = null;
+            return;
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(lag.getTimeout());
+        requestFactory.setReadTimeout(lag.getTimeout());
+        this.client = builder.baseUrl(lag.getUrl()).requestFactory(requestFactory).build();
+    }
+
+    public boolean isEnabled() {
+        return client != null;
+    }
+
+    /** Largest time lag across {@code groups}; empty when none of them could be read. */
+    public OptionalLong maxTimeLagMs(List<String> groups) {
+        if (client == null) {
+            return OptionalLong.empty();
+        }
+        long max = -1;
+        for (String group : groups) {
+            try {
+                GroupLagView view = client.get().uri("/api/lag/{group}", group).retrieve().body(GroupLagView.class);
+                if (view != null) {
+                    max = Math.max(max, view.maxTimeLagMs());
+                }
+            } catch (RestClientException e) {
+                log.debug("Lag of group {} unavailable: {}", group, e.getMessage());
+            }
+        }
+        return max < 0 ? OptionalLong.empty() : OptionalLong.of(max);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record GroupLagView(String groupId, long totalLag, long maxTimeLagMs) {}
+}
@@ -0,0 +1,18 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+/**
+ * A single scoring step of the {@link FraudRuleEngine} pipeline.
+ * <p>
+ * Scores are expressed in basis points of the 0-100 fraud score, so {@code 2000} means
+ * "+20.00". {@link #score} runs for every order and must not allocate; {@link #describe}
+ * only runs when somebody actually reads the reason text.
+ */
+public interface FraudRule {
+
+    String id();
+
+    /** @return score contribution in basis points, {@code 0} if the rule does not fire */
+    int score(FraudSignals signals);
+
+    void describe(FraudSignals signals, int scoreBps, StringBuilder out);
+}
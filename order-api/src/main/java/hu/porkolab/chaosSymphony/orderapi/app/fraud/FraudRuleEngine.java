@@ -0,0 +1,107 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+import hu.porkolab.chaosSymphony.orderapi.app.FraudDetectionService.FraudAction;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precompiled fraud scoring pipeline working on primitive cents and basis points.
+ * <p>
+ * {@link #evaluate} walks a fixed rule array and packs the outcome into a single {@code long}
+ * verdict: the capped score in the low 16 bits, the {@link FraudAction} ordinal above it and
+ * the bitmask of fired rules in the high 32 bits. Nothing is allocated on that path; the
+ * human readable reason is only built by {@link #describe} when a caller asks for it.
+ */
+public final class FraudRuleEngine {
+
+    private static final int MAX_RULES = 32;
+    private static final FraudAction[] ACTIONS = FraudAction.values();
+
+    private final FraudRule[] rules;
+    private final int reviewScoreBps;
+    private final int rejectScoreBps;
+    private final int maxScoreBps;
+    private final long reviewAboveCents;
+
+    public FraudRuleEngine(List<FraudRule> rules, FraudScoringProperties props) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("At most " + MAX_RULES + " fraud rules are supported, got " + rules.size());
+        }
+        if (props.getMaxScoreBps() > 0xFFFF) {
+            throw new IllegalArgumentException("maxScoreBps must fit in 16 bits: " + props.getMaxScoreBps());
+        }
+        this.rules = rules.toArray(new FraudRule[0]);
+        this.reviewScoreBps = props.getReviewScoreBps();
+        this.rejectScoreBps = props.getRejectScoreBps();
+        this.maxScoreBps = props.getMaxScoreBps();
+        this.reviewAboveCents = props.getHighValueThresholdCents();
+    }
+
+    public static FraudRuleEngine withDefaultRules(FraudScoringProperties props) {
+        return new FraudRuleEngine(FraudRules.defaults(props), props);
+    }
+
+    public long evaluate(FraudSignals signals) {
+        int score = 0;
+        long fired = 0;
+        for (int i = 0; i < rules.length; i++) {
+            int contribution = rules[i].score(signals);
+            if (contribution != 0) {
+                score += contribution;
+                fired |= 1L << i;
+            }
+        }
+        if (score > maxScoreBps) {
+            score = maxScoreBps;
+        }
+
+        FraudAction action;
+        if (score >= rejectScoreBps) {
+            action = FraudAction.REJECT;
+        } else if (score >= reviewScoreBps || signals.totalCents > reviewAboveCents) {
+            action = FraudAction.REVIEW;
+        } else {
+            action = FraudAction.APPROVE;
+        }
+        return (fired << 32) | ((long) action.ordinal() << 16) | score;
+    }
+
+    public static int scoreBps(long verdict) {
+        return (int) (verdict & 0xFFFF);
+    }
+
+    public static FraudAction action(long verdict) {
+        return ACTIONS[(int) ((verdict >>> 16) & 0xFF)];
+    }
+
+    public static int firedRules(long verdict) {
+        return (int) (verdict >>> 32);
+    }
+
+    /**
+     * Formats the reasons of every rule that fired for {@code verdict}, joined with {@code "; "}.
+     * {@code signals} must hold the same values that produced the verdict.
+     */
+    public String describe(long verdict, FraudSignals signals) {
+        int fired = firedRules(verdict);
+        if (fired == 0) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(64);
+        for (int i = 0; i < rules.length; i++) {
+            if ((fired & (1 << i)) == 0) {
+                continue;
+            }
+            if (!out.isEmpty()) {
+                out.append("; ");
+            }
+            rules[i].describe(signals, rules[i].score(signals), out);
+        }
+        return out.toString();
+    }
+
+    public List<String> ruleIds() {
+        return Arrays.stream(rules).map(FraudRule::id).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The built-in scoring rules. Each factory copies its thresholds out of
+ * {@link FraudScoringProperties} into final primitive fields, so a compiled rule never
+ * touches configuration or boxed values on the hot path.
+ */
+public final class FraudRules {
+
+    private FraudRules() {
+    }
+
+    public static List<FraudRule> defaults(FraudScoringProperties props) {
+        return List.of(highValue(props), velocity(props), roundAmount(props), offHours(props));
+    }
+
+    public static FraudRule highValue(FraudScoringProperties props) {
+        List<FraudScoringProperties.ValueTier> tiers = props.getValueTiers().stream()
+                .sorted(Comparator.comparingLong(FraudScoringProperties.ValueTier::getMinCents).reversed())
+                .toList();
+        long[] tierMinCents = new long[tiers.size()];
+        int[] tierScoreBps = new int[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            tierMinCents[i] = tiers.get(i).getMinCents();
+            tierScoreBps[i] = tiers.get(i).getScoreBps();
+        }
+        return new HighValueRule(props.getHighValueThresholdCents(), tierMinCents, tierScoreBps);
+    }
+
+    public static FraudRule velocity(FraudScoringProperties props) {
+        return new VelocityRule(props.getVelocityScoreBps(), props.getVelocityWarningScoreBps());
+    }
+
+    public static FraudRule roundAmount(FraudScoringProperties props) {
+        return new RoundAmountRule(props.getRoundAmountStepCents(), props.getRoundAmountScoreBps());
+    }
+
+    public static FraudRule offHours(FraudScoringProperties props) {
+        return new OffHoursRule(props.getOffHoursStart(), props.getOffHoursEnd(), props.getOffHoursScoreBps());
+    }
+
+    /** Appends {@code 2050} as {@code 20.5}, the one-decimal form used in reason texts. */
+    static void appendScore(StringBuilder out, int scoreBps) {
+        out.append(scoreBps / 100).append('.').append((scoreBps % 100) / 10);
+    }
+
+    static void appendMoney(StringBuilder out, long cents) {
+        long fraction = cents % 100;
+        out.append(cents / 100).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private record HighValueRule(long thresholdCents, long[] tierMinCents, int[] tierScoreBps) implements FraudRule {
+
+        @Override
+        public String id() {
+            return "high-value";
+        }
+
+        @Override
+        public int score(FraudSignals signals) {
+            long total = signals.totalCents;
+            if (total <= thresholdCents) {
+                return 0;
+            }
+            for (int i = 0; i < tierMinCents.length; i++) {
+                if (total >= tierMinCents[i]) {
+                    return tierScoreBps[i];
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public void describe(FraudSignals signals, int scoreBps, StringBuilder out) {
+            out.append("High value order: $");
+            appendMoney(out, signals.totalCents);
+            out.append(" (score +");
+            appendScore(out, scoreBps);
+            out.append(')');
+        }
+    }
+
+    private record VelocityRule(int scoreBps, int warningScoreBps) implements FraudRule {
+
+        @Override
+        public String id() {
+            return "velocity";
+        }
+
+        @Override
+        public int score(FraudSignals signals) {
+            int recent = signals.recentOrders;
+            if (recent == 0) {
+                return 0;
+            }
+            if (recent >= signals.velocityLimit) {
+                return scoreBps;
+            }
+            if (recent >= signals.velocityLimit / 2) {
+                return warningScoreBps;
+            }
+            return 0;
+        }
+
+        @Override
+        public void describe(FraudSignals signals, int scoreBps, StringBuilder out) {
+            out.append("Velocity anomaly detected (score +");
+            appendScore(out, scoreBps);
+            out.append(')');
+        }
+    }
+
+    private record RoundAmountRule(long stepCents, int scoreBps) implements FraudRule {
+
+        @Override
+        public String id() {
+            return "round-amount";
+        }
+
+        @Override
+        public int score(FraudSignals signals) {
+            return stepCents > 0 && signals.totalCents % stepCents == 0 ? scoreBps : 0;
+        }
+
+        @Override
+        public void describe(FraudSignals signals, int scoreBps, StringBuilder out) {
+            out.append("Suspiciously round amount (score +");
+            appendScore(out, scoreBps);
+            out.append(')');
+        }
+    }
+
+    private record OffHoursRule(int startHour, int endHour, int scoreBps) implements FraudRule {
+
+        @Override
+        public String id() {
+            return "off-hours";
+        }
+
+        @Override
+        public int score(FraudSignals signals) {
+            int hour = signals.hourOfDay;
+            return hour >= startHour && hour <= endHour ? scoreBps : 0;
+        }
+
+        @Override
+        public void describe(FraudSignals signals, int scoreBps, StringBuilder out) {
+            out.append("Off-hours order (score +");
+            appendScore(out, scoreBps);
+            out.append(')');
+        }
+    }
+}
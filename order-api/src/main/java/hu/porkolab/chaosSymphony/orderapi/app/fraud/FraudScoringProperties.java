@@ -0,0 +1,51 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thresholds of the fraud scoring pipeline. Money is configured in cents and scores in
+ * basis points of the 0-100 score ({@code 7000} = 70.00).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "fraud.scoring")
+public class FraudScoringProperties {
+
+    private int reviewScoreBps = 7000;
+    private int rejectScoreBps = 9000;
+    private int maxScoreBps = 10000;
+
+    private long highValueThresholdCents = 100_000;
+    private List<ValueTier> valueTiers = new ArrayList<>(List.of(
+            new ValueTier(0, 2000),
+            new ValueTier(200_000, 3500),
+            new ValueTier(500_000, 5000)));
+
+    private int velocityScoreBps = 4000;
+    private int velocityWarningScoreBps = 2000;
+
+    private long roundAmountStepCents = 5_000;
+    private int roundAmountScoreBps = 1500;
+
+    private int offHoursStart = 1;
+    private int offHoursEnd = 5;
+    private int offHoursScoreBps = 1000;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValueTier {
+        private long minCents;
+        private int scoreBps;
+    }
+}
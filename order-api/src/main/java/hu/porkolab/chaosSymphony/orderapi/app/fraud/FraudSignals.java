@@ -0,0 +1,37 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+/**
+ * Primitive inputs of one fraud evaluation. Instances are plain mutable holders so a caller
+ * can reuse one per thread and keep the scoring path allocation-free.
+ */
+public final class FraudSignals {
+
+    long totalCents;
+    int recentOrders;
+    int velocityLimit;
+    int hourOfDay;
+
+    public FraudSignals set(long totalCents, int recentOrders, int velocityLimit, int hourOfDay) {
+        this.totalCents = totalCents;
+        this.recentOrders = recentOrders;
+        this.velocityLimit = velocityLimit;
+        this.hourOfDay = hourOfDay;
+        return this;
+    }
+
+    public long totalCents() {
+        return totalCents;
+    }
+
+    public int recentOrders() {
+        return recentOrders;
+    }
+
+    public int velocityLimit() {
+        return velocityLimit;
+    }
+
+    public int hourOfDay() {
+        return hourOfDay;
+    }
+}
@@ -3,6 +3,7 @@ package hu.porkolab.chaosSymphony.orderapi.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "order_outbox")
+@Table(name = "order_outbox", indexes = @Index(name = "idx_order_outbox_occurred_at", columnList = "occurred_at"))
 public class OrderOutbox {
 
     @Id
@@ -32,9 +33,14 @@ public class OrderOutbox {
     @Column(nullable = false)
     private String type;
 
-    @Column(nullable = false)
+    // enveloped events outgrow the 255 default; init-postgres.sql declares JSONB
+    @Column(nullable = false, length = 4000)
     private String payload;
 
     @Column(name = "occurred_at", nullable = false)
     private Instant occurredAt;
+
+    /** Set by the in-process relay when rows are kept after publishing. */
+    @Column(name = "published_at")
+    private Instant publishedAt;
 }
@@ -3,6 +3,7 @@ package hu.porkolab.chaosSymphony.orderapi.domain;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +19,9 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     long countByStatus(OrderStatus status);
 
     
+    long countByStatusIn(Collection<OrderStatus> statuses);
+
+    
     @Query("SELECT o FROM Order o WHERE o.total > :threshold ORDER BY o.createdAt DESC")
     List<Order> findHighValueOrders(java.math.BigDecimal threshold);
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
 import lombok.extern.slf4j.Slf4j;
@@ -33,16 +34,19 @@ public class OrderCancellationListener {
     private final ObjectMapper objectMapper;
     private final IdempotencyStore idempotencyStore;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OrderStatusProjection statusProjection;
 
     public OrderCancellationListener(
             OrderRepository orderRepository,
             ObjectMapper objectMapper,
             IdempotencyStore idempotencyStore,
-            KafkaTemplate<String, String> kafkaTemplate) {
+            KafkaTemplate<String, String> kafkaTemplate,
+            OrderStatusProjection statusProjection) {
         this.orderRepository = orderRepository;
         this.objectMapper = objectMapper;
         this.idempotencyStore = idempotencyStore;
         this.kafkaTemplate = kafkaTemplate;
+        this.statusProjection = statusProjection;
     }
 
     @KafkaListener(topics = "order.cancel", groupId = "order-api-cancel")
@@ -83,6 +87,7 @@ public class OrderCancellationListener {
                         order.setStatus(OrderStatus.CANCELLED);
                         order.setReviewReason("Cancelled: " + reason);
                         orderRepository.save(order);
+                        statusProjection.update(order);
                         log.info("Order {} cancelled successfully", orderId);
                     } else {
                         log.warn("Order {} already in terminal state: {}, skipping cancellation", 
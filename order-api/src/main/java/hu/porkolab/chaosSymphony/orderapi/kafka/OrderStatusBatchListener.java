@@ -0,0 +1,104 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies {@code order.status.update} a poll at a time. Records are keyed by order id, so all
+ * updates for one order arrive in offset order within a batch and only the last status per order
+ * needs writing; a compensation burst of {@code PAYMENT_FAILED} then {@code CANCELLED} becomes a
+ * single row update. The surviving updates go out as one JDBC batch in one transaction and the
+ * offsets are committed once the transaction has.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "orders.status-updates.batch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatusBatchListener {
+
+    static final String UPDATE_STATUS =
+            "UPDATE orders SET status = ?, review_reason = COALESCE(?, review_reason) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderStatusProjection statusProjection;
+    private final Counter received;
+    private final Counter applied;
+
+    public OrderStatusBatchListener(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            OrderStatusProjection statusProjection,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.statusProjection = statusProjection;
+        this.received = Counter.builder("order.status.updates.received")
+                .description("Status update records consumed")
+                .register(meterRegistry);
+        this.applied = Counter.builder("order.status.updates.applied")
+                .description("Order rows written after coalescing status updates")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "order.status.update",
+            groupId = "order-api-status",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = "max.poll.records=${orders.status-updates.batch.max-poll-records:500}")
+    @Transactional
+    public void onStatusUpdates(List<ConsumerRecord<String, String>> records) {
+        received.increment(records.size());
+        Map<UUID, StatusUpdate> latest = coalesce(records);
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        List<StatusUpdate> updates = new ArrayList<>(latest.values());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.status().name());
+            ps.setString(2, update.reason());
+            ps.setObject(3, update.orderId());
+        });
+
+        int i = 0;
+        int written = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                StatusUpdate update = updates.get(i++);
+                // drivers may report SUCCESS_NO_INFO (-2) for batched statements
+                if (count == 0) {
+                    log.warn("Order not found for status update: {}", update.orderId());
+                    continue;
+                }
+                statusProjection.update(update.orderId(), update.status(), update.reason());
+                written++;
+            }
+        }
+        applied.increment(written);
+        log.info("Applied {} status updates from {} records", written, records.size());
+    }
+
+    Map<UUID, StatusUpdate> coalesce(List<ConsumerRecord<String, String>> records) {
+        Map<UUID, StatusUpdate> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            StatusUpdate.parse(objectMapper, record.value())
+                    .ifPresent(update -> latest.merge(update.orderId(), update, StatusUpdate::then));
+        }
+        return latest;
+    }
+}
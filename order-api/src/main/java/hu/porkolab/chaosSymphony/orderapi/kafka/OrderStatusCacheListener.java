@@ -0,0 +1,31 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps every replica's {@link OrderStatusProjection} current. The listeners that write status
+ * updates share the {@code order-api-status} group, so each record reaches one replica only; this
+ * listener joins a group of its own per instance and mirrors every update into the local view.
+ * It starts from the latest offset since a fresh instance has nothing cached yet.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusCacheListener {
+
+    private final ObjectMapper objectMapper;
+    private final OrderStatusProjection statusProjection;
+
+    @KafkaListener(
+            topics = "order.status.update",
+            groupId = "order-api-status-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onStatusUpdate(ConsumerRecord<String, String> record) {
+        StatusUpdate.parse(objectMapper, record.value())
+                .ifPresent(update -> statusProjection.applyRemote(update.orderId(), update.status(), update.reason()));
+    }
+}
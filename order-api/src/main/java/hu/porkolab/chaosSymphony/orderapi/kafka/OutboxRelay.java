@@ -0,0 +1,342 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import hu.porkolab.chaosSymphony.common.jfr.OutboxPublishEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@code order_outbox} rows to Kafka without Kafka Connect.
+ * <p>
+ * A single relay thread claims up to {@code batch-size} rows with {@code FOR UPDATE SKIP LOCKED},
+ * sends them all asynchronously, flushes the producer, waits for the acks and deletes the rows in
+ * the same transaction, or stamps {@code published_at} when {@code delete-after-publish} is off
+ * and {@code OutboxHousekeeping} owns their removal. Concurrent instances skip each other's
+ * locked rows, so every row is published by one instance; a crash between ack and commit
+ * republishes the batch, which the idempotent consumers tolerate.
+ * <p>
+ * On PostgreSQL the thread sleeps in {@code LISTEN order_outbox} on a dedicated connection and is
+ * woken by the insert trigger from {@code init-postgres.sql}, re-checking every
+ * {@code listen-timeout} in case a notification was missed; other databases fall back to
+ * polling every {@code poll-interval}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true")
+public class OutboxRelay implements SmartLifecycle {
+
+    static final String CHANNEL = "order_outbox";
+    static final String CLAIM = "SELECT id, aggregate_id, type, payload, occurred_at FROM order_outbox "
+            + "WHERE published_at IS NULL ORDER BY occurred_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    // occurred_at is part of the key and the partition bound, so the planner touches one partition
+    static final String DELETE = "DELETE FROM order_outbox WHERE id = ? AND occurred_at = ?";
+    static final String MARK_PUBLISHED = "UPDATE order_outbox SET published_at = ? WHERE id = ? AND occurred_at = ?";
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final KafkaTemplate<String, String> kafka;
+    private final Clock clock;
+    private final String topic;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration listenTimeout;
+    private final Duration sendTimeout;
+    private final boolean deleteAfterPublish;
+
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+    private final Counter published;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread worker;
+    private Connection listenConnection;
+    private boolean listenUnsupported;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            KafkaTemplate<String, String> kafka,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${outbox.relay.topic:order.created}") String topic,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.relay.poll-interval:20ms}") Duration pollInterval,
+            @Value("${outbox.relay.listen-timeout:1s}") Duration listenTimeout,
+            @Value("${outbox.relay.send-timeout:10s}") Duration sendTimeout,
+            @Value("${outbox.relay.delete-after-publish:true}") boolean deleteAfterPublish) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.kafka = kafka;
+        this.clock = clock;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.listenTimeout = listenTimeout;
+        this.sendTimeout = sendTimeout;
+        this.deleteAfterPublish = deleteAfterPublish;
+
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("Time from outbox insert to broker acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Rows published per relay batch")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.published")
+                .description("Outbox rows published to Kafka")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Relay batches rolled back after a publish or database error")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Outbox relay started: topic={}, batchSize={}, pollInterval={}", topic, batchSize, pollInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(sendTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeListenConnection();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int consecutiveFailures = 0;
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                consecutiveFailures = 0;
+                if (relayed < batchSize) {
+                    awaitWakeUp();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                Duration backoff = backoff(++consecutiveFailures);
+                if (consecutiveFailures == 1) {
+                    log.error("Outbox relay batch failed, retrying in {}: {}", backoff, e.getMessage(), e);
+                } else {
+                    log.warn("Outbox relay batch failed {} times in a row, retrying in {}: {}",
+                            consecutiveFailures, backoff, e.getMessage());
+                }
+                sleepQuietly(backoff);
+            }
+        }
+    }
+
+    private Duration backoff(int consecutiveFailures) {
+        long millis = pollInterval.toMillis() << Math.min(consecutiveFailures - 1, 16);
+        return Duration.ofMillis(Math.min(Math.max(1, millis), MAX_BACKOFF.toMillis()));
+    }
+
+    /**
+     * Claims, publishes and deletes one batch. Returns the number of rows relayed.
+     */
+    int relayBatch() {
+        OutboxPublishEvent event = new OutboxPublishEvent();
+        event.begin();
+        Integer relayed;
+        try {
+            relayed = relayInTransaction(event);
+        } catch (RuntimeException e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            if (event.rows > 0) {
+                event.topic = topic;
+                event.commit();
+            }
+        }
+
+        int count = relayed == null ? 0 : relayed;
+        if (count > 0) {
+            batchSizes.record(count);
+            published.increment(count);
+            log.debug("Relayed {} outbox rows to {}", count, topic);
+        }
+        return count;
+    }
+
+    private Integer relayInTransaction(OutboxPublishEvent event) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxRow> rows = jdbcTemplate.query(CLAIM, (rs, i) -> new OutboxRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("aggregate_id", UUID.class),
+                    rs.getString("type"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("occurred_at").toInstant()), batchSize);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            event.rows = rows.size();
+
+            List<CompletableFuture<SendResult<String, String>>> acks = new ArrayList<>(rows.size());
+            for (OutboxRow row : rows) {
+                acks.add(kafka.send(toRecord(row)));
+            }
+            // do not wait for linger.ms, the batch is complete
+            kafka.flush();
+            awaitAcks(acks);
+
+            Instant now = Instant.now(clock);
+            for (OutboxRow row : rows) {
+                Duration rowLag = Duration.between(row.occurredAt(), now);
+                lag.record(rowLag);
+                event.maxLag = Math.max(event.maxLag, rowLag.toMillis());
+            }
+            if (deleteAfterPublish) {
+                jdbcTemplate.batchUpdate(DELETE, rows, rows.size(), (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setTimestamp(2, Timestamp.from(row.occurredAt()));
+                });
+            } else {
+                Timestamp publishedAt = Timestamp.from(now);
+                jdbcTemplate.batchUpdate(MARK_PUBLISHED, rows, rows.size(), (ps, row) -> {
+                    ps.setTimestamp(1, publishedAt);
+                    ps.setObject(2, row.id());
+                    ps.setTimestamp(3, Timestamp.from(row.occurredAt()));
+                });
+            }
+            return rows.size();
+        });
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxRow row) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, row.aggregateId().toString(), row.payload());
+        // same headers the Debezium EventRouter adds, so consumers see no difference
+        record.headers().add("id", row.id().toString().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("type", row.type().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void awaitAcks(List<CompletableFuture<SendResult<String, String>>> acks) {
+        try {
+            CompletableFuture.allOf(acks.toArray(new CompletableFuture[0]))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for outbox acks", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox batch was not acknowledged: " + e.getMessage(), e);
+        }
+    }
+
+    private void awaitWakeUp() throws InterruptedException {
+        PGConnection pg = listenConnection();
+        if (pg == null) {
+            Thread.sleep(pollInterval.toMillis());
+            return;
+        }
+        try {
+            // the notification only wakes us up, the claim query decides what to send
+            pg.getNotifications((int) Math.max(1, listenTimeout.toMillis()));
+        } catch (SQLException e) {
+            log.warn("Lost LISTEN connection, reconnecting: {}", e.getMessage());
+            closeListenConnection();
+            Thread.sleep(pollInterval.toMillis());
+        }
+    }
+
+    private PGConnection listenConnection() {
+        if (listenUnsupported) {
+            return null;
+        }
+        if (listenConnection != null) {
+            try {
+                return listenConnection.unwrap(PGConnection.class);
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+        try {
+            Connection connection = dataSource.getConnection();
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                connection.close();
+                listenUnsupported = true;
+                return null;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            listenConnection = connection;
+            return connection.unwrap(PGConnection.class);
+        } catch (SQLException e) {
+            log.warn("Cannot LISTEN on {}, falling back to polling: {}", CHANNEL, e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeListenConnection() {
+        if (listenConnection != null) {
+            try {
+                listenConnection.close();
+            } catch (SQLException e) {
+                log.debug("Closing LISTEN connection failed: {}", e.getMessage());
+            }
+            listenConnection = null;
+        }
+    }
+
+    private void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record OutboxRow(UUID id, UUID aggregateId, String type, String payload, Instant occurredAt) {}
+}
@@ -0,0 +1,65 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A parsed {@code order.status.update} message. {@code reason} is {@code null} when the message
+ * carries none, in which case the stored review reason is kept.
+ */
+@Slf4j
+record StatusUpdate(UUID orderId, OrderStatus status, String reason) {
+
+    static Optional<StatusUpdate> parse(ObjectMapper objectMapper, String value) {
+        JsonNode msg;
+        try {
+            msg = objectMapper.readTree(value);
+        } catch (Exception e) {
+            log.error("Unreadable status update message: {}", e.getMessage());
+            return Optional.empty();
+        }
+        String orderId = msg.path("orderId").asText(null);
+        String status = msg.path("status").asText(null);
+        String reason = msg.path("reason").asText(null);
+
+        if (orderId == null || status == null) {
+            log.error("Invalid status update message: orderId={}, status={}", orderId, status);
+            return Optional.empty();
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(orderId);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid UUID format for orderId: {}", orderId);
+            return Optional.empty();
+        }
+        return Optional.of(new StatusUpdate(uuid, mapStatus(status), reason == null || reason.isEmpty() ? null : reason));
+    }
+
+    /**
+     * Folds a later update for the same order into this one: the later status wins and a
+     * reason survives until a later update replaces it, as if both were applied in turn.
+     */
+    StatusUpdate then(StatusUpdate later) {
+        return new StatusUpdate(orderId, later.status, later.reason != null ? later.reason : reason);
+    }
+
+    private static OrderStatus mapStatus(String status) {
+        return switch (status) {
+            case "COMPLETED" -> OrderStatus.COMPLETED;
+            case "CANCELLED" -> OrderStatus.CANCELLED;
+            case "PAYMENT_FAILED" -> OrderStatus.PAYMENT_FAILED;
+            case "INVENTORY_FAILED" -> OrderStatus.INVENTORY_FAILED;
+            case "SHIPPING_FAILED" -> OrderStatus.SHIPPING_FAILED;
+            default -> {
+                log.warn("Unknown status '{}', defaulting to FAILED", status);
+                yield OrderStatus.FAILED;
+            }
+        };
+    }
+}
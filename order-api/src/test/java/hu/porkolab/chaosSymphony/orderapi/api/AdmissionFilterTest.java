@@ -0,0 +1,93 @@
+package hu.porkolab.chaosSymphony.orderapi.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl.Priority;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionProperties;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.DownstreamLagClient;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("AdmissionFilter")
+class AdmissionFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AdmissionControl admissionControl;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        admissionControl = new AdmissionControl(properties, mock(OrderRepository.class),
+                new DownstreamLagClient(RestClient.builder(), properties), new SimpleMeterRegistry(),
+                Clock.systemUTC());
+        filter = new AdmissionFilter(admissionControl, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should classify only order creation requests")
+    void priorityOf_shouldGateCreationOnly() {
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("POST", "/api/orders")))
+                .isEqualTo(Priority.NEW_ORDER);
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("POST", "/api/orders/start")))
+                .isEqualTo(Priority.NEW_ORDER);
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("POST", "/api/orders/batch")))
+                .isEqualTo(Priority.BATCH);
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("POST", "/api/orders/42/approve"))).isNull();
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("POST", "/api/orders/42/reject"))).isNull();
+        assertThat(AdmissionFilter.priorityOf(new MockHttpServletRequest("GET", "/api/orders"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After while the limit is in use")
+    void overLimit_shouldRespond429() throws Exception {
+        admissionControl.tryAdmit(Priority.NEW_ORDER);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(objectMapper.readTree(response.getContentAsString()).path("reason").asText())
+                .isEqualTo("CONCURRENCY");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Approve should pass even while new orders are shed")
+    void approve_shouldBypassLimit() throws Exception {
+        admissionControl.tryAdmit(Priority.NEW_ORDER);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders/42/approve"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should release the slot once the request completes")
+    void admitted_shouldReleaseSlot() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(admissionControl.tryAdmit(Priority.NEW_ORDER).isAdmitted()).isTrue();
+    }
+}
@@ -1,11 +1,16 @@
 package hu.porkolab.chaosSymphony.orderapi.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderQueryService;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderQueryService.OrderSlice;
 import hu.porkolab.chaosSymphony.orderapi.app.OrderService;
 import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
 import hu.porkolab.chaosSymphony.orderapi.api.OrderController.OrderResponse;
 import hu.porkolab.chaosSymphony.orderapi.domain.Order;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
 import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,14 +18,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,12 +40,15 @@ class OrderControllerTest {
 
     @Mock OrderService orderService;
     @Mock OrderRepository orderRepository;
+    @Mock OrderQueryService queryService;
 
     private OrderController controller;
 
     @BeforeEach
     void setup() {
-        controller = new OrderController(orderService, orderRepository);
+        OrderStatusProjection projection = new OrderStatusProjection(
+            orderRepository, new SimpleMeterRegistry(), 1_000, Duration.ofMinutes(1));
+        controller = new OrderController(orderService, orderRepository, queryService, new ObjectMapper(), projection);
     }
 
     @Nested
@@ -100,27 +111,54 @@ class OrderControllerTest {
     class ListOrdersTests {
 
         @Test
-        @DisplayName("Should return all orders sorted by creation date")
-        void shouldGetAllOrders() {
-            Order order1 = Order.builder()
+        @DisplayName("Should return a cursor page capped at 100 orders")
+        void shouldGetCursorPage() {
+            Order order = Order.builder()
                 .id(UUID.randomUUID())
                 .status(OrderStatus.NEW)
                 .total(BigDecimal.valueOf(100))
                 .createdAt(Instant.now())
                 .build();
-            Order order2 = Order.builder()
-                .id(UUID.randomUUID())
-                .status(OrderStatus.PAID)
-                .total(BigDecimal.valueOf(200))
-                .createdAt(Instant.now())
-                .build();
+            OrderSlice slice = new OrderSlice(List.of(order), 100, "next", true);
+
+            when(queryService.list("abc", 100)).thenReturn(slice);
+
+            var response = controller.getOrders("abc", 5_000);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isSameAs(slice);
+        }
 
-            when(orderRepository.findAll(any(Sort.class))).thenReturn(List.of(order1, order2));
+        @Test
+        @DisplayName("Should return 400 for an invalid cursor")
+        void shouldRejectInvalidCursor() {
+            when(queryService.list("garbage", 20)).thenThrow(new IllegalArgumentException("Invalid cursor: garbage"));
 
-            List<Order> orders = controller.getAllOrders();
+            var response = controller.getOrders("garbage", 20);
 
-            assertThat(orders).hasSize(2);
-            verify(orderRepository).findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("Should stream all orders as NDJSON")
+        @SuppressWarnings("unchecked")
+        void shouldExportOrdersAsNdjson() throws Exception {
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            doAnswer(inv -> {
+                Consumer<Order> sink = inv.getArgument(0);
+                sink.accept(Order.builder().id(first).status(OrderStatus.NEW).total(BigDecimal.ONE).build());
+                sink.accept(Order.builder().id(second).status(OrderStatus.PAID).total(BigDecimal.TEN).build());
+                return null;
+            }).when(queryService).streamAll(any(Consumer.class));
+
+            var out = new ByteArrayOutputStream();
+            controller.exportOrders().getBody().writeTo(out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).startsWith("{").contains(first.toString());
+            assertThat(lines[1]).contains(second.toString()).contains("PAID");
         }
 
         @Test
@@ -161,19 +199,40 @@ class OrderControllerTest {
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-            var response = controller.getOrderById(orderId);
+            var response = controller.getOrderById(orderId, null);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isEqualTo(order);
         }
 
+        @Test
+        @DisplayName("Should answer a matching If-None-Match with 304 without reloading the order")
+        void shouldReturn304WhenEtagMatches() {
+            UUID orderId = UUID.randomUUID();
+            Order order = Order.builder()
+                .id(orderId)
+                .status(OrderStatus.NEW)
+                .total(BigDecimal.valueOf(100))
+                .createdAt(Instant.now())
+                .build();
+            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+            String etag = controller.getOrderById(orderId, null).getHeaders().getETag();
+            var response = controller.getOrderById(orderId, etag);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            // one load for the projection, one for the first full body; the 304 touches neither
+            verify(orderRepository, times(2)).findById(orderId);
+        }
+
         @Test
         @DisplayName("Should return 404 when order not found")
         void shouldReturn404WhenOrderNotFound() {
             UUID orderId = UUID.randomUUID();
             when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
 
-            var response = controller.getOrderById(orderId);
+            var response = controller.getOrderById(orderId, null);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         }
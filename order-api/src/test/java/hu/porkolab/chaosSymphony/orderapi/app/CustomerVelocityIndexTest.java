@@ -0,0 +1,214 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CustomerVelocityIndex")
+class CustomerVelocityIndexTest {
+
+    private static final long WINDOW = 60_000L;
+
+    @Nested
+    @DisplayName("Counting")
+    class CountingTests {
+
+        @Test
+        @DisplayName("Unknown customer should have zero orders")
+        void unknownCustomer_shouldCountZero() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(8, 100);
+
+            assertThat(index.countSince("nobody", 0)).isZero();
+            assertThat(index.isTracked("nobody")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should only count orders inside the window")
+        void shouldCountOnlyOrdersInsideWindow() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(8, 100);
+            long now = 1_000_000L;
+
+            index.record("c1", now - 2 * WINDOW, now - WINDOW);
+            index.record("c1", now - WINDOW / 2, now - WINDOW);
+            index.record("c1", now - 10, now - WINDOW);
+            index.record("c1", now, now - WINDOW);
+
+            assertThat(index.countSince("c1", now - WINDOW)).isEqualTo(3);
+            assertThat(index.countSince("c1", now - 5)).isEqualTo(1);
+            assertThat(index.countSince("c1", now)).isZero();
+        }
+
+        @Test
+        @DisplayName("Count should saturate at ring capacity")
+        void count_shouldSaturateAtCapacity() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(4, 100);
+            long now = 1_000_000L;
+
+            for (int i = 0; i < 10; i++) {
+                index.record("c1", now + i, now - WINDOW);
+            }
+
+            assertThat(index.countSince("c1", now - WINDOW)).isEqualTo(4);
+            assertThat(index.countSince("c1", now + 7)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Clock stepping backwards should not break ordering")
+        void clockGoingBackwards_shouldKeepRingOrdered() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(4, 100);
+            long now = 1_000_000L;
+
+            index.record("c1", now, now - WINDOW);
+            index.record("c1", now - 500, now - WINDOW);
+
+            assertThat(index.countSince("c1", now - 1)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Concurrent writers should keep the ring sorted")
+        void concurrentWriters_shouldKeepRingSorted() throws Exception {
+            CustomerVelocityIndex.Ring ring = new CustomerVelocityIndex.Ring(64);
+            long now = 1_000_000L;
+            int threads = 8;
+
+            // interleaved timestamps, so writers regularly hand in one older than the newest stored
+            runConcurrently(threads, t -> {
+                for (int i = 0; i < 2_000; i++) {
+                    ring.record(now + (long) i * threads + t);
+                }
+            });
+
+            long[] stored = new long[64];
+            assertThat(ring.copyNewerThan(0, stored)).isEqualTo(64);
+            assertThat(stored).isSorted();
+            long pivot = stored[31];
+            assertThat(ring.countSince(pivot)).isEqualTo((int) Arrays.stream(stored).filter(ts -> ts > pivot).count());
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive capacity")
+        void nonPositiveCapacity_shouldThrow() {
+            assertThatThrownBy(() -> new CustomerVelocityIndex(0, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Idle customers should be evicted")
+        void idleCustomers_shouldBeEvicted() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(4, 100);
+            long now = 1_000_000L;
+
+            index.record("idle", now - 2 * WINDOW, now - 3 * WINDOW);
+            index.record("active", now, now - WINDOW);
+
+            assertThat(index.evictIdle(now - WINDOW)).isEqualTo(1);
+            assertThat(index.isTracked("idle")).isFalse();
+            assertThat(index.isTracked("active")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Index should stay bounded when every customer is active")
+        void activeCustomers_shouldStayBounded() {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(4, 10);
+            long now = 1_000_000L;
+
+            for (int i = 0; i < 100; i++) {
+                index.record("c" + i, now + i, now - WINDOW);
+            }
+
+            assertThat(index.size()).isLessThanOrEqualTo(10);
+            assertThat(index.isTracked("c99")).isTrue();
+            assertThat(index.isTracked("c0")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Index should stay bounded under concurrent new customers")
+        void concurrentNewCustomers_shouldStayBounded() throws Exception {
+            int threads = 8;
+            CustomerVelocityIndex index = new CustomerVelocityIndex(4, 100);
+            long now = 1_000_000L;
+
+            runConcurrently(threads, t -> {
+                for (int i = 0; i < 5_000; i++) {
+                    index.record("t" + t + "-c" + i, now + i, now - WINDOW);
+                }
+            });
+
+            // every insert at the bound evicts one entry; only racing inserts can overshoot it
+            assertThat(index.size()).isLessThanOrEqualTo(100 + threads);
+        }
+    }
+
+    private static void runConcurrently(int threads, IntConsumer task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.accept(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Snapshot round trip should restore active windows")
+        void snapshotRoundTrip_shouldRestoreWindows(@TempDir Path dir) throws Exception {
+            Path file = dir.resolve("velocity.bin");
+            long now = 1_000_000L;
+            CustomerVelocityIndex index = new CustomerVelocityIndex(8, 100);
+            index.record("c1", now - 3, now - WINDOW);
+            index.record("c1", now - 2, now - WINDOW);
+            index.record("c2", now - 2 * WINDOW, now - 3 * WINDOW);
+
+            index.writeSnapshot(file, now - WINDOW);
+
+            CustomerVelocityIndex restored = new CustomerVelocityIndex(8, 100);
+            assertThat(restored.readSnapshot(file, now - WINDOW)).isEqualTo(1);
+            assertThat(restored.countSince("c1", now - WINDOW)).isEqualTo(2);
+            assertThat(restored.isTracked("c2")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Missing snapshot should restore nothing")
+        void missingSnapshot_shouldRestoreNothing(@TempDir Path dir) throws Exception {
+            CustomerVelocityIndex index = new CustomerVelocityIndex(8, 100);
+
+            assertThat(index.readSnapshot(dir.resolve("absent.bin"), 0)).isZero();
+        }
+    }
+}
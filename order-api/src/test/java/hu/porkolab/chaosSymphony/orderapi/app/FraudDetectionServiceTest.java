@@ -310,6 +310,58 @@ class FraudDetectionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Hot Path")
+    class HotPathTests {
+
+        @Test
+        @DisplayName("Cents conversion should match BigDecimal rounding")
+        void toCents_shouldMatchBigDecimal() {
+            for (String amount : new String[] {"0", "0.01", "49.99", "1000.00", "1234.5", "-12.34", "99999999.99", "1.005"}) {
+                BigDecimal value = new BigDecimal(amount);
+                long expected = value.movePointRight(2).setScale(0, java.math.RoundingMode.HALF_UP).longValueExact();
+
+                assertThat(FraudDetectionService.toCents(value)).as(amount).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Hour of day should follow the system zone across hour boundaries")
+        void hourOfDay_shouldFollowSystemZone() {
+            long base = java.time.ZonedDateTime.now().truncatedTo(java.time.temporal.ChronoUnit.HOURS)
+                .toInstant().toEpochMilli();
+
+            for (long at : new long[] {base, base + 3_599_999, base + 3_600_000, base - 1, base + 86_400_000}) {
+                int expected = java.time.Instant.ofEpochMilli(at).atZone(java.time.ZoneId.systemDefault()).getHour();
+                assertThat(fraudService.hourOfDay(at)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Approved evaluation should allocate only its result")
+        void approvedEvaluation_shouldAllocateOnlyResult() {
+            var threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().threadId();
+            Order[] orders = new Order[16];
+            for (int i = 0; i < orders.length; i++) {
+                orders[i] = createOrder("49.99", "hot-" + i);
+            }
+            int evaluations = 50_000;
+            for (int i = 0; i < evaluations; i++) {
+                fraudService.evaluate(orders[i % orders.length]);
+            }
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < evaluations; i++) {
+                fraudService.evaluate(orders[i % orders.length]);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            // a FraudCheckResult is 56 bytes with compressed oops; signals, LocalTime and BigDecimal are gone
+            assertThat(allocated / evaluations).isLessThanOrEqualTo(56);
+        }
+    }
+
     // Helper method to create test orders
     private Order createOrder(String amount, String customerId) {
         return Order.builder()
@@ -0,0 +1,115 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.events.OrderCreated;
+import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderBatchService.BatchItemResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("OrderBatchService Integration Tests")
+class OrderBatchServiceIntegrationTest {
+
+    private final OrderBatchService batchService;
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    OrderBatchServiceIntegrationTest(
+            OrderBatchService batchService,
+            OrderRepository orderRepository,
+            OrderOutboxRepository outboxRepository,
+            ObjectMapper objectMapper) {
+        this.batchService = batchService;
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @BeforeEach
+    void cleanup() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should persist every order of a large batch and one outbox row per accepted order")
+    void largeBatch_shouldPersistOrdersAndOutbox() throws Exception {
+        List<CreateOrder> commands = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            commands.add(new CreateOrder("batch-customer-" + i, BigDecimal.valueOf(10 + i % 50, 0)
+                    .add(new BigDecimal("0.99")), "USD", null));
+        }
+
+        List<BatchItemResult> results = batchService.createOrders(commands);
+
+        assertThat(results).hasSize(1_200).noneMatch(BatchItemResult::isFailed);
+        assertThat(results).extracting(BatchItemResult::index).containsExactlyElementsOf(
+                IntStream.range(0, 1_200).boxed().toList());
+        assertThat(orderRepository.count()).isEqualTo(1_200);
+        assertThat(outboxRepository.count()).isEqualTo(1_200);
+
+        BatchItemResult first = results.get(0);
+        Order saved = orderRepository.findById(first.orderId()).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(saved.getCustomerId()).isEqualTo("batch-customer-0");
+        assertThat(saved.getFraudScore()).isNotNull();
+
+        var outbox = outboxRepository.findAll().stream()
+                .filter(o -> o.getAggregateId().equals(first.orderId()))
+                .findFirst().orElseThrow();
+        OrderCreated payload = objectMapper.readValue(EnvelopeHelper.parse(outbox.getPayload()).getPayload(), OrderCreated.class);
+        assertThat(payload.getOrderId()).isEqualTo(first.orderId().toString());
+        assertThat(payload.getCustomerId()).isEqualTo("batch-customer-0");
+    }
+
+    @Test
+    @DisplayName("Should report invalid items and high-value orders without failing the batch")
+    void mixedBatch_shouldReportPerItemOutcome() {
+        List<CreateOrder> commands = Arrays.asList(
+                new CreateOrder("ok", BigDecimal.valueOf(25.49), "USD", "1 Main St"),
+                new CreateOrder("", BigDecimal.valueOf(25.49), "USD", null),
+                new CreateOrder("whale", BigDecimal.valueOf(1500.00), "USD", null),
+                null);
+
+        List<BatchItemResult> results = batchService.createOrders(commands);
+
+        assertThat(results.get(0).status()).isEqualTo(OrderStatus.NEW);
+        assertThat(results.get(1).isFailed()).isTrue();
+        assertThat(results.get(1).error()).contains("customerId");
+        assertThat(results.get(2).status()).isEqualTo(OrderStatus.PENDING_REVIEW);
+        assertThat(results.get(2).reviewReason()).contains("High value");
+        assertThat(results.get(3).isFailed()).isTrue();
+
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(outboxRepository.findAll())
+                .singleElement()
+                .satisfies(o -> assertThat(o.getAggregateId()).isEqualTo(results.get(0).orderId()));
+        assertThat(orderRepository.findById(results.get(0).orderId()).orElseThrow().getShippingAddress())
+                .isEqualTo("1 Main St");
+    }
+}
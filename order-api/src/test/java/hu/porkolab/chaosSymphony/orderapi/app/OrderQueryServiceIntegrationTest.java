@@ -0,0 +1,113 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.orderapi.app.OrderQueryService.OrderSlice;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("OrderQueryService Integration Tests")
+class OrderQueryServiceIntegrationTest {
+
+    private final OrderQueryService queryService;
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+
+    private List<UUID> newestFirst;
+
+    @Autowired
+    OrderQueryServiceIntegrationTest(
+            OrderQueryService queryService,
+            OrderRepository orderRepository,
+            OrderOutboxRepository outboxRepository) {
+        this.queryService = queryService;
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @BeforeEach
+    void seed() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+
+        // pairs share a timestamp so the id tie-breaker is exercised
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(Order.builder()
+                    .id(UUID.randomUUID())
+                    .status(OrderStatus.NEW)
+                    .total(BigDecimal.valueOf(10 + i))
+                    .customerId("customer-" + i)
+                    .createdAt(base.plus(i / 2, ChronoUnit.SECONDS))
+                    .build());
+        }
+        orderRepository.saveAll(orders);
+
+        newestFirst = orders.stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getCreatedAt().compareTo(a.getCreatedAt());
+                    // databases order uuids as unsigned bytes, which matches their hex form
+                    return byTime != 0 ? byTime : b.getId().toString().compareTo(a.getId().toString());
+                })
+                .map(Order::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Following cursors should visit every order exactly once, newest first")
+    void cursorPages_shouldCoverAllOrdersInOrder() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderSlice slice = queryService.list(cursor, 10);
+            slice.content().forEach(o -> seen.add(o.getId()));
+            cursor = slice.nextCursor();
+            assertThat(slice.hasNext()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    @Test
+    @DisplayName("Export should stream every order newest first")
+    void streamAll_shouldVisitAllOrders() {
+        List<UUID> seen = new ArrayList<>();
+
+        queryService.streamAll(order -> seen.add(order.getId()));
+
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor it did not issue")
+    void invalidCursor_shouldThrow() {
+        assertThatThrownBy(() -> queryService.list("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
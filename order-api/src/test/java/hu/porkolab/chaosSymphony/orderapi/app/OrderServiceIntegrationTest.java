@@ -1,6 +1,7 @@
 package hu.porkolab.chaosSymphony.orderapi.app;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.events.OrderCreated;
 import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
 import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
@@ -87,7 +88,7 @@ class OrderServiceIntegrationTest {
             assertEquals("OrderCreated", outboxEvent.getType());
 
             
-            OrderCreated payload = objectMapper.readValue(outboxEvent.getPayload(), OrderCreated.class);
+            OrderCreated payload = objectMapper.readValue(EnvelopeHelper.parse(outboxEvent.getPayload()).getPayload(), OrderCreated.class);
             assertEquals(result.orderId().toString(), payload.getOrderId());
             assertEquals(customerId, payload.getCustomerId());
             assertEquals(99.99, payload.getTotal());
@@ -148,7 +149,7 @@ class OrderServiceIntegrationTest {
             assertThat(outboxEvents).hasSize(1);
 
             OrderCreated payload = objectMapper.readValue(
-                    outboxEvents.get(0).getPayload(), OrderCreated.class);
+                    EnvelopeHelper.parse(outboxEvents.get(0).getPayload()).getPayload(), OrderCreated.class);
             assertThat(payload.getOrderId()).isEqualTo(createResult.orderId().toString());
         }
 
@@ -0,0 +1,237 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection.OrderStatusView;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusProjection")
+class OrderStatusProjectionTest {
+
+    @Mock OrderRepository orderRepository;
+
+    private OrderStatusProjection projection;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        projection = new OrderStatusProjection(orderRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        order = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.NEW)
+                .total(BigDecimal.TEN)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Repeated reads should load the order from the database once")
+        void repeatedReads_shouldHitDatabaseOnce() {
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.NEW);
+            }
+
+            verify(orderRepository, times(1)).findById(order.getId());
+        }
+
+        @Test
+        @DisplayName("Write-through should replace the cached view without a database read")
+        void update_shouldWriteThrough() {
+            projection.update(order);
+            order.setStatus(OrderStatus.COMPLETED);
+            projection.update(order);
+
+            assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.COMPLETED);
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("ETag should change with status and match weak and list forms")
+        void etag_shouldTrackStatus() {
+            OrderStatusView created = new OrderStatusView(order.getId(), OrderStatus.NEW, null);
+            OrderStatusView completed = new OrderStatusView(order.getId(), OrderStatus.COMPLETED, null);
+
+            assertThat(created.etag()).isNotEqualTo(completed.etag());
+            assertThat(created.matches(created.etag())).isTrue();
+            assertThat(created.matches("W/" + created.etag())).isTrue();
+            assertThat(created.matches("\"other\", " + created.etag())).isTrue();
+            assertThat(created.matches(completed.etag())).isFalse();
+            assertThat(created.matches(null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Transactions")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("Update inside a transaction should become visible only after commit")
+        void update_shouldWaitForCommit() {
+            projection.update(order);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                order.setStatus(OrderStatus.CANCELLED);
+                projection.update(order);
+
+                assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.NEW);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.CANCELLED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Waiting for changes")
+    class AwaitTests {
+
+        @Test
+        @DisplayName("Waiter should complete on the next status change")
+        void awaitChange_shouldCompleteOnUpdate() {
+            projection.update(order);
+            String etag = projection.get(order.getId()).orElseThrow().etag();
+
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), etag);
+            assertThat(change).isNotDone();
+
+            order.setStatus(OrderStatus.COMPLETED);
+            projection.update(order);
+
+            assertThat(change).isCompletedWithValueMatching(v -> v.status() == OrderStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Waiter with a stale ETag should complete immediately")
+        void awaitChange_withStaleEtag_shouldCompleteImmediately() {
+            projection.update(order);
+
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), "\"stale\"");
+
+            assertThat(change).isCompletedWithValueMatching(v -> v.status() == OrderStatus.NEW);
+        }
+
+        @Test
+        @DisplayName("Cancelled waiter should not be completed by later updates")
+        void cancel_shouldDetachWaiter() {
+            projection.update(order);
+            String etag = projection.get(order.getId()).orElseThrow().etag();
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), etag);
+
+            projection.cancel(order.getId(), change);
+            order.setStatus(OrderStatus.COMPLETED);
+            projection.update(order);
+
+            assertThat(change).isNotDone();
+        }
+    
+        @Test
+        @DisplayName("Recheck should wake waiters for a change applied by another replica")
+        void recheck_shouldWakeOnRemoteChange() {
+            projection.update(order);
+            String etag = projection.get(order.getId()).orElseThrow().etag();
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), etag);
+
+            Order remote = Order.builder().id(order.getId()).status(OrderStatus.COMPLETED).total(BigDecimal.TEN).build();
+            when(orderRepository.findAllById(List.of(order.getId()))).thenReturn(List.of(remote));
+            projection.recheckWaiters();
+
+            assertThat(change).isCompletedWithValueMatching(v -> v.status() == OrderStatus.COMPLETED);
+            assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.COMPLETED);
+            assertThat(projection.waiting(order.getId())).isZero();
+        }
+
+        @Test
+        @DisplayName("Recheck should keep waiting while the status is unchanged")
+        void recheck_unchanged_shouldKeepWaiting() {
+            projection.update(order);
+            String etag = projection.get(order.getId()).orElseThrow().etag();
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), etag);
+
+            when(orderRepository.findAllById(List.of(order.getId()))).thenReturn(List.of(order));
+            projection.recheckWaiters();
+
+            assertThat(change).isNotDone();
+            assertThat(projection.waiting(order.getId())).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Recheck should not query the database without waiters")
+        void recheck_withoutWaiters_shouldNotQuery() {
+            projection.recheckWaiters();
+
+            verifyNoInteractions(orderRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Remote updates")
+    class RemoteUpdateTests {
+
+        @Test
+        @DisplayName("Update consumed by another replica should refresh the cached view and wake waiters")
+        void applyRemote_shouldRefreshCachedView() {
+            projection.update(order);
+            String etag = projection.get(order.getId()).orElseThrow().etag();
+            CompletableFuture<OrderStatusView> change = projection.awaitChange(order.getId(), etag);
+
+            projection.applyRemote(order.getId(), OrderStatus.PAYMENT_FAILED, "card declined");
+
+            assertThat(projection.get(order.getId()))
+                    .contains(new OrderStatusView(order.getId(), OrderStatus.PAYMENT_FAILED, "card declined"));
+            assertThat(change).isCompletedWithValueMatching(v -> v.status() == OrderStatus.PAYMENT_FAILED);
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Update without a reason should keep the cached reason")
+        void applyRemote_withoutReason_shouldKeepCachedReason() {
+            order.setReviewReason("manual review");
+            projection.update(order);
+
+            projection.applyRemote(order.getId(), OrderStatus.COMPLETED, null);
+
+            assertThat(projection.get(order.getId()))
+                    .contains(new OrderStatusView(order.getId(), OrderStatus.COMPLETED, "manual review"));
+        }
+
+        @Test
+        @DisplayName("Update for an order not cached here should be left to the next read")
+        void applyRemote_uncached_shouldNotCache() {
+            projection.applyRemote(order.getId(), OrderStatus.COMPLETED, null);
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+            assertThat(projection.get(order.getId())).map(OrderStatusView::status).contains(OrderStatus.NEW);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.EventEnvelope;
+import hu.porkolab.chaosSymphony.events.OrderCreated;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutbox;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("OutboxEventProducer Integration Tests")
+class OutboxEventProducerIntegrationTest {
+
+    @Autowired OutboxEventProducer producer;
+    @Autowired OrderOutboxRepository outboxRepository;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void cleanup() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write a single-encoded envelope keyed by the order id")
+    void fire_shouldWriteEnvelope() throws Exception {
+        UUID orderId = UUID.randomUUID();
+
+        producer.fire(orderCreated(orderId));
+
+        OrderOutbox row = outboxRepository.findAll().get(0);
+        assertThat(row.getAggregateId()).isEqualTo(orderId);
+        assertThat(row.getAggregateType()).isEqualTo("Order");
+        assertThat(row.getType()).isEqualTo("OrderCreated");
+
+        JsonNode envelope = objectMapper.readTree(row.getPayload());
+        assertThat(envelope.path("orderId").asText()).isEqualTo(orderId.toString());
+        assertThat(envelope.path("eventId").asText()).isEqualTo(row.getId().toString());
+        assertThat(envelope.path("payload").isObject()).isTrue();
+        assertThat(envelope.path("payload").path("total").asDouble()).isEqualTo(99.5);
+
+        EventEnvelope parsed = EnvelopeHelper.parse(row.getPayload());
+        assertThat(objectMapper.readTree(parsed.getPayload()).path("orderId").asText()).isEqualTo(orderId.toString());
+    }
+
+    @Test
+    @DisplayName("Should write every event of a list")
+    void fireAll_shouldWriteAllEvents() {
+        producer.fireAll(List.of(orderCreated(UUID.randomUUID()), orderCreated(UUID.randomUUID())));
+
+        assertThat(outboxRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when one event of the list is not registered")
+    void fireAll_withUnregisteredEvent_shouldWriteNothing() {
+        assertThatThrownBy(() -> producer.fireAll(List.of(orderCreated(UUID.randomUUID()), "not an event")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unregistered domain event");
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("A single event should roll back with the caller's transaction")
+    void fire_shouldJoinCallerTransaction() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            producer.fire(orderCreated(UUID.randomUUID()));
+            throw new IllegalStateException("caller failed after firing");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private static OrderCreated orderCreated(UUID orderId) {
+        return OrderCreated.newBuilder()
+                .setOrderId(orderId.toString())
+                .setTotal(99.5)
+                .setCurrency("USD")
+                .setCustomerId("customer-1")
+                .setShippingAddress(null)
+                .build();
+    }
+}
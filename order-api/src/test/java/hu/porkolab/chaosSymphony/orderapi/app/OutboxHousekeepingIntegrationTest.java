@@ -0,0 +1,141 @@
+package hu.porkolab.chaosSymphony.orderapi.app;
+
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutbox;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("OutboxHousekeeping Integration Tests")
+class OutboxHousekeepingIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:00Z");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+
+    private MeterRegistry meterRegistry;
+    private OutboxHousekeeping housekeeping;
+
+    @Autowired
+    OutboxHousekeepingIntegrationTest(
+            JdbcTemplate jdbcTemplate,
+            OrderRepository orderRepository,
+            OrderOutboxRepository outboxRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+        housekeeping = new OutboxHousekeeping(jdbcTemplate, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofDays(7), 10, 100, 3, false);
+        housekeeping.detectLayout();
+    }
+
+    @Test
+    @DisplayName("Should delete only expired rows, in bounded chunks")
+    void enforceRetention_shouldDeleteExpiredRowsInChunks() {
+        saveRows(25, NOW.minus(8, ChronoUnit.DAYS));
+        saveRows(5, NOW.minus(1, ChronoUnit.DAYS));
+
+        int deleted = housekeeping.deleteExpired(NOW.minus(7, ChronoUnit.DAYS));
+
+        assertThat(deleted).isEqualTo(25);
+        assertThat(outboxRepository.findAll())
+                .hasSize(5)
+                .allMatch(row -> row.getOccurredAt().isAfter(NOW.minus(2, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    @DisplayName("A single run should stop after max-delete-batches chunks")
+    void deleteExpired_shouldRespectBatchLimit() {
+        OutboxHousekeeping limited = new OutboxHousekeeping(jdbcTemplate, new SimpleMeterRegistry(),
+                Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(7), 10, 2, 3, false);
+        saveRows(35, NOW.minus(30, ChronoUnit.DAYS));
+
+        assertThat(limited.deleteExpired(NOW)).isEqualTo(20);
+        assertThat(outboxRepository.count()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("With the relay, expired rows it has not published should survive")
+    void deleteExpired_withRelay_shouldKeepUnpublishedRows() {
+        OutboxHousekeeping relayed = new OutboxHousekeeping(jdbcTemplate, new SimpleMeterRegistry(),
+                Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofDays(7), 10, 100, 3, true);
+        saveRows(3, NOW.minus(30, ChronoUnit.DAYS));
+        saveRows(4, NOW.minus(30, ChronoUnit.DAYS), NOW.minus(29, ChronoUnit.DAYS));
+
+        assertThat(relayed.deleteExpired(NOW.minus(7, ChronoUnit.DAYS))).isEqualTo(4);
+        assertThat(outboxRepository.findAll())
+                .hasSize(3)
+                .allMatch(row -> row.getPublishedAt() == null);
+        assertThat(relayed.unpublishedRows("order_outbox")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Row count gauge should reflect the table after a stats refresh")
+    void refreshStats_shouldPublishRowCount() {
+        saveRows(3, NOW);
+
+        housekeeping.refreshStats();
+
+        assertThat(meterRegistry.get("outbox.table.rows").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Partition names should encode the UTC day")
+    void partitionName_shouldUseBasicIsoDate() {
+        assertThat(OutboxHousekeeping.partitionName(LocalDate.of(2026, 3, 9))).isEqualTo("order_outbox_p20260309");
+    }
+
+    private void saveRows(int count, Instant occurredAt) {
+        saveRows(count, occurredAt, null);
+    }
+
+    private void saveRows(int count, Instant occurredAt, Instant publishedAt) {
+        List<OrderOutbox> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(OrderOutbox.builder()
+                    .id(UUID.randomUUID())
+                    .aggregateId(UUID.randomUUID())
+                    .aggregateType("Order")
+                    .type("OrderCreated")
+                    .payload("{}")
+                    .occurredAt(occurredAt)
+                    .publishedAt(publishedAt)
+                    .build());
+        }
+        outboxRepository.saveAll(rows);
+    }
+}
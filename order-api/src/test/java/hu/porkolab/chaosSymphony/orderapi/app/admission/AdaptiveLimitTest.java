@@ -0,0 +1,162 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveLimit")
+class AdaptiveLimitTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveLimit limit(int initial) {
+        return new AdaptiveLimit(initial, 2, 20, Duration.ofMillis(100), 0.5, now::get);
+    }
+
+    @Nested
+    @DisplayName("Acquire")
+    class AcquireTests {
+
+        @Test
+        @DisplayName("Should refuse once the limit is in use and accept again after a release")
+        void tryAcquire_shouldRespectLimit() {
+            AdaptiveLimit limit = limit(2);
+
+            AdaptiveLimit.Permit first = limit.tryAcquire(1.0);
+            assertThat(limit.tryAcquire(1.0)).isNotNull();
+            assertThat(limit.tryAcquire(1.0)).isNull();
+
+            first.release(true);
+            assertThat(limit.tryAcquire(1.0)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("A share below one should leave the rest of the limit to full-share callers")
+        void tryAcquire_withShare_shouldReserveHeadroom() {
+            AdaptiveLimit limit = limit(4);
+
+            assertThat(limit.tryAcquire(0.5)).isNotNull();
+            assertThat(limit.tryAcquire(0.5)).isNotNull();
+            assertThat(limit.tryAcquire(0.5)).isNull();
+            assertThat(limit.tryAcquire(1.0)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Releasing a permit twice should free one slot only")
+        void release_shouldBeIdempotent() {
+            AdaptiveLimit limit = limit(4);
+            limit.tryAcquire(1.0);
+            AdaptiveLimit.Permit permit = limit.tryAcquire(1.0);
+
+            permit.release(true);
+            permit.release(true);
+
+            assertThat(limit.inFlight()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject inverted bounds")
+        void constructor_shouldValidateBounds() {
+            assertThatThrownBy(() -> new AdaptiveLimit(4, 8, 4, Duration.ofMillis(100), 0.5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("AIMD")
+    class AimdTests {
+
+        @Test
+        @DisplayName("Fast requests at a busy limit should grow it by one per window")
+        void fastRequests_shouldIncreaseAdditively() {
+            AdaptiveLimit limit = limit(4);
+
+            for (int window = 0; window < 2; window++) {
+                List<AdaptiveLimit.Permit> permits = new ArrayList<>();
+                for (int i = 0; i < limit.limit(); i++) {
+                    permits.add(limit.tryAcquire(1.0));
+                }
+                now.addAndGet(Duration.ofMillis(10).toNanos());
+                permits.forEach(p -> p.release(true));
+            }
+
+            assertThat(limit.limit()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Fast requests on an idle limit should not grow it")
+        void fastRequests_whenUnderused_shouldNotIncrease() {
+            AdaptiveLimit limit = limit(10);
+
+            for (int i = 0; i < 50; i++) {
+                limit.tryAcquire(1.0).release(true);
+            }
+
+            assertThat(limit.limit()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("A burst of slow requests should cut the limit once")
+        void slowBurst_shouldDecreaseOnce() {
+            AdaptiveLimit limit = limit(16);
+            now.addAndGet(1);
+            List<AdaptiveLimit.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                permits.add(limit.tryAcquire(1.0));
+            }
+
+            now.addAndGet(Duration.ofMillis(500).toNanos());
+            permits.forEach(p -> p.release(true));
+
+            assertThat(limit.limit()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Failures should cut the limit but never below the minimum")
+        void failures_shouldDecreaseToMinimum() {
+            AdaptiveLimit limit = limit(16);
+
+            for (int i = 0; i < 10; i++) {
+                now.addAndGet(1);
+                limit.tryAcquire(1.0).release(false);
+            }
+
+            assertThat(limit.limit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Slow or failed unsampled permits should leave the limit alone")
+        void unsampled_shouldNotMoveLimit() {
+            AdaptiveLimit limit = limit(16);
+            now.addAndGet(1);
+            AdaptiveLimit.Permit slow = limit.tryAcquire(0.5, false);
+            AdaptiveLimit.Permit failed = limit.tryAcquire(0.5, false);
+
+            now.addAndGet(Duration.ofMillis(500).toNanos());
+            slow.release(true);
+            failed.release(false);
+
+            assertThat(limit.limit()).isEqualTo(16);
+            assertThat(limit.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("backOff should cut the limit multiplicatively")
+        void backOff_shouldDecrease() {
+            AdaptiveLimit limit = limit(16);
+
+            limit.backOff();
+            limit.backOff();
+
+            assertThat(limit.limit()).isEqualTo(4);
+        }
+    }
+}
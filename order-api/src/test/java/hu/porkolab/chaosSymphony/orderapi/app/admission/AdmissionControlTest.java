@@ -0,0 +1,205 @@
+package hu.porkolab.chaosSymphony.orderapi.app.admission;
+
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl.Priority;
+import hu.porkolab.chaosSymphony.orderapi.app.admission.AdmissionControl.Reason;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdmissionControl")
+class AdmissionControlTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private DownstreamLagClient lagClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant start = Instant.parse("2026-01-01T10:00:00Z");
+    private Instant now = start;
+    private AdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+    }
+
+    private AdmissionControl control() {
+        Clock clock = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now; }
+        };
+        return new AdmissionControl(properties, orderRepository, lagClient, meterRegistry, clock);
+    }
+
+    private void lagIs(Duration lag) {
+        when(lagClient.maxTimeLagMs(anyList())).thenReturn(OptionalLong.of(lag.toMillis()));
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should admit up to the limit and reject the rest with a one second Retry-After")
+        void tryAdmit_shouldRejectOverLimit() {
+            AdmissionControl control = control();
+            for (int i = 0; i < 4; i++) {
+                assertThat(control.tryAdmit(Priority.NEW_ORDER).isAdmitted()).isTrue();
+            }
+
+            Admission rejected = control.tryAdmit(Priority.NEW_ORDER);
+
+            assertThat(rejected.isAdmitted()).isFalse();
+            assertThat(rejected.rejectedBy()).isEqualTo(Reason.CONCURRENCY);
+            assertThat(rejected.retryAfter()).isEqualTo(Duration.ofSeconds(1));
+            assertThat(meterRegistry.counter("orders.admission.rejected",
+                    "priority", "new_order", "reason", "concurrency").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Batches should only get their share of the limit")
+        void tryAdmit_batch_shouldUseShare() {
+            AdmissionControl control = control();
+
+            assertThat(control.tryAdmit(Priority.BATCH).isAdmitted()).isTrue();
+            assertThat(control.tryAdmit(Priority.BATCH).isAdmitted()).isTrue();
+            assertThat(control.tryAdmit(Priority.BATCH).isAdmitted()).isFalse();
+            assertThat(control.tryAdmit(Priority.NEW_ORDER).isAdmitted()).isTrue();
+        }
+
+        @Test
+        @DisplayName("A batch slower than the latency target should not shrink the single-order limit")
+        void slowBatch_shouldNotShrinkLimit() throws InterruptedException {
+            properties.setLatencyTarget(Duration.ofMillis(1));
+            AdmissionControl control = control();
+
+            Admission batch = control.tryAdmit(Priority.BATCH);
+            Thread.sleep(20);
+            batch.permit().release(true);
+            assertThat(control.limit()).isEqualTo(4);
+
+            Admission order = control.tryAdmit(Priority.NEW_ORDER);
+            Thread.sleep(20);
+            order.permit().release(true);
+            assertThat(control.limit()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Downstream lag")
+    class LagTests {
+
+        @Test
+        @DisplayName("Lag above soft should shed batches, back off the limit and keep single orders")
+        void softLag_shouldShedBatchesOnly() {
+            properties.setInitialLimit(20);
+            lagIs(Duration.ofSeconds(10));
+            AdmissionControl control = control();
+
+            control.refresh();
+
+            assertThat(control.limit()).isEqualTo(18);
+            Admission batch = control.tryAdmit(Priority.BATCH);
+            assertThat(batch.rejectedBy()).isEqualTo(Reason.DOWNSTREAM_LAG);
+            assertThat(batch.retryAfter()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(control.tryAdmit(Priority.NEW_ORDER).isAdmitted()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Lag above hard should shed new orders with a capped Retry-After")
+        void hardLag_shouldShedNewOrders() {
+            lagIs(Duration.ofMinutes(5));
+            AdmissionControl control = control();
+
+            control.refresh();
+            Admission admission = control.tryAdmit(Priority.NEW_ORDER);
+
+            assertThat(admission.rejectedBy()).isEqualTo(Reason.DOWNSTREAM_LAG);
+            assertThat(admission.retryAfter()).isEqualTo(properties.getMaxRetryAfter());
+        }
+
+        @Test
+        @DisplayName("A stale lag sample should be ignored")
+        void staleLag_shouldFailOpen() {
+            lagIs(Duration.ofMinutes(5));
+            AdmissionControl control = control();
+            control.refresh();
+
+            when(lagClient.maxTimeLagMs(anyList())).thenReturn(OptionalLong.empty());
+            now = start.plus(Duration.ofMinutes(1));
+            control.refresh();
+
+            assertThat(control.tryAdmit(Priority.NEW_ORDER).isAdmitted()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pending sagas")
+    class PendingSagaTests {
+
+        @Test
+        @DisplayName("Should shed new orders once unfinished sagas reach the maximum")
+        void pendingSagas_shouldShedAtMaximum() {
+            properties.setMaxPendingSagas(100);
+            when(lagClient.maxTimeLagMs(anyList())).thenReturn(OptionalLong.empty());
+            when(orderRepository.countByStatusIn(AdmissionControl.IN_PROGRESS)).thenReturn(100L);
+            AdmissionControl control = control();
+
+            control.refresh();
+            Admission admission = control.tryAdmit(Priority.NEW_ORDER);
+
+            assertThat(admission.rejectedBy()).isEqualTo(Reason.PENDING_SAGAS);
+            assertThat(admission.retryAfter()).isEqualTo(properties.getRefreshInterval());
+        }
+
+        @Test
+        @DisplayName("A failed count should keep the previous value")
+        void countFailure_shouldKeepPrevious() {
+            properties.setMaxPendingSagas(100);
+            when(lagClient.maxTimeLagMs(anyList())).thenReturn(OptionalLong.empty());
+            when(orderRepository.countByStatusIn(any()))
+                    .thenReturn(150L)
+                    .thenThrow(new QueryTimeoutException("timeout"));
+            AdmissionControl control = control();
+
+            control.refresh();
+            control.refresh();
+
+            assertThat(control.pressure().pendingSagas()).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Should not count sagas when the maximum is disabled")
+        void disabled_shouldNotQuery() {
+            when(lagClient.maxTimeLagMs(anyList())).thenReturn(OptionalLong.empty());
+
+            control().refresh();
+
+            verifyNoInteractions(orderRepository);
+        }
+    }
+}
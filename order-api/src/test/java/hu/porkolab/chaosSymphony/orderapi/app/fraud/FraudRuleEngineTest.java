@@ -0,0 +1,159 @@
+package hu.porkolab.chaosSymphony.orderapi.app.fraud;
+
+import hu.porkolab.chaosSymphony.orderapi.app.FraudDetectionService.FraudAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FraudRuleEngine")
+class FraudRuleEngineTest {
+
+    private FraudScoringProperties props;
+    private FraudRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        props = new FraudScoringProperties();
+        engine = FraudRuleEngine.withDefaultRules(props);
+    }
+
+    @Nested
+    @DisplayName("Scoring")
+    class ScoringTests {
+
+        @Test
+        @DisplayName("Low value order should be approved with no reasons")
+        void lowValueOrder_shouldApprove() {
+            long verdict = engine.evaluate(new FraudSignals().set(4_999, 0, 5, 12));
+
+            assertThat(FraudRuleEngine.action(verdict)).isEqualTo(FraudAction.APPROVE);
+            assertThat(FraudRuleEngine.scoreBps(verdict)).isZero();
+            assertThat(FraudRuleEngine.firedRules(verdict)).isZero();
+            assertThat(engine.describe(verdict, new FraudSignals())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Value tiers should pick the highest matching tier")
+        void valueTiers_shouldPickHighestMatchingTier() {
+            assertThat(FraudRuleEngine.scoreBps(engine.evaluate(new FraudSignals().set(150_001, 0, 5, 12))))
+                .isEqualTo(2000);
+            assertThat(FraudRuleEngine.scoreBps(engine.evaluate(new FraudSignals().set(250_001, 0, 5, 12))))
+                .isEqualTo(3500);
+            assertThat(FraudRuleEngine.scoreBps(engine.evaluate(new FraudSignals().set(600_001, 0, 5, 12))))
+                .isEqualTo(5000);
+        }
+
+        @Test
+        @DisplayName("Score should be capped and rejected above the reject threshold")
+        void combinedRules_shouldCapAndReject() {
+            long verdict = engine.evaluate(new FraudSignals().set(1_000_000, 5, 5, 3));
+
+            assertThat(FraudRuleEngine.scoreBps(verdict)).isEqualTo(props.getMaxScoreBps());
+            assertThat(FraudRuleEngine.action(verdict)).isEqualTo(FraudAction.REJECT);
+            assertThat(Integer.bitCount(FraudRuleEngine.firedRules(verdict))).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Thresholds should come from configuration")
+        void thresholds_shouldBeConfigurable() {
+            props.setRoundAmountScoreBps(8000);
+            props.setReviewScoreBps(7500);
+            FraudRuleEngine strict = FraudRuleEngine.withDefaultRules(props);
+
+            long verdict = strict.evaluate(new FraudSignals().set(10_000, 0, 5, 12));
+
+            assertThat(FraudRuleEngine.action(verdict)).isEqualTo(FraudAction.REVIEW);
+        }
+
+        @Test
+        @DisplayName("Reasons should be formatted from the fired rules only")
+        void describe_shouldListFiredRules() {
+            FraudSignals signals = new FraudSignals().set(150_000, 3, 5, 12);
+
+            String reason = engine.describe(engine.evaluate(signals), signals);
+
+            assertThat(reason).isEqualTo(
+                "High value order: $1500.00 (score +20.0); "
+                    + "Velocity anomaly detected (score +20.0); "
+                    + "Suspiciously round amount (score +15.0)");
+        }
+    }
+
+    @Nested
+    @DisplayName("Pipeline")
+    class PipelineTests {
+
+        @Test
+        @DisplayName("Custom rules should be appended to the pipeline")
+        void customRule_shouldContributeToScore() {
+            List<FraudRule> rules = new ArrayList<>(FraudRules.defaults(props));
+            rules.add(new FraudRule() {
+                @Override
+                public String id() {
+                    return "blocked-hour";
+                }
+
+                @Override
+                public int score(FraudSignals signals) {
+                    return signals.hourOfDay() == 23 ? 9500 : 0;
+                }
+
+                @Override
+                public void describe(FraudSignals signals, int scoreBps, StringBuilder out) {
+                    out.append("Blocked hour");
+                }
+            });
+            FraudRuleEngine custom = new FraudRuleEngine(rules, props);
+
+            FraudSignals signals = new FraudSignals().set(1_234, 0, 5, 23);
+            long verdict = custom.evaluate(signals);
+
+            assertThat(FraudRuleEngine.action(verdict)).isEqualTo(FraudAction.REJECT);
+            assertThat(custom.describe(verdict, signals)).isEqualTo("Blocked hour");
+            assertThat(custom.ruleIds()).endsWith("blocked-hour");
+        }
+
+        @Test
+        @DisplayName("Should reject more rules than the verdict mask can hold")
+        void tooManyRules_shouldThrow() {
+            List<FraudRule> rules = new ArrayList<>();
+            for (int i = 0; i < 33; i++) {
+                rules.add(FraudRules.offHours(props));
+            }
+
+            assertThatThrownBy(() -> new FraudRuleEngine(rules, props))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Approve path should not allocate")
+    void approvePath_shouldNotAllocate() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        FraudSignals signals = new FraudSignals().set(12_345, 2, 5, 12);
+        long sink = 0;
+        for (int i = 0; i < 20_000; i++) {
+            sink += engine.evaluate(signals);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            sink += engine.evaluate(signals);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(FraudRuleEngine.action(engine.evaluate(signals))).isEqualTo(FraudAction.APPROVE);
+        assertThat(sink).isNotZero();
+        // the measurement call itself may allocate a few bytes, but nothing per evaluation
+        assertThat(allocated).isLessThan(1024);
+    }
+}
@@ -0,0 +1,113 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderStatusProjection.OrderStatusView;
+import hu.porkolab.chaosSymphony.orderapi.domain.Order;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("OrderStatusBatchListener Integration Tests")
+class OrderStatusBatchListenerIntegrationTest {
+
+    @Autowired OrderStatusBatchListener listener;
+    @Autowired OrderRepository orderRepository;
+    @Autowired OrderOutboxRepository outboxRepository;
+    @Autowired OrderStatusProjection statusProjection;
+    @Autowired MeterRegistry meterRegistry;
+
+    private long offset;
+
+    @BeforeEach
+    void cleanup() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest status per order within a batch")
+    void shouldCoalesceUpdatesPerOrder() {
+        Order first = saveOrder("flagged by fraud");
+        Order second = saveOrder(null);
+        double appliedBefore = meterRegistry.get("order.status.updates.applied").counter().count();
+
+        listener.onStatusUpdates(List.of(
+                record(first.getId(), "PAYMENT_FAILED", "card declined"),
+                record(second.getId(), "COMPLETED", null),
+                record(first.getId(), "CANCELLED", null)));
+
+        Order reloadedFirst = orderRepository.findById(first.getId()).orElseThrow();
+        assertThat(reloadedFirst.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(reloadedFirst.getReviewReason()).isEqualTo("card declined");
+        assertThat(orderRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(meterRegistry.get("order.status.updates.applied").counter().count() - appliedBefore).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the stored reason when no update in the batch carries one")
+    void shouldKeepStoredReason() {
+        Order order = saveOrder("manual review");
+
+        listener.onStatusUpdates(List.of(record(order.getId(), "COMPLETED", null)));
+
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getReviewReason()).isEqualTo("manual review");
+        assertThat(statusProjection.get(order.getId()))
+                .contains(new OrderStatusView(order.getId(), OrderStatus.COMPLETED, "manual review"));
+    }
+
+    @Test
+    @DisplayName("Should skip malformed records and unknown orders without failing the batch")
+    void shouldSkipInvalidRecords() {
+        Order order = saveOrder(null);
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        records.add(new ConsumerRecord<>("order.status.update", 0, offset++, "x", "not json"));
+        records.add(new ConsumerRecord<>("order.status.update", 0, offset++, "x", "{\"orderId\":\"not-a-uuid\",\"status\":\"COMPLETED\"}"));
+        records.add(record(UUID.randomUUID(), "COMPLETED", null));
+        records.add(record(order.getId(), "SHIPPING_FAILED", "carrier down"));
+
+        listener.onStatusUpdates(records);
+
+        Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.SHIPPING_FAILED);
+        assertThat(reloaded.getReviewReason()).isEqualTo("carrier down");
+    }
+
+    private Order saveOrder(String reviewReason) {
+        return orderRepository.save(Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.NEW)
+                .total(BigDecimal.TEN)
+                .createdAt(Instant.now())
+                .reviewReason(reviewReason)
+                .build());
+    }
+
+    private ConsumerRecord<String, String> record(UUID orderId, String status, String reason) {
+        String value = reason == null
+                ? "{\"orderId\":\"%s\",\"status\":\"%s\"}".formatted(orderId, status)
+                : "{\"orderId\":\"%s\",\"status\":\"%s\",\"reason\":\"%s\"}".formatted(orderId, status, reason);
+        return new ConsumerRecord<>("order.status.update", 0, offset++, orderId.toString(), value);
+    }
+}
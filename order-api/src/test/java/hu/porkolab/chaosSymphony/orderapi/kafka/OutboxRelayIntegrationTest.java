@@ -0,0 +1,107 @@
+package hu.porkolab.chaosSymphony.orderapi.kafka;
+
+import hu.porkolab.chaosSymphony.orderapi.api.CreateOrder;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderService;
+import hu.porkolab.chaosSymphony.orderapi.app.OrderService.OrderCreationResult;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderOutboxRepository;
+import hu.porkolab.chaosSymphony.orderapi.domain.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:relaydb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "outbox.relay.enabled=true",
+        "outbox.relay.poll-interval=10ms"
+})
+@DisplayName("OutboxRelay Integration Tests")
+class OutboxRelayIntegrationTest {
+
+    @MockitoBean
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired OrderOutboxRepository outboxRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        outboxRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should publish committed outbox rows keyed by order id and delete them")
+    @SuppressWarnings("unchecked")
+    void shouldRelayAndDeleteOutboxRows() throws Exception {
+        OrderCreationResult result = orderService.createOrder(
+                new CreateOrder("relay-customer", BigDecimal.valueOf(42.10), "USD", null));
+
+        awaitOutboxEmpty();
+
+        ArgumentCaptor<ProducerRecord<String, String>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, atLeastOnce()).send(sent.capture());
+        ProducerRecord<String, String> record = sent.getValue();
+        assertThat(record.topic()).isEqualTo("order.created");
+        assertThat(record.key()).isEqualTo(result.orderId().toString());
+        assertThat(record.value()).contains(result.orderId().toString());
+        assertThat(new String(record.headers().lastHeader("type").value(), StandardCharsets.UTF_8))
+                .isEqualTo("OrderCreated");
+        verify(kafkaTemplate, atLeastOnce()).flush();
+        assertThat(meterRegistry.get("outbox.relay.published").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("outbox.relay.lag").timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep rows when the broker does not acknowledge and retry later")
+    void shouldKeepRowsWhenSendFails() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        orderService.createOrder(new CreateOrder("relay-retry", BigDecimal.valueOf(12.30), "USD", null));
+        Thread.sleep(200);
+
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.relay.failures").counter().count()).isGreaterThanOrEqualTo(1);
+
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        awaitOutboxEmpty();
+    }
+
+    private void awaitOutboxEmpty() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outboxRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(outboxRepository.count()).isZero();
+    }
+}
@@ -12,6 +12,11 @@ import org.springframework.kafka.annotation.EnableKafka;
 })
 @Import({
     hu.porkolab.chaosSymphony.common.kafka.KafkaErrorHandlingConfig.class,
+    hu.porkolab.chaosSymphony.common.kafka.HopTimingConfig.class,
+    hu.porkolab.chaosSymphony.common.jfr.FlightRecorderConfig.class,
+    hu.porkolab.chaosSymphony.common.logging.HotPathLoggingConfig.class,
+    hu.porkolab.chaosSymphony.common.retry.DelayedRetryConfig.class,
+    hu.porkolab.chaosSymphony.common.breaker.ConsumerCircuitBreakerConfig.class,
     hu.porkolab.chaosSymphony.common.idemp.IdempotencyConfig.class
 })
 public class PaymentSvcApplication {
@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 public class MetricsConfig {
 
     public static final String PAYMENTS_PROCESSED_COUNTER = "payments.processed";
+    public static final String PAYMENTS_FAILED_COUNTER = "payments.failed";
     public static final String DLT_MESSAGES_TOTAL_COUNTER = "dlt.messages.total";
     public static final String PROCESSING_TIME_TIMER = "processing.time.ms";
 
@@ -29,6 +30,22 @@ public class MetricsConfig {
                 .register(registry);
     }
 
+    @Bean
+    public Counter paymentsFailedMain(MeterRegistry registry) {
+        return Counter.builder(PAYMENTS_FAILED_COUNTER)
+                .tag("channel", "main")
+                .description("Payment attempts on the main consumer that ended in an exception.")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter paymentsFailedCanary(MeterRegistry registry) {
+        return Counter.builder(PAYMENTS_FAILED_COUNTER)
+                .tag("channel", "canary")
+                .description("Payment attempts on the canary consumer that ended in an exception.")
+                .register(registry);
+    }
+
     @Bean
     public Counter dltMessagesTotal(MeterRegistry registry) {
         return Counter.builder(DLT_MESSAGES_TOTAL_COUNTER)
@@ -39,6 +56,16 @@ public class MetricsConfig {
     @Bean
     public Timer processingTime(MeterRegistry registry) {
         return Timer.builder(PROCESSING_TIME_TIMER)
+                .tag("channel", "main")
+                .description("Measures the end-to-end processing time of a message.")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Bean
+    public Timer processingTimeCanary(MeterRegistry registry) {
+        return Timer.builder(PROCESSING_TIME_TIMER)
+                .tag("channel", "canary")
                 .description("Measures the end-to-end processing time of a message.")
                 .publishPercentileHistogram()
                 .register(registry);
@@ -4,22 +4,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
-import hu.porkolab.chaosSymphony.common.chaos.ChaosProducer;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.payment.store.PaymentStatusStore;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.net.SocketTimeoutException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -28,13 +24,17 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class PaymentRequestedListener {
 
+    private static final HotPathLog processedLog = HotPathLog.forEvent(log, "payments processed");
+
     private final PaymentResultProducer producer;
     private final IdempotencyStore idempotencyStore;
     private final PaymentStatusStore paymentStatusStore;
     private final Counter paymentsProcessedMain;
     private final Counter paymentsProcessedCanary;
-    private final Counter dltMessagesTotal;
+    private final Counter paymentsFailedMain;
+    private final Counter paymentsFailedCanary;
     private final Timer processingTime;
+    private final Timer processingTimeCanary;
     private final ObjectMapper objectMapper;
     
     @Value("${payment.processing.success-rate:0.9}")
@@ -46,52 +46,38 @@ public class PaymentRequestedListener {
             PaymentStatusStore paymentStatusStore,
             Counter paymentsProcessedMain,
             Counter paymentsProcessedCanary,
-            Counter dltMessagesTotal,
+            Counter paymentsFailedMain,
+            Counter paymentsFailedCanary,
             Timer processingTime,
+            Timer processingTimeCanary,
             ObjectMapper objectMapper) {
         this.producer = producer;
         this.idempotencyStore = idempotencyStore;
         this.paymentStatusStore = paymentStatusStore;
         this.paymentsProcessedMain = paymentsProcessedMain;
         this.paymentsProcessedCanary = paymentsProcessedCanary;
-        this.dltMessagesTotal = dltMessagesTotal;
+        this.paymentsFailedMain = paymentsFailedMain;
+        this.paymentsFailedCanary = paymentsFailedCanary;
         this.processingTime = processingTime;
+        this.processingTimeCanary = processingTimeCanary;
         this.objectMapper = objectMapper;
     }
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2.0, random = true),
-            include = {SocketTimeoutException.class, ChaosProducer.ChaosDropException.class, RuntimeException.class},
-            autoCreateTopics = "false"
-    )
     @KafkaListener(topics = "${kafka.topic.payment.requested}", groupId = "${kafka.group.id.payment}")
     @Transactional
     public void onPaymentRequested(ConsumerRecord<String, String> rec) {
-        processPayment(rec, paymentsProcessedMain, false);
+        processPayment(rec, paymentsProcessedMain, paymentsFailedMain, processingTime, false);
     }
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2.0, random = true),
-            include = {SocketTimeoutException.class, ChaosProducer.ChaosDropException.class, RuntimeException.class},
-            autoCreateTopics = "false"
-    )
     @KafkaListener(topics = "${kafka.topic.payment.requested.canary}", groupId = "${kafka.group.id.payment.canary}")
     @Transactional
     public void onPaymentRequestedCanary(ConsumerRecord<String, String> rec) {
-        processPayment(rec, paymentsProcessedCanary, true);
-    }
-    
-    @DltHandler
-    public void handleDlt(ConsumerRecord<String, String> rec) {
-        log.error("[PAYMENT-DLT] Message sent to DLT after all retries exhausted: key={}, topic={}", 
-                rec.key(), rec.topic());
-        dltMessagesTotal.increment();
+        processPayment(rec, paymentsProcessedCanary, paymentsFailedCanary, processingTimeCanary, true);
     }
 
     
-    private void processPayment(ConsumerRecord<String, String> rec, Counter counter, boolean isCanary) {
+    private void processPayment(ConsumerRecord<String, String> rec, Counter counter, Counter failed,
+                                Timer timer, boolean isCanary) {
         String logPrefix = isCanary ? "[CANARY] " : "";
         long startTime = System.nanoTime();
         
@@ -134,11 +120,14 @@ public class PaymentRequestedListener {
                     .put("amount", amount)
                     .toString();
 
-            log.info("{}Payment processed for orderId={}, paymentId={}, status: {}", logPrefix, orderId, paymentId, status);
+            processedLog.info("{}Payment processed for orderId={}, paymentId={}, status: {}", logPrefix, orderId, paymentId, status);
             producer.sendResult(orderId, resultPayload);
             
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
         } finally {
-            processingTime.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -15,6 +16,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class PaymentResultListener {
 
+    private static final HotPathLog receivedLog = HotPathLog.forEvent(log, "payment results received");
+    private static final HotPathLog inventoryRequestedLog = HotPathLog.forEvent(log, "inventory reservations requested");
+
     private final ObjectMapper objectMapper;
     private final InventoryRequestProducer inventoryProducer;
     private final OrderCompensationProducer compensationProducer;
@@ -37,7 +41,7 @@ public class PaymentResultListener {
             JsonNode message = objectMapper.readTree(envelope.getPayload());
             String status = message.path("status").asText();
 
-            log.info("PaymentResult received for orderId={} with status={}", orderId, status);
+            receivedLog.info("PaymentResult received for orderId={} with status={}", orderId, status);
 
             if ("CHARGED".equalsIgnoreCase(status)) {
                 handleSuccessfulPayment(orderId, message);
@@ -56,7 +60,7 @@ public class PaymentResultListener {
                 .put("items", paymentMessage.path("items").asInt(1));
         
         inventoryProducer.sendRequest(orderId, inventoryPayload.toString());
-        log.info("Inventory reservation requested for orderId={}", orderId);
+        inventoryRequestedLog.info("Inventory reservation requested for orderId={}", orderId);
     }
 
     private void handleFailedPayment(String orderId, String status) {
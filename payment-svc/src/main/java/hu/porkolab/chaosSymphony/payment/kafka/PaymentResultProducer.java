@@ -2,6 +2,7 @@ package hu.porkolab.chaosSymphony.payment.kafka;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.chaos.ChaosProducer;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.payment.outbox.IdempotentOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +15,7 @@ import java.util.UUID;
 public class PaymentResultProducer {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentResultProducer.class);
+    private static final HotPathLog sentLog = HotPathLog.forEvent(log, "payment results sent");
 
     private final ChaosProducer chaosProducer;
     private final IdempotentOutbox outbox;
@@ -35,7 +37,7 @@ public class PaymentResultProducer {
         try {
             String msg = EnvelopeHelper.envelope(orderId, eventId, "PaymentResult", resultPayloadJson);
             chaosProducer.send("payment.result", orderId, "PaymentResult", msg);
-            log.info("[PAYMENT] → payment.result key={}", orderId);
+            sentLog.info("[PAYMENT] → payment.result key={}", orderId);
         } catch (ChaosProducer.ChaosDropException e) {
             log.warn("[PAYMENT] Chaos DROP for payment.result key={}", orderId);
             throw e; 
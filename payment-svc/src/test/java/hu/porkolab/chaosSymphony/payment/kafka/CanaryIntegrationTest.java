@@ -44,6 +44,9 @@ class CanaryIntegrationTest {
         @Bean
         public Timer processingTime() { return mock(Timer.class); }
 
+        @Bean
+        public Timer processingTimeCanary() { return mock(Timer.class); }
+
         @Bean
         public IdempotencyStore idempotencyStore() {
             IdempotencyStore store = mock(IdempotencyStore.class);
@@ -68,8 +71,8 @@ class CanaryIntegrationTest {
             PaymentStatusStore paymentStatusStore,
             Counter paymentsProcessedMain,
             Counter paymentsProcessedCanary,
-            Counter dltMessagesTotal,
-            Timer processingTime) {
+            Timer processingTime,
+            Timer processingTimeCanary) {
 
             return new PaymentRequestedListener(
                 producer,
@@ -77,8 +80,10 @@ class CanaryIntegrationTest {
                 paymentStatusStore,
                 paymentsProcessedMain,
                 paymentsProcessedCanary,
-                dltMessagesTotal,
+                mock(Counter.class),
+                mock(Counter.class),
                 processingTime,
+                processingTimeCanary,
                 new com.fasterxml.jackson.databind.ObjectMapper()
             );
         }
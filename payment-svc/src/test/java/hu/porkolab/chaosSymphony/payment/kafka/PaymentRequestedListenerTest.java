@@ -43,11 +43,17 @@ class PaymentRequestedListenerTest {
     private Counter paymentsProcessedCanary;
     
     @Mock
-    private Counter dltMessagesTotal;
+    private Counter paymentsFailedMain;
+    
+    @Mock
+    private Counter paymentsFailedCanary;
     
     @Mock
     private Timer processingTime;
     
+    @Mock
+    private Timer processingTimeCanary;
+    
     private ObjectMapper objectMapper;
     
     private PaymentRequestedListener listener;
@@ -75,8 +81,10 @@ class PaymentRequestedListenerTest {
                 paymentStatusStore,
                 paymentsProcessedMain,
                 paymentsProcessedCanary,
-                dltMessagesTotal,
+                paymentsFailedMain,
+                paymentsFailedCanary,
                 processingTime,
+                processingTimeCanary,
                 objectMapper
         );
         
@@ -208,6 +216,9 @@ class PaymentRequestedListenerTest {
             assertThatThrownBy(() -> listener.onPaymentRequestedCanary(record))
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("[CANARY] Payment processing failed");
+            verify(paymentsFailedCanary).increment();
+            verify(processingTimeCanary).record(anyLong(), eq(TimeUnit.NANOSECONDS));
+            verifyNoInteractions(paymentsFailedMain, processingTime);
         }
     }
 
@@ -8,4 +8,7 @@ create inventory.requested 604800000
 create inventory.result    604800000
 create shipping.requested  604800000
 create shipping.result     604800000
-create inventory.requested.DLT 2592000000
\ No newline at end of file
+create inventory.requested.DLT 2592000000
+create retry.delay.1s  86400000
+create retry.delay.10s 86400000
+create retry.delay.60s 86400000
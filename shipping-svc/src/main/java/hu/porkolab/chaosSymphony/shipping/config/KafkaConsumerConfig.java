@@ -1,7 +1,9 @@
 package hu.porkolab.chaosSymphony.shipping.config;
 
+import hu.porkolab.chaosSymphony.common.retry.DelayedRetry;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +20,7 @@ public class KafkaConsumerConfig {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final Counter dltMessagesTotal;
+    private final ObjectProvider<DelayedRetry> delayedRetry;
 
     @Value("${spring.kafka.retry.max-attempts}")
     private long maxAttempts;
@@ -41,10 +44,11 @@ public class KafkaConsumerConfig {
                     return new org.apache.kafka.common.TopicPartition(dltTopic, rec.partition());
                 });
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
-                recoverer,
-                new FixedBackOff(initialInterval, maxAttempts)
-        );
+        FixedBackOff backOff = new FixedBackOff(initialInterval, maxAttempts);
+        DelayedRetry retry = delayedRetry.getIfAvailable();
+        DefaultErrorHandler errorHandler = retry != null
+                ? retry.errorHandler(recoverer, backOff)
+                : new DefaultErrorHandler(recoverer, backOff);
 
         factory.setCommonErrorHandler(errorHandler);
         return factory;
@@ -5,18 +5,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
 import hu.porkolab.chaosSymphony.common.EventEnvelope;
 import hu.porkolab.chaosSymphony.common.idemp.IdempotencyStore;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.annotation.RetryableTopic;
-import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.net.SocketTimeoutException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -25,6 +23,8 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class ShippingRequestedListener {
 
+    private static final HotPathLog processedLog = HotPathLog.forEvent(log, "shipments processed");
+
     private final ShippingResultProducer producer;
     private final IdempotencyStore idempotencyStore;
     private final Counter messagesProcessed;
@@ -47,12 +47,6 @@ public class ShippingRequestedListener {
         this.objectMapper = objectMapper;
     }
 
-    @RetryableTopic(
-            attempts = "4",
-            backoff = @Backoff(delay = 1000, multiplier = 2.0, random = true),
-            include = {SocketTimeoutException.class},
-            autoCreateTopics = "false"
-    )
     @KafkaListener(topics = "${kafka.topic.shipping.requested}", groupId = "${kafka.group.id.shipping}")
     @Transactional
     public void onShippingRequested(ConsumerRecord<String, String> rec) {
@@ -94,7 +88,7 @@ public class ShippingRequestedListener {
                     .put("address", address)
                     .toString();
 
-            log.info("Shipping processed for orderId={}, shippingId={}, address={}, status={}", orderId, shippingId, address, status);
+            processedLog.info("Shipping processed for orderId={}, shippingId={}, address={}, status={}", orderId, shippingId, address, status);
             producer.sendResult(orderId, resultPayload);
             
         } finally {
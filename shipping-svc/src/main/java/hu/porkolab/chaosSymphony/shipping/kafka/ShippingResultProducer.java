@@ -1,6 +1,7 @@
 package hu.porkolab.chaosSymphony.shipping.kafka;
 
 import hu.porkolab.chaosSymphony.common.EnvelopeHelper;
+import hu.porkolab.chaosSymphony.common.logging.HotPathLog;
 import hu.porkolab.chaosSymphony.shipping.outbox.IdempotentOutbox;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import java.util.UUID;
 public class ShippingResultProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(ShippingResultProducer.class);
+	private static final HotPathLog sentLog = HotPathLog.forEvent(log, "shipping results sent");
 
 	private final KafkaTemplate<String, String> kafka;
 	private final IdempotentOutbox outbox;
@@ -35,7 +37,7 @@ public class ShippingResultProducer {
 		try {
 			String msg = EnvelopeHelper.envelope(orderId, eventId, "ShippingResult", payloadJson);
 			RecordMetadata md = kafka.send("shipping.result", orderId, msg).get().getRecordMetadata();
-			log.info("[SHIPPING] → shipping.result key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
+			sentLog.info("[SHIPPING] → shipping.result key={} {}-{}@{}", orderId, md.topic(), md.partition(), md.offset());
 		} catch (Exception e) {
 			log.error("[SHIPPING] send shipping.result failed key={} err={}", orderId, e.getMessage(), e);
 			throw new RuntimeException(e);
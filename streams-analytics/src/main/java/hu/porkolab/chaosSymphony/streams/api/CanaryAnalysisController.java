@@ -0,0 +1,26 @@
+package hu.porkolab.chaosSymphony.streams.api;
+
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalysisService;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Verdict;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/canary")
+@RequiredArgsConstructor
+public class CanaryAnalysisController {
+
+    private final Optional<CanaryAnalysisService> analysisService;
+
+    @GetMapping("/analysis")
+    public ResponseEntity<Verdict> lastVerdict() {
+        return analysisService.flatMap(CanaryAnalysisService::lastVerdict)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
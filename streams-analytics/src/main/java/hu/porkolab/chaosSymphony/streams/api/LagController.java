@@ -0,0 +1,31 @@
+package hu.porkolab.chaosSymphony.streams.api;
+
+import hu.porkolab.chaosSymphony.streams.service.ConsumerLagMonitor;
+import hu.porkolab.chaosSymphony.streams.service.ConsumerLagMonitor.GroupLag;
+import hu.porkolab.chaosSymphony.streams.service.ConsumerLagMonitor.LagSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/lag")
+@RequiredArgsConstructor
+public class LagController {
+
+    private final ConsumerLagMonitor lagMonitor;
+
+    @GetMapping
+    public LagSnapshot all() {
+        return lagMonitor.snapshot();
+    }
+
+    @GetMapping("/{groupId}")
+    public ResponseEntity<GroupLag> group(@PathVariable String groupId) {
+        return lagMonitor.snapshot().group(groupId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/metrics")
@@ -18,28 +21,72 @@ public class MetricsController {
 
     private final WebClient prometheusWebClient;
 
-    public record SloMetrics(double p95Latency, long dltCount, double sloBurnRate1h) {}
+    /**
+     * Latencies are in milliseconds. {@code dltRatio} is the share of processed messages that
+     * were dead-lettered over the last minute, for guards that have to react while a run is going.
+     * A value is {@code null} when Prometheus could not be queried and NaN when the window holds
+     * no samples, as on an idle pipeline.
+     */
+    public record SloMetrics(Double p95Latency, Double p99Latency, Long dltCount, Double dltRatio,
+                             Double sloBurnRate1h) {}
+
+    /** Processing time percentiles of one service, in milliseconds. */
+    public record StageLatency(String stage, double p50, double p95, double p99) {}
+
+    /**
+     * Orders started per second over the last minute, compensations so far and per-stage latency;
+     * {@code null} like in {@link SloMetrics} when Prometheus could not be queried.
+     */
+    public record PipelineMetrics(Double throughput, Long compensations, List<StageLatency> stages) {}
 
     @GetMapping(value = "/slo", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<SloMetrics> getSloMetrics() {
-        
-        
-        Mono<Double> p95LatencyMono = queryPrometheus(
+        Mono<Optional<Double>> p95LatencyMono = queryPrometheus(
             "histogram_quantile(0.95, sum(rate(processing_time_ms_seconds_bucket[5m])) by (le)) * 1000"
         );
         
-        Mono<Double> dltCountMono = queryPrometheus("sum(dlt_messages_total) or vector(0)");
-        Mono<Double> sloBurnRateMono = queryPrometheus("orders_slo_burn_rate or vector(0)");
+        Mono<Optional<Double>> p99LatencyMono = queryPrometheus(
+            "histogram_quantile(0.99, sum(rate(processing_time_ms_seconds_bucket[1m])) by (le)) * 1000"
+        );
+        Mono<Optional<Double>> dltCountMono = queryPrometheus("sum(dlt_messages_total) or vector(0)");
+        Mono<Optional<Double>> dltRatioMono = queryPrometheus(
+            "(sum(rate(dlt_messages_total[1m])) / clamp_min(sum(rate(processing_time_ms_seconds_count[1m])), 1e-9))"
+                + " or vector(0)"
+        );
+        Mono<Optional<Double>> sloBurnRateMono = queryPrometheus("orders_slo_burn_rate or vector(0)");
 
-        return Mono.zip(p95LatencyMono, dltCountMono, sloBurnRateMono)
+        return Mono.zip(p95LatencyMono, p99LatencyMono, dltCountMono, dltRatioMono, sloBurnRateMono)
                 .map(tuple -> new SloMetrics(
-                        tuple.getT1(),
-                        tuple.getT2().longValue(),
-                        tuple.getT3()
+                        tuple.getT1().orElse(null),
+                        tuple.getT2().orElse(null),
+                        tuple.getT3().map(Double::longValue).orElse(null),
+                        tuple.getT4().orElse(null),
+                        tuple.getT5().orElse(null)
                 ));
     }
 
-    private Mono<Double> queryPrometheus(String query) {
+    @GetMapping(value = "/pipeline", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PipelineMetrics> getPipelineMetrics() {
+        Mono<Optional<Double>> throughputMono = queryPrometheus("sum(rate(orders_started_total[1m])) or vector(0)");
+        Mono<Optional<Double>> compensationsMono = queryPrometheus("sum(saga_compensations_triggered_total) or vector(0)");
+
+        return Mono.zip(throughputMono, compensationsMono, stageQuantile(0.5), stageQuantile(0.95), stageQuantile(0.99))
+                .map(tuple -> new PipelineMetrics(
+                        tuple.getT1().orElse(null),
+                        tuple.getT2().map(Double::longValue).orElse(null),
+                        tuple.getT5().keySet().stream()
+                                .sorted()
+                                .map(stage -> new StageLatency(stage,
+                                        tuple.getT3().getOrDefault(stage, 0.0),
+                                        tuple.getT4().getOrDefault(stage, 0.0),
+                                        tuple.getT5().get(stage)))
+                                .toList()
+                ));
+    }
+
+    private Mono<Map<String, Double>> stageQuantile(double quantile) {
+        String query = "histogram_quantile(" + quantile
+                + ", sum(rate(processing_time_ms_seconds_bucket[1m])) by (le, job)) * 1000";
         return prometheusWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/api/v1/query")
@@ -47,22 +94,51 @@ public class MetricsController {
                         .build())
                 .retrieve()
                 .bodyToMono(JsonNode.class)
-                .map(this::parsePrometheusValue)
-                .onErrorReturn(0.0);
+                .map(this::parsePrometheusValuesByJob)
+                .onErrorReturn(Map.of());
     }
 
-    private Double parsePrometheusValue(JsonNode response) {
-        try {
-            JsonNode result = response.path("data").path("result");
-            if (result.isArray() && result.size() > 0) {
-                JsonNode value = result.get(0).path("value");
-                if (value.isArray() && value.size() > 1) {
-                    return value.get(1).asDouble();
+    /** Series without samples in the window come back as NaN and are left out. */
+    private Map<String, Double> parsePrometheusValuesByJob(JsonNode response) {
+        Map<String, Double> values = new HashMap<>();
+        for (JsonNode series : response.path("data").path("result")) {
+            String job = series.path("metric").path("job").asText("");
+            JsonNode value = series.path("value");
+            if (!job.isEmpty() && value.isArray() && value.size() > 1) {
+                double v = value.get(1).asDouble(Double.NaN);
+                if (!Double.isNaN(v)) {
+                    values.put(job, v);
                 }
             }
-        } catch (Exception e) {
-            
         }
-        return 0.0;
+        return values;
+    }
+
+    /**
+     * Empty when the query failed, so callers can tell an outage from a healthy zero; NaN when it
+     * succeeded without samples.
+     */
+    private Mono<Optional<Double>> queryPrometheus(String query) {
+        return prometheusWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/query")
+                        .queryParam("query", query)
+                        .build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(response -> Optional.of(parsePrometheusValue(response)))
+                .onErrorReturn(Optional.empty());
+    }
+
+    private double parsePrometheusValue(JsonNode response) {
+        JsonNode result = response.path("data").path("result");
+        if (!"success".equals(response.path("status").asText()) || !result.isArray()) {
+            throw new IllegalStateException("Unexpected Prometheus response: " + response);
+        }
+        if (result.isEmpty()) {
+            return Double.NaN;
+        }
+        JsonNode value = result.get(0).path("value");
+        return value.isArray() && value.size() > 1 ? value.get(1).asDouble(Double.NaN) : Double.NaN;
     }
 }
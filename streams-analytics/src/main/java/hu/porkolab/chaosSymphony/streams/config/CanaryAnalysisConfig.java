@@ -0,0 +1,19 @@
+package hu.porkolab.chaosSymphony.streams.config;
+
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CanaryAnalysisConfig {
+
+    @Bean
+    public CanaryAnalyzer canaryAnalyzer(
+            @Value("${canary.analysis.min-samples:100}") long minSamples,
+            @Value("${canary.analysis.max-p99-increase:0.2}") double maxP99Increase,
+            @Value("${canary.analysis.max-error-rate-increase:0.02}") double maxErrorRateIncrease,
+            @Value("${canary.analysis.z-critical:2.33}") double zCritical) {
+        return new CanaryAnalyzer(minSamples, maxP99Increase, maxErrorRateIncrease, zCritical);
+    }
+}
@@ -11,10 +11,20 @@ public class WebClientConfig {
     @Value("${prometheus.url:http://prometheus:9090}")
     private String prometheusUrl;
 
+    @Value("${orchestrator.url:http://orchestrator:8091}")
+    private String orchestratorUrl;
+
     @Bean
     public WebClient prometheusWebClient() {
         return WebClient.builder()
                 .baseUrl(prometheusUrl)
                 .build();
     }
+
+    @Bean
+    public WebClient orchestratorWebClient() {
+        return WebClient.builder()
+                .baseUrl(orchestratorUrl)
+                .build();
+    }
 }
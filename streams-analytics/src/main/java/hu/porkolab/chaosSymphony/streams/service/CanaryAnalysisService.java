@@ -0,0 +1,104 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Outcome;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Verdict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Periodically compares the canary payment channel with the main one and sets the orchestrator's
+ * canary weight back to 0 when the canary regresses. Only a {@link Outcome#FAIL} verdict acts;
+ * missing data or too little canary traffic is inconclusive.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "canary.analysis", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CanaryAnalysisService {
+
+    private final CanaryMetricsSource metricsSource;
+    private final CanaryRollbackClient rollbackClient;
+    private final CanaryAnalyzer analyzer;
+    private final Duration window;
+    private final Clock clock;
+    private final Map<Outcome, Counter> verdicts = new EnumMap<>(Outcome.class);
+    private final Counter rollbacks;
+    private final AtomicReference<Verdict> lastVerdict = new AtomicReference<>();
+
+    public CanaryAnalysisService(CanaryMetricsSource metricsSource,
+                                 CanaryRollbackClient rollbackClient,
+                                 CanaryAnalyzer analyzer,
+                                 MeterRegistry registry,
+                                 @Value("${canary.analysis.window:5m}") Duration window) {
+        this(metricsSource, rollbackClient, analyzer, registry, window, Clock.systemUTC());
+    }
+
+    CanaryAnalysisService(CanaryMetricsSource metricsSource, CanaryRollbackClient rollbackClient,
+                          CanaryAnalyzer analyzer, MeterRegistry registry, Duration window, Clock clock) {
+        this.metricsSource = metricsSource;
+        this.rollbackClient = rollbackClient;
+        this.analyzer = analyzer;
+        this.window = window;
+        this.clock = clock;
+        for (Outcome outcome : Outcome.values()) {
+            verdicts.put(outcome, Counter.builder("canary.analysis.verdicts")
+                    .description("Canary analysis runs by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+        this.rollbacks = Counter.builder("canary.analysis.rollbacks")
+                .description("Canary weights reset to 0 after a failed analysis")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${canary.analysis.interval-ms:30000}")
+    public void analyze() {
+        Verdict verdict;
+        try {
+            verdict = analyzer.analyze(
+                    metricsSource.fetch("main", window),
+                    metricsSource.fetch("canary", window),
+                    Instant.now(clock));
+        } catch (Exception e) {
+            log.warn("Canary analysis skipped, metrics unavailable: {}", e.getMessage());
+            return;
+        }
+        lastVerdict.set(verdict);
+        verdicts.get(verdict.outcome()).increment();
+        log.debug("Canary analysis: {}", verdict);
+
+        if (verdict.outcome() == Outcome.FAIL) {
+            rollBack(verdict);
+        }
+    }
+
+    public Optional<Verdict> lastVerdict() {
+        return Optional.ofNullable(lastVerdict.get());
+    }
+
+    private void rollBack(Verdict verdict) {
+        try {
+            double percentage = rollbackClient.currentPercentage();
+            if (percentage <= 0) {
+                return;
+            }
+            rollbackClient.rollback();
+            rollbacks.increment();
+            log.warn("Canary rolled back from {} to 0: {}", percentage, verdict.reason());
+        } catch (Exception e) {
+            log.error("Canary regressed ({}) but rollback failed: {}", verdict.reason(), e.getMessage());
+        }
+    }
+}
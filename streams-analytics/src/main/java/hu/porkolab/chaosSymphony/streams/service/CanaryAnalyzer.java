@@ -0,0 +1,120 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * Compares the canary payment channel with the main one over the same window. Latency uses a
+ * one-sided Mann-Whitney U test on the histogram buckets (values in one bucket are ties), errors
+ * a one-sided two-proportion z-test. A regression needs both a significant test and an effect
+ * larger than the configured threshold, so a large but noisy difference or a tiny but
+ * significant one does not trigger a rollback.
+ */
+public class CanaryAnalyzer {
+
+    public enum Outcome { PASS, FAIL, INCONCLUSIVE }
+
+    /** What one channel did during the window. {@code attempts} includes failed attempts. */
+    public record ChannelStats(LatencyHistogram latency, long attempts, long failures) {
+
+        double errorRate() {
+            return attempts == 0 ? 0.0 : (double) failures / attempts;
+        }
+    }
+
+    public record Verdict(Outcome outcome, String reason,
+                          double mainP99Ms, double canaryP99Ms, double latencyZ,
+                          double mainErrorRate, double canaryErrorRate, double errorZ,
+                          Instant analyzedAt) {}
+
+    private final long minSamples;
+    private final double maxP99Increase;
+    private final double maxErrorRateIncrease;
+    private final double zCritical;
+
+    /**
+     * @param maxP99Increase       tolerated relative p99 growth, e.g. 0.2 for +20%
+     * @param maxErrorRateIncrease tolerated absolute error-rate growth, e.g. 0.02 for +2 points
+     * @param zCritical            one-sided critical value, e.g. 2.33 for 99% confidence
+     */
+    public CanaryAnalyzer(long minSamples, double maxP99Increase, double maxErrorRateIncrease, double zCritical) {
+        this.minSamples = minSamples;
+        this.maxP99Increase = maxP99Increase;
+        this.maxErrorRateIncrease = maxErrorRateIncrease;
+        this.zCritical = zCritical;
+    }
+
+    public Verdict analyze(ChannelStats main, ChannelStats canary, Instant now) {
+        double mainP99 = main.latency().quantile(0.99) * 1000;
+        double canaryP99 = canary.latency().quantile(0.99) * 1000;
+        double latencyZ = mannWhitneyZ(main.latency(), canary.latency());
+        double errorZ = twoProportionZ(main.failures(), main.attempts(), canary.failures(), canary.attempts());
+
+        if (canary.attempts() < minSamples || main.attempts() < minSamples) {
+            return new Verdict(Outcome.INCONCLUSIVE,
+                    "Not enough samples (main=" + main.attempts() + ", canary=" + canary.attempts() + ")",
+                    mainP99, canaryP99, latencyZ, main.errorRate(), canary.errorRate(), errorZ, now);
+        }
+        if (canary.errorRate() - main.errorRate() > maxErrorRateIncrease && errorZ > zCritical) {
+            return new Verdict(Outcome.FAIL,
+                    String.format("Error rate %.2f%% vs %.2f%% (z=%.2f)",
+                            canary.errorRate() * 100, main.errorRate() * 100, errorZ),
+                    mainP99, canaryP99, latencyZ, main.errorRate(), canary.errorRate(), errorZ, now);
+        }
+        if (canaryP99 > mainP99 * (1 + maxP99Increase) && latencyZ > zCritical) {
+            return new Verdict(Outcome.FAIL,
+                    String.format("p99 %.1fms vs %.1fms (z=%.2f)", canaryP99, mainP99, latencyZ),
+                    mainP99, canaryP99, latencyZ, main.errorRate(), canary.errorRate(), errorZ, now);
+        }
+        return new Verdict(Outcome.PASS, "Canary within thresholds",
+                mainP99, canaryP99, latencyZ, main.errorRate(), canary.errorRate(), errorZ, now);
+    }
+
+    /**
+     * z-score of the Mann-Whitney U statistic for "canary is slower", with the tie correction
+     * for values sharing a bucket. Zero when either side is empty.
+     */
+    static double mannWhitneyZ(LatencyHistogram main, LatencyHistogram canary) {
+        double[] bounds = DoubleStream.concat(Arrays.stream(main.upperBounds()), Arrays.stream(canary.upperBounds()))
+                .distinct().sorted().toArray();
+        long[] a = main.countsOn(bounds);
+        long[] b = canary.countsOn(bounds);
+        double n1 = Arrays.stream(a).sum();
+        double n2 = Arrays.stream(b).sum();
+        if (n1 == 0 || n2 == 0) {
+            return 0.0;
+        }
+        double n = n1 + n2;
+        double rankSum = 0;
+        double ties = 0;
+        double below = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            double t = a[i] + b[i];
+            if (t == 0) {
+                continue;
+            }
+            double midRank = below + (t + 1) / 2;
+            rankSum += b[i] * midRank;
+            ties += t * t * t - t;
+            below += t;
+        }
+        double u = rankSum - n2 * (n2 + 1) / 2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - ties / (n * (n - 1)));
+        return variance <= 0 ? 0.0 : (u - mean) / Math.sqrt(variance);
+    }
+
+    /** z-score for "canary fails more often", using the pooled proportion. */
+    static double twoProportionZ(long mainFailures, long mainAttempts, long canaryFailures, long canaryAttempts) {
+        if (mainAttempts == 0 || canaryAttempts == 0) {
+            return 0.0;
+        }
+        double pooled = (double) (mainFailures + canaryFailures) / (mainAttempts + canaryAttempts);
+        double se = Math.sqrt(pooled * (1 - pooled) * (1.0 / mainAttempts + 1.0 / canaryAttempts));
+        if (se == 0) {
+            return 0.0;
+        }
+        return ((double) canaryFailures / canaryAttempts - (double) mainFailures / mainAttempts) / se;
+    }
+}
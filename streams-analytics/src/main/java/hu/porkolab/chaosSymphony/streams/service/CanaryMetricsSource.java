@@ -0,0 +1,73 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.ChannelStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Reads one payment channel's latency histogram and attempt/failure counts from Prometheus. */
+@Component
+public class CanaryMetricsSource {
+
+    private static final Duration QUERY_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient prometheusWebClient;
+
+    public CanaryMetricsSource(@Qualifier("prometheusWebClient") WebClient prometheusWebClient) {
+        this.prometheusWebClient = prometheusWebClient;
+    }
+
+    public ChannelStats fetch(String channel, Duration window) {
+        String range = "[" + window.toSeconds() + "s]";
+        String selector = "{channel=\"" + channel + "\"}";
+        JsonNode buckets = query("sum by (le) (increase(processing_time_ms_seconds_bucket" + selector + range + "))");
+        JsonNode attempts = query("sum(increase(payments_processed_total" + selector + range + "))");
+        JsonNode failures = query("sum(increase(payments_failed_total" + selector + range + "))");
+        return new ChannelStats(histogram(buckets), Math.round(scalar(attempts)), Math.round(scalar(failures)));
+    }
+
+    /** The query goes in as a URI variable: its {@code {channel="..."}} selector is not a template. */
+    private JsonNode query(String promql) {
+        return prometheusWebClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/query").queryParam("query", "{query}").build(promql))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(QUERY_TIMEOUT);
+    }
+
+    static LatencyHistogram histogram(JsonNode response) {
+        Map<Double, Double> cumulative = new HashMap<>();
+        for (JsonNode series : results(response)) {
+            String le = series.path("metric").path("le").asText(null);
+            if (le != null) {
+                cumulative.put(parseBound(le), value(series));
+            }
+        }
+        return cumulative.isEmpty() ? LatencyHistogram.EMPTY : LatencyHistogram.fromCumulative(cumulative);
+    }
+
+    static double scalar(JsonNode response) {
+        JsonNode result = results(response);
+        return result.isEmpty() ? 0.0 : value(result.get(0));
+    }
+
+    private static JsonNode results(JsonNode response) {
+        return response == null ? MissingNode.getInstance()
+                : response.path("data").path("result");
+    }
+
+    private static double value(JsonNode series) {
+        double value = series.path("value").path(1).asDouble(0.0);
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    private static double parseBound(String le) {
+        return "+Inf".equals(le) ? Double.POSITIVE_INFINITY : Double.parseDouble(le);
+    }
+}
@@ -0,0 +1,42 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+/** Reads and resets the orchestrator's payment canary weight. */
+@Component
+public class CanaryRollbackClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient orchestratorWebClient;
+
+    public CanaryRollbackClient(@Qualifier("orchestratorWebClient") WebClient orchestratorWebClient) {
+        this.orchestratorWebClient = orchestratorWebClient;
+    }
+
+    public double currentPercentage() {
+        JsonNode config = orchestratorWebClient.get()
+                .uri("/api/canary/config")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(TIMEOUT);
+        return config == null ? 0.0 : config.path("percentage").asDouble(0.0);
+    }
+
+    public void rollback() {
+        orchestratorWebClient.post()
+                .uri("/api/canary/config")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("enabled", false, "percentage", 0.0))
+                .retrieve()
+                .toBodilessEntity()
+                .block(TIMEOUT);
+    }
+}
@@ -0,0 +1,242 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically computes offset lag and time lag for every consumer group. Committed offsets for
+ * all groups and end offsets for all their partitions are fetched in one AdminClient call each;
+ * time lag is the age of the next unconsumed record, sampled for the partitions with the largest
+ * offset lag. Results are exported as per-partition and per-group gauges and kept as a snapshot
+ * for {@code /api/lag}.
+ */
+@Slf4j
+@Service
+public class ConsumerLagMonitor {
+
+    public record PartitionLag(String topic, int partition, long committedOffset, long endOffset,
+                               long lag, long timeLagMs) {}
+
+    /** {@code maxTimeLagMs} is -1 when no lagging partition could be sampled. */
+    public record GroupLag(String groupId, long totalLag, long maxTimeLagMs, List<PartitionLag> partitions) {}
+
+    public record LagSnapshot(Instant sampledAt, List<GroupLag> groups) {
+
+        public Optional<GroupLag> group(String groupId) {
+            return groups.stream().filter(g -> g.groupId().equals(groupId)).findFirst();
+        }
+    }
+
+    private static final Duration ADMIN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AdminClient adminClient;
+    private final RecordTimestampSampler sampler;
+    private final Clock clock;
+    private final Pattern groupPattern;
+    private final int maxSampledPartitions;
+    private final Duration sampleTimeout;
+    private final MultiGauge partitionLag;
+    private final MultiGauge partitionTimeLag;
+    private final MultiGauge groupLag;
+    private final MultiGauge groupTimeLag;
+    private final AtomicReference<LagSnapshot> snapshot =
+            new AtomicReference<>(new LagSnapshot(Instant.EPOCH, List.of()));
+
+    public ConsumerLagMonitor(AdminClient adminClient,
+                              RecordTimestampSampler sampler,
+                              MeterRegistry registry,
+                              @Value("${lag.monitor.group-pattern:.*}") String groupPattern,
+                              @Value("${lag.monitor.max-sampled-partitions:200}") int maxSampledPartitions,
+                              @Value("${lag.monitor.sample-timeout:2s}") Duration sampleTimeout) {
+        this(adminClient, sampler, registry, groupPattern, maxSampledPartitions, sampleTimeout, Clock.systemUTC());
+    }
+
+    ConsumerLagMonitor(AdminClient adminClient, RecordTimestampSampler sampler, MeterRegistry registry,
+                       String groupPattern, int maxSampledPartitions, Duration sampleTimeout, Clock clock) {
+        this.adminClient = adminClient;
+        this.sampler = sampler;
+        this.clock = clock;
+        this.groupPattern = Pattern.compile(groupPattern);
+        this.maxSampledPartitions = maxSampledPartitions;
+        this.sampleTimeout = sampleTimeout;
+        this.partitionLag = MultiGauge.builder("kafka.consumer.lag.offsets")
+                .description("Records between a group's committed offset and the partition end")
+                .register(registry);
+        this.partitionTimeLag = MultiGauge.builder("kafka.consumer.lag.seconds")
+                .description("Age of the next record a group has not consumed yet")
+                .baseUnit("seconds")
+                .register(registry);
+        this.groupLag = MultiGauge.builder("kafka.consumer.group.lag.offsets")
+                .description("Total offset lag of a consumer group")
+                .register(registry);
+        this.groupTimeLag = MultiGauge.builder("kafka.consumer.group.lag.seconds")
+                .description("Largest time lag across a consumer group's partitions")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${lag.monitor.interval-ms:15000}")
+    public void refresh() {
+        try {
+            LagSnapshot next = collect();
+            snapshot.set(next);
+            export(next);
+        } catch (Exception e) {
+            log.warn("Consumer lag refresh failed: {}", e.getMessage());
+        }
+    }
+
+    public LagSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    LagSnapshot collect() throws Exception {
+        Instant now = clock.instant();
+        List<String> groupIds = adminClient.listConsumerGroups().valid()
+                .get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .stream()
+                .map(ConsumerGroupListing::groupId)
+                .filter(id -> groupPattern.matcher(id).matches())
+                .sorted()
+                .toList();
+        if (groupIds.isEmpty()) {
+            return new LagSnapshot(now, List.of());
+        }
+
+        Map<String, ListConsumerGroupOffsetsSpec> specs = groupIds.stream()
+                .collect(Collectors.toMap(id -> id, id -> new ListConsumerGroupOffsetsSpec()));
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = adminClient
+                .listConsumerGroupOffsets(specs).all()
+                .get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        Map<TopicPartition, OffsetSpec> partitions = new HashMap<>();
+        committed.values().forEach(offsets -> offsets.keySet().forEach(tp -> partitions.put(tp, OffsetSpec.latest())));
+        Map<TopicPartition, ListOffsetsResultInfo> ends = partitions.isEmpty() ? Map.of()
+                : adminClient.listOffsets(partitions).all()
+                        .get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        Map<String, List<PartitionLag>> offsetLags = new TreeMap<>();
+        for (String groupId : groupIds) {
+            List<PartitionLag> lags = new ArrayList<>();
+            committed.getOrDefault(groupId, Map.of()).forEach((tp, offset) -> {
+                ListOffsetsResultInfo end = ends.get(tp);
+                if (offset == null || end == null) {
+                    return;
+                }
+                long lag = Math.max(0, end.offset() - offset.offset());
+                lags.add(new PartitionLag(tp.topic(), tp.partition(), offset.offset(), end.offset(), lag, lag == 0 ? 0 : -1));
+            });
+            lags.sort(Comparator.comparing(PartitionLag::topic).thenComparingInt(PartitionLag::partition));
+            offsetLags.put(groupId, lags);
+        }
+
+        Map<TopicPartition, Map<Long, Long>> timestamps = sampleTimestamps(offsetLags.values());
+        List<GroupLag> groups = new ArrayList<>();
+        offsetLags.forEach((groupId, lags) -> groups.add(toGroupLag(groupId, lags, timestamps, now)));
+        return new LagSnapshot(now, List.copyOf(groups));
+    }
+
+    /**
+     * Samples the next record of lagging partitions, largest lag first, up to the configured
+     * budget. Groups reading the same partition at different offsets need separate samples; the
+     * sampler takes one offset per partition per call, so those are fetched in further rounds.
+     */
+    private Map<TopicPartition, Map<Long, Long>> sampleTimestamps(Collection<List<PartitionLag>> lags) {
+        Deque<PartitionLag> pending = lags.stream()
+                .flatMap(List::stream)
+                .filter(p -> p.lag() > 0)
+                .sorted(Comparator.comparingLong(PartitionLag::lag).reversed())
+                .limit(maxSampledPartitions)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+        Map<TopicPartition, Map<Long, Long>> timestamps = new HashMap<>();
+        while (!pending.isEmpty()) {
+            Map<TopicPartition, Long> round = new HashMap<>();
+            for (Iterator<PartitionLag> it = pending.iterator(); it.hasNext(); ) {
+                PartitionLag p = it.next();
+                TopicPartition tp = new TopicPartition(p.topic(), p.partition());
+                Map<Long, Long> done = timestamps.getOrDefault(tp, Map.of());
+                if (done.containsKey(p.committedOffset())) {
+                    it.remove();
+                } else if (round.putIfAbsent(tp, p.committedOffset()) == null) {
+                    it.remove();
+                }
+            }
+            if (round.isEmpty()) {
+                break;
+            }
+            Map<TopicPartition, Long> sampled = sampler.sample(round, sampleTimeout);
+            round.forEach((tp, offset) -> {
+                Long ts = sampled.get(tp);
+                if (ts != null) {
+                    timestamps.computeIfAbsent(tp, k -> new HashMap<>()).put(offset, ts);
+                }
+            });
+        }
+        return timestamps;
+    }
+
+    private static GroupLag toGroupLag(String groupId, List<PartitionLag> lags,
+                                       Map<TopicPartition, Map<Long, Long>> timestamps, Instant now) {
+        List<PartitionLag> withTime = new ArrayList<>(lags.size());
+        long total = 0;
+        long maxTimeLag = lags.stream().allMatch(p -> p.lag() == 0) ? 0 : -1;
+        for (PartitionLag p : lags) {
+            long timeLag = p.timeLagMs();
+            if (p.lag() > 0) {
+                Long ts = timestamps.getOrDefault(new TopicPartition(p.topic(), p.partition()), Map.of())
+                        .get(p.committedOffset());
+                timeLag = ts == null ? -1 : Math.max(0, now.toEpochMilli() - ts);
+            }
+            withTime.add(new PartitionLag(p.topic(), p.partition(), p.committedOffset(), p.endOffset(), p.lag(), timeLag));
+            total += p.lag();
+            maxTimeLag = Math.max(maxTimeLag, timeLag);
+        }
+        return new GroupLag(groupId, total, maxTimeLag, List.copyOf(withTime));
+    }
+
+    private void export(LagSnapshot lagSnapshot) {
+        List<MultiGauge.Row<?>> partitionRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> partitionTimeRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> groupRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> groupTimeRows = new ArrayList<>();
+        for (GroupLag group : lagSnapshot.groups()) {
+            Tags groupTags = Tags.of("group", group.groupId());
+            groupRows.add(MultiGauge.Row.of(groupTags, group.totalLag()));
+            if (group.maxTimeLagMs() >= 0) {
+                groupTimeRows.add(MultiGauge.Row.of(groupTags, group.maxTimeLagMs() / 1000.0));
+            }
+            for (PartitionLag p : group.partitions()) {
+                Tags tags = groupTags.and("topic", p.topic()).and("partition", String.valueOf(p.partition()));
+                partitionRows.add(MultiGauge.Row.of(tags, p.lag()));
+                if (p.timeLagMs() >= 0) {
+                    partitionTimeRows.add(MultiGauge.Row.of(tags, p.timeLagMs() / 1000.0));
+                }
+            }
+        }
+        partitionLag.register(partitionRows, true);
+        partitionTimeLag.register(partitionTimeRows, true);
+        groupLag.register(groupRows, true);
+        groupTimeLag.register(groupTimeRows, true);
+    }
+}
@@ -0,0 +1,72 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-bucket counts of a Prometheus histogram over some window. {@code upperBounds} are the
+ * {@code le} values in ascending order, the last one being {@code +Inf}.
+ */
+public record LatencyHistogram(double[] upperBounds, long[] counts) {
+
+    public static final LatencyHistogram EMPTY = new LatencyHistogram(new double[0], new long[0]);
+
+    /** Converts cumulative {@code le -> count} samples into per-bucket counts. */
+    public static LatencyHistogram fromCumulative(Map<Double, Double> cumulative) {
+        TreeMap<Double, Double> sorted = new TreeMap<>(cumulative);
+        double[] bounds = new double[sorted.size()];
+        long[] counts = new long[sorted.size()];
+        int i = 0;
+        long previous = 0;
+        for (Map.Entry<Double, Double> bucket : sorted.entrySet()) {
+            long total = Math.round(bucket.getValue());
+            bounds[i] = bucket.getKey();
+            // increase() is extrapolated per series, so cumulative counts can dip slightly
+            counts[i] = Math.max(0, total - previous);
+            previous = Math.max(previous, total);
+            i++;
+        }
+        return new LatencyHistogram(bounds, counts);
+    }
+
+    public long total() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * The {@code q} quantile, interpolated linearly inside its bucket the way
+     * {@code histogram_quantile} does. Returns {@code NaN} for an empty histogram.
+     */
+    public double quantile(double q) {
+        long total = total();
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double rank = q * total;
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (seen + counts[i] >= rank && counts[i] > 0) {
+                if (Double.isInfinite(upperBounds[i])) {
+                    return i == 0 ? Double.NaN : upperBounds[i - 1];
+                }
+                double lower = i == 0 ? 0.0 : upperBounds[i - 1];
+                return lower + (upperBounds[i] - lower) * (rank - seen) / counts[i];
+            }
+            seen += counts[i];
+        }
+        return upperBounds[upperBounds.length - 1];
+    }
+
+    /** This histogram's counts re-indexed onto {@code bounds}; buckets it lacks count as zero. */
+    long[] countsOn(double[] bounds) {
+        long[] aligned = new long[bounds.length];
+        for (int i = 0; i < upperBounds.length; i++) {
+            int at = Arrays.binarySearch(bounds, upperBounds[i]);
+            if (at >= 0) {
+                aligned[at] += counts[i];
+            }
+        }
+        return aligned;
+    }
+}
@@ -0,0 +1,75 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reads the timestamp of the record sitting at a given offset, i.e. the next record a lagging
+ * consumer group will process. Uses one group-less consumer that is assigned, seeked and
+ * paused per call; not thread-safe, meant for the lag monitor's scheduler thread.
+ */
+@Component
+public class RecordTimestampSampler implements DisposableBean {
+
+    private final Properties props;
+    private KafkaConsumer<byte[], byte[]> consumer;
+
+    public RecordTimestampSampler(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
+        props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, "streams-analytics-lag-sampler");
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 64 * 1024);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+    }
+
+    /** Timestamps (epoch ms) of the first record at or after each offset; partitions not reached in time are absent. */
+    public Map<TopicPartition, Long> sample(Map<TopicPartition, Long> offsets, Duration timeout) {
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        if (offsets.isEmpty()) {
+            return timestamps;
+        }
+        KafkaConsumer<byte[], byte[]> c = consumer();
+        c.assign(offsets.keySet());
+        offsets.forEach(c::seek);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (timestamps.size() < offsets.size() && System.nanoTime() < deadline) {
+            for (ConsumerRecord<byte[], byte[]> rec : c.poll(Duration.ofMillis(100))) {
+                TopicPartition tp = new TopicPartition(rec.topic(), rec.partition());
+                if (!timestamps.containsKey(tp) && rec.offset() >= offsets.get(tp)) {
+                    timestamps.put(tp, rec.timestamp());
+                    c.pause(List.of(tp));
+                }
+            }
+        }
+        c.assign(List.of());
+        return timestamps;
+    }
+
+    private KafkaConsumer<byte[], byte[]> consumer() {
+        if (consumer == null) {
+            consumer = new KafkaConsumer<>(props);
+        }
+        return consumer;
+    }
+
+    @Override
+    public void destroy() {
+        if (consumer != null) {
+            consumer.close(Duration.ofSeconds(2));
+        }
+    }
+}
@@ -13,6 +13,7 @@ import reactor.core.publisher.Mono;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -54,12 +55,14 @@ class MetricsControllerTest {
 
         assertThat(result).isNotNull();
         assertThat(result.p95Latency()).isEqualTo(42.5);
+        assertThat(result.p99Latency()).isEqualTo(42.5);
         assertThat(result.dltCount()).isEqualTo(42L);
+        assertThat(result.dltRatio()).isEqualTo(42.5);
         assertThat(result.sloBurnRate1h()).isEqualTo(42.5);
     }
 
     @Test
-    void shouldReturnZeroOnEmptyResult() throws Exception {
+    void shouldReturnNaNWithoutSamples() throws Exception {
         String emptyResponse = """
             {"status":"success","data":{"resultType":"vector","result":[]}}
             """;
@@ -69,14 +72,28 @@ class MetricsControllerTest {
         var result = controller.getSloMetrics().block();
 
         assertThat(result).isNotNull();
-        assertThat(result.p95Latency()).isEqualTo(0.0);
+        assertThat(result.p95Latency()).isNaN();
         assertThat(result.dltCount()).isEqualTo(0L);
-        assertThat(result.sloBurnRate1h()).isEqualTo(0.0);
+        assertThat(result.sloBurnRate1h()).isNaN();
+    }
+
+    @Test
+    void shouldReturnNaNForIdleQuantile() throws Exception {
+        String idle = """
+            {"status":"success","data":{"resultType":"vector","result":[{"metric":{},"value":[1234567890,"NaN"]}]}}
+            """;
+
+        mockPrometheusResponse(idle);
+
+        var result = controller.getSloMetrics().block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.p99Latency()).isNaN();
     }
 
     @Test
     @SuppressWarnings("unchecked")
-    void shouldReturnZeroOnError() {
+    void shouldReturnNullOnError() {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
@@ -85,9 +102,22 @@ class MetricsControllerTest {
         var result = controller.getSloMetrics().block();
 
         assertThat(result).isNotNull();
-        assertThat(result.p95Latency()).isEqualTo(0.0);
-        assertThat(result.dltCount()).isEqualTo(0L);
-        assertThat(result.sloBurnRate1h()).isEqualTo(0.0);
+        assertThat(result.p95Latency()).isNull();
+        assertThat(result.p99Latency()).isNull();
+        assertThat(result.dltCount()).isNull();
+        assertThat(result.sloBurnRate1h()).isNull();
+    }
+
+    @Test
+    void shouldReturnNullOnErrorStatus() throws Exception {
+        mockPrometheusResponse("""
+            {"status":"error","errorType":"execution","error":"query timed out"}
+            """);
+
+        var result = controller.getSloMetrics().block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.p99Latency()).isNull();
     }
 
     @Test
@@ -115,6 +145,29 @@ class MetricsControllerTest {
         var result = controller.getSloMetrics().block();
 
         assertThat(result).isNotNull();
-        assertThat(result.p95Latency()).isEqualTo(0.0);
+        assertThat(result.p95Latency()).isNaN();
+    }
+
+    @Test
+    void shouldReturnLatencyPerStage() throws Exception {
+        String byJob = """
+            {"status":"success","data":{"resultType":"vector","result":[
+              {"metric":{"job":"payment-svc"},"value":[1234567890,"12.5"]},
+              {"metric":{"job":"orchestrator"},"value":[1234567890,"40"]},
+              {"metric":{"job":"shipping-svc"},"value":[1234567890,"NaN"]}]}}
+            """;
+
+        mockPrometheusResponse(byJob);
+
+        var result = controller.getPipelineMetrics().block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.throughput()).isEqualTo(12.5);
+        assertThat(result.compensations()).isEqualTo(12L);
+        assertThat(result.stages())
+            .extracting(MetricsController.StageLatency::stage, MetricsController.StageLatency::p99)
+            .containsExactly(
+                tuple("orchestrator", 40.0),
+                tuple("payment-svc", 12.5));
     }
 }
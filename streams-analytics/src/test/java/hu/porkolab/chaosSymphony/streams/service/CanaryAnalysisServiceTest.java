@@ -0,0 +1,77 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.ChannelStats;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Outcome;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Verdict;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CanaryAnalysisServiceTest {
+
+    private static final ChannelStats STATS = new ChannelStats(LatencyHistogram.EMPTY, 0, 0);
+
+    @Mock CanaryMetricsSource metricsSource;
+    @Mock CanaryRollbackClient rollbackClient;
+    @Mock CanaryAnalyzer analyzer;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CanaryAnalysisService service;
+
+    @BeforeEach
+    void setup() {
+        service = new CanaryAnalysisService(metricsSource, rollbackClient, analyzer, registry,
+                Duration.ofMinutes(5), Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        when(metricsSource.fetch(any(), eq(Duration.ofMinutes(5)))).thenReturn(STATS);
+    }
+
+    @Test
+    void shouldRollBackWhenCanaryFails() {
+        when(analyzer.analyze(STATS, STATS, Instant.EPOCH)).thenReturn(verdict(Outcome.FAIL));
+        when(rollbackClient.currentPercentage()).thenReturn(0.25);
+
+        service.analyze();
+
+        verify(rollbackClient).rollback();
+        assertThat(registry.counter("canary.analysis.rollbacks").count()).isEqualTo(1.0);
+        assertThat(service.lastVerdict()).map(Verdict::outcome).contains(Outcome.FAIL);
+    }
+
+    @Test
+    void shouldNotRollBackTwice() {
+        when(analyzer.analyze(STATS, STATS, Instant.EPOCH)).thenReturn(verdict(Outcome.FAIL));
+        when(rollbackClient.currentPercentage()).thenReturn(0.0);
+
+        service.analyze();
+
+        verify(rollbackClient, never()).rollback();
+    }
+
+    @Test
+    void shouldLeaveCanaryAloneOnPass() {
+        when(analyzer.analyze(STATS, STATS, Instant.EPOCH)).thenReturn(verdict(Outcome.PASS));
+
+        service.analyze();
+
+        verifyNoInteractions(rollbackClient);
+        assertThat(registry.get("canary.analysis.verdicts").tag("outcome", "pass").counter().count()).isEqualTo(1.0);
+    }
+
+    private static Verdict verdict(Outcome outcome) {
+        return new Verdict(outcome, "test", 10, 50, 5, 0.01, 0.01, 0, Instant.EPOCH);
+    }
+}
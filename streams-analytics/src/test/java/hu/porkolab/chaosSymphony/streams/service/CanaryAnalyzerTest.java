@@ -0,0 +1,94 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.ChannelStats;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Outcome;
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.Verdict;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CanaryAnalyzerTest {
+
+    private static final double[] BOUNDS = {0.01, 0.05, 0.1, 0.5, 1.0, Double.POSITIVE_INFINITY};
+
+    private final CanaryAnalyzer analyzer = new CanaryAnalyzer(100, 0.2, 0.02, 2.33);
+
+    @Test
+    void shouldPassWhenChannelsMatch() {
+        ChannelStats main = stats(new long[]{500, 300, 150, 45, 5, 0}, 1000, 10);
+        ChannelStats canary = stats(new long[]{50, 30, 15, 4, 1, 0}, 100, 1);
+
+        Verdict verdict = analyzer.analyze(main, canary, Instant.EPOCH);
+
+        assertThat(verdict.outcome()).isEqualTo(Outcome.PASS);
+        assertThat(verdict.latencyZ()).isCloseTo(0.0, within(0.5));
+    }
+
+    @Test
+    void shouldFailWhenCanaryIsSignificantlySlower() {
+        ChannelStats main = stats(new long[]{500, 300, 150, 45, 5, 0}, 1000, 10);
+        ChannelStats canary = stats(new long[]{10, 20, 40, 80, 50, 0}, 200, 2);
+
+        Verdict verdict = analyzer.analyze(main, canary, Instant.EPOCH);
+
+        assertThat(verdict.outcome()).isEqualTo(Outcome.FAIL);
+        assertThat(verdict.reason()).startsWith("p99");
+        assertThat(verdict.canaryP99Ms()).isGreaterThan(verdict.mainP99Ms());
+    }
+
+    @Test
+    void shouldFailWhenCanaryErrorRateRegresses() {
+        ChannelStats main = stats(new long[]{500, 300, 150, 45, 5, 0}, 1000, 10);
+        ChannelStats canary = stats(new long[]{100, 60, 30, 9, 1, 0}, 200, 30);
+
+        Verdict verdict = analyzer.analyze(main, canary, Instant.EPOCH);
+
+        assertThat(verdict.outcome()).isEqualTo(Outcome.FAIL);
+        assertThat(verdict.reason()).startsWith("Error rate");
+    }
+
+    @Test
+    void shouldNotFailOnTooLittleCanaryTraffic() {
+        ChannelStats main = stats(new long[]{500, 300, 150, 45, 5, 0}, 1000, 10);
+        ChannelStats canary = stats(new long[]{0, 0, 0, 5, 5, 0}, 10, 5);
+
+        assertThat(analyzer.analyze(main, canary, Instant.EPOCH).outcome()).isEqualTo(Outcome.INCONCLUSIVE);
+    }
+
+    @Test
+    void quantileShouldInterpolateInsideBucket() {
+        LatencyHistogram histogram = new LatencyHistogram(BOUNDS, new long[]{0, 100, 0, 0, 0, 0});
+
+        assertThat(histogram.quantile(0.5)).isCloseTo(0.03, within(1e-9));
+        assertThat(LatencyHistogram.EMPTY.quantile(0.99)).isNaN();
+    }
+
+    @Test
+    void shouldParseCumulativePrometheusBuckets() throws Exception {
+        String response = """
+                {"status":"success","data":{"resultType":"vector","result":[
+                  {"metric":{"le":"+Inf"},"value":[1,"100"]},
+                  {"metric":{"le":"0.05"},"value":[1,"80"]},
+                  {"metric":{"le":"0.01"},"value":[1,"50"]}
+                ]}}""";
+
+        LatencyHistogram histogram = CanaryMetricsSource.histogram(new ObjectMapper().readTree(response));
+
+        assertThat(histogram.upperBounds()).containsExactly(0.01, 0.05, Double.POSITIVE_INFINITY);
+        assertThat(histogram.counts()).containsExactly(50, 30, 20);
+    }
+
+    @Test
+    void twoProportionZShouldBeZeroWithoutVariance() {
+        assertThat(CanaryAnalyzer.twoProportionZ(0, 100, 0, 100)).isZero();
+        assertThat(CanaryAnalyzer.twoProportionZ(1, 1000, 20, 100)).isGreaterThan(2.33);
+    }
+
+    private static ChannelStats stats(long[] counts, long attempts, long failures) {
+        return new ChannelStats(new LatencyHistogram(BOUNDS, counts), attempts, failures);
+    }
+}
@@ -0,0 +1,70 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import hu.porkolab.chaosSymphony.streams.service.CanaryAnalyzer.ChannelStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanaryMetricsSourceTest {
+
+    private final List<URI> requested = new CopyOnWriteArrayList<>();
+
+    private final WebClient prometheus = WebClient.builder()
+            .baseUrl("http://prometheus:9090")
+            .exchangeFunction(request -> {
+                requested.add(request.url());
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(response(request.url().getQuery()))
+                        .build());
+            })
+            .build();
+
+    private final CanaryMetricsSource source = new CanaryMetricsSource(prometheus);
+
+    @Test
+    void shouldSendChannelSelectorAsLiteralQuery() {
+        source.fetch("canary", Duration.ofMinutes(5));
+
+        assertThat(requested).extracting(URI::getPath).containsOnly("/api/v1/query");
+        assertThat(requested).extracting(URI::getQuery).containsExactly(
+                "query=sum by (le) (increase(processing_time_ms_seconds_bucket{channel=\"canary\"}[300s]))",
+                "query=sum(increase(payments_processed_total{channel=\"canary\"}[300s]))",
+                "query=sum(increase(payments_failed_total{channel=\"canary\"}[300s]))");
+        assertThat(requested).extracting(URI::getRawQuery)
+                .allSatisfy(raw -> assertThat(raw).doesNotContain("{", "}", "\"", " ", "+"));
+    }
+
+    @Test
+    void shouldReadStatsFromResponses() {
+        ChannelStats stats = source.fetch("main", Duration.ofMinutes(1));
+
+        assertThat(stats.attempts()).isEqualTo(200);
+        assertThat(stats.failures()).isEqualTo(4);
+        assertThat(stats.latency().total()).isEqualTo(200);
+    }
+
+    private static String response(String query) {
+        if (query.contains("processing_time_ms_seconds_bucket")) {
+            return """
+                    {"status":"success","data":{"resultType":"vector","result":[
+                      {"metric":{"le":"0.1"},"value":[0,"150"]},
+                      {"metric":{"le":"+Inf"},"value":[0,"200"]}]}}""";
+        }
+        String value = query.contains("payments_failed_total") ? "4" : "200";
+        return """
+                {"status":"success","data":{"resultType":"vector","result":[{"metric":{},"value":[0,"%s"]}]}}"""
+                .formatted(value);
+    }
+}
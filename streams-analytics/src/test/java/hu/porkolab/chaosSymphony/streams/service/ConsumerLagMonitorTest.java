@@ -0,0 +1,95 @@
+package hu.porkolab.chaosSymphony.streams.service;
+
+import hu.porkolab.chaosSymphony.streams.service.ConsumerLagMonitor.GroupLag;
+import hu.porkolab.chaosSymphony.streams.service.ConsumerLagMonitor.LagSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumerLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final TopicPartition CREATED_0 = new TopicPartition("order.created", 0);
+    private static final TopicPartition CREATED_1 = new TopicPartition("order.created", 1);
+
+    @Mock AdminClient adminClient;
+    @Mock RecordTimestampSampler sampler;
+    @Mock ListConsumerGroupsResult groupsResult;
+    @Mock ListConsumerGroupOffsetsResult groupOffsetsResult;
+    @Mock ListOffsetsResult endOffsetsResult;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        monitor = new ConsumerLagMonitor(adminClient, sampler, registry, "orchestrator-.*", 200,
+                Duration.ofSeconds(1), Clock.fixed(NOW, ZoneOffset.UTC));
+        when(adminClient.listConsumerGroups()).thenReturn(groupsResult);
+        when(groupsResult.valid()).thenReturn(KafkaFuture.completedFuture(List.of(
+                new ConsumerGroupListing("orchestrator-order-created", false),
+                new ConsumerGroupListing("unrelated", false))));
+    }
+
+    @Test
+    void shouldComputeOffsetAndTimeLagInBatchedCalls() throws Exception {
+        when(adminClient.listConsumerGroupOffsets(anyMap())).thenReturn(groupOffsetsResult);
+        when(groupOffsetsResult.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                "orchestrator-order-created", Map.of(
+                        CREATED_0, new OffsetAndMetadata(90),
+                        CREATED_1, new OffsetAndMetadata(50)))));
+        when(adminClient.listOffsets(anyMap())).thenReturn(endOffsetsResult);
+        when(endOffsetsResult.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                CREATED_0, new ListOffsetsResultInfo(100, -1, Optional.empty()),
+                CREATED_1, new ListOffsetsResultInfo(50, -1, Optional.empty()))));
+        when(sampler.sample(Map.of(CREATED_0, 90L), Duration.ofSeconds(1)))
+                .thenReturn(Map.of(CREATED_0, NOW.minusSeconds(30).toEpochMilli()));
+
+        monitor.refresh();
+
+        LagSnapshot snapshot = monitor.snapshot();
+        assertThat(snapshot.groups()).extracting(GroupLag::groupId).containsExactly("orchestrator-order-created");
+        GroupLag group = snapshot.group("orchestrator-order-created").orElseThrow();
+        assertThat(group.totalLag()).isEqualTo(10);
+        assertThat(group.maxTimeLagMs()).isEqualTo(30_000);
+        assertThat(group.partitions()).extracting(ConsumerLagMonitor.PartitionLag::timeLagMs)
+                .containsExactly(30_000L, 0L);
+
+        verify(adminClient, times(1)).listConsumerGroupOffsets(anyMap());
+        verify(adminClient, times(1)).listOffsets(anyMap());
+        assertThat(registry.get("kafka.consumer.lag.offsets").tag("partition", "0").gauge().value()).isEqualTo(10.0);
+        assertThat(registry.get("kafka.consumer.group.lag.seconds").gauge().value()).isEqualTo(30.0);
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenAdminCallFails() {
+        when(adminClient.listConsumerGroupOffsets(anyMap())).thenThrow(new IllegalStateException("broker down"));
+
+        monitor.refresh();
+
+        assertThat(monitor.snapshot().groups()).isEmpty();
+        verify(sampler, never()).sample(any(), any());
+    }
+}
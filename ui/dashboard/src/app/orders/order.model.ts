@@ -20,12 +20,9 @@ export interface Order {
   reviewReason?: string;
 }
 
-export interface PagedOrdersResponse {
+export interface OrderSliceResponse {
   content: Order[];
-  page: number;
   size: number;
-  totalElements: number;
-  totalPages: number;
+  nextCursor?: string;
   hasNext: boolean;
-  hasPrevious: boolean;
 }
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { CreateOrderCommand, Order, OrderResponse, PagedOrdersResponse } from './order.model';
+import { CreateOrderCommand, Order, OrderResponse, OrderSliceResponse } from './order.model';
 
 @Injectable({
   providedIn: 'root'
@@ -17,11 +17,12 @@ export class OrderService {
 
   constructor(private http: HttpClient) { }
 
-  getOrders(page: number = 0, size: number = 20): Observable<PagedOrdersResponse> {
-    const params = new HttpParams()
-      .set('page', page.toString())
-      .set('size', size.toString());
-    return this.http.get<PagedOrdersResponse>(this.orderApiUrl, { 
+  getOrders(cursor?: string, size: number = 20): Observable<OrderSliceResponse> {
+    let params = new HttpParams().set('size', size.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<OrderSliceResponse>(this.orderApiUrl, { 
       headers: this.noCacheHeaders,
       params 
     });
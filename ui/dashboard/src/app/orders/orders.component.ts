@@ -3,7 +3,7 @@ import { FormBuilder, FormGroup, ReactiveFormsModule, Validators } from '@angula
 import { OrderService } from './order.service';
 import { finalize, interval, Subscription, switchMap } from 'rxjs';
 import { CommonModule } from '@angular/common';
-import { Order, OrderResponse, PagedOrdersResponse } from './order.model';
+import { Order, OrderResponse, OrderSliceResponse } from './order.model';
 
 @Component({
   selector: 'app-orders',
@@ -21,10 +21,11 @@ export class OrdersComponent implements OnInit, OnDestroy {
   orders: Order[] = [];
   currentPage = 0;
   pageSize = 15;
-  totalElements = 0;
-  totalPages = 0;
   hasNext = false;
   hasPrevious = false;
+  // cursors[i] fetches page i; the first page has no cursor
+  private cursors: (string | undefined)[] = [undefined];
+  private nextCursor?: string;
   
   private pollSubscription?: Subscription;
 
@@ -45,7 +46,7 @@ export class OrdersComponent implements OnInit, OnDestroy {
     
     
     this.pollSubscription = interval(3000).pipe(
-      switchMap(() => this.orderService.getOrders(this.currentPage, this.pageSize))
+      switchMap(() => this.orderService.getOrders(this.cursors[this.currentPage], this.pageSize))
     ).subscribe({
       next: (response) => this.updateFromResponse(response),
       error: (err) => console.error('Failed to poll orders', err)
@@ -58,7 +59,7 @@ export class OrdersComponent implements OnInit, OnDestroy {
 
   loadOrders(): void {
     this.isLoading = true;
-    this.orderService.getOrders(this.currentPage, this.pageSize)
+    this.orderService.getOrders(this.cursors[this.currentPage], this.pageSize)
       .pipe(finalize(() => this.isLoading = false))
       .subscribe({
         next: (response) => this.updateFromResponse(response),
@@ -66,57 +67,31 @@ export class OrdersComponent implements OnInit, OnDestroy {
       });
   }
 
-  private updateFromResponse(response: PagedOrdersResponse): void {
+  private updateFromResponse(response: OrderSliceResponse): void {
     this.orders = response.content;
-    this.currentPage = response.page;
-    this.totalElements = response.totalElements;
-    this.totalPages = response.totalPages;
+    this.nextCursor = response.nextCursor;
     this.hasNext = response.hasNext;
-    this.hasPrevious = response.hasPrevious;
-  }
-
-  goToPage(page: number): void {
-    if (page >= 0 && page < this.totalPages) {
-      this.currentPage = page;
-      this.loadOrders();
-    }
+    this.hasPrevious = this.currentPage > 0;
   }
 
   nextPage(): void {
-    if (this.hasNext) {
-      this.goToPage(this.currentPage + 1);
+    if (this.hasNext && this.nextCursor) {
+      this.cursors = [...this.cursors.slice(0, this.currentPage + 1), this.nextCursor];
+      this.currentPage++;
+      this.loadOrders();
     }
   }
 
   previousPage(): void {
     if (this.hasPrevious) {
-      this.goToPage(this.currentPage - 1);
+      this.currentPage--;
+      this.loadOrders();
     }
   }
 
   firstPage(): void {
-    this.goToPage(0);
-  }
-
-  lastPage(): void {
-    this.goToPage(this.totalPages - 1);
-  }
-
-  
-  get pageNumbers(): number[] {
-    const pages: number[] = [];
-    const maxVisible = 5;
-    let start = Math.max(0, this.currentPage - Math.floor(maxVisible / 2));
-    let end = Math.min(this.totalPages, start + maxVisible);
-    
-    if (end - start < maxVisible) {
-      start = Math.max(0, end - maxVisible);
-    }
-    
-    for (let i = start; i < end; i++) {
-      pages.push(i);
-    }
-    return pages;
+    this.currentPage = 0;
+    this.loadOrders();
   }
 
   onSubmit(): void {
@@ -58,26 +58,28 @@ export class SloComponent implements OnInit, OnDestroy {
     const maxDataPoints = 30; // Keep a rolling window of 30 data points
 
     // Latency
-    this.latencyData[0].series.push({ name: now, value: metrics.p95Latency });
-    if (this.latencyData[0].series.length > maxDataPoints) {
-      this.latencyData[0].series.shift();
-    }
+    this.addPoint(this.latencyData[0].series, now, metrics.p95Latency, maxDataPoints);
 
     // DLT Count
-    this.dltData[0].series.push({ name: now, value: metrics.dltCount });
-    if (this.dltData[0].series.length > maxDataPoints) {
-      this.dltData[0].series.shift();
-    }
+    this.addPoint(this.dltData[0].series, now, metrics.dltCount, maxDataPoints);
 
     // Burn Rate
-    this.burnRateData[0].series.push({ name: now, value: metrics.sloBurnRate1h });
-    if (this.burnRateData[0].series.length > maxDataPoints) {
-      this.burnRateData[0].series.shift();
-    }
+    this.addPoint(this.burnRateData[0].series, now, metrics.sloBurnRate1h, maxDataPoints);
 
     // Trigger chart update by creating new object references
     this.latencyData = [...this.latencyData];
     this.dltData = [...this.dltData];
     this.burnRateData = [...this.burnRateData];
   }
+
+  // skip values Prometheus could not provide (null) or had no samples for (NaN, sent as "NaN")
+  private addPoint(series: { name: Date; value: number }[], name: Date, value: number | null, maxDataPoints: number): void {
+    if (typeof value !== 'number' || Number.isNaN(value)) {
+      return;
+    }
+    series.push({ name, value });
+    if (series.length > maxDataPoints) {
+      series.shift();
+    }
+  }
 }
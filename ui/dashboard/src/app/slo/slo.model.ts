@@ -1,5 +1,8 @@
+// null when Prometheus could not be queried
 export interface SloMetrics {
-  p95Latency: number;
-  dltCount: number;
-  sloBurnRate1h: number;
+  p95Latency: number | null;
+  p99Latency: number | null;
+  dltCount: number | null;
+  dltRatio: number | null;
+  sloBurnRate1h: number | null;
 }